@@ -2,6 +2,7 @@ package com.app.app.global.common;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
@@ -17,17 +18,24 @@ import java.util.List;
 @EnableWebSecurity
 public class SecurityConfig {
 
-    // Security 설정 - 개발용 (모든 API 허용)
+    // Security 설정 - 개발용 (운영 API 외 모든 API 허용)
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
-                        .anyRequest().permitAll() // 모든 요청 허용
+                        // 운영 API (캐시 무효화 등) 는 서버 로컬에서만 호출
+                        .requestMatchers("/api/*/admin/**").access((authentication, context) ->
+                                new AuthorizationDecision(isLoopback(context.getRequest().getRemoteAddr())))
+                        .anyRequest().permitAll() // 그 외 모든 요청 허용
                 )
                 .build();
     }
 
+    private static boolean isLoopback(String address) {
+        return "127.0.0.1".equals(address) || "0:0:0:0:0:0:0:1".equals(address) || "::1".equals(address);
+    }
+
     // ← CORS 설정 빈 추가
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
@@ -0,0 +1,96 @@
+package com.app.domain.backtest.controller;
+
+import com.app.app.global.common.ApiResponse;
+import com.app.domain.backtest.dto.BacktestRequest;
+import com.app.domain.backtest.dto.BacktestResponse;
+import com.app.domain.backtest.service.BacktestService;
+import com.app.domain.backtest.service.BacktestStreamWriter;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * 스크리닝 + 분산 전략 백테스트 컨트롤러
+ */
+@RestController
+@RequestMapping("/api/backtest")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class BacktestController {
+
+    private final BacktestService backtestService;
+    private final BacktestStreamWriter backtestStreamWriter;
+
+    /**
+     * 워크포워드 백테스트 실행 (전체 결과 JSON)
+     */
+    @PostMapping("/run")
+    public ResponseEntity<ApiResponse> run(
+            @Valid @RequestBody(required = false) BacktestRequest request) {
+
+        log.info("백테스트 요청 - {}", request);
+
+        try {
+            BacktestResponse response = backtestService.run(request);
+
+            return ResponseEntity.ok(ApiResponse.success(
+                    "백테스트가 완료되었습니다.",
+                    response
+            ));
+
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("백테스트 실패: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(
+                    e.getMessage(),
+                    "INVALID_REQUEST"
+            ));
+        } catch (Exception e) {
+            log.error("백테스트 중 오류: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(ApiResponse.error(
+                    "백테스트 중 오류가 발생했습니다.",
+                    "BACKTEST_ERROR"
+            ));
+        }
+    }
+
+    /**
+     * 워크포워드 백테스트 스트리밍 (NDJSON: rebalance / day → summary)
+     */
+    @PostMapping("/run/stream")
+    public ResponseEntity<StreamingResponseBody> streamRun(
+            @Valid @RequestBody(required = false) BacktestRequest request) {
+
+        log.info("백테스트 스트리밍 요청 - {}", request);
+
+        try {
+            // 스트림 시작 전에 검증·패널 적재를 마쳐 오류는 일반 응답으로 반환
+            BacktestService.Run run = backtestService.prepare(request);
+
+            StreamingResponseBody body = out -> backtestStreamWriter.write(out, run);
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/x-ndjson;charset=UTF-8"))
+                    .body(body);
+
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("백테스트 스트리밍 실패: {}", e.getMessage());
+            ApiResponse error = ApiResponse.error(e.getMessage(), "INVALID_REQUEST");
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> backtestStreamWriter.writeJson(out, error));
+        } catch (Exception e) {
+            log.error("백테스트 스트리밍 중 오류: {}", e.getMessage(), e);
+            ApiResponse error = ApiResponse.error("백테스트 중 오류가 발생했습니다.", "BACKTEST_ERROR");
+            return ResponseEntity.internalServerError()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> backtestStreamWriter.writeJson(out, error));
+        }
+    }
+
+
+}//class
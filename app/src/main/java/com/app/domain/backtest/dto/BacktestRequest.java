@@ -0,0 +1,144 @@
+package com.app.domain.backtest.dto;
+
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 스크리닝 + 분산 전략 워크포워드 백테스트 요청 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BacktestRequest {
+
+    /**
+     * 백테스트 시작일 (비우면 종료일 1년 전)
+     */
+    private LocalDate startDate;
+
+    /**
+     * 백테스트 종료일 (비우면 최신 주가 일자)
+     */
+    private LocalDate endDate;
+
+    /**
+     * 리밸런싱 주기 (기본값 MONTHLY)
+     */
+    @Builder.Default
+    private RebalanceFrequency rebalanceFrequency = RebalanceFrequency.MONTHLY;
+
+    /**
+     * 팩터 가중치 (합 1.0)
+     */
+    @DecimalMin(value = "0.0", message = "PER 가중치는 0 이상이어야 합니다.")
+    @DecimalMax(value = "1.0", message = "PER 가중치는 1 이하여야 합니다.")
+    @Builder.Default
+    private BigDecimal perWeight = new BigDecimal("0.4");
+
+    @DecimalMin(value = "0.0", message = "PBR 가중치는 0 이상이어야 합니다.")
+    @DecimalMax(value = "1.0", message = "PBR 가중치는 1 이하여야 합니다.")
+    @Builder.Default
+    private BigDecimal pbrWeight = new BigDecimal("0.3");
+
+    @DecimalMin(value = "0.0", message = "ROE 가중치는 0 이상이어야 합니다.")
+    @DecimalMax(value = "1.0", message = "ROE 가중치는 1 이하여야 합니다.")
+    @Builder.Default
+    private BigDecimal roeWeight = new BigDecimal("0.3");
+
+    /**
+     * 최대 부채비율 (기본값 2.0, 스크리닝과 동일)
+     */
+    @DecimalMin(value = "0.0", message = "최대 부채비율은 0 이상이어야 합니다.")
+    @Builder.Default
+    private BigDecimal maxDebtRatio = new BigDecimal("2.0");
+
+    /**
+     * 리밸런싱마다 스크리닝으로 남길 상위 종목 수 (기본값 50)
+     */
+    @Min(value = 2, message = "스크리닝 종목 수는 최소 2개입니다.")
+    @Max(value = 500, message = "스크리닝 종목 수는 최대 500개입니다.")
+    @Builder.Default
+    private Integer screeningSize = 50;
+
+    /**
+     * 분산 선택 후 보유할 종목 수 (기본값 10)
+     */
+    @Min(value = 1, message = "보유 종목 수는 최소 1개입니다.")
+    @Max(value = 100, message = "보유 종목 수는 최대 100개입니다.")
+    @Builder.Default
+    private Integer targetStockCount = 10;
+
+    /**
+     * 높은 상관관계 임계값 (기본값 0.7)
+     */
+    @DecimalMin(value = "0.0", message = "상관관계 임계값은 0 이상이어야 합니다.")
+    @DecimalMax(value = "1.0", message = "상관관계 임계값은 1 이하여야 합니다.")
+    @Builder.Default
+    private Double highCorrelationThreshold = 0.7;
+
+    /**
+     * 상관관계·변동성 추정 기간 (3M, 6M, 1Y)
+     */
+    @Builder.Default
+    private String analysisPeriod = "1Y";
+
+    /**
+     * 비중 배분 방식 (기본값 EQUAL)
+     */
+    @Builder.Default
+    private Weighting weighting = Weighting.EQUAL;
+
+    /**
+     * 거래 비용 (매매 금액 대비 bp, 기본값 15)
+     */
+    @DecimalMin(value = "0.0", message = "거래 비용은 0 이상이어야 합니다.")
+    @DecimalMax(value = "500.0", message = "거래 비용은 500bp 이하여야 합니다.")
+    @Builder.Default
+    private Double transactionCostBps = 15.0;
+
+    /**
+     * 샤프 지수 계산용 무위험 수익률 (연율, 기본값 0)
+     */
+    @Builder.Default
+    private Double riskFreeRate = 0.0;
+
+    /**
+     * 리밸런싱 주기 열거형
+     */
+    public enum RebalanceFrequency {
+        WEEKLY,
+        MONTHLY,
+        QUARTERLY
+    }
+
+    /**
+     * 비중 배분 방식 열거형
+     */
+    public enum Weighting {
+        /**
+         * 동일 비중
+         */
+        EQUAL,
+        /**
+         * 위험 균등 기여 (Equal Risk Contribution)
+         */
+        RISK_PARITY,
+        /**
+         * 계층적 위험 균등 (Hierarchical Risk Parity)
+         */
+        HRP
+    }
+
+
+}//class
@@ -0,0 +1,157 @@
+package com.app.domain.backtest.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 백테스트 결과 DTO
+ * - 스트리밍 응답은 같은 Rebalance / DailyPoint / Summary 를 한 줄씩 기록
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BacktestResponse {
+
+    private Summary summary;
+
+    private List<Rebalance> rebalances;
+
+    private List<DailyPoint> dailySeries;
+
+    /**
+     * 성과 요약
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Summary {
+
+        private LocalDate startDate;
+
+        private LocalDate endDate;
+
+        private Integer tradingDays;
+
+        private Integer rebalanceCount;
+
+        /**
+         * 누적 수익률
+         */
+        private Double totalReturn;
+
+        /**
+         * 연환산 수익률 (CAGR)
+         */
+        private Double annualizedReturn;
+
+        /**
+         * 연환산 변동성
+         */
+        private Double annualizedVolatility;
+
+        private Double sharpeRatio;
+
+        /**
+         * 최대 낙폭 (음수, 고점 대비)
+         */
+        private Double maxDrawdown;
+
+        private LocalDate maxDrawdownPeakDate;
+
+        private LocalDate maxDrawdownTroughDate;
+
+        /**
+         * 리밸런싱당 평균 편도 회전율
+         */
+        private Double averageTurnover;
+
+        /**
+         * 누적 거래 비용 (기초 자산 대비 비율의 합)
+         */
+        private Double totalTransactionCost;
+
+        /**
+         * 계산 소요 시간 (밀리초, 패널 적재 포함)
+         */
+        private Long elapsedMillis;
+    }
+
+    /**
+     * 리밸런싱 시점 결과
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Rebalance {
+
+        private LocalDate date;
+
+        /**
+         * 스크리닝 대상(팩터 계산 가능) 종목 수
+         */
+        private Integer universeSize;
+
+        /**
+         * 편도 회전율 (½ Σ|목표 비중 - 직전 비중|)
+         */
+        private Double turnover;
+
+        /**
+         * 리밸런싱 직전 순자산가치
+         */
+        private Double nav;
+
+        private List<Holding> holdings;
+    }
+
+    /**
+     * 보유 종목
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Holding {
+
+        private String ticker;
+
+        private Double weight;
+
+        /**
+         * 해당 시점 스크리닝 복합 순위
+         */
+        private Integer screeningRank;
+    }
+
+    /**
+     * 일별 순자산가치
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class DailyPoint {
+
+        private LocalDate date;
+
+        private Double nav;
+
+        private Double dailyReturn;
+
+        /**
+         * 고점 대비 낙폭 (0 이하)
+         */
+        private Double drawdown;
+    }
+
+
+}//class
@@ -0,0 +1,82 @@
+package com.app.domain.backtest.mapper;
+
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Mapper
+public interface BacktestMapper {
+
+    /**
+     * 최신 주가 일자 조회
+     */
+    LocalDate findLatestPriceDate();
+
+    /**
+     * 기간 내 거래일 목록 (오름차순)
+     */
+    List<LocalDate> findTradingDates(@Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate);
+
+    /**
+     * 스크리닝 팩터 재계산용 종목별 재무 지표 (티커 순)
+     * - selectAllStocksForScreening 과 같은 조건 (EPS, BPS, ROE 양수, 부채비율 상한)
+     */
+    List<FundamentalRow> findFundamentals(@Param("maxDebtRatio") BigDecimal maxDebtRatio);
+
+    /**
+     * 기간 내 대상 종목 종가를 행 단위로 전달 (리스트로 모으지 않고 패널에 바로 기록)
+     * - 서버 커서로 fetchSize 만큼씩 받으려면 datasource URL 에 useCursorFetch=true 가 있어야 함
+     */
+    void streamClosePrices(@Param("tickers") List<String> tickers,
+                           @Param("startDate") LocalDate startDate,
+                           @Param("endDate") LocalDate endDate,
+                           ResultHandler<ClosePriceRow> handler);
+
+    /**
+     * 종목별 재무 지표 행
+     */
+    class FundamentalRow {
+        private String ticker;
+        private Double eps;
+        private Double bps;
+        private Double roe;
+
+        public String getTicker() { return ticker; }
+        public void setTicker(String ticker) { this.ticker = ticker; }
+
+        public Double getEps() { return eps; }
+        public void setEps(Double eps) { this.eps = eps; }
+
+        public Double getBps() { return bps; }
+        public void setBps(Double bps) { this.bps = bps; }
+
+        public Double getRoe() { return roe; }
+        public void setRoe(Double roe) { this.roe = roe; }
+    }
+
+    /**
+     * 일별 종가 행
+     */
+    class ClosePriceRow {
+        private String ticker;
+        private LocalDate priceDate;
+        private Double closePrice;
+
+        public String getTicker() { return ticker; }
+        public void setTicker(String ticker) { this.ticker = ticker; }
+
+        public LocalDate getPriceDate() { return priceDate; }
+        public void setPriceDate(LocalDate priceDate) { this.priceDate = priceDate; }
+
+        public Double getClosePrice() { return closePrice; }
+        public void setClosePrice(Double closePrice) { this.closePrice = closePrice; }
+    }
+
+
+}//interface
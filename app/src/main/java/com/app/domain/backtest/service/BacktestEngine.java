@@ -0,0 +1,429 @@
+package com.app.domain.backtest.service;
+
+
+import com.app.domain.backtest.dto.BacktestRequest;
+import com.app.domain.backtest.dto.BacktestResponse;
+import com.app.domain.correlation.service.GreedyDiversificationSelector;
+import com.app.domain.correlation.service.HierarchicalRiskParityAllocator;
+import com.app.domain.correlation.service.ReturnMatrixCorrelationEngine;
+import com.app.domain.correlation.service.RiskParityAllocator;
+import com.app.domain.portfolio.service.CovarianceEstimators;
+import com.app.domain.portfolio.service.ReturnEstimates;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 스크리닝 + 분산 전략 워크포워드 백테스트 엔진
+ *
+ * <p>리밸런싱 시점마다 그 날까지의 데이터만으로 다음을 수행한다.</p>
+ * <ol>
+ *     <li>팩터 순위: 당일 종가로 PER(종가/EPS), PBR(종가/BPS)을 다시 계산하고 ROE 와 함께
+ *         멀티팩터 스크리닝과 같은 순위 점수·복합 점수로 상위 종목을 고른다.</li>
+ *     <li>분산 선택: 추정 기간 일수익률 상관계수로 분산 최적화 GREEDY 규칙을 적용한다.</li>
+ *     <li>비중 배분: 동일 비중, ERC, HRP (공분산은 선택 종목이 모두 거래된 날의 Ledoit-Wolf 수축 추정).</li>
+ * </ol>
+ *
+ * <p>각 시점의 결정은 이전 보유 상태와 무관하므로 병렬로 계산하고,
+ * 보유 비중 변화·거래 비용·순자산가치는 날짜 순으로 한 번 순회하며 수신자에게 바로 전달한다.
+ * 매매는 리밸런싱일 종가에 체결되고 수익률은 다음 거래일부터 반영된다.</p>
+ */
+public final class BacktestEngine {
+
+    private final PricePanel panel;
+    private final double[] eps;
+    private final double[] bps;
+    private final double[] roe;
+    private final BacktestRequest request;
+    private final int lookbackMonths;
+    private final int tradingDays;
+
+    /**
+     * @param panel 종가·수익률 패널
+     * @param eps 종목별 EPS (패널 종목 순서)
+     * @param bps 종목별 BPS (패널 종목 순서)
+     * @param roe 종목별 ROE (패널 종목 순서)
+     * @param request 기본값이 채워진 요청
+     * @param lookbackMonths 상관관계·변동성 추정 기간 (개월)
+     * @param tradingDays 연율화 거래일 수
+     */
+    public BacktestEngine(PricePanel panel, double[] eps, double[] bps, double[] roe,
+                          BacktestRequest request, int lookbackMonths, int tradingDays) {
+        this.panel = panel;
+        this.eps = eps;
+        this.bps = bps;
+        this.roe = roe;
+        this.request = request;
+        this.lookbackMonths = lookbackMonths;
+        this.tradingDays = tradingDays;
+    }
+
+    /**
+     * 백테스트 실행
+     * @param startDate 시작일
+     * @param endDate 종료일
+     * @param listener 결과 수신자
+     * @param startedAtMillis 경과 시간 기준 시각 (패널 적재 시작)
+     */
+    public void run(LocalDate startDate, LocalDate endDate, BacktestListener listener,
+                    long startedAtMillis) throws IOException {
+        int first = panel.firstIndexOnOrAfter(startDate);
+        int last = panel.firstIndexOnOrAfter(endDate.plusDays(1)) - 1;
+        if (first > last) {
+            throw new IllegalStateException("백테스트 기간에 거래일이 없습니다.");
+        }
+
+        // 1. 리밸런싱 시점 결정 (경로 의존성이 없으므로 병렬)
+        int[] rebalanceDays = rebalanceDays(first, last);
+        Decision[] decisions = IntStream.range(0, rebalanceDays.length)
+                .parallel()
+                .mapToObj(r -> decide(rebalanceDays[r]))
+                .toArray(Decision[]::new);
+
+        // 2. 날짜 순 순회
+        simulate(first, last, rebalanceDays, decisions, listener, startedAtMillis);
+    }
+
+    /**
+     * 주기별 첫 거래일 (시작일 포함)
+     */
+    int[] rebalanceDays(int first, int last) {
+        int[] days = new int[last - first + 1];
+        int count = 0;
+        long previousKey = Long.MIN_VALUE;
+        for (int t = first; t <= last; t++) {
+            long key = periodKey(panel.getDate(t));
+            if (key != previousKey) {
+                days[count++] = t;
+                previousKey = key;
+            }
+        }
+        return Arrays.copyOf(days, count);
+    }
+
+    private long periodKey(LocalDate date) {
+        return switch (request.getRebalanceFrequency()) {
+            case WEEKLY -> date.get(IsoFields.WEEK_BASED_YEAR) * 100L + date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+            case QUARTERLY -> date.getYear() * 4L + (date.getMonthValue() - 1) / 3;
+            default -> date.getYear() * 12L + date.getMonthValue() - 1;
+        };
+    }
+
+    /**
+     * 리밸런싱 시점의 목표 보유 종목과 비중
+     */
+    Decision decide(int t) {
+        // 1. 당일 종가 기준 팩터 값
+        int n = panel.size();
+        int[] universe = new int[n];
+        int universeSize = 0;
+        for (int i = 0; i < n; i++) {
+            if (panel.close(i, t) > 0.0) {
+                universe[universeSize++] = i;
+            }
+        }
+        if (universeSize == 0) {
+            return new Decision(t, 0, new int[0], new double[0], new int[0]);
+        }
+
+        double[] per = new double[universeSize];
+        double[] pbr = new double[universeSize];
+        double[] profitability = new double[universeSize];
+        for (int k = 0; k < universeSize; k++) {
+            int i = universe[k];
+            double close = panel.close(i, t);
+            per[k] = close / eps[i];
+            pbr[k] = close / bps[i];
+            profitability[k] = roe[i];
+        }
+
+        // 2. 순위 점수 (1위 = 1, 꼴등 = 0) 와 복합 점수
+        int[] perRank = rankPositions(per, true);
+        int[] pbrRank = rankPositions(pbr, true);
+        int[] roeRank = rankPositions(profitability, false);
+
+        double perWeight = request.getPerWeight().doubleValue();
+        double pbrWeight = request.getPbrWeight().doubleValue();
+        double roeWeight = request.getRoeWeight().doubleValue();
+        double[] composite = new double[universeSize];
+        for (int k = 0; k < universeSize; k++) {
+            composite[k] = perWeight * rankScore(perRank[k], universeSize)
+                    + pbrWeight * rankScore(pbrRank[k], universeSize)
+                    + roeWeight * rankScore(roeRank[k], universeSize);
+        }
+        int[] byComposite = rankOrder(composite, false);
+
+        int screened = Math.min(request.getScreeningSize(), universeSize);
+        int[] candidates = new int[screened];
+        for (int c = 0; c < screened; c++) {
+            candidates[c] = universe[byComposite[c]];
+        }
+
+        // 3. 추정 기간 수익률로 상관계수 계산 후 그리디 분산 선택
+        int from = Math.max(panel.firstIndexOnOrAfter(panel.getDate(t).minusMonths(lookbackMonths)), 1);
+        int length = Math.max(t + 1 - from, 0);
+        double[] window = new double[screened * length];
+        for (int c = 0; c < screened; c++) {
+            System.arraycopy(panel.returns(), panel.offset(candidates[c]) + from, window, c * length, length);
+        }
+        double[] correlation = ReturnMatrixCorrelationEngine.correlationMatrix(window, screened, length);
+        int[] chosen = GreedyDiversificationSelector.select(correlation, screened, request.getHighCorrelationThreshold(),
+                request.getTargetStockCount());
+
+        // 4. 비중 배분
+        double[] weights = allocate(chosen, window, length);
+
+        int[] tickers = new int[chosen.length];
+        int[] screeningRanks = new int[chosen.length];
+        for (int s = 0; s < chosen.length; s++) {
+            tickers[s] = candidates[chosen[s]];
+            screeningRanks[s] = chosen[s] + 1;
+        }
+        return new Decision(t, universeSize, tickers, weights, screeningRanks);
+    }
+
+    /**
+     * 선택 종목 비중 - 공분산은 선택 종목이 모두 거래된 날만으로 추정해 양의 준정부호를 보장
+     * (쌍별 상관계수와 종목별 변동성을 조합하면 보장되지 않음)
+     */
+    double[] allocate(int[] chosen, double[] window, int length) {
+        int k = chosen.length;
+        double[] equal = new double[k];
+        Arrays.fill(equal, 1.0 / Math.max(k, 1));
+        if (request.getWeighting() == BacktestRequest.Weighting.EQUAL || k < 2) {
+            return equal;
+        }
+
+        // 1. 완전 관측일만 모은 수익률 (종목 우선 배치)
+        int[] days = new int[length];
+        int observed = 0;
+        for (int t = 0; t < length; t++) {
+            boolean complete = true;
+            for (int a = 0; a < k && complete; a++) {
+                complete = !Double.isNaN(window[chosen[a] * length + t]);
+            }
+            if (complete) days[observed++] = t;
+        }
+        // 공분산을 추정할 수 없으면 동일 비중으로 대체
+        if (observed < ReturnEstimates.MIN_OBSERVATIONS) return equal;
+
+        double[] returns = new double[k * observed];
+        for (int a = 0; a < k; a++) {
+            int offset = chosen[a] * length;
+            for (int d = 0; d < observed; d++) returns[a * observed + d] = window[offset + days[d]];
+        }
+
+        // 2. 수축 공분산과 같은 행렬에서 유도한 상관계수
+        double[] covariance = CovarianceEstimators.ledoitWolf(returns, k, observed);
+        for (int a = 0; a < k; a++) {
+            if (!(covariance[a * k + a] > 0.0)) return equal;
+        }
+        if (request.getWeighting() != BacktestRequest.Weighting.HRP) {
+            return RiskParityAllocator.allocate(covariance, k);
+        }
+
+        double[] correlation = new double[k * k];
+        for (int a = 0; a < k; a++) {
+            for (int b = 0; b < k; b++) {
+                correlation[a * k + b] = covariance[a * k + b]
+                        / Math.sqrt(covariance[a * k + a] * covariance[b * k + b]);
+            }
+        }
+        return HierarchicalRiskParityAllocator.allocate(correlation, covariance, k);
+    }
+
+    /**
+     * 보유 비중·순자산가치 순회
+     */
+    private void simulate(int first, int last, int[] rebalanceDays, Decision[] decisions,
+                          BacktestListener listener, long startedAtMillis) throws IOException {
+        double costRate = request.getTransactionCostBps() / 10_000.0;
+        double[] scratch = new double[panel.size()];
+
+        int[] held = new int[0];
+        double[] heldWeights = new double[0];
+        double nav = 1.0;
+        double peak = 1.0;
+        int peakDay = first;
+        double maxDrawdown = 0.0;
+        int maxDrawdownPeak = first, maxDrawdownTrough = first;
+        double sumReturn = 0.0, sumSquares = 0.0;
+        double turnoverSum = 0.0, costSum = 0.0;
+        int next = 0;
+
+        for (int t = first; t <= last; t++) {
+            double previousNav = nav;
+
+            // 1. 전일 종가 → 당일 종가 보유 수익률 (종가가 없는 종목은 수익률 0)
+            if (t > first && held.length > 0) {
+                double portfolioReturn = 0.0;
+                for (int h = 0; h < held.length; h++) {
+                    double r = panel.dailyReturn(held[h], t);
+                    if (!Double.isNaN(r)) portfolioReturn += heldWeights[h] * r;
+                }
+                double growth = 1.0 + portfolioReturn;
+                if (growth > 0.0) {
+                    for (int h = 0; h < held.length; h++) {
+                        double r = panel.dailyReturn(held[h], t);
+                        heldWeights[h] *= (1.0 + (Double.isNaN(r) ? 0.0 : r)) / growth;
+                    }
+                }
+                nav *= growth;
+            }
+
+            // 2. 리밸런싱 (현금 포함 편도 회전율, 매매 금액에 거래 비용)
+            if (next < rebalanceDays.length && rebalanceDays[next] == t) {
+                Decision decision = decisions[next++];
+                double turnover = turnover(held, heldWeights, decision, scratch);
+                double cost = 2.0 * turnover * costRate;
+
+                listener.onRebalance(toRebalance(decision, turnover, nav));
+
+                nav *= 1.0 - cost;
+                turnoverSum += turnover;
+                costSum += cost;
+                held = decision.tickers();
+                heldWeights = decision.weights().clone();
+            }
+
+            // 3. 일별 지표
+            double dailyReturn = t > first ? nav / previousNav - 1.0 : 0.0;
+            if (t > first) {
+                sumReturn += dailyReturn;
+                sumSquares += dailyReturn * dailyReturn;
+            }
+            if (nav > peak) {
+                peak = nav;
+                peakDay = t;
+            }
+            double drawdown = nav / peak - 1.0;
+            if (drawdown < maxDrawdown) {
+                maxDrawdown = drawdown;
+                maxDrawdownPeak = peakDay;
+                maxDrawdownTrough = t;
+            }
+
+            listener.onDay(BacktestResponse.DailyPoint.builder()
+                    .date(panel.getDate(t))
+                    .nav(nav)
+                    .dailyReturn(dailyReturn)
+                    .drawdown(drawdown)
+                    .build());
+        }
+
+        // 4. 성과 요약
+        int days = last - first;
+        double meanReturn = days > 0 ? sumReturn / days : 0.0;
+        double variance = days > 1 ? (sumSquares - days * meanReturn * meanReturn) / (days - 1) : 0.0;
+        double volatility = Math.sqrt(Math.max(variance, 0.0) * tradingDays);
+        double annualizedReturn = days > 0 && nav > 0.0 ? Math.pow(nav, (double) tradingDays / days) - 1.0 : 0.0;
+        double riskFreeRate = request.getRiskFreeRate() != null ? request.getRiskFreeRate() : 0.0;
+
+        listener.onComplete(BacktestResponse.Summary.builder()
+                .startDate(panel.getDate(first))
+                .endDate(panel.getDate(last))
+                .tradingDays(days + 1)
+                .rebalanceCount(rebalanceDays.length)
+                .totalReturn(nav - 1.0)
+                .annualizedReturn(annualizedReturn)
+                .annualizedVolatility(volatility)
+                .sharpeRatio(volatility > 0.0 ? (meanReturn * tradingDays - riskFreeRate) / volatility : null)
+                .maxDrawdown(maxDrawdown)
+                .maxDrawdownPeakDate(maxDrawdown < 0.0 ? panel.getDate(maxDrawdownPeak) : null)
+                .maxDrawdownTroughDate(maxDrawdown < 0.0 ? panel.getDate(maxDrawdownTrough) : null)
+                .averageTurnover(rebalanceDays.length > 0 ? turnoverSum / rebalanceDays.length : 0.0)
+                .totalTransactionCost(costSum)
+                .elapsedMillis(System.currentTimeMillis() - startedAtMillis)
+                .build());
+    }
+
+    /**
+     * ½ Σ|목표 - 현재| (현금 비중 포함), scratch 는 호출 후 0 으로 복구
+     */
+    private static double turnover(int[] held, double[] heldWeights, Decision decision, double[] scratch) {
+        double currentCash = 1.0;
+        double targetCash = 1.0;
+        for (int h = 0; h < held.length; h++) {
+            scratch[held[h]] += heldWeights[h];
+            currentCash -= heldWeights[h];
+        }
+        for (int s = 0; s < decision.tickers().length; s++) {
+            scratch[decision.tickers()[s]] -= decision.weights()[s];
+            targetCash -= decision.weights()[s];
+        }
+
+        double traded = Math.abs(targetCash - currentCash);
+        for (int h = 0; h < held.length; h++) {
+            traded += Math.abs(scratch[held[h]]);
+            scratch[held[h]] = 0.0;
+        }
+        for (int s = 0; s < decision.tickers().length; s++) {
+            traded += Math.abs(scratch[decision.tickers()[s]]);
+            scratch[decision.tickers()[s]] = 0.0;
+        }
+        return traded / 2.0;
+    }
+
+    private BacktestResponse.Rebalance toRebalance(Decision decision, double turnover, double nav) {
+        List<BacktestResponse.Holding> holdings = new ArrayList<>(decision.tickers().length);
+        for (int s = 0; s < decision.tickers().length; s++) {
+            holdings.add(BacktestResponse.Holding.builder()
+                    .ticker(panel.getTickers().get(decision.tickers()[s]))
+                    .weight(decision.weights()[s])
+                    .screeningRank(decision.screeningRanks()[s])
+                    .build());
+        }
+        return BacktestResponse.Rebalance.builder()
+                .date(panel.getDate(decision.day()))
+                .universeSize(decision.universeSize())
+                .turnover(turnover)
+                .nav(nav)
+                .holdings(holdings)
+                .build();
+    }
+
+    /**
+     * 순위 점수 (스크리닝과 같은 (N - 1 - 순위) / (N - 1), 순위는 0부터)
+     */
+    private static double rankScore(int position, int total) {
+        return total <= 1 ? 1.0 : (double) (total - 1 - position) / (total - 1);
+    }
+
+    /**
+     * 정렬 순서 (동점은 입력 순서 유지)
+     */
+    private static int[] rankOrder(double[] values, boolean ascending) {
+        Integer[] order = new Integer[values.length];
+        for (int k = 0; k < order.length; k++) order[k] = k;
+        Arrays.sort(order, ascending
+                ? (a, b) -> Double.compare(values[a], values[b])
+                : (a, b) -> Double.compare(values[b], values[a]));
+
+        int[] result = new int[order.length];
+        for (int k = 0; k < order.length; k++) result[k] = order[k];
+        return result;
+    }
+
+    /**
+     * 원소별 정렬 위치
+     */
+    private static int[] rankPositions(double[] values, boolean ascending) {
+        int[] order = rankOrder(values, ascending);
+        int[] positions = new int[order.length];
+        for (int p = 0; p < order.length; p++) positions[order[p]] = p;
+        return positions;
+    }
+
+    /**
+     * 리밸런싱 결정 (종목은 패널 인덱스, 스크리닝 순위는 1부터)
+     */
+    record Decision(int day, int universeSize, int[] tickers, double[] weights, int[] screeningRanks) {
+    }
+
+
+}//class
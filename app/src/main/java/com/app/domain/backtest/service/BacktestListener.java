@@ -0,0 +1,21 @@
+package com.app.domain.backtest.service;
+
+
+import com.app.domain.backtest.dto.BacktestResponse;
+
+import java.io.IOException;
+
+/**
+ * 백테스트 진행 결과 수신자
+ * - 날짜 순서대로 호출된다 (같은 날이면 onRebalance 후 onDay)
+ */
+public interface BacktestListener {
+
+    void onRebalance(BacktestResponse.Rebalance rebalance) throws IOException;
+
+    void onDay(BacktestResponse.DailyPoint point) throws IOException;
+
+    void onComplete(BacktestResponse.Summary summary) throws IOException;
+
+
+}//interface
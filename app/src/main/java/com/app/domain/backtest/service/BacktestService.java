@@ -0,0 +1,173 @@
+package com.app.domain.backtest.service;
+
+
+import com.app.domain.backtest.dto.BacktestRequest;
+import com.app.domain.backtest.dto.BacktestResponse;
+import com.app.domain.backtest.mapper.BacktestMapper;
+import com.app.domain.correlation.service.IndexedCorrelationMatrix;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 워크포워드 백테스트 서비스
+ * - 요청 검증과 패널 적재는 prepare 에서 끝내고 (스트리밍 응답 시작 전 오류 반환),
+ *   실제 계산은 {@link Run#execute(BacktestListener)} 에서 수행
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BacktestService {
+
+    private final BacktestMapper backtestMapper;
+
+    @Value("${portfolio.optimization.trading-days:252}")
+    private int tradingDays;
+
+    /**
+     * 백테스트 최대 기간 (년)
+     */
+    @Value("${backtest.max-period-years:10}")
+    private int maxPeriodYears;
+
+    /**
+     * 백테스트 실행 후 전체 결과 반환
+     */
+    public BacktestResponse run(BacktestRequest request) {
+        List<BacktestResponse.Rebalance> rebalances = new ArrayList<>();
+        List<BacktestResponse.DailyPoint> dailySeries = new ArrayList<>();
+        BacktestResponse response = BacktestResponse.builder()
+                .rebalances(rebalances)
+                .dailySeries(dailySeries)
+                .build();
+
+        try {
+            prepare(request).execute(new BacktestListener() {
+                @Override
+                public void onRebalance(BacktestResponse.Rebalance rebalance) {
+                    rebalances.add(rebalance);
+                }
+
+                @Override
+                public void onDay(BacktestResponse.DailyPoint point) {
+                    dailySeries.add(point);
+                }
+
+                @Override
+                public void onComplete(BacktestResponse.Summary summary) {
+                    response.setSummary(summary);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return response;
+    }
+
+    /**
+     * 요청 검증 및 종가 패널 적재
+     * @return 실행 준비된 백테스트
+     */
+    public Run prepare(BacktestRequest request) {
+        long startedAt = System.currentTimeMillis();
+        if (request == null) {
+            request = new BacktestRequest();
+        }
+        validate(request);
+
+        // 1. 기간 결정
+        LocalDate endDate = request.getEndDate();
+        if (endDate == null) {
+            endDate = backtestMapper.findLatestPriceDate();
+            if (endDate == null) {
+                throw new IllegalStateException("주가 데이터가 없습니다.");
+            }
+        }
+        LocalDate startDate = request.getStartDate() != null ? request.getStartDate() : endDate.minusYears(1);
+        if (!startDate.isBefore(endDate)) {
+            throw new IllegalArgumentException("시작일은 종료일보다 앞서야 합니다.");
+        }
+        if (startDate.isBefore(endDate.minusYears(maxPeriodYears))) {
+            throw new IllegalArgumentException("백테스트 기간은 최대 " + maxPeriodYears + "년입니다.");
+        }
+
+        // 2. 종목 축 (재무 지표) 과 거래일 축 (추정 기간 포함)
+        int lookbackMonths = periodMonths(request.getAnalysisPeriod());
+        List<BacktestMapper.FundamentalRow> fundamentals = backtestMapper.findFundamentals(request.getMaxDebtRatio());
+        if (fundamentals.isEmpty()) {
+            throw new IllegalStateException("스크리닝 조건을 만족하는 종목이 없습니다.");
+        }
+        LocalDate loadStart = startDate.minusMonths(lookbackMonths);
+        List<LocalDate> dates = backtestMapper.findTradingDates(loadStart, endDate);
+        if (dates.isEmpty()) {
+            throw new IllegalStateException("백테스트 기간의 주가 데이터가 없습니다.");
+        }
+
+        int n = fundamentals.size();
+        List<String> tickers = new ArrayList<>(n);
+        double[] eps = new double[n];
+        double[] bps = new double[n];
+        double[] roe = new double[n];
+        for (int i = 0; i < n; i++) {
+            BacktestMapper.FundamentalRow row = fundamentals.get(i);
+            tickers.add(row.getTicker());
+            eps[i] = row.getEps();
+            bps[i] = row.getBps();
+            roe[i] = row.getRoe();
+        }
+
+        // 3. 종가 패널 적재 (재무 지표 종목만 한 번의 범위 스캔)
+        PricePanel.Loader loader = PricePanel.loader(tickers, dates);
+        backtestMapper.streamClosePrices(tickers, loadStart, endDate, loader);
+        PricePanel panel = loader.finish();
+
+        log.info("백테스트 패널 적재 완료 - 종목수: {}, 거래일수: {}, 행수: {}, 소요시간: {}ms",
+                panel.size(), panel.length(), loader.getRowCount(), System.currentTimeMillis() - startedAt);
+
+        BacktestEngine engine = new BacktestEngine(panel, eps, bps, roe, request, lookbackMonths, tradingDays);
+        return new Run(engine, startDate, endDate, startedAt);
+    }
+
+    private void validate(BacktestRequest request) {
+        BigDecimal sum = request.getPerWeight()
+                .add(request.getPbrWeight())
+                .add(request.getRoeWeight());
+        if (sum.compareTo(BigDecimal.ONE) != 0) {
+            throw new IllegalArgumentException("가중치의 합은 1.0이어야 합니다. 현재 합: " + sum);
+        }
+        if (request.getTargetStockCount() > request.getScreeningSize()) {
+            throw new IllegalArgumentException("보유 종목 수는 스크리닝 종목 수 이하여야 합니다.");
+        }
+    }
+
+    /**
+     * 분석 기간 코드의 개월 수
+     */
+    private static int periodMonths(String analysisPeriod) {
+        return switch (IndexedCorrelationMatrix.normalizePeriod(analysisPeriod)) {
+            case "3M" -> 3;
+            case "6M" -> 6;
+            default -> 12;
+        };
+    }
+
+    /**
+     * 실행 준비된 백테스트
+     */
+    public record Run(BacktestEngine engine, LocalDate startDate, LocalDate endDate, long startedAtMillis) {
+
+        public void execute(BacktestListener listener) throws IOException {
+            engine.run(startDate, endDate, listener, startedAtMillis);
+        }
+    }
+
+
+}//class
@@ -0,0 +1,84 @@
+package com.app.domain.backtest.service;
+
+
+import com.app.domain.backtest.dto.BacktestResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 백테스트 결과 NDJSON 스트림 작성기
+ *
+ * <p>{@link BacktestResponse} 전체를 만들지 않고 계산되는 순서대로 한 줄에 JSON 객체 하나씩 기록한다.</p>
+ * <ol>
+ *     <li>rebalance - 리밸런싱 시점 보유 종목과 회전율</li>
+ *     <li>day - 일별 순자산가치와 낙폭</li>
+ *     <li>summary - 성과 요약 (마지막 한 줄)</li>
+ * </ol>
+ */
+@Component
+@RequiredArgsConstructor
+public class BacktestStreamWriter {
+
+
+    /**
+     * 출력 버퍼를 비우는 행 간격
+     */
+    private static final int FLUSH_INTERVAL = 64;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 백테스트 실행 결과 스트림 기록
+     */
+    public void write(OutputStream out, BacktestService.Run run) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            run.execute(new BacktestListener() {
+                private int lines;
+
+                @Override
+                public void onRebalance(BacktestResponse.Rebalance rebalance) throws IOException {
+                    writeLine(generator, "rebalance", rebalance);
+                }
+
+                @Override
+                public void onDay(BacktestResponse.DailyPoint point) throws IOException {
+                    writeLine(generator, "day", point);
+                }
+
+                @Override
+                public void onComplete(BacktestResponse.Summary summary) throws IOException {
+                    writeLine(generator, "summary", summary);
+                    generator.flush();
+                }
+
+                private void writeLine(JsonGenerator generator, String type, Object value) throws IOException {
+                    ObjectNode node = objectMapper.createObjectNode();
+                    node.put("type", type);
+                    node.setAll((ObjectNode) objectMapper.valueToTree(value));
+                    generator.writeTree(node);
+                    generator.writeRaw('\n');
+                    if (++lines % FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * 스트리밍 응답의 오류 본문 기록 (일반 JSON)
+     */
+    public void writeJson(OutputStream out, Object value) throws IOException {
+        objectMapper.writeValue(out, value);
+    }
+
+
+}//class
@@ -0,0 +1,166 @@
+package com.app.domain.backtest.service;
+
+
+import com.app.domain.backtest.mapper.BacktestMapper;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 백테스트용 컬럼형 종가·수익률 패널
+ *
+ * <p>종목 축과 거래일 축을 먼저 고정한 뒤 종가 행을 {@link ResultHandler} 로 받아
+ * ticker-major double[] (closes[i * length() + t]) 에 바로 기록한다. 행 객체를 리스트로
+ * 모으지 않으므로 수년치 일별 데이터도 한 번의 범위 스캔으로 적재된다.
+ * 일수익률은 적재 후 한 번 계산해 같은 배치로 보관한다 (전일 또는 당일 종가가 없으면 NaN).</p>
+ *
+ * <p>적재가 끝난 패널은 읽기 전용이라 여러 스레드에서 동시에 조회해도 된다.</p>
+ */
+public class PricePanel {
+
+    private final List<String> tickers;
+    private final Map<String, Integer> tickerIndex;
+    private final LocalDate[] dates;
+    private final Map<LocalDate, Integer> dateIndex;
+    private final double[] closes;
+    private double[] returns;
+
+    private PricePanel(List<String> tickers, List<LocalDate> dates) {
+        this.tickers = Collections.unmodifiableList(new ArrayList<>(tickers));
+        this.tickerIndex = new HashMap<>(tickers.size() * 2);
+        for (int i = 0; i < tickers.size(); i++) {
+            tickerIndex.put(tickers.get(i), i);
+        }
+        this.dates = dates.toArray(new LocalDate[0]);
+        this.dateIndex = new HashMap<>(this.dates.length * 2);
+        for (int t = 0; t < this.dates.length; t++) {
+            dateIndex.put(this.dates[t], t);
+        }
+        this.closes = new double[tickers.size() * this.dates.length];
+        Arrays.fill(closes, Double.NaN);
+    }
+
+    /**
+     * 빈 패널과 종가 적재 핸들러 생성
+     * @param tickers 종목 축 (순서 유지)
+     * @param dates 거래일 축 (오름차순)
+     * @return 적재 핸들러 (스트리밍 조회 후 {@link Loader#finish()} 로 패널 완성)
+     */
+    public static Loader loader(List<String> tickers, List<LocalDate> dates) {
+        return new Loader(new PricePanel(tickers, dates));
+    }
+
+    public List<String> getTickers() {
+        return tickers;
+    }
+
+    public int size() {
+        return tickers.size();
+    }
+
+    public int length() {
+        return dates.length;
+    }
+
+    public LocalDate getDate(int t) {
+        return dates[t];
+    }
+
+    /**
+     * 종가 (없으면 NaN)
+     */
+    public double close(int i, int t) {
+        return closes[i * dates.length + t];
+    }
+
+    /**
+     * t-1 → t 일수익률 (계산 불가능하면 NaN)
+     */
+    public double dailyReturn(int i, int t) {
+        return returns[i * dates.length + t];
+    }
+
+    /**
+     * 전체 수익률 배열 (복사본이 아니므로 수정 금지)
+     */
+    public double[] returns() {
+        return returns;
+    }
+
+    /**
+     * i번째 종목 행의 시작 위치
+     */
+    public int offset(int i) {
+        return i * dates.length;
+    }
+
+    /**
+     * 지정일 이후(포함) 첫 거래일 인덱스 (없으면 length())
+     */
+    public int firstIndexOnOrAfter(LocalDate date) {
+        int low = 0, high = dates.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dates[mid].isBefore(date)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void computeReturns() {
+        int length = dates.length;
+        returns = new double[closes.length];
+        for (int i = 0; i < tickers.size(); i++) {
+            int base = i * length;
+            returns[base] = Double.NaN;
+            for (int t = 1; t < length; t++) {
+                double previous = closes[base + t - 1];
+                returns[base + t] = previous > 0.0 ? closes[base + t] / previous - 1.0 : Double.NaN;
+            }
+        }
+    }
+
+    /**
+     * 종가 행 적재 핸들러 (축에 없는 종목·거래일 행은 무시)
+     */
+    public static final class Loader implements ResultHandler<BacktestMapper.ClosePriceRow> {
+
+        private final PricePanel panel;
+        private long rowCount;
+
+        private Loader(PricePanel panel) {
+            this.panel = panel;
+        }
+
+        @Override
+        public void handleResult(ResultContext<? extends BacktestMapper.ClosePriceRow> context) {
+            BacktestMapper.ClosePriceRow row = context.getResultObject();
+            rowCount++;
+            if (row.getClosePrice() == null) return;
+
+            Integer i = panel.tickerIndex.get(row.getTicker());
+            Integer t = panel.dateIndex.get(row.getPriceDate());
+            if (i == null || t == null) return;
+            panel.closes[i * panel.dates.length + t] = row.getClosePrice();
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        /**
+         * 적재 완료 (일수익률 계산)
+         */
+        public PricePanel finish() {
+            panel.computeReturns();
+            return panel;
+        }
+    }
+
+
+}//class
@@ -0,0 +1,38 @@
+package com.app.domain.common.config;
+
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 비동기 실행 설정
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    /**
+     * 팩터 순위 스냅샷 재생성 실행기
+     *
+     * <p>스레드 1개에 대기열 1칸이라 실행 중 1건, 대기 1건까지만 둔다. 그 사이 들어온 요청은 버려도
+     * 아직 시작하지 않은 대기 건이 최신 데이터로 다시 만들므로, 밀린 재생성은 자연스럽게 한 번으로 합쳐진다.</p>
+     */
+    @Bean(name = "factorSnapshotExecutor")
+    public TaskExecutor factorSnapshotExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("factor-snapshot-");
+        executor.setDaemon(true);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        return executor;
+    }
+
+
+}//class
@@ -0,0 +1,29 @@
+package com.app.domain.common.event;
+
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 종목 재무지표(stock 테이블의 PER, PBR, ROE, 부채비율 등) 변경 이벤트
+ *
+ * <p>재무지표에 의존하는 데이터(팩터 순위 스냅샷)는 이 이벤트를 구독해 다시 만든다. 발행 트랜잭션이
+ * 커밋된 뒤에 처리되도록 구독 측은 {@code @TransactionalEventListener(fallbackExecution = true)} 를 사용한다.</p>
+ */
+public class StockFundamentalsChangedEvent extends ApplicationEvent {
+
+    /**
+     * 변경된 종목 티커 (전체 종목 일괄 계산이면 null)
+     */
+    private final String ticker;
+
+    public StockFundamentalsChangedEvent(Object source, String ticker) {
+        super(source);
+        this.ticker = ticker;
+    }
+
+    public String getTicker() {
+        return ticker;
+    }
+
+
+}//class
@@ -0,0 +1,20 @@
+package com.app.domain.common.event;
+
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 주가(stock_price) 재적재 이벤트
+ *
+ * <p>주가에 의존하는 캐시(공유 상관계수, 롤링 상관관계, 공분산, 위험 분석, 팩터 순위 스냅샷)는 이 이벤트를
+ * 구독해 각자 무효화한다. 발행 트랜잭션이 커밋된 뒤에 처리되도록 구독 측은
+ * {@code @TransactionalEventListener(fallbackExecution = true)} 를 사용한다.</p>
+ */
+public class StockPriceReloadedEvent extends ApplicationEvent {
+
+    public StockPriceReloadedEvent(Object source) {
+        super(source);
+    }
+
+
+}//class
@@ -3,15 +3,23 @@ package com.app.domain.correlation.controller;
 import com.app.app.global.common.ApiResponse;
 import com.app.app.global.util.SessionUtil;
 import com.app.domain.correlation.dto.*;
+import com.app.domain.correlation.service.CorrelationHeatmapStreamWriter;
+import com.app.domain.correlation.service.CorrelationJob;
+import com.app.domain.correlation.service.CorrelationMatrixBinaryEncoder;
+import com.app.domain.correlation.service.CorrelationJobService;
 import com.app.domain.correlation.service.CorrelationService;
 import com.app.domain.correlation.service.DiversificationService;
+import com.app.domain.correlation.service.IndexedCorrelationMatrix;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -27,6 +35,8 @@ public class CorrelationController {
 
     private final CorrelationService correlationService;
     private final DiversificationService diversificationService;
+    private final CorrelationJobService correlationJobService;
+    private final CorrelationHeatmapStreamWriter heatmapStreamWriter;
     private final SessionUtil sessionUtil;  // 이것만 있으면 됨
 
     /**
@@ -38,7 +48,8 @@ public class CorrelationController {
             HttpSession httpSession) {
 
         String businessSessionId = sessionUtil.getBusinessSessionId(httpSession);
-        log.info("상관관계 분석 요청 - 비즈니스 세션: {}, 종목수: {}", businessSessionId, request.getTickers().size());
+        log.info("상관관계 분석 요청 - 비즈니스 세션: {}, 종목수: {}", businessSessionId,
+                request.getTickers() != null ? request.getTickers().size() : 0);
 
         try {
             CorrelationAnalysisResponse response = correlationService.performCorrelationAnalysis(businessSessionId, request);
@@ -95,6 +106,42 @@ public class CorrelationController {
         }
     }
 
+    /**
+     * 범위 상관관계 분석 수행 (스크리닝 상위 50개 또는 전체 종목)
+     */
+    @PostMapping("/analyze-universe")
+    public ResponseEntity<ApiResponse> analyzeUniverse(
+            @Valid @RequestBody CorrelationAnalysisRequest request,
+            HttpSession httpSession) {
+
+        String businessSessionId = sessionUtil.getBusinessSessionId(httpSession);
+        log.info("범위 상관관계 분석 요청 - 비즈니스 세션: {}, 범위: {}", businessSessionId, request.getScope());
+
+        try {
+            // 스크리닝 결과는 HTTP 세션 ID 기준으로 저장됨
+            CorrelationAnalysisResponse response =
+                    correlationService.performScopedAnalysis(businessSessionId, httpSession.getId(), request);
+
+            return ResponseEntity.ok(ApiResponse.success(
+                    String.format("%d개 종목의 상관관계 분석이 완료되었습니다.", response.getTickers().size()),
+                    response
+            ));
+
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            log.warn("범위 상관관계 분석 실패: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(
+                    e.getMessage(),
+                    "INVALID_REQUEST"
+            ));
+        } catch (Exception e) {
+            log.error("범위 상관관계 분석 중 오류: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(ApiResponse.error(
+                    "분석 중 오류가 발생했습니다.",
+                    "ANALYSIS_ERROR"
+            ));
+        }
+    }
+
     /**
      * 상관관계 분석 결과 조회
      */
@@ -121,6 +168,35 @@ public class CorrelationController {
         }
     }
 
+    /**
+     * 상관관계 매트릭스 바이너리 조회 (Accept: application/vnd.portfolio.correlation-matrix[;precision=64])
+     */
+    @GetMapping(value = "/results", produces = CorrelationMatrixBinaryEncoder.MEDIA_TYPE_VALUE)
+    public ResponseEntity<byte[]> getAnalysisResultsBinary(
+            @RequestHeader(HttpHeaders.ACCEPT) String accept,
+            HttpSession httpSession) {
+
+        String businessSessionId = sessionUtil.getBusinessSessionId(httpSession);
+        log.info("상관관계 매트릭스 바이너리 조회 - 비즈니스 세션: {}", businessSessionId);
+
+        try {
+            IndexedCorrelationMatrix matrix = correlationService.loadCorrelationMatrix(businessSessionId);
+            byte[] body = CorrelationMatrixBinaryEncoder.encode(
+                    matrix, CorrelationMatrixBinaryEncoder.resolvePrecision(accept));
+
+            return ResponseEntity.ok()
+                    .contentType(CorrelationMatrixBinaryEncoder.MEDIA_TYPE)
+                    .body(body);
+
+        } catch (IllegalStateException e) {
+            log.warn("상관관계 매트릭스 바이너리 조회 실패: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            log.error("상관관계 매트릭스 바이너리 조회 중 오류: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * 히트맵 데이터 생성
      */
@@ -169,6 +245,53 @@ public class CorrelationController {
         }
     }
 
+    /**
+     * 히트맵 데이터 스트리밍 (NDJSON: header → 종목별 row → summary)
+     * - period(3M, 6M, 1Y)를 지정하면 해당 기간 행만, 생략하면 세 기간 모두 기록
+     */
+    @GetMapping("/heatmap/stream")
+    public ResponseEntity<StreamingResponseBody> streamHeatmap(
+            @RequestParam(required = false) List<String> tickers,
+            @RequestParam(required = false) String period,
+            HttpSession httpSession) {
+
+        String businessSessionId = sessionUtil.getBusinessSessionId(httpSession);
+        log.info("히트맵 스트리밍 요청 - 비즈니스 세션: {}", businessSessionId);
+
+        try {
+            List<String> periods = CorrelationHeatmapStreamWriter.resolvePeriods(period);
+
+            // 스트림 시작 전에 조회해 데이터가 없으면 일반 오류 응답 반환
+            IndexedCorrelationMatrix matrix = correlationService.loadCorrelationMatrix(businessSessionId);
+            List<String> labels = tickers == null || tickers.isEmpty() ? matrix.getTickers() : tickers;
+
+            StreamingResponseBody body = out -> heatmapStreamWriter.write(out, labels, matrix, periods);
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/x-ndjson;charset=UTF-8"))
+                    .body(body);
+
+        } catch (IllegalArgumentException e) {
+            log.warn("히트맵 스트리밍 요청 오류: {}", e.getMessage());
+            ApiResponse error = ApiResponse.error(e.getMessage(), "INVALID_REQUEST");
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> heatmapStreamWriter.writeJson(out, error));
+        } catch (IllegalStateException e) {
+            log.warn("히트맵 스트리밍 실패: {}", e.getMessage());
+            ApiResponse error = ApiResponse.error(e.getMessage(), "NO_DATA");
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> heatmapStreamWriter.writeJson(out, error));
+        } catch (Exception e) {
+            log.error("히트맵 스트리밍 중 오류: {}", e.getMessage(), e);
+            ApiResponse error = ApiResponse.error("히트맵 데이터 생성 중 오류가 발생했습니다.", "GENERATION_ERROR");
+            return ResponseEntity.internalServerError()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> heatmapStreamWriter.writeJson(out, error));
+        }
+    }
+
     /**
      * 높은 상관관계 종목 쌍 조회
      */
@@ -253,6 +376,133 @@ public class CorrelationController {
         }
     }
 
+    /**
+     * 비동기 상관관계 분석 작업 접수 (작업 ID 즉시 반환)
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<ApiResponse> submitAnalysisJob(
+            @Valid @RequestBody CorrelationAnalysisRequest request,
+            HttpSession httpSession) {
+
+        String businessSessionId = sessionUtil.getBusinessSessionId(httpSession);
+        log.info("상관관계 분석 작업 접수 요청 - 비즈니스 세션: {}, 범위: {}", businessSessionId, request.getScope());
+
+        try {
+            // 스크리닝 결과는 HTTP 세션 ID 기준으로 저장됨
+            CorrelationJob job = correlationJobService.submit(businessSessionId, httpSession.getId(), request);
+
+            return ResponseEntity.accepted().body(ApiResponse.success(
+                    "상관관계 분석 작업이 접수되었습니다.",
+                    job.toStatus()
+            ));
+
+        } catch (IllegalStateException e) {
+            log.warn("상관관계 분석 작업 접수 실패: {}", e.getMessage());
+            return ResponseEntity.status(503).body(ApiResponse.error(
+                    e.getMessage(),
+                    "JOB_QUEUE_FULL"
+            ));
+        } catch (Exception e) {
+            log.error("상관관계 분석 작업 접수 중 오류: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(ApiResponse.error(
+                    "작업 접수 중 오류가 발생했습니다.",
+                    "JOB_ERROR"
+            ));
+        }
+    }
+
+    /**
+     * 비동기 분석 작업 진행 상황 조회
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ApiResponse> getAnalysisJob(@PathVariable String jobId, HttpSession httpSession) {
+
+        String businessSessionId = sessionUtil.getBusinessSessionId(httpSession);
+        CorrelationJob job = correlationJobService.getJob(businessSessionId, jobId);
+
+        if (job == null) {
+            return ResponseEntity.status(404).body(ApiResponse.error(
+                    "분석 작업을 찾을 수 없습니다.",
+                    "JOB_NOT_FOUND"
+            ));
+        }
+
+        return ResponseEntity.ok(ApiResponse.success("작업 상태 조회 완료", job.toStatus()));
+    }
+
+    /**
+     * 비동기 분석 작업 결과 조회
+     */
+    @GetMapping("/jobs/{jobId}/result")
+    public ResponseEntity<ApiResponse> getAnalysisJobResult(@PathVariable String jobId, HttpSession httpSession) {
+
+        String businessSessionId = sessionUtil.getBusinessSessionId(httpSession);
+        CorrelationJob job = correlationJobService.getJob(businessSessionId, jobId);
+
+        if (job == null) {
+            return ResponseEntity.status(404).body(ApiResponse.error(
+                    "분석 작업을 찾을 수 없습니다.",
+                    "JOB_NOT_FOUND"
+            ));
+        }
+
+        if (job.getResult() == null) {
+            return ResponseEntity.status(409).body(ApiResponse.error(
+                    "분석 결과가 아직 없습니다. 현재 상태: " + job.getState(),
+                    "JOB_NOT_COMPLETED"
+            ));
+        }
+
+        return ResponseEntity.ok(ApiResponse.success("상관관계 분석 결과 조회 완료", job.getResult()));
+    }
+
+    /**
+     * 비동기 분석 작업 취소
+     */
+    @DeleteMapping("/jobs/{jobId}")
+    public ResponseEntity<ApiResponse> cancelAnalysisJob(@PathVariable String jobId, HttpSession httpSession) {
+
+        String businessSessionId = sessionUtil.getBusinessSessionId(httpSession);
+        log.info("상관관계 분석 작업 취소 요청 - 비즈니스 세션: {}, 작업: {}", businessSessionId, jobId);
+
+        if (!correlationJobService.cancel(businessSessionId, jobId)) {
+            return ResponseEntity.status(409).body(ApiResponse.error(
+                    "취소할 수 없는 작업입니다. (존재하지 않거나 이미 종료됨)",
+                    "JOB_NOT_CANCELLABLE"
+            ));
+        }
+
+        return ResponseEntity.ok(ApiResponse.success(
+                "분석 작업 취소가 요청되었습니다.",
+                correlationJobService.getJob(businessSessionId, jobId).toStatus()
+        ));
+    }
+
+    /**
+     * 주가 재적재 알림 (주가 데이터 재적재 후 서버 로컬에서 호출)
+     * - 공유 상관계수 캐시, 롤링 상태, 공분산·위험 지표 캐시, 팩터 순위 스냅샷을 모두 다시 만들게 되므로
+     *   SecurityConfig 에서 /admin 경로를 루프백 주소로 제한
+     */
+    @PostMapping("/admin/cache/invalidate")
+    public ResponseEntity<ApiResponse> invalidateSharedCorrelations() {
+        log.info("주가 재적재 알림 요청 - 가격 의존 캐시 무효화");
+
+        try {
+            correlationService.invalidateSharedCorrelations();
+
+            return ResponseEntity.ok(ApiResponse.success(
+                    "공유 상관계수 캐시가 초기화되었습니다."
+            ));
+
+        } catch (Exception e) {
+            log.error("공유 상관계수 캐시 무효화 중 오류: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(ApiResponse.error(
+                    "캐시 초기화 중 오류가 발생했습니다.",
+                    "CACHE_ERROR"
+            ));
+        }
+    }
+
     /**
      * 분산 최적화 실행
      *
@@ -302,6 +552,43 @@ public class CorrelationController {
         }
     }
 
+    /**
+     * 분산 최적화 선택 종목 상관관계 매트릭스 바이너리 조회
+     * (Accept: application/vnd.portfolio.correlation-matrix[;precision=64])
+     * - 선택 결과·점수는 /diversification/optimize (JSON) 로 조회하며, 이 URL 은 매트릭스만 반환
+     */
+    @PostMapping(value = "/diversification/optimize/matrix", produces = CorrelationMatrixBinaryEncoder.MEDIA_TYPE_VALUE)
+    public ResponseEntity<byte[]> optimizeDiversificationBinary(
+            @Valid @RequestBody DiversificationRequest request,
+            @RequestHeader(HttpHeaders.ACCEPT) String accept,
+            HttpSession httpSession) {
+
+        String businessSessionId = sessionUtil.getBusinessSessionId(httpSession);
+        request.setSessionId(businessSessionId);
+
+        log.info("분산 최적화 매트릭스 바이너리 요청 - sessionId: {}, tickers: {}", businessSessionId, request.getTickers());
+
+        try {
+            DiversificationResponse response = diversificationService.optimizeDiversification(request);
+            byte[] body = CorrelationMatrixBinaryEncoder.encode(
+                    response.getCorrelationMatrix(),
+                    IndexedCorrelationMatrix.normalizePeriod(request.getAnalysisPeriod()),
+                    CorrelationMatrixBinaryEncoder.resolvePrecision(accept));
+
+            return ResponseEntity.ok()
+                    .contentType(CorrelationMatrixBinaryEncoder.MEDIA_TYPE)
+                    .body(body);
+
+        } catch (IllegalStateException e) {
+            log.error("분산 최적화 실패: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+
+        } catch (Exception e) {
+            log.error("분산 최적화 중 오류 발생", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * 분산 최적화 결과 조회
      *
@@ -1,7 +1,6 @@
 package com.app.domain.correlation.dto;
 
 
-import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -21,12 +20,19 @@ import java.util.List;
 public class CorrelationAnalysisRequest {
 
     /**
-     * 분석할 종목 티커 목록 (최소 2개, 최대 10개)
+     * 분석할 종목 티커 목록
+     * - SELECTED: 최소 2개, 최대 10개 (서비스에서 검증)
+     * - SCREENED_TOP50, UNIVERSE: 서버에서 결정하므로 비워도 됨
      */
-    @NotEmpty(message = "분석할 종목 목록은 필수입니다.")
-    @Size(min = 2, max = 10, message = "분석할 종목은 최소 2개, 최대 10개까지 선택 가능합니다.")
+    @Size(max = 500, message = "분석할 종목은 최대 500개까지 지정 가능합니다.")
     private List<String> tickers;
 
+    /**
+     * 분석 대상 범위 (기본값: SELECTED - 직접 지정한 종목)
+     */
+    @Builder.Default
+    private AnalysisScope scope = AnalysisScope.SELECTED;
+
     /**
      * 분석 기간 (3M, 6M, 1Y 중 선택, 기본값: ALL - 모든 기간 분석)
      */
@@ -70,5 +76,14 @@ public class CorrelationAnalysisRequest {
         }
     }
 
+    /**
+     * 분석 대상 범위 열거형
+     */
+    public enum AnalysisScope {
+        SELECTED,        // 직접 지정한 종목 (최대 10개)
+        SCREENED_TOP50,  // 멀티팩터 스크리닝 상위 50개 종목
+        UNIVERSE         // 주가 데이터가 있는 전체 종목 (시가총액 상위 순)
+    }
+
 
 }//class
@@ -0,0 +1,91 @@
+package com.app.domain.correlation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 비동기 상관관계 분석 작업 상태 응답 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CorrelationJobStatus {
+
+    /**
+     * 작업 ID
+     */
+    private String jobId;
+
+    /**
+     * 작업 상태
+     */
+    private JobState state;
+
+    /**
+     * 분석 범위
+     */
+    private CorrelationAnalysisRequest.AnalysisScope scope;
+
+    /**
+     * 저장 완료 종목 쌍 수
+     */
+    private Integer pairsDone;
+
+    /**
+     * 전체 종목 쌍 수 (종목 목록 확정 전에는 0)
+     */
+    private Integer totalPairs;
+
+    /**
+     * 계산 완료 (종목 쌍 x 기간) 수
+     */
+    private Integer pairsComputed;
+
+    /**
+     * 공유 캐시에 없어 새로 계산할 (종목 쌍 x 기간) 수 (계산 단계 시작 전이나 모두 캐시에 있으면 0)
+     */
+    private Integer totalComputePairs;
+
+    /**
+     * 진행률 (0~100, 계산 단계와 저장 단계 합산)
+     */
+    private Double progressPercent;
+
+    /**
+     * 실패 사유
+     */
+    private String errorMessage;
+
+    /**
+     * 접수 일시
+     */
+    private LocalDateTime submittedAt;
+
+    /**
+     * 시작 일시
+     */
+    private LocalDateTime startedAt;
+
+    /**
+     * 종료 일시
+     */
+    private LocalDateTime finishedAt;
+
+    /**
+     * 작업 상태 열거형
+     */
+    public enum JobState {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+
+}//class
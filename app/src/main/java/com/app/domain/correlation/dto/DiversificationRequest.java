@@ -45,12 +45,41 @@ public class DiversificationRequest {
     @Builder.Default
     private String analysisPeriod = "1Y";
 
+    /**
+     * 배분 방식 (기본값: GREEDY)
+     */
+    @Builder.Default
+    private AllocationMode allocationMode = AllocationMode.GREEDY;
 
+    /**
+     * BRANCH_AND_BOUND 탐색 제한 시간 (밀리초, 비우면 서버 기본값)
+     */
+    private Long timeBudgetMs;
 
-
-
-
-
+    /**
+     * 배분 방식 열거형
+     */
+    public enum AllocationMode {
+        /**
+         * 상관관계 임계값 기반 그리디 선택 (비중 없음)
+         */
+        GREEDY,
+
+        /**
+         * 위험 균등 기여 (Equal Risk Contribution)
+         */
+        RISK_PARITY,
+
+        /**
+         * 계층적 위험 균등 (Hierarchical Risk Parity)
+         */
+        HRP,
+
+        /**
+         * 임계값 제약 하 평균 |상관계수| 최소 k-부분집합 분기 한정 탐색 (비중 없음)
+         */
+        BRANCH_AND_BOUND
+    }
 
 
 }//class
@@ -55,5 +55,15 @@ public class DiversificationScore {
      */
     private String exclusionReason;
 
+    /**
+     * 배분 비중 (RISK_PARITY, HRP 방식, 합 1)
+     */
+    private Double weight;
+
+    /**
+     * 위험 기여 비율 (RISK_PARITY, HRP 방식, 합 1)
+     */
+    private Double riskContribution;
+
 
 }//class
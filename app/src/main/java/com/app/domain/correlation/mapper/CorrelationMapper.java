@@ -211,5 +211,111 @@ public interface CorrelationMapper {
      */
     String findStockNameByTicker(@Param("ticker") String ticker);
 
+// ==========  추가: 수익률 매트릭스 일괄 로딩 ==========
+
+    /**
+     * 일수익률 행 DTO (수익률 매트릭스 로딩용)
+     */
+    class DailyReturnRow {
+        private String ticker;
+        private LocalDate priceDate;
+        private Double dailyReturn;
+
+        public String getTicker() { return ticker; }
+        public void setTicker(String ticker) { this.ticker = ticker; }
+
+        public LocalDate getPriceDate() { return priceDate; }
+        public void setPriceDate(LocalDate priceDate) { this.priceDate = priceDate; }
+
+        public Double getDailyReturn() { return dailyReturn; }
+        public void setDailyReturn(Double dailyReturn) { this.dailyReturn = dailyReturn; }
+    }
+
+    /**
+     * 여러 종목의 기간별 일수익률 일괄 조회 (단일 범위 스캔)
+     * @param tickers 티커 목록
+     * @param startDate 시작일
+     * @param endDate 종료일
+     * @return 거래일, 티커 순으로 정렬된 일수익률 목록
+     */
+    List<DailyReturnRow> findDailyReturnsByTickers(
+            @Param("tickers") List<String> tickers,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * 멀티팩터 스크리닝 상위 선별 종목 티커 조회 (순위 순)
+     * @param sessionId 스크리닝 세션 ID
+     * @param limit 최대 개수
+     * @return 티커 목록
+     */
+    List<String> findScreenedTopTickers(
+            @Param("sessionId") String sessionId,
+            @Param("limit") int limit);
+
+    /**
+     * 기간 내 주가 데이터가 있는 전체 종목 티커 조회 (시가총액 내림차순)
+     * @param startDate 시작일
+     * @param endDate 종료일
+     * @param limit 최대 개수
+     * @return 티커 목록
+     */
+    List<String> findUniverseTickers(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("limit") int limit);
+
+    /**
+     * 가장 최근 주가 거래일 조회
+     * @return 최근 거래일 (데이터가 없으면 null)
+     */
+    LocalDate findLatestPriceDate();
+
+
+// ==========  추가: DB 계산 모드용 다기간 상관계수 일괄 조회 ==========
+
+    /**
+     * 종목 쌍별 기간 상관계수 행 DTO
+     */
+    class PairCorrelationRow {
+        private String ticker1;
+        private String ticker2;
+        private Double correlation3m;
+        private Double correlation6m;
+        private Double correlation1y;
+
+        public String getTicker1() { return ticker1; }
+        public void setTicker1(String ticker1) { this.ticker1 = ticker1; }
+
+        public String getTicker2() { return ticker2; }
+        public void setTicker2(String ticker2) { this.ticker2 = ticker2; }
+
+        public Double getCorrelation3m() { return correlation3m; }
+        public void setCorrelation3m(Double correlation3m) { this.correlation3m = correlation3m; }
+
+        public Double getCorrelation6m() { return correlation6m; }
+        public void setCorrelation6m(Double correlation6m) { this.correlation6m = correlation6m; }
+
+        public Double getCorrelation1y() { return correlation1y; }
+        public void setCorrelation1y(Double correlation1y) { this.correlation1y = correlation1y; }
+    }
+
+    /**
+     * 요청 종목 전체 쌍의 3개월, 6개월, 1년 피어슨 상관계수 일괄 계산
+     * - stock_price 셀프 조인 한 번에 기간별 조건부 합계(SUM(CASE WHEN ...))로 모멘트 집계
+     * @param tickers 티커 목록
+     * @param start3m 3개월 기간 시작일
+     * @param start6m 6개월 기간 시작일
+     * @param start1y 1년 기간 시작일
+     * @param endDate 종료일
+     * @return 종목 쌍별 상관계수 (ticker1 &lt; ticker2, 계산 불가능한 기간은 null)
+     */
+    List<PairCorrelationRow> calculateMultiWindowCorrelations(
+            @Param("tickers") List<String> tickers,
+            @Param("start3m") LocalDate start3m,
+            @Param("start6m") LocalDate start6m,
+            @Param("start1y") LocalDate start1y,
+            @Param("endDate") LocalDate endDate);
+
 
 }//interface
@@ -0,0 +1,62 @@
+package com.app.domain.correlation.service;
+
+
+/**
+ * 상관관계 분석 진행 상황 수신자
+ * - 비동기 분석 작업({@link CorrelationJobService})이 진행률 집계와 취소 요청 전달에 사용
+ */
+public interface AnalysisProgress {
+
+    /**
+     * 진행 상황을 받지 않는 기본 수신자
+     */
+    AnalysisProgress NONE = new AnalysisProgress() {
+        @Override
+        public void onStart(int totalPairs) {
+        }
+
+        @Override
+        public void onComputeStart(int pairs) {
+        }
+
+        @Override
+        public void onPairsComputed(int pairs) {
+        }
+
+        @Override
+        public void onPairsDone(int pairs) {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    };
+
+    /**
+     * 분석 대상 종목 쌍 수 확정
+     */
+    void onStart(int totalPairs);
+
+    /**
+     * 계산 단계 시작 - 공유 캐시에 없어 새로 계산할 (종목 쌍 x 기간) 수
+     */
+    void onComputeStart(int pairs);
+
+    /**
+     * (종목 쌍 x 기간) 계산 완료 (누적이 아닌 이번에 완료된 개수, 계산 스레드에서 동시에 호출될 수 있음)
+     */
+    void onPairsComputed(int pairs);
+
+    /**
+     * 종목 쌍 저장 완료 (누적이 아닌 이번에 완료된 개수)
+     */
+    void onPairsDone(int pairs);
+
+    /**
+     * 취소 요청 여부
+     */
+    boolean isCancelled();
+
+
+}//interface
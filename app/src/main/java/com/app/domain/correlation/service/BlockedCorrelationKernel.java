@@ -0,0 +1,278 @@
+package com.app.domain.correlation.service;
+
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 캐시 블로킹 + Fork/Join 병렬 상관계수 매트릭스 커널
+ *
+ * <p>구간 내 결측치가 없는 종목은 중심화·정규화된 벡터를 dense row-major 배열에 만들어 두고,
+ * 종목 축을 TILE 크기 블록으로, 거래일 축을 CHUNK 크기 구간으로 나눠
+ * 블록 쌍(상삼각)마다 내적을 누적한다. 블록 쌍은 Fork/Join 풀에서 병렬 처리된다.
+ * 결측치가 있는 종목이 포함된 쌍만 공통 거래일 기준 피어슨 계산으로 대체한다.
+ * 블록 쌍 하나를 끝낼 때마다 {@link AnalysisProgress} 에 완료 쌍 수를 알리고, 다음 블록 쌍 전에 취소 여부를 확인한다.</p>
+ */
+final class BlockedCorrelationKernel {
+
+    /** 종목 축 블록 크기 (TILE x TILE 누적 버퍼가 L1/L2 에 머물도록) */
+    static final int TILE = 32;
+
+    /** 거래일 축 구간 크기 */
+    static final int CHUNK = 256;
+
+    /** 이 종목 수 미만이면 병렬화 오버헤드가 더 크므로 순차 계산 */
+    static final int PARALLEL_THRESHOLD = 64;
+
+    private BlockedCorrelationKernel() {
+    }
+
+    /**
+     * [from, to) 구간의 상관계수 매트릭스 계산
+     * @param values 종목 x 거래일 row-major 수익률 (결측치 NaN)
+     * @param n 종목 수
+     * @param stride 종목 행 길이 (전체 거래일 수)
+     * @return n x n row-major 상관계수 (계산 불가능하면 NaN)
+     */
+    static double[] compute(double[] values, int n, int stride, int from, int to) {
+        return compute(values, n, stride, from, to, AnalysisProgress.NONE);
+    }
+
+    /**
+     * [from, to) 구간의 상관계수 매트릭스 계산 (진행 상황 보고, 취소 시 CancellationException)
+     */
+    static double[] compute(double[] values, int n, int stride, int from, int to, AnalysisProgress progress) {
+        int length = to - from;
+
+        // 1. 종목별 중심화·정규화 벡터 생성
+        double[] normalized = new double[n * Math.max(length, 0)];
+        boolean[] complete = new boolean[n];
+        boolean[] defined = new boolean[n];
+
+        for (int i = 0; i < n; i++) {
+            int base = i * stride;
+            int valid = 0;
+            double sum = 0.0;
+            double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+            for (int t = from; t < to; t++) {
+                double v = values[base + t];
+                if (!Double.isNaN(v)) {
+                    valid++;
+                    sum += v;
+                    min = Math.min(min, v);
+                    max = Math.max(max, v);
+                }
+            }
+
+            if (valid != length || length < 2) continue;
+            complete[i] = true;
+
+            double mean = sum / length;
+            int zBase = i * length;
+            double sumSq = 0.0;
+            for (int t = 0; t < length; t++) {
+                double d = values[base + from + t] - mean;
+                normalized[zBase + t] = d;
+                sumSq += d * d;
+            }
+
+            // 분산이 0이면 상관계수 정의 불가 (상수열은 평균 반올림 오차로 sumSq 가 0 이 아닐 수 있어 값으로 판단)
+            if (min < max && sumSq > 0.0) {
+                double scale = 1.0 / Math.sqrt(sumSq);
+                for (int t = 0; t < length; t++) {
+                    normalized[zBase + t] *= scale;
+                }
+                defined[i] = true;
+            }
+        }
+
+        // 2. 블록 쌍(상삼각) 목록 구성
+        int blocks = (n + TILE - 1) / TILE;
+        int tileCount = blocks * (blocks + 1) / 2;
+        int[] tileRows = new int[tileCount];
+        int[] tileCols = new int[tileCount];
+        int k = 0;
+        for (int bi = 0; bi < blocks; bi++) {
+            for (int bj = bi; bj < blocks; bj++) {
+                tileRows[k] = bi;
+                tileCols[k] = bj;
+                k++;
+            }
+        }
+
+        double[] matrix = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            matrix[i * n + i] = 1.0;
+        }
+
+        TileTask task = new TileTask(values, normalized, complete, defined, matrix,
+                n, stride, from, to, tileRows, tileCols, 0, tileCount, progress);
+
+        // 3. 블록 쌍 계산 (규모가 작으면 순차)
+        if (n < PARALLEL_THRESHOLD) {
+            task.computeDirectly();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+
+        return matrix;
+    }
+
+    /**
+     * 공통 거래일 기준 피어슨 상관계수 (결측치가 있는 쌍용)
+     */
+    static double pairwisePearson(double[] values, int offsetX, int offsetY, int from, int to) {
+        int count = 0;
+        double sumX = 0.0, sumY = 0.0;
+        double firstX = Double.NaN, firstY = Double.NaN;
+        boolean variesX = false, variesY = false;
+        for (int t = from; t < to; t++) {
+            double a = values[offsetX + t], b = values[offsetY + t];
+            if (Double.isNaN(a) || Double.isNaN(b)) continue;
+            if (count == 0) {
+                firstX = a;
+                firstY = b;
+            }
+            variesX |= a != firstX;
+            variesY |= b != firstY;
+            count++;
+            sumX += a;
+            sumY += b;
+        }
+        if (count < 2 || !variesX || !variesY) return Double.NaN;
+
+        double meanX = sumX / count, meanY = sumY / count;
+        double sxy = 0.0, sxx = 0.0, syy = 0.0;
+        for (int t = from; t < to; t++) {
+            double a = values[offsetX + t], b = values[offsetY + t];
+            if (Double.isNaN(a) || Double.isNaN(b)) continue;
+            double dx = a - meanX, dy = b - meanY;
+            sxy += dx * dy;
+            sxx += dx * dx;
+            syy += dy * dy;
+        }
+        if (sxx <= 0.0 || syy <= 0.0) return Double.NaN;
+
+        return sxy / Math.sqrt(sxx * syy);
+    }
+
+    private static double clamp(double r) {
+        if (Double.isNaN(r)) return r;
+        return Math.max(-1.0, Math.min(1.0, r));
+    }
+
+    /**
+     * 블록 쌍 구간 [lo, hi) 를 처리하는 Fork/Join 작업
+     * - 블록 쌍마다 쓰는 셀이 겹치지 않으므로 결과 배열에 동기화 없이 기록
+     */
+    private static final class TileTask extends RecursiveAction {
+
+        private final double[] values;
+        private final double[] normalized;
+        private final boolean[] complete;
+        private final boolean[] defined;
+        private final double[] matrix;
+        private final int n, stride, from, to;
+        private final int[] tileRows, tileCols;
+        private final int lo, hi;
+        private final AnalysisProgress progress;
+
+        TileTask(double[] values, double[] normalized, boolean[] complete, boolean[] defined,
+                 double[] matrix, int n, int stride, int from, int to,
+                 int[] tileRows, int[] tileCols, int lo, int hi, AnalysisProgress progress) {
+            this.values = values;
+            this.normalized = normalized;
+            this.complete = complete;
+            this.defined = defined;
+            this.matrix = matrix;
+            this.n = n;
+            this.stride = stride;
+            this.from = from;
+            this.to = to;
+            this.tileRows = tileRows;
+            this.tileCols = tileCols;
+            this.lo = lo;
+            this.hi = hi;
+            this.progress = progress;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= 1) {
+                computeDirectly();
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(
+                    new TileTask(values, normalized, complete, defined, matrix, n, stride, from, to,
+                            tileRows, tileCols, lo, mid, progress),
+                    new TileTask(values, normalized, complete, defined, matrix, n, stride, from, to,
+                            tileRows, tileCols, mid, hi, progress));
+        }
+
+        void computeDirectly() {
+            double[] acc = new double[TILE * TILE];
+            for (int k = lo; k < hi; k++) {
+                if (progress.isCancelled()) {
+                    throw new CancellationException("상관관계 분석이 취소되었습니다.");
+                }
+                progress.onPairsComputed(computeTile(tileRows[k] * TILE, tileCols[k] * TILE, acc));
+            }
+        }
+
+        /**
+         * 블록 쌍 하나 계산
+         * @return 계산한 종목 쌍 수
+         */
+        private int computeTile(int rowStart, int colStart, double[] acc) {
+            int rowEnd = Math.min(rowStart + TILE, n);
+            int colEnd = Math.min(colStart + TILE, n);
+            int length = to - from;
+            boolean diagonal = rowStart == colStart;
+
+            Arrays.fill(acc, 0.0);
+
+            // 거래일 구간별로 블록 내 모든 쌍의 내적 누적
+            for (int t0 = 0; t0 < length; t0 += CHUNK) {
+                int t1 = Math.min(t0 + CHUNK, length);
+                for (int i = rowStart; i < rowEnd; i++) {
+                    if (!defined[i]) continue;
+                    int zi = i * length;
+                    int accRow = (i - rowStart) * TILE;
+                    for (int j = diagonal ? i + 1 : colStart; j < colEnd; j++) {
+                        if (!defined[j]) continue;
+                        int zj = j * length;
+                        double sum = 0.0;
+                        for (int t = t0; t < t1; t++) {
+                            sum += normalized[zi + t] * normalized[zj + t];
+                        }
+                        acc[accRow + (j - colStart)] += sum;
+                    }
+                }
+            }
+
+            // 결과 기록 (대칭)
+            for (int i = rowStart; i < rowEnd; i++) {
+                int accRow = (i - rowStart) * TILE;
+                for (int j = diagonal ? i + 1 : colStart; j < colEnd; j++) {
+                    double r;
+                    if (complete[i] && complete[j]) {
+                        r = (defined[i] && defined[j]) ? acc[accRow + (j - colStart)] : Double.NaN;
+                    } else {
+                        r = pairwisePearson(values, i * stride, j * stride, from, to);
+                    }
+                    r = clamp(r);
+                    matrix[i * n + j] = r;
+                    matrix[j * n + i] = r;
+                }
+            }
+
+            int rows = rowEnd - rowStart;
+            return diagonal ? rows * (rows - 1) / 2 : rows * (colEnd - colStart);
+        }
+    }
+
+
+}//class
@@ -0,0 +1,174 @@
+package com.app.domain.correlation.service;
+
+
+import com.app.domain.correlation.dto.CorrelationHeatmapData;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 상관관계 히트맵 NDJSON 스트림 작성기
+ *
+ * <p>{@link CorrelationHeatmapData} 전체를 만들지 않고 한 줄에 JSON 객체 하나씩 기록한다.</p>
+ * <ol>
+ *     <li>header - labels, 기간 목록, colorScale</li>
+ *     <li>row - 종목 하나의 기간별 상관계수 행 (종목 수만큼, 요청한 기간만)</li>
+ *     <li>summary - 기간별 최소/최대/평균 (행을 모두 기록한 뒤 확정)</li>
+ * </ol>
+ * <p>값이 없는 쌍은 기존 히트맵과 같이 0.0 으로 기록하고 통계에서는 제외한다.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class CorrelationHeatmapStreamWriter {
+
+
+    /**
+     * 출력 버퍼를 비우는 행 간격
+     */
+    private static final int FLUSH_INTERVAL = 16;
+
+    private static final Map<String, String> PERIOD_NAMES = new LinkedHashMap<>();
+
+    static {
+        PERIOD_NAMES.put("3M", "3개월");
+        PERIOD_NAMES.put("6M", "6개월");
+        PERIOD_NAMES.put("1Y", "1년");
+    }
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 기록할 기간 코드 목록
+     * @param period 기간 코드 (3M, 6M, 1Y), 비어 있으면 전체
+     */
+    public static List<String> resolvePeriods(String period) {
+        if (period == null || period.isBlank()) {
+            return new ArrayList<>(PERIOD_NAMES.keySet());
+        }
+        String code = period.trim().toUpperCase();
+        if (!PERIOD_NAMES.containsKey(code)) {
+            throw new IllegalArgumentException("지원하지 않는 기간입니다: " + period + " (3M, 6M, 1Y)");
+        }
+        return List.of(code);
+    }
+
+    /**
+     * 히트맵 스트림 기록
+     * @param out 응답 출력 스트림
+     * @param tickers 히트맵 행/열 종목 순서
+     * @param matrix 세션 상관관계 인덱스 매트릭스
+     * @param periodCodes 기록할 기간 코드 ({@link #resolvePeriods} 결과)
+     */
+    public void write(OutputStream out, List<String> tickers, IndexedCorrelationMatrix matrix,
+                      List<String> periodCodes) throws IOException {
+        int size = tickers.size();
+        int[] indices = new int[size];
+        for (int i = 0; i < size; i++) {
+            indices[i] = matrix.indexOf(tickers.get(i));
+        }
+
+        String[] periods = periodCodes.toArray(new String[0]);
+        double[] min = new double[periods.length];
+        double[] max = new double[periods.length];
+        double[] sum = new double[periods.length];
+        int[] count = new int[periods.length];
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            // 1. 헤더
+            generator.writeStartObject();
+            generator.writeStringField("type", "header");
+            generator.writeObjectField("labels", tickers);
+            generator.writeArrayFieldStart("periods");
+            for (String period : periods) {
+                generator.writeStartObject();
+                generator.writeStringField("period", period);
+                generator.writeStringField("periodName", PERIOD_NAMES.get(period));
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeObjectField("colorScale", CorrelationHeatmapData.ColorScale.builder().build());
+            generator.writeEndObject();
+            newLine(generator);
+            generator.flush();
+
+            // 2. 종목별 행
+            for (int i = 0; i < size; i++) {
+                generator.writeStartObject();
+                generator.writeStringField("type", "row");
+                generator.writeNumberField("index", i);
+                generator.writeStringField("ticker", tickers.get(i));
+
+                for (int p = 0; p < periods.length; p++) {
+                    generator.writeArrayFieldStart(periods[p]);
+                    for (int j = 0; j < size; j++) {
+                        if (i == j) {
+                            generator.writeNumber(1.0);
+                            continue;
+                        }
+
+                        double value = indices[i] < 0 || indices[j] < 0
+                                ? Double.NaN
+                                : matrix.get(periods[p], indices[i], indices[j]);
+                        if (Double.isNaN(value)) {
+                            generator.writeNumber(0.0);
+                            continue;
+                        }
+
+                        generator.writeNumber(value);
+                        if (count[p] == 0 || value < min[p]) min[p] = value;
+                        if (count[p] == 0 || value > max[p]) max[p] = value;
+                        sum[p] += value;
+                        count[p]++;
+                    }
+                    generator.writeEndArray();
+                }
+
+                generator.writeEndObject();
+                newLine(generator);
+                if ((i + 1) % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+
+            // 3. 기간별 통계
+            generator.writeStartObject();
+            generator.writeStringField("type", "summary");
+            generator.writeArrayFieldStart("periods");
+            for (int p = 0; p < periods.length; p++) {
+                generator.writeStartObject();
+                generator.writeStringField("period", periods[p]);
+                generator.writeNumberField("minValue", count[p] > 0 ? min[p] : 0.0);
+                generator.writeNumberField("maxValue", count[p] > 0 ? max[p] : 0.0);
+                generator.writeNumberField("avgValue", count[p] > 0 ? sum[p] / count[p] : 0.0);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            newLine(generator);
+            generator.flush();
+        }
+    }
+
+    /**
+     * 스트리밍 응답의 오류 본문 기록 (일반 JSON)
+     */
+    public void writeJson(OutputStream out, Object value) throws IOException {
+        objectMapper.writeValue(out, value);
+    }
+
+    private static void newLine(JsonGenerator generator) throws IOException {
+        generator.writeRaw('\n');
+    }
+
+
+}//class
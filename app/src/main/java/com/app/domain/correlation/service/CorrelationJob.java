@@ -0,0 +1,174 @@
+package com.app.domain.correlation.service;
+
+
+import com.app.domain.correlation.dto.CorrelationAnalysisRequest;
+import com.app.domain.correlation.dto.CorrelationAnalysisResponse;
+import com.app.domain.correlation.dto.CorrelationJobStatus;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비동기 상관관계 분석 작업
+ * - 실행 스레드가 {@link AnalysisProgress} 로 진행률을 갱신하고, 조회 스레드가 상태를 읽는다
+ */
+public class CorrelationJob implements AnalysisProgress {
+
+    private final String jobId;
+    private final String sessionId;
+    private final CorrelationAnalysisRequest.AnalysisScope scope;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private final AtomicInteger pairsDone = new AtomicInteger();
+    private final AtomicInteger pairsComputed = new AtomicInteger();
+    private volatile int totalPairs;
+    private volatile int totalComputePairs;
+    private volatile boolean cancelled;
+
+    private volatile CorrelationJobStatus.JobState state = CorrelationJobStatus.JobState.QUEUED;
+    private volatile CorrelationAnalysisResponse result;
+    private volatile String errorMessage;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile Future<?> future;
+
+    public CorrelationJob(String jobId, String sessionId, CorrelationAnalysisRequest.AnalysisScope scope) {
+        this.jobId = jobId;
+        this.sessionId = sessionId;
+        this.scope = scope;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public CorrelationJobStatus.JobState getState() {
+        return state;
+    }
+
+    public CorrelationAnalysisResponse getResult() {
+        return result;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    // === AnalysisProgress ===
+
+    @Override
+    public void onStart(int totalPairs) {
+        this.totalPairs = totalPairs;
+        this.pairsDone.set(0);
+        this.totalComputePairs = 0;
+        this.pairsComputed.set(0);
+    }
+
+    @Override
+    public void onComputeStart(int pairs) {
+        this.totalComputePairs = pairs;
+        this.pairsComputed.set(0);
+    }
+
+    @Override
+    public void onPairsComputed(int pairs) {
+        pairsComputed.addAndGet(pairs);
+    }
+
+    @Override
+    public void onPairsDone(int pairs) {
+        pairsDone.addAndGet(pairs);
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    // === 상태 전이 ===
+
+    /**
+     * 실행 시작 (대기 중 취소된 작업이면 false)
+     */
+    synchronized boolean markRunning() {
+        if (state != CorrelationJobStatus.JobState.QUEUED) return false;
+        startedAt = LocalDateTime.now();
+        state = CorrelationJobStatus.JobState.RUNNING;
+        return true;
+    }
+
+    void markCompleted(CorrelationAnalysisResponse response) {
+        result = response;
+        finish(CorrelationJobStatus.JobState.COMPLETED);
+    }
+
+    void markFailed(String message) {
+        errorMessage = message;
+        finish(CorrelationJobStatus.JobState.FAILED);
+    }
+
+    void markCancelled() {
+        finish(CorrelationJobStatus.JobState.CANCELLED);
+    }
+
+    /**
+     * 취소 요청 - 대기 중이면 즉시 취소, 실행 중이면 다음 확인 지점에서 중단
+     * @return 취소 요청이 받아들여졌으면 true (이미 종료된 작업은 false)
+     */
+    synchronized boolean requestCancel() {
+        if (state.isFinished()) return false;
+
+        cancelled = true;
+        if (state == CorrelationJobStatus.JobState.QUEUED) {
+            if (future != null) {
+                future.cancel(false);
+            }
+            markCancelled();
+        }
+        return true;
+    }
+
+    private synchronized void finish(CorrelationJobStatus.JobState finalState) {
+        if (state.isFinished()) return;
+        finishedAt = LocalDateTime.now();
+        state = finalState;
+    }
+
+    public CorrelationJobStatus toStatus() {
+        int total = totalPairs;
+        int done = Math.min(pairsDone.get(), total);
+        int computeTotal = totalComputePairs;
+        int computed = Math.min(pairsComputed.get(), computeTotal);
+
+        // 계산 단계(캐시에 없는 쌍 x 기간)와 저장 단계(종목 쌍)를 합친 작업량 기준
+        long work = (long) computeTotal + total;
+
+        return CorrelationJobStatus.builder()
+                .jobId(jobId)
+                .state(state)
+                .scope(scope)
+                .pairsDone(done)
+                .totalPairs(total)
+                .pairsComputed(computed)
+                .totalComputePairs(computeTotal)
+                .progressPercent(state == CorrelationJobStatus.JobState.COMPLETED
+                        ? 100.0
+                        : work > 0 ? Math.round((computed + done) * 1000.0 / work) / 10.0 : 0.0)
+                .errorMessage(errorMessage)
+                .submittedAt(submittedAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+
+
+}//class
@@ -0,0 +1,141 @@
+package com.app.domain.correlation.service;
+
+
+import com.app.domain.correlation.dto.CorrelationAnalysisRequest;
+import com.app.domain.correlation.dto.CorrelationAnalysisResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비동기 상관관계 분석 작업 서비스
+ *
+ * <p>분석을 고정 크기 스레드 풀과 제한된 대기열에서 실행하고 작업 ID 를 즉시 반환한다.
+ * 클라이언트는 작업 ID 로 진행률(처리 쌍 수 / 전체 쌍 수)과 결과를 조회하거나 취소할 수 있어
+ * 대규모 분석 동안 요청 스레드를 점유하지 않는다. 종료된 작업은 보관 시간이 지나면 정리한다.</p>
+ */
+@Service
+@Slf4j
+public class CorrelationJobService {
+
+
+    private final CorrelationService correlationService;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, CorrelationJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * 종료된 작업 보관 시간 (분)
+     */
+    private final long retentionMinutes;
+
+    public CorrelationJobService(CorrelationService correlationService,
+                                 @Value("${correlation.job.pool-size:2}") int poolSize,
+                                 @Value("${correlation.job.queue-capacity:20}") int queueCapacity,
+                                 @Value("${correlation.job.retention-minutes:30}") long retentionMinutes) {
+        this.correlationService = correlationService;
+        this.retentionMinutes = retentionMinutes;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "correlation-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 분석 작업 접수
+     * @param sessionId 비즈니스 세션 ID
+     * @param screeningSessionId 스크리닝 세션 ID (HTTP 세션 ID)
+     * @param request 분석 요청
+     * @return 접수된 작업
+     * @throws IllegalStateException 대기열이 가득 찬 경우
+     */
+    public CorrelationJob submit(String sessionId, String screeningSessionId, CorrelationAnalysisRequest request) {
+        purgeExpiredJobs();
+
+        CorrelationAnalysisRequest.AnalysisScope scope = request.getScope() != null
+                ? request.getScope()
+                : CorrelationAnalysisRequest.AnalysisScope.SELECTED;
+        CorrelationJob job = new CorrelationJob(UUID.randomUUID().toString(), sessionId, scope);
+        jobs.put(job.getJobId(), job);
+
+        try {
+            job.setFuture(executor.submit(() -> run(job, screeningSessionId, request)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getJobId());
+            throw new IllegalStateException("대기 중인 분석 작업이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        log.info("상관관계 분석 작업 접수 - 작업: {}, 세션: {}, 범위: {}, 대기열: {}",
+                job.getJobId(), sessionId, scope, executor.getQueue().size());
+        return job;
+    }
+
+    /**
+     * 작업 조회 (다른 세션의 작업은 조회 불가)
+     * @return 작업, 없으면 null
+     */
+    public CorrelationJob getJob(String sessionId, String jobId) {
+        CorrelationJob job = jobs.get(jobId);
+        if (job == null || !job.getSessionId().equals(sessionId)) return null;
+        return job;
+    }
+
+    /**
+     * 작업 취소 요청
+     * @return 취소 요청이 받아들여졌으면 true
+     */
+    public boolean cancel(String sessionId, String jobId) {
+        CorrelationJob job = getJob(sessionId, jobId);
+        if (job == null) return false;
+
+        boolean accepted = job.requestCancel();
+        log.info("상관관계 분석 작업 취소 요청 - 작업: {}, 결과: {}", jobId, accepted);
+        return accepted;
+    }
+
+    private void run(CorrelationJob job, String screeningSessionId, CorrelationAnalysisRequest request) {
+        if (!job.markRunning()) return;
+
+        try {
+            CorrelationAnalysisResponse response = correlationService.performScopedAnalysis(
+                    job.getSessionId(), screeningSessionId, request, job);
+            job.markCompleted(response);
+            log.info("상관관계 분석 작업 완료 - 작업: {}", job.getJobId());
+
+        } catch (CancellationException e) {
+            job.markCancelled();
+            log.info("상관관계 분석 작업 취소됨 - 작업: {}", job.getJobId());
+        } catch (Exception e) {
+            job.markFailed(e.getMessage());
+            log.error("상관관계 분석 작업 실패 - 작업: {}, 사유: {}", job.getJobId(), e.getMessage(), e);
+        }
+    }
+
+    private void purgeExpiredJobs() {
+        LocalDateTime expiry = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.getState().isFinished()
+                && job.getFinishedAt() != null
+                && job.getFinishedAt().isBefore(expiry));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+
+}//class
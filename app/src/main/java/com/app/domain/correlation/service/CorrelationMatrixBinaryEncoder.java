@@ -0,0 +1,134 @@
+package com.app.domain.correlation.service;
+
+
+import org.springframework.http.MediaType;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 상관관계 매트릭스 바이너리 전송 형식 인코더
+ *
+ * <p>Accept: application/vnd.portfolio.correlation-matrix[;precision=64] 요청에 사용한다.
+ * 종목 라벨은 한 번만 보내고 기간별 상삼각(대각선 제외) 값만 리틀 엔디언으로 기록한다.
+ * 값이 없는 쌍은 NaN 이다.</p>
+ *
+ * <pre>
+ * magic      4 bytes  "CMX1"
+ * precision  1 byte   4 (float32) | 8 (float64)
+ * periods    1 byte   기간 수 P
+ * n          int32    종목 수
+ * labels     n x (uint16 길이 + UTF-8 바이트)
+ * P x {
+ *   code     uint16 길이 + UTF-8 바이트 (3M, 6M, 1Y)
+ *   values   n(n-1)/2 개, (0,1) (0,2) ... (0,n-1) (1,2) ... 순서
+ * }
+ * </pre>
+ */
+public final class CorrelationMatrixBinaryEncoder {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.portfolio.correlation-matrix";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private static final byte[] MAGIC = {'C', 'M', 'X', '1'};
+
+    private CorrelationMatrixBinaryEncoder() {
+    }
+
+    /**
+     * Accept 헤더의 precision 파라미터로 값 크기 결정 (기본 float32)
+     * @return 4 또는 8
+     */
+    public static int resolvePrecision(String accept) {
+        if (accept == null) return 4;
+        for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+            if (mediaType.isCompatibleWith(MEDIA_TYPE) && !mediaType.isWildcardType()) {
+                String precision = mediaType.getParameter("precision");
+                return "64".equals(precision) ? 8 : 4;
+            }
+        }
+        return 4;
+    }
+
+    /**
+     * 세션 인덱스 매트릭스 인코딩 (3M, 6M, 1Y)
+     */
+    public static byte[] encode(IndexedCorrelationMatrix matrix, int precision) {
+        List<String> labels = matrix.getTickers();
+        List<String> periods = IndexedCorrelationMatrix.PERIODS;
+        int n = labels.size();
+
+        ByteBuffer buffer = allocate(labels, periods, precision);
+        for (String period : periods) {
+            putString(buffer, period);
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    putValue(buffer, matrix.get(period, i, j), precision);
+                }
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * 중첩 Map 매트릭스 인코딩 (단일 기간)
+     * @param matrix ticker → (ticker → 상관계수)
+     * @param period 기간 코드
+     */
+    public static byte[] encode(Map<String, Map<String, Double>> matrix, String period, int precision) {
+        List<String> labels = List.copyOf(matrix.keySet());
+        int n = labels.size();
+
+        ByteBuffer buffer = allocate(labels, List.of(period), precision);
+        putString(buffer, period);
+        for (int i = 0; i < n; i++) {
+            Map<String, Double> row = matrix.get(labels.get(i));
+            for (int j = i + 1; j < n; j++) {
+                Double value = row != null ? row.get(labels.get(j)) : null;
+                putValue(buffer, value != null ? value : Double.NaN, precision);
+            }
+        }
+        return buffer.array();
+    }
+
+    private static ByteBuffer allocate(List<String> labels, List<String> periods, int precision) {
+        int n = labels.size();
+        int size = MAGIC.length + 2 + Integer.BYTES;
+        for (String label : labels) {
+            size += Short.BYTES + label.getBytes(StandardCharsets.UTF_8).length;
+        }
+        for (String period : periods) {
+            size += Short.BYTES + period.getBytes(StandardCharsets.UTF_8).length;
+            size += n * (n - 1) / 2 * precision;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(MAGIC);
+        buffer.put((byte) precision);
+        buffer.put((byte) periods.size());
+        buffer.putInt(n);
+        for (String label : labels) {
+            putString(buffer, label);
+        }
+        return buffer;
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static void putValue(ByteBuffer buffer, double value, int precision) {
+        if (precision == 8) {
+            buffer.putDouble(value);
+        } else {
+            buffer.putFloat((float) value);
+        }
+    }
+
+
+}//class
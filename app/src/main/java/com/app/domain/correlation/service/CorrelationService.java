@@ -18,6 +18,8 @@ public interface CorrelationService {
 
     CorrelationAnalysisResponse getCorrelationAnalysisResults(String sessionId);
 
+    IndexedCorrelationMatrix loadCorrelationMatrix(String sessionId);
+
     List<CorrelationAnalysisResponse.HighCorrelationPair> getHighCorrelationPairs(
             String sessionId, Double threshold);
 
@@ -26,7 +28,16 @@ public interface CorrelationService {
 
     CorrelationAnalysisResponse performSelectedAssetsAnalysis(String sessionId);
 
+    CorrelationAnalysisResponse performScopedAnalysis(String sessionId, String screeningSessionId,
+                                                      CorrelationAnalysisRequest request);
+
+    CorrelationAnalysisResponse performScopedAnalysis(String sessionId, String screeningSessionId,
+                                                      CorrelationAnalysisRequest request,
+                                                      AnalysisProgress progress);
+
     void deleteAnalysisResults(String sessionId);
 
+    void invalidateSharedCorrelations();
+
 
 }//interface
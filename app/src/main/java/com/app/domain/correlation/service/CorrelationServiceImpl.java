@@ -1,19 +1,26 @@
 package com.app.domain.correlation.service;
 
 
+import com.app.domain.common.event.StockPriceReloadedEvent;
 import com.app.domain.correlation.dto.CorrelationAnalysisRequest;
 import com.app.domain.correlation.dto.CorrelationAnalysisResponse;
 import com.app.domain.correlation.dto.CorrelationHeatmapData;
 import com.app.domain.correlation.entity.CorrelationAnalysis;
 import com.app.domain.correlation.mapper.CorrelationMapper;
+import com.app.domain.portfolio.dto.CovarianceMethod;
+import com.app.domain.portfolio.service.CovarianceEstimate;
+import com.app.domain.portfolio.service.CovarianceEstimationService;
 import com.app.domain.session.mapper.SessionMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.stream.Collectors;
 
 /**
@@ -26,43 +33,144 @@ import java.util.stream.Collectors;
 public class CorrelationServiceImpl implements CorrelationService {
 
 
+    /**
+     * 직접 지정 분석(SELECTED) 최대 종목 수
+     */
+    private static final int MAX_SELECTED_TICKERS = 10;
+
+    /**
+     * 스크리닝 상위 종목 분석 개수
+     */
+    private static final int SCREENED_TOP_COUNT = 50;
+
+    /**
+     * 상관관계 결과 일괄 저장 시 INSERT 한 번에 담는 최대 행 수
+     */
+    private static final int INSERT_CHUNK_SIZE = 500;
+
     private final CorrelationMapper correlationMapper;
+    private final ReturnMatrixCorrelationEngine correlationEngine;
+    private final RollingCorrelationService rollingCorrelationService;
+    private final SharedCorrelationCache correlationCache;
+    private final DatabaseCorrelationCalculator databaseCorrelationCalculator;
+    private final CovarianceEstimationService covarianceEstimationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 범위 분석(SCREENED_TOP50, UNIVERSE) 최대 종목 수
+     */
+    @Value("${correlation.universe.max-tickers:500}")
+    private int universeMaxTickers;
+
+    /**
+     * 상관계수 계산 방식 (memory: 인메모리 수익률 매트릭스, database: DB 조건부 집계 쿼리,
+     * covariance: 공분산 추정 서비스 캐시)
+     */
+    @Value("${correlation.compute-mode:memory}")
+    private String computeMode;
+
+    /**
+     * covariance 계산 방식에서 사용할 공분산 추정 방식
+     */
+    @Value("${correlation.covariance-method:sample}")
+    private String covarianceMethod;
 
     @Override
     public CorrelationAnalysisResponse performCorrelationAnalysis(String sessionId, CorrelationAnalysisRequest request) {
-        log.info("상관관계 분석 시작 - 세션: {}, 종목수: {}", sessionId, request.getTickers().size());
+        return analyze(sessionId, request, MAX_SELECTED_TICKERS, AnalysisProgress.NONE);
+    }
+
+    private CorrelationAnalysisResponse analyze(String sessionId, CorrelationAnalysisRequest request, int maxTickers,
+                                                AnalysisProgress progress) {
+        log.info("상관관계 분석 시작 - 세션: {}, 종목수: {}", sessionId,
+                request.getTickers() != null ? request.getTickers().size() : 0);
 
         try {
+            long startTime = System.currentTimeMillis();
+
             // 1. 입력 데이터 검증
-            validateAnalysisRequest(request);
+            validateAnalysisRequest(request, maxTickers);
 
             // 2. 기존 분석 결과 삭제
             correlationMapper.deleteAnalysisResults(sessionId);
+            long deletedTime = System.currentTimeMillis();
 
-            // 3. 종목 쌍별 상관관계 계산 및 저장
-            List<String> tickers = request.getTickers();
             LocalDate endDate = LocalDate.now();
+            List<String> tickers = new ArrayList<>(new LinkedHashSet<>(request.getTickers()));
+            List<CorrelationAnalysisRequest.AnalysisPeriod> windows =
+                    ReturnMatrixCorrelationEngine.resolveWindows(request.getPeriod());
+            progress.onStart(tickers.size() * (tickers.size() - 1) / 2);
+            checkCancelled(progress);
+
+            // 3. 공유 캐시에 없는 종목 쌍만 계산
+            // covariance 방식의 값은 요청 종목 집합·추정 방식에 따라 달라지므로 세션 간에 공유하지 않는다
+            boolean shareable = !"covariance".equalsIgnoreCase(computeMode);
+            SharedCorrelationCache.CachedCorrelations cached;
+            if (shareable) {
+                correlationCache.syncPriceDate(correlationMapper.findLatestPriceDate());
+                cached = correlationCache.lookup(tickers, windows, endDate);
+            } else {
+                cached = SharedCorrelationCache.CachedCorrelations.uncached(tickers);
+            }
+            List<String> missingTickers = cached.getMissingTickers();
+
+            ReturnCorrelationMatrix correlationMatrix = null;
+            if (!missingTickers.isEmpty()) {
+                progress.onComputeStart(missingTickers.size() * (missingTickers.size() - 1) / 2 * windows.size());
+                correlationMatrix = computeMatrix(missingTickers, endDate, request.getPeriod(), progress);
+                if (shareable) {
+                    correlationCache.putAll(correlationMatrix, endDate);
+                }
+            }
+            log.debug("공유 상관계수 캐시 - 전체 종목: {}, 재계산 종목: {}", tickers.size(), missingTickers.size());
+            long computedTime = System.currentTimeMillis();
+            checkCancelled(progress);
 
+            // 4. 종목 쌍별 상관관계 수집
+            List<CorrelationAnalysis> correlations = new ArrayList<>(tickers.size() * (tickers.size() - 1) / 2);
             for (int i = 0; i < tickers.size(); i++) {
                 for (int j = i + 1; j < tickers.size(); j++) {
                     String ticker1 = tickers.get(i);
                     String ticker2 = tickers.get(j);
 
-                    // 상관계수 계산
+                    // 상관계수 조회 (공유 캐시 우선)
                     CorrelationAnalysis correlation = calculateCorrelation(
-                            sessionId, ticker1, ticker2, endDate, request.getPeriod());
+                            sessionId, ticker1, ticker2, endDate, windows, cached, correlationMatrix);
 
                     if (correlation != null) {
-                        correlationMapper.insertCorrelationAnalysis(correlation);
-                        log.debug("상관계수 계산 완료: {} vs {} = {}",
-                                ticker1, ticker2, correlation.getAverageCorrelation());
+                        correlations.add(correlation);
                     }
                 }
             }
 
-            // 4. 분석 결과 조회 및 응답 생성
-            return buildAnalysisResponse(sessionId, request.getHighCorrelationThreshold());
-
+            // 5. 다중 행 INSERT 로 일괄 저장
+            for (int from = 0; from < correlations.size(); from += INSERT_CHUNK_SIZE) {
+                int to = Math.min(from + INSERT_CHUNK_SIZE, correlations.size());
+                checkCancelled(progress);
+                correlationMapper.insertCorrelationsBatch(correlations.subList(from, to));
+                progress.onPairsDone(to - from);
+            }
+            // 값을 구하지 못해 저장하지 않은 쌍도 처리 완료로 집계
+            progress.onPairsDone(tickers.size() * (tickers.size() - 1) / 2 - correlations.size());
+            long savedTime = System.currentTimeMillis();
+
+            // 6. 분석 결과 조회 및 응답 생성
+            CorrelationAnalysisResponse response =
+                    buildAnalysisResponse(sessionId, request.getHighCorrelationThreshold());
+
+            log.info("상관관계 분석 완료 - 세션: {}, 쌍: {}, 삭제: {}ms, 계산: {}ms, 저장: {}ms, 응답 생성: {}ms",
+                    sessionId, correlations.size(),
+                    deletedTime - startTime,
+                    computedTime - deletedTime,
+                    savedTime - computedTime,
+                    System.currentTimeMillis() - savedTime);
+
+            return response;
+
+        } catch (CancellationException e) {
+            // 트랜잭션 롤백으로 기존 분석 결과 유지
+            log.info("상관관계 분석 취소 - 세션: {}", sessionId);
+            throw e;
         } catch (Exception e) {
             log.error("상관관계 분석 중 오류 발생: {}", e.getMessage(), e);
             throw new RuntimeException("상관관계 분석 중 오류가 발생했습니다: " + e.getMessage(), e);
@@ -82,7 +190,19 @@ public class CorrelationServiceImpl implements CorrelationService {
         }
 
         // 2. 히트맵 매트릭스 생성
-        return buildHeatmapData(tickers, correlations);
+        return buildHeatmapData(tickers, IndexedCorrelationMatrix.of(correlations));
+    }
+
+    @Override
+    public IndexedCorrelationMatrix loadCorrelationMatrix(String sessionId) {
+        List<CorrelationAnalysis> correlations = correlationMapper.findBySessionId(sessionId);
+
+        if (correlations.isEmpty()) {
+            log.warn("히트맵 생성을 위한 상관관계 데이터가 없습니다. 세션: {}", sessionId);
+            throw new IllegalStateException("상관관계 분석 결과가 없습니다. 먼저 분석을 수행해주세요.");
+        }
+
+        return IndexedCorrelationMatrix.of(correlations);
     }
 
     @Override
@@ -203,6 +323,54 @@ public class CorrelationServiceImpl implements CorrelationService {
         return performCorrelationAnalysis(sessionId, request);
     }
 
+    @Override
+    public CorrelationAnalysisResponse performScopedAnalysis(String sessionId, String screeningSessionId,
+                                                             CorrelationAnalysisRequest request) {
+        return performScopedAnalysis(sessionId, screeningSessionId, request, AnalysisProgress.NONE);
+    }
+
+    @Override
+    public CorrelationAnalysisResponse performScopedAnalysis(String sessionId, String screeningSessionId,
+                                                             CorrelationAnalysisRequest request,
+                                                             AnalysisProgress progress) {
+        CorrelationAnalysisRequest.AnalysisScope scope = request.getScope() != null
+                ? request.getScope()
+                : CorrelationAnalysisRequest.AnalysisScope.SELECTED;
+
+        log.info("범위 상관관계 분석 수행 - 세션: {}, 범위: {}", sessionId, scope);
+
+        // 1. 분석 범위에 따른 종목 목록 결정
+        List<String> tickers;
+        switch (scope) {
+            case SCREENED_TOP50:
+                tickers = correlationMapper.findScreenedTopTickers(screeningSessionId, SCREENED_TOP_COUNT);
+                if (tickers.isEmpty()) {
+                    throw new IllegalStateException("스크리닝 결과가 없습니다. 먼저 멀티팩터 스크리닝을 수행해주세요.");
+                }
+                break;
+            case UNIVERSE:
+                LocalDate endDate = LocalDate.now();
+                tickers = correlationMapper.findUniverseTickers(
+                        endDate.minusMonths(12), endDate, universeMaxTickers);
+                break;
+            default:
+                return analyze(sessionId, request, MAX_SELECTED_TICKERS, progress);
+        }
+
+        // 2. 상관관계 분석 수행
+        request.setTickers(tickers);
+        return analyze(sessionId, request, universeMaxTickers, progress);
+    }
+
+    /**
+     * 주가 재적재 이벤트 발행 - 주가에 의존하는 캐시는 커밋 후 각자 구독해 무효화
+     */
+    @Override
+    public void invalidateSharedCorrelations() {
+        log.info("주가 재적재 이벤트 발행");
+        eventPublisher.publishEvent(new StockPriceReloadedEvent(this));
+    }
+
     @Override
     public void deleteAnalysisResults(String sessionId) {
         log.info("상관관계 분석 결과 삭제 - 세션: {}", sessionId);
@@ -211,7 +379,13 @@ public class CorrelationServiceImpl implements CorrelationService {
 
     // === Private Methods ===
 
-    private void validateAnalysisRequest(CorrelationAnalysisRequest request) {
+    private void checkCancelled(AnalysisProgress progress) {
+        if (progress.isCancelled()) {
+            throw new CancellationException("상관관계 분석이 취소되었습니다.");
+        }
+    }
+
+    private void validateAnalysisRequest(CorrelationAnalysisRequest request, int maxTickers) {
         if (request.getTickers() == null || request.getTickers().isEmpty()) {
             throw new IllegalArgumentException("분석할 종목 목록이 비어있습니다.");
         }
@@ -220,8 +394,8 @@ public class CorrelationServiceImpl implements CorrelationService {
             throw new IllegalArgumentException("상관관계 분석을 위해서는 최소 2개의 종목이 필요합니다.");
         }
 
-        if (request.getTickers().size() > 10) {
-            throw new IllegalArgumentException("최대 10개의 종목까지만 분석 가능합니다.");
+        if (request.getTickers().size() > maxTickers) {
+            throw new IllegalArgumentException("최대 " + maxTickers + "개의 종목까지만 분석 가능합니다.");
         }
 
         if (request.getHighCorrelationThreshold() == null ||
@@ -232,34 +406,18 @@ public class CorrelationServiceImpl implements CorrelationService {
     }
 
     private CorrelationAnalysis calculateCorrelation(String sessionId, String ticker1, String ticker2,
-                                                     LocalDate endDate, CorrelationAnalysisRequest.AnalysisPeriod period) {
+                                                     LocalDate endDate,
+                                                     List<CorrelationAnalysisRequest.AnalysisPeriod> windows,
+                                                     SharedCorrelationCache.CachedCorrelations cached,
+                                                     ReturnCorrelationMatrix correlationMatrix) {
         try {
-            // 3개월 상관계수 계산
-            Double corr3m = null;
-            if (period == CorrelationAnalysisRequest.AnalysisPeriod.ALL ||
-                    period == CorrelationAnalysisRequest.AnalysisPeriod.THREE_MONTH) {
-
-                LocalDate startDate3m = endDate.minusMonths(3);
-                corr3m = correlationMapper.calculatePearsonCorrelation(ticker1, ticker2, startDate3m, endDate);
-            }
-
-            // 6개월 상관계수 계산
-            Double corr6m = null;
-            if (period == CorrelationAnalysisRequest.AnalysisPeriod.ALL ||
-                    period == CorrelationAnalysisRequest.AnalysisPeriod.SIX_MONTH) {
-
-                LocalDate startDate6m = endDate.minusMonths(6);
-                corr6m = correlationMapper.calculatePearsonCorrelation(ticker1, ticker2, startDate6m, endDate);
-            }
-
-            // 1년 상관계수 계산
-            Double corr1y = null;
-            if (period == CorrelationAnalysisRequest.AnalysisPeriod.ALL ||
-                    period == CorrelationAnalysisRequest.AnalysisPeriod.ONE_YEAR) {
-
-                LocalDate startDate1y = endDate.minusMonths(12);
-                corr1y = correlationMapper.calculatePearsonCorrelation(ticker1, ticker2, startDate1y, endDate);
-            }
+            // 3개월, 6개월, 1년 상관계수 (분석 대상이 아닌 기간은 null)
+            Double corr3m = resolveCorrelation(CorrelationAnalysisRequest.AnalysisPeriod.THREE_MONTH,
+                    ticker1, ticker2, windows, cached, correlationMatrix);
+            Double corr6m = resolveCorrelation(CorrelationAnalysisRequest.AnalysisPeriod.SIX_MONTH,
+                    ticker1, ticker2, windows, cached, correlationMatrix);
+            Double corr1y = resolveCorrelation(CorrelationAnalysisRequest.AnalysisPeriod.ONE_YEAR,
+                    ticker1, ticker2, windows, cached, correlationMatrix);
 
             return CorrelationAnalysis.builder()
                     .sessionId(sessionId)
@@ -279,6 +437,86 @@ public class CorrelationServiceImpl implements CorrelationService {
         }
     }
 
+    /**
+     * 계산 방식에 따라 상관계수 매트릭스 계산
+     * - 인메모리 계산은 블록 쌍 단위로, 나머지 방식은 기간 단위로 진행 상황을 보고하고 취소를 확인한다
+     */
+    private ReturnCorrelationMatrix computeMatrix(List<String> tickers, LocalDate endDate,
+                                                  CorrelationAnalysisRequest.AnalysisPeriod period,
+                                                  AnalysisProgress progress) {
+        int pairs = tickers.size() * (tickers.size() - 1) / 2;
+
+        if ("database".equalsIgnoreCase(computeMode)) {
+            ReturnCorrelationMatrix matrix = databaseCorrelationCalculator.compute(tickers, endDate, period);
+            progress.onPairsComputed(pairs * matrix.getWindows().size());
+            return matrix;
+        }
+        if ("covariance".equalsIgnoreCase(computeMode)) {
+            return computeFromCovariance(tickers, period, progress);
+        }
+
+        ReturnCorrelationMatrix matrix = rollingCorrelationService.lookup(tickers, endDate, period);
+        if (matrix != null) {
+            progress.onPairsComputed(pairs * matrix.getWindows().size());
+            return matrix;
+        }
+        return correlationEngine.compute(tickers, endDate, period, progress);
+    }
+
+    /**
+     * 공분산 추정 서비스의 캐시된 기간별 공분산으로 상관계수 매트릭스 구성
+     * - 요청 종목 전체의 공통 거래일(complete-case) 기준이며, 추정에서 제외된 종목의 상관계수는 NaN
+     * - 값이 종목 집합과 추정 방식(수축 등)에 의존하는 쌍별 Pearson 이 아니므로 공유 캐시에 넣지 않는다
+     */
+    private ReturnCorrelationMatrix computeFromCovariance(List<String> tickers,
+                                                         CorrelationAnalysisRequest.AnalysisPeriod period,
+                                                         AnalysisProgress progress) {
+        List<String> uniqueTickers = new ArrayList<>(new LinkedHashSet<>(tickers));
+        int n = uniqueTickers.size();
+        CovarianceMethod method = CovarianceMethod.from(covarianceMethod);
+
+        Map<String, double[]> matrices = new LinkedHashMap<>();
+        for (CorrelationAnalysisRequest.AnalysisPeriod window : ReturnMatrixCorrelationEngine.resolveWindows(period)) {
+            checkCancelled(progress);
+            CovarianceEstimate estimate =
+                    covarianceEstimationService.getEstimate(uniqueTickers, window.getMonths(), method);
+
+            double[] matrix = new double[n * n];
+            for (int i = 0; i < n; i++) {
+                for (int j = i; j < n; j++) {
+                    double value = estimate.correlation(uniqueTickers.get(i), uniqueTickers.get(j));
+                    matrix[i * n + j] = value;
+                    matrix[j * n + i] = value;
+                }
+            }
+            matrices.put(window.getCode(), matrix);
+            progress.onPairsComputed(n * (n - 1) / 2);
+        }
+
+        return new ReturnCorrelationMatrix(uniqueTickers, matrices);
+    }
+
+    /**
+     * 기간별 상관계수 결정 - 분석 시작 시점의 캐시 스냅샷을 먼저 확인하고 없으면 이번에 계산한 매트릭스 사용
+     * (스냅샷에 없는 쌍은 두 종목 모두 재계산 대상이므로 매트릭스에 있다)
+     */
+    private Double resolveCorrelation(CorrelationAnalysisRequest.AnalysisPeriod window,
+                                      String ticker1, String ticker2,
+                                      List<CorrelationAnalysisRequest.AnalysisPeriod> windows,
+                                      SharedCorrelationCache.CachedCorrelations cached,
+                                      ReturnCorrelationMatrix correlationMatrix) {
+        if (!windows.contains(window)) return null;
+
+        Double value = cached.get(ticker1, ticker2, window.getCode());
+        if (value != null) {
+            return value.isNaN() ? null : value;
+        }
+        if (correlationMatrix == null) {
+            throw new IllegalStateException("캐시와 계산 결과 모두에 없는 종목 쌍입니다: " + ticker1 + ", " + ticker2);
+        }
+        return correlationMatrix.get(window.getCode(), ticker1, ticker2);
+    }
+
     private CorrelationAnalysisResponse buildAnalysisResponse(String sessionId, Double threshold) {
         List<CorrelationAnalysis> correlations = correlationMapper.findBySessionId(sessionId);
 
@@ -290,16 +528,12 @@ public class CorrelationServiceImpl implements CorrelationService {
                     .build();
         }
 
-        // 종목 목록 추출
-        Set<String> tickerSet = new HashSet<>();
-        correlations.forEach(corr -> {
-            tickerSet.add(corr.getTicker1());
-            tickerSet.add(corr.getTicker2());
-        });
-        List<String> tickers = new ArrayList<>(tickerSet);
+        // 종목 목록 추출 및 인덱스 매트릭스 구성
+        IndexedCorrelationMatrix indexedMatrix = IndexedCorrelationMatrix.of(correlations);
+        List<String> tickers = indexedMatrix.getTickers();
 
         // 상관관계 매트릭스 생성
-        CorrelationAnalysisResponse.PeriodCorrelationMatrix matrix = buildCorrelationMatrix(tickers, correlations);
+        CorrelationAnalysisResponse.PeriodCorrelationMatrix matrix = buildCorrelationMatrix(indexedMatrix);
 
         // 높은 상관관계 종목 쌍 추출
         List<CorrelationAnalysisResponse.HighCorrelationPair> highCorrelationPairs =
@@ -322,11 +556,11 @@ public class CorrelationServiceImpl implements CorrelationService {
     }
 
     private CorrelationAnalysisResponse.PeriodCorrelationMatrix buildCorrelationMatrix(
-            List<String> tickers, List<CorrelationAnalysis> correlations) {
+            IndexedCorrelationMatrix indexedMatrix) {
 
-        Map<String, Map<String, Double>> matrix3m = buildMatrix(tickers, correlations, "3M");
-        Map<String, Map<String, Double>> matrix6m = buildMatrix(tickers, correlations, "6M");
-        Map<String, Map<String, Double>> matrix1y = buildMatrix(tickers, correlations, "1Y");
+        Map<String, Map<String, Double>> matrix3m = buildMatrix(indexedMatrix, "3M");
+        Map<String, Map<String, Double>> matrix6m = buildMatrix(indexedMatrix, "6M");
+        Map<String, Map<String, Double>> matrix1y = buildMatrix(indexedMatrix, "1Y");
 
         return CorrelationAnalysisResponse.PeriodCorrelationMatrix.builder()
                 .threeMonthMatrix(matrix3m)
@@ -335,48 +569,41 @@ public class CorrelationServiceImpl implements CorrelationService {
                 .build();
     }
 
-    private Map<String, Map<String, Double>> buildMatrix(List<String> tickers,
-                                                         List<CorrelationAnalysis> correlations,
-                                                         String period) {
+    private Map<String, Map<String, Double>> buildMatrix(IndexedCorrelationMatrix indexedMatrix, String period) {
+        List<String> tickers = indexedMatrix.getTickers();
+        int size = tickers.size();
         Map<String, Map<String, Double>> matrix = new HashMap<>();
 
-        // 매트릭스 초기화
-        for (String ticker : tickers) {
-            matrix.put(ticker, new HashMap<>());
-            for (String otherTicker : tickers) {
-                matrix.get(ticker).put(otherTicker, ticker.equals(otherTicker) ? 1.0 : 0.0);
-            }
-        }
-
-        // 상관계수 값 설정
-        for (CorrelationAnalysis corr : correlations) {
-            Double value = null;
-            switch (period) {
-                case "3M": value = corr.getCorrelation3m(); break;
-                case "6M": value = corr.getCorrelation6m(); break;
-                case "1Y": value = corr.getCorrelation1y(); break;
-            }
-
-            if (value != null) {
-                matrix.get(corr.getTicker1()).put(corr.getTicker2(), value);
-                matrix.get(corr.getTicker2()).put(corr.getTicker1(), value);
+        // 값이 없는 쌍은 0.0
+        for (int i = 0; i < size; i++) {
+            Map<String, Double> row = new HashMap<>();
+            for (int j = 0; j < size; j++) {
+                double value = indexedMatrix.get(period, i, j);
+                row.put(tickers.get(j), Double.isNaN(value) ? 0.0 : value);
             }
+            matrix.put(tickers.get(i), row);
         }
 
         return matrix;
     }
 
-    private CorrelationHeatmapData buildHeatmapData(List<String> tickers, List<CorrelationAnalysis> correlations) {
+    private CorrelationHeatmapData buildHeatmapData(List<String> tickers, IndexedCorrelationMatrix indexedMatrix) {
         List<CorrelationHeatmapData.HeatmapPeriodData> periodDataList = new ArrayList<>();
 
+        // 요청 종목의 매트릭스 인덱스 (분석 결과에 없는 종목은 -1)
+        int[] indices = new int[tickers.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = indexedMatrix.indexOf(tickers.get(i));
+        }
+
         // 3개월 데이터
-        periodDataList.add(buildPeriodHeatmapData("3M", "3개월", tickers, correlations));
+        periodDataList.add(buildPeriodHeatmapData("3M", "3개월", indices, indexedMatrix));
 
         // 6개월 데이터
-        periodDataList.add(buildPeriodHeatmapData("6M", "6개월", tickers, correlations));
+        periodDataList.add(buildPeriodHeatmapData("6M", "6개월", indices, indexedMatrix));
 
         // 1년 데이터
-        periodDataList.add(buildPeriodHeatmapData("1Y", "1년", tickers, correlations));
+        periodDataList.add(buildPeriodHeatmapData("1Y", "1년", indices, indexedMatrix));
 
         return CorrelationHeatmapData.builder()
                 .labels(tickers)
@@ -386,9 +613,9 @@ public class CorrelationServiceImpl implements CorrelationService {
     }
 
     private CorrelationHeatmapData.HeatmapPeriodData buildPeriodHeatmapData(
-            String period, String periodName, List<String> tickers, List<CorrelationAnalysis> correlations) {
+            String period, String periodName, int[] indices, IndexedCorrelationMatrix indexedMatrix) {
 
-        int size = tickers.size();
+        int size = indices.length;
         List<List<Double>> matrix = new ArrayList<>();
 
         double min = 1.0, max = -1.0, sum = 0.0;
@@ -400,10 +627,12 @@ public class CorrelationServiceImpl implements CorrelationService {
                 if (i == j) {
                     row.add(1.0);
                 } else {
-                    Double value = findCorrelationValue(tickers.get(i), tickers.get(j), correlations, period);
-                    row.add(value != null ? value : 0.0);
+                    double value = indices[i] < 0 || indices[j] < 0
+                            ? Double.NaN
+                            : indexedMatrix.get(period, indices[i], indices[j]);
+                    row.add(Double.isNaN(value) ? 0.0 : value);
 
-                    if (value != null) {
+                    if (!Double.isNaN(value)) {
                         min = Math.min(min, value);
                         max = Math.max(max, value);
                         sum += value;
@@ -424,21 +653,6 @@ public class CorrelationServiceImpl implements CorrelationService {
                 .build();
     }
 
-    private Double findCorrelationValue(String ticker1, String ticker2,
-                                        List<CorrelationAnalysis> correlations, String period) {
-        for (CorrelationAnalysis corr : correlations) {
-            if ((corr.getTicker1().equals(ticker1) && corr.getTicker2().equals(ticker2)) ||
-                    (corr.getTicker1().equals(ticker2) && corr.getTicker2().equals(ticker1))) {
-                switch (period) {
-                    case "3M": return corr.getCorrelation3m();
-                    case "6M": return corr.getCorrelation6m();
-                    case "1Y": return corr.getCorrelation1y();
-                }
-            }
-        }
-        return null;
-    }
-
     private double calculateDiversificationScore(List<CorrelationAnalysis> correlations, double threshold) {
         if (correlations.isEmpty()) return 0.0;
 
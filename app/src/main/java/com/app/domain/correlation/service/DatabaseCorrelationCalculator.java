@@ -0,0 +1,92 @@
+package com.app.domain.correlation.service;
+
+
+import com.app.domain.correlation.dto.CorrelationAnalysisRequest;
+import com.app.domain.correlation.mapper.CorrelationMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * DB 상관관계 계산기 (correlation.compute-mode=database)
+ *
+ * <p>계산을 데이터베이스에 유지해야 하는 배포 환경용 대체 경로.
+ * 종목 쌍/기간마다 피어슨 쿼리를 세 번씩 실행하던 방식 대신
+ * {@link CorrelationMapper#calculateMultiWindowCorrelations} 한 번으로
+ * 전체 쌍의 3M, 6M, 1Y 상관계수를 받아 {@link ReturnCorrelationMatrix} 로 변환한다.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DatabaseCorrelationCalculator {
+
+
+    private final CorrelationMapper correlationMapper;
+
+    /**
+     * DB 조건부 집계로 기간별 상관계수 매트릭스 계산
+     * @param tickers 분석 대상 티커 목록
+     * @param endDate 분석 종료일
+     * @param period 분석 기간 (ALL이면 3M, 6M, 1Y 모두)
+     * @return 기간별 상관계수 매트릭스
+     */
+    public ReturnCorrelationMatrix compute(List<String> tickers, LocalDate endDate,
+                                           CorrelationAnalysisRequest.AnalysisPeriod period) {
+        List<String> uniqueTickers = new ArrayList<>(new LinkedHashSet<>(tickers));
+        List<CorrelationAnalysisRequest.AnalysisPeriod> windows = ReturnMatrixCorrelationEngine.resolveWindows(period);
+        int n = uniqueTickers.size();
+
+        Map<String, double[]> matrices = new LinkedHashMap<>();
+        for (CorrelationAnalysisRequest.AnalysisPeriod window : windows) {
+            double[] matrix = new double[n * n];
+            Arrays.fill(matrix, Double.NaN);
+            for (int i = 0; i < n; i++) {
+                matrix[i * n + i] = 1.0;
+            }
+            matrices.put(window.getCode(), matrix);
+        }
+        if (n < 2) return new ReturnCorrelationMatrix(uniqueTickers, matrices);
+
+        long startTime = System.currentTimeMillis();
+        List<CorrelationMapper.PairCorrelationRow> rows = correlationMapper.calculateMultiWindowCorrelations(
+                uniqueTickers,
+                endDate.minusMonths(CorrelationAnalysisRequest.AnalysisPeriod.THREE_MONTH.getMonths()),
+                endDate.minusMonths(CorrelationAnalysisRequest.AnalysisPeriod.SIX_MONTH.getMonths()),
+                endDate.minusMonths(CorrelationAnalysisRequest.AnalysisPeriod.ONE_YEAR.getMonths()),
+                endDate);
+
+        Map<String, Integer> tickerIndex = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            tickerIndex.put(uniqueTickers.get(i), i);
+        }
+
+        for (CorrelationMapper.PairCorrelationRow row : rows) {
+            Integer i = tickerIndex.get(row.getTicker1());
+            Integer j = tickerIndex.get(row.getTicker2());
+            if (i == null || j == null) continue;
+
+            for (CorrelationAnalysisRequest.AnalysisPeriod window : windows) {
+                Double value = switch (window) {
+                    case THREE_MONTH -> row.getCorrelation3m();
+                    case SIX_MONTH -> row.getCorrelation6m();
+                    default -> row.getCorrelation1y();
+                };
+                if (value == null) continue;
+
+                double[] matrix = matrices.get(window.getCode());
+                matrix[i * n + j] = value;
+                matrix[j * n + i] = value;
+            }
+        }
+
+        log.debug("DB 다기간 상관계수 계산 완료 - 종목수: {}, 쌍: {}, 소요시간: {}ms",
+                n, rows.size(), System.currentTimeMillis() - startTime);
+
+        return new ReturnCorrelationMatrix(uniqueTickers, matrices);
+    }
+
+
+}//class
@@ -0,0 +1,155 @@
+package com.app.domain.correlation.service;
+
+
+import java.util.*;
+
+/**
+ * 분산 최적화용 조밀 상관계수 테이블
+ *
+ * <p>요청 종목을 0..n-1 정수 인덱스로 변환하고 선택한 분석 기간의 상관계수를
+ * n x n row-major double[] 하나에 펼친다. 점수 계산, 그리디 선택, 포트폴리오 평균
+ * 계산의 O(n²) 루프가 문자열 키 Map 조회와 Double 박싱 없이 배열을 순차 접근한다.</p>
+ *
+ * <p>값이 없는 쌍과 대각선은 NaN 으로 보관한다. 대각선을 NaN 으로 두면 행 통계에서
+ * 자기 자신을 별도 분기 없이 "값 없음"으로 건너뛸 수 있다. get 은 대각선에 1.0 을 돌려준다.</p>
+ */
+class DenseCorrelationTable {
+
+    private final List<String> tickers;
+    private final Map<String, Integer> tickerIndex;
+    private final int n;
+    private final double[] values;
+
+    private DenseCorrelationTable(List<String> tickers) {
+        this.tickers = Collections.unmodifiableList(tickers);
+        this.n = tickers.size();
+        this.tickerIndex = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            tickerIndex.put(tickers.get(i), i);
+        }
+        this.values = new double[n * n];
+        Arrays.fill(values, Double.NaN);
+    }
+
+    /**
+     * 인덱스 매트릭스에서 요청 종목 순서대로 테이블 구성
+     * @param matrix 상관관계 인덱스 매트릭스
+     * @param period 분석 기간 (3M, 6M, 1Y)
+     * @param tickers 요청 종목 (중복과 매트릭스에 없는 종목은 제외)
+     */
+    static DenseCorrelationTable of(IndexedCorrelationMatrix matrix, String period, List<String> tickers) {
+        List<String> present = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String ticker : tickers) {
+            if (matrix.indexOf(ticker) >= 0 && seen.add(ticker)) {
+                present.add(ticker);
+            }
+        }
+
+        DenseCorrelationTable table = new DenseCorrelationTable(present);
+        int n = table.n;
+        int[] source = new int[n];
+        for (int i = 0; i < n; i++) {
+            source[i] = matrix.indexOf(present.get(i));
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double value = matrix.get(period, source[i], source[j]);
+                table.values[i * n + j] = value;
+                table.values[j * n + i] = value;
+            }
+        }
+        return table;
+    }
+
+    int size() {
+        return n;
+    }
+
+    String ticker(int index) {
+        return tickers.get(index);
+    }
+
+    int indexOf(String ticker) {
+        Integer index = tickerIndex.get(ticker);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * 상관계수 (같은 종목이면 1.0, 값이 없으면 NaN)
+     */
+    double get(int i, int j) {
+        return i == j ? 1.0 : values[i * n + j];
+    }
+
+    /**
+     * 종목별 평균 상관계수·관측 쌍 수·높은 상관관계 개수를 한 번의 행 순회로 계산
+     *
+     * <p>내부 루프는 분기 없는 누적(NaN 은 0 으로 취급)이라 JIT 가 벡터화할 수 있다.
+     * NaN 과의 비교는 항상 false 이므로 높은 상관관계 개수에도 포함되지 않는다.</p>
+     */
+    RowStatistics rowStatistics(double highCorrelationThreshold) {
+        double[] average = new double[n];
+        int[] observed = new int[n];
+        int[] highCount = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            int row = i * n;
+            double sum = 0.0;
+            int count = 0;
+            int high = 0;
+            for (int j = 0; j < n; j++) {
+                double value = values[row + j];
+                boolean isPresent = value == value;
+                sum += isPresent ? value : 0.0;
+                count += isPresent ? 1 : 0;
+                high += Math.abs(value) >= highCorrelationThreshold ? 1 : 0;
+            }
+            average[i] = count > 0 ? sum / count : 0.0;
+            observed[i] = count;
+            highCount[i] = high;
+        }
+        return new RowStatistics(average, observed, highCount);
+    }
+
+    /**
+     * 인덱스 집합의 쌍별 |상관계수| 합과 관측 쌍 수 (값 없는 쌍 제외)
+     */
+    PairwiseSum pairwiseAbsSum(int[] indices) {
+        double sum = 0.0;
+        int count = 0;
+        for (int a = 0; a < indices.length; a++) {
+            int row = indices[a] * n;
+            for (int b = a + 1; b < indices.length; b++) {
+                double value = values[row + indices[b]];
+                if (value == value) {
+                    sum += Math.abs(value);
+                    count++;
+                }
+            }
+        }
+        return new PairwiseSum(sum, count);
+    }
+
+    /**
+     * 행 통계 (인덱스는 테이블 종목 순서)
+     */
+    record RowStatistics(double[] average, int[] observed, int[] highCount) {
+    }
+
+    /**
+     * 쌍별 |상관계수| 누적 (선택 집합에 종목을 추가할 때마다 갱신)
+     */
+    record PairwiseSum(double sum, int count) {
+
+        PairwiseSum plus(double addedSum, int addedCount) {
+            return new PairwiseSum(sum + addedSum, count + addedCount);
+        }
+
+        double average() {
+            return count > 0 ? sum / count : 0.0;
+        }
+    }
+
+
+}//class
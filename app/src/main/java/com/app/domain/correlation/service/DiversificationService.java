@@ -3,8 +3,12 @@ package com.app.domain.correlation.service;
 import com.app.domain.correlation.dto.*;
 import com.app.domain.correlation.entity.CorrelationAnalysis;
 import com.app.domain.correlation.mapper.CorrelationMapper;
+import com.app.domain.portfolio.dto.CovarianceMethod;
+import com.app.domain.portfolio.service.CovarianceEstimate;
+import com.app.domain.portfolio.service.CovarianceEstimationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +25,16 @@ public class DiversificationService {
 
 
     private final CorrelationMapper correlationMapper;
+    private final CovarianceEstimationService covarianceEstimationService;
+
+    /**
+     * 분기 한정 탐색 기본 / 최대 제한 시간 (밀리초)
+     */
+    @Value("${diversification.branch-and-bound.time-budget-ms:2000}")
+    private long defaultTimeBudgetMs;
+
+    @Value("${diversification.branch-and-bound.max-time-budget-ms:30000}")
+    private long maxTimeBudgetMs;
 
 
     /**
@@ -55,44 +69,76 @@ public class DiversificationService {
 
         log.info("종목명 조회 완료: {} 건", stockNames.size());
 
-//        List<DiversificationScore> allScores = calculateDiversificationScores(
-//                request.getTickers(),
-//                correlationMatrix,
-//                request.getHighCorrelationThreshold(),
-//                stockNames  // 🆕 종목명 Map 전달
-//        );
-        // 2. 상관관계 매트릭스 생성
-        Map<String, Map<String, Double>> correlationMatrix = buildCorrelationMatrix(
-                correlations,
-                request.getAnalysisPeriod()
+        // 2. 상관관계 테이블 생성 (요청 종목을 정수 인덱스로 변환)
+        DenseCorrelationTable correlationTable = DenseCorrelationTable.of(
+                IndexedCorrelationMatrix.of(correlations),
+                request.getAnalysisPeriod(),
+                request.getTickers()
         );
 
         // 3. 각 종목의 분산 점수 계산 (종목명 포함)
         List<DiversificationScore> allScores = calculateDiversificationScores(
                 request.getTickers(),
-                correlationMatrix,
+                correlationTable,
                 request.getHighCorrelationThreshold(),
                 stockNames  // 🆕 종목명 Map 전달
         );
 
-        // 4. 최적 종목 선택 (그리디 알고리즘)
-        List<DiversificationScore> selectedStocks = selectOptimalStocks(
-                allScores,
-                correlationMatrix,
-                request.getHighCorrelationThreshold(),
-                request.getTargetStockCount()
-        );
+        // 4. 최적 종목 선택 (그리디 알고리즘) 또는 위험 기반 비중 배분
+        DiversificationRequest.AllocationMode allocationMode = request.getAllocationMode() != null
+                ? request.getAllocationMode() : DiversificationRequest.AllocationMode.GREEDY;
+
+        List<DiversificationScore> selectedStocks;
+        DenseCorrelationTable.PairwiseSum selectedPairs = null;
+        String optimizationAlgorithm;
+        if (allocationMode == DiversificationRequest.AllocationMode.GREEDY) {
+            GreedySelection greedy = selectOptimalStocks(
+                    allScores,
+                    correlationTable,
+                    request.getHighCorrelationThreshold(),
+                    request.getTargetStockCount()
+            );
+            selectedStocks = greedy.selected();
+            selectedPairs = greedy.pairwiseSum();
+            optimizationAlgorithm = "Greedy Algorithm with Correlation Threshold";
+        } else if (allocationMode == DiversificationRequest.AllocationMode.BRANCH_AND_BOUND) {
+            long timeBudgetMs = Math.min(
+                    request.getTimeBudgetMs() != null ? request.getTimeBudgetMs() : defaultTimeBudgetMs,
+                    maxTimeBudgetMs);
+            MaxDiversificationSubsetSolver.Result result = selectOptimalSubset(
+                    allScores,
+                    correlationTable,
+                    request.getHighCorrelationThreshold(),
+                    request.getTargetStockCount(),
+                    Math.max(timeBudgetMs, 1L)
+            );
+            selectedStocks = allScores.stream()
+                    .filter(DiversificationScore::getSelected)
+                    .collect(Collectors.toList());
+            optimizationAlgorithm = result.optimal()
+                    ? "Branch and Bound (optimal)"
+                    : String.format("Branch and Bound (time-capped at %dms, best found)", timeBudgetMs);
+        } else {
+            selectedStocks = allocateRiskBased(
+                    allScores,
+                    request.getAnalysisPeriod(),
+                    request.getTargetStockCount(),
+                    allocationMode
+            );
+            optimizationAlgorithm = allocationMode == DiversificationRequest.AllocationMode.HRP
+                    ? "Hierarchical Risk Parity (Single Linkage, Recursive Bisection)"
+                    : "Equal Risk Contribution (Cyclical Coordinate Descent)";
+        }
 
         // 5. 제외된 종목 분류
         List<DiversificationScore> excludedStocks = allScores.stream()
                 .filter(score -> !score.getSelected())
                 .collect(Collectors.toList());
 
-        // 6. 포트폴리오 지표 계산
-        Double portfolioAvgCorrelation = calculatePortfolioAvgCorrelation(
-                selectedStocks,
-                correlationMatrix
-        );
+        // 6. 포트폴리오 지표 계산 (그리디는 선택 과정에서 누적한 합 사용)
+        Double portfolioAvgCorrelation = selectedPairs != null
+                ? selectedPairs.average()
+                : calculatePortfolioAvgCorrelation(selectedStocks, correlationTable);
 
         Double portfolioDiversificationScore = calculatePortfolioDiversificationScore(
                 portfolioAvgCorrelation
@@ -100,7 +146,7 @@ public class DiversificationService {
 
         // 7. 선택된 종목들의 상관관계 매트릭스 필터링
         Map<String, Map<String, Double>> selectedCorrelationMatrix = filterCorrelationMatrix(
-                correlationMatrix,
+                correlationTable,
                 selectedStocks.stream()
                         .map(DiversificationScore::getTicker)
                         .collect(Collectors.toList())
@@ -124,71 +170,46 @@ public class DiversificationService {
                         .removedStockCount(excludedStocks.size())
                         .highCorrelationThreshold(request.getHighCorrelationThreshold())
                         .analysisPeriod(request.getAnalysisPeriod())
-                        .optimizationAlgorithm("Greedy Algorithm with Correlation Threshold")
+                        .optimizationAlgorithm(optimizationAlgorithm)
                         .build())
                 .build();
     }
 
     /**
-     * 상관관계 매트릭스 생성
+     * 그리디 선택 결과 (선택 종목과 선택 집합의 쌍별 |상관계수| 누적)
      */
-    private Map<String, Map<String, Double>> buildCorrelationMatrix(
-            List<CorrelationAnalysis> correlations,
-            String period) {
-
-        Map<String, Map<String, Double>> matrix = new HashMap<>();
-
-        for (CorrelationAnalysis corr : correlations) {
-            Double correlation = corr.getCorrelationByPeriod(period);
-            if (correlation == null) continue;
-
-            // ticker1 -> ticker2
-            matrix.computeIfAbsent(corr.getTicker1(), k -> new HashMap<>())
-                    .put(corr.getTicker2(), correlation);
-
-            // ticker2 -> ticker1 (대칭)
-            matrix.computeIfAbsent(corr.getTicker2(), k -> new HashMap<>())
-                    .put(corr.getTicker1(), correlation);
-        }
-
-        // 자기 자신과의 상관계수는 1.0
-        for (String ticker : matrix.keySet()) {
-            matrix.get(ticker).put(ticker, 1.0);
-        }
-
-        return matrix;
+    private record GreedySelection(List<DiversificationScore> selected,
+                                   DenseCorrelationTable.PairwiseSum pairwiseSum) {
     }
 
     /**
      * 각 종목의 분산 점수 계산
+     *
+     * 평균 상관계수와 높은 상관관계 개수는 테이블 행 통계 한 번으로 구한다.
      */
     private List<DiversificationScore> calculateDiversificationScores(
             List<String> tickers,
-            Map<String, Map<String, Double>> correlationMatrix,
+            DenseCorrelationTable correlationTable,
             Double highCorrelationThreshold,
             Map<String, String> stockNames) {  // 🆕 파라미터 추가
 
+        DenseCorrelationTable.RowStatistics statistics =
+                correlationTable.rowStatistics(highCorrelationThreshold);
+
         List<DiversificationScore> scores = new ArrayList<>();
 
         for (String ticker : tickers) {
-            Map<String, Double> correlations = correlationMatrix.get(ticker);
-            if (correlations == null || correlations.isEmpty()) {
+            int index = correlationTable.indexOf(ticker);
+            if (index < 0 || statistics.observed()[index] == 0) {
                 log.warn("티커 {}의 상관관계 데이터가 없습니다.", ticker);
                 continue;
             }
 
-            // 평균 상관계수 계산 (자기 자신 제외)
-            double avgCorrelation = correlations.entrySet().stream()
-                    .filter(e -> !e.getKey().equals(ticker))
-                    .mapToDouble(Map.Entry::getValue)
-                    .average()
-                    .orElse(0.0);
+            // 평균 상관계수 (자기 자신 제외)
+            double avgCorrelation = statistics.average()[index];
 
             // 높은 상관관계 종목 개수
-            int highCorrelationCount = (int) correlations.entrySet().stream()
-                    .filter(e -> !e.getKey().equals(ticker))
-                    .filter(e -> Math.abs(e.getValue()) >= highCorrelationThreshold)
-                    .count();
+            int highCorrelationCount = statistics.highCount()[index];
 
             // 분산 점수 계산 (평균 상관계수가 낮을수록 높은 점수)
             double diversificationScore = 1.0 - Math.abs(avgCorrelation);
@@ -220,15 +241,19 @@ public class DiversificationService {
      * 2. 이미 선택된 종목들과 높은 상관관계(0.7 이상)를 가지지 않는 종목 중
      *    분산 점수가 가장 높은 종목을 순차적으로 선택
      * 3. 목표 개수에 도달할 때까지 반복
+     *
+     * 후보와 선택 종목의 상관계수는 충돌 검사 중에 함께 누적해 두었다가
+     * 후보가 선택되면 선택 집합의 쌍별 합에 더한다.
      */
-    private List<DiversificationScore> selectOptimalStocks(
+    private GreedySelection selectOptimalStocks(
             List<DiversificationScore> allScores,
-            Map<String, Map<String, Double>> correlationMatrix,
+            DenseCorrelationTable correlationTable,
             Double highCorrelationThreshold,
             Integer targetCount) {
 
         List<DiversificationScore> selected = new ArrayList<>();
-        Set<String> selectedTickers = new HashSet<>();
+        int[] selectedIndices = new int[allScores.size()];
+        DenseCorrelationTable.PairwiseSum pairwiseSum = new DenseCorrelationTable.PairwiseSum(0.0, 0);
 
         // 이미 분산 점수 기준으로 정렬되어 있음
         for (DiversificationScore score : allScores) {
@@ -236,19 +261,26 @@ public class DiversificationService {
                 break;
             }
 
-            String currentTicker = score.getTicker();
+            int current = correlationTable.indexOf(score.getTicker());
 
             // 이미 선택된 종목들과의 상관관계 확인
             boolean hasHighCorrelation = false;
-            for (String selectedTicker : selectedTickers) {
-                Double correlation = correlationMatrix.get(currentTicker).get(selectedTicker);
-                if (correlation != null && Math.abs(correlation) >= highCorrelationThreshold) {
+            double addedSum = 0.0;
+            int addedCount = 0;
+            for (int s = 0; s < selected.size(); s++) {
+                double correlation = correlationTable.get(current, selectedIndices[s]);
+                if (Double.isNaN(correlation)) continue;
+
+                if (Math.abs(correlation) >= highCorrelationThreshold) {
                     hasHighCorrelation = true;
                     score.setExclusionReason(
-                            String.format("종목 %s와 높은 상관관계(%.4f)", selectedTicker, correlation)
+                            String.format("종목 %s와 높은 상관관계(%.4f)",
+                                    correlationTable.ticker(selectedIndices[s]), correlation)
                     );
                     break;
                 }
+                addedSum += Math.abs(correlation);
+                addedCount++;
             }
 
             if (!hasHighCorrelation) {
@@ -256,11 +288,12 @@ public class DiversificationService {
                 score.setSelected(true);
                 score.setSelectionRank(selected.size() + 1);
                 score.setExclusionReason(null);
+                selectedIndices[selected.size()] = current;
                 selected.add(score);
-                selectedTickers.add(currentTicker);
+                pairwiseSum = pairwiseSum.plus(addedSum, addedCount);
 
                 log.info("종목 선택: {} [{}] (분산점수: {}, 평균상관계수: {})",
-                        currentTicker, score.getStockName(),
+                        score.getTicker(), score.getStockName(),
                         score.getDiversificationScore(), score.getAvgCorrelation());
             }
         }
@@ -271,38 +304,233 @@ public class DiversificationService {
                     targetCount, selected.size());
         }
 
-        return selected;
+        return new GreedySelection(selected, pairwiseSum);
     }
 
     /**
-     * 포트폴리오 평균 상관계수 계산
+     * 최대 분산 부분집합 선택 (분기 한정)
+     *
+     * 분산 점수 순서의 후보 중 모든 쌍의 |상관계수|가 임계값 미만인 k개 조합 가운데
+     * 평균 |상관계수|가 가장 작은 조합을 선택한다. (상관계수 없는 쌍은 0)
      */
-    private Double calculatePortfolioAvgCorrelation(
-            List<DiversificationScore> selectedStocks,
-            Map<String, Map<String, Double>> correlationMatrix) {
+    private MaxDiversificationSubsetSolver.Result selectOptimalSubset(
+            List<DiversificationScore> allScores,
+            DenseCorrelationTable correlationTable,
+            Double highCorrelationThreshold,
+            Integer targetCount,
+            long timeBudgetMs) {
+
+        int n = allScores.size();
+        int[] order = tableIndices(allScores, correlationTable);
+        double[] absCorrelation = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i == j) continue;
+                double value = correlationTable.get(order[i], order[j]);
+                absCorrelation[i * n + j] = Double.isNaN(value) ? 0.0 : Math.abs(value);
+            }
+        }
 
-        if (selectedStocks.size() <= 1) {
-            return 0.0;
+        long startTime = System.currentTimeMillis();
+        MaxDiversificationSubsetSolver.Result result = MaxDiversificationSubsetSolver.solve(
+                absCorrelation, n, highCorrelationThreshold, targetCount, timeBudgetMs);
+
+        // 선택 표시 (분산 점수 순서 유지)
+        boolean[] chosen = new boolean[n];
+        for (int index : result.selected()) chosen[index] = true;
+
+        int rank = 0;
+        int[] selectedIndices = new int[result.selected().length];
+        for (int i = 0; i < n; i++) {
+            DiversificationScore score = allScores.get(i);
+            if (chosen[i]) {
+                selectedIndices[rank] = order[i];
+                score.setSelected(true);
+                score.setSelectionRank(++rank);
+                score.setExclusionReason(null);
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (chosen[i]) continue;
+            allScores.get(i).setExclusionReason(conflictReason(order[i], selectedIndices, correlationTable,
+                    highCorrelationThreshold));
         }
 
-        List<String> tickers = selectedStocks.stream()
+        log.info("분기 한정 부분집합 선택 완료 - 후보: {}, 선택: {}, 최적: {}, 노드: {}, 소요시간: {}ms",
+                n, result.selected().length, result.optimal(), result.nodes(),
+                System.currentTimeMillis() - startTime);
+
+        if (result.selected().length < targetCount) {
+            log.warn("목표 개수({})에 미달하여 {}개 종목만 선택되었습니다.", targetCount, result.selected().length);
+        }
+        return result;
+    }
+
+    /**
+     * 선택되지 않은 종목의 제외 사유
+     */
+    private String conflictReason(int index, int[] selectedIndices,
+                                  DenseCorrelationTable correlationTable,
+                                  Double highCorrelationThreshold) {
+        for (int selected : selectedIndices) {
+            double correlation = correlationTable.get(index, selected);
+            if (Math.abs(correlation) >= highCorrelationThreshold) {
+                return String.format("종목 %s와 높은 상관관계(%.4f)", correlationTable.ticker(selected), correlation);
+            }
+        }
+        return "평균 상관계수 최소 조합에 포함되지 않음";
+    }
+
+    /**
+     * 위험 기반 비중 배분 (ERC, HRP)
+     *
+     * 1. 후보 종목의 Ledoit-Wolf 공분산 추정을 캐시에서 조회 (같은 분석 기간, 없을 때만 계산)
+     * 2. 추정에 포함된 종목의 공분산 부분 행렬로 배분 (하나의 추정에서 나온 양의 정부호 행렬)
+     * 3. 전체 종목에 배분 후 목표 개수보다 많으면 비중 상위 종목만 남겨 다시 배분
+     */
+    private List<DiversificationScore> allocateRiskBased(
+            List<DiversificationScore> allScores,
+            String analysisPeriod,
+            Integer targetCount,
+            DiversificationRequest.AllocationMode allocationMode) {
+
+        List<String> candidates = allScores.stream()
                 .map(DiversificationScore::getTicker)
                 .collect(Collectors.toList());
 
-        double sum = 0.0;
-        int count = 0;
+        int months = periodMonths(analysisPeriod);
+        CovarianceEstimate estimate = covarianceEstimationService.findCachedEstimate(
+                candidates, months, CovarianceMethod.LEDOIT_WOLF);
+        if (estimate == null) {
+            estimate = covarianceEstimationService.getEstimate(candidates, months, CovarianceMethod.LEDOIT_WOLF);
+        }
 
-        for (int i = 0; i < tickers.size(); i++) {
-            for (int j = i + 1; j < tickers.size(); j++) {
-                Double corr = correlationMatrix.get(tickers.get(i)).get(tickers.get(j));
-                if (corr != null) {
-                    sum += Math.abs(corr);
-                    count++;
+        List<DiversificationScore> allocated = new ArrayList<>();
+        for (DiversificationScore score : allScores) {
+            int index = estimate.indexOf(score.getTicker());
+            if (index >= 0 && estimate.getCovariance().get(index, index) > 0.0) {
+                allocated.add(score);
+            } else {
+                score.setExclusionReason("수익률 데이터 부족으로 변동성 추정 불가");
+            }
+        }
+        if (allocated.size() < 2) {
+            throw new IllegalStateException("비중 배분에 필요한 변동성 데이터가 있는 종목이 2개 미만입니다.");
+        }
+
+        double[] covariance = estimate.getCovariance().subMatrix(estimateIndices(allocated, estimate));
+        double[] weights = allocateWeights(covariance, allocated.size(), allocationMode);
+
+        // 목표 개수 초과 시 비중 상위 종목으로 재배분
+        if (targetCount != null && targetCount >= 2 && allocated.size() > targetCount) {
+            Integer[] byWeight = new Integer[allocated.size()];
+            for (int i = 0; i < byWeight.length; i++) byWeight[i] = i;
+            double[] initial = weights;
+            Arrays.sort(byWeight, (a, b) -> Double.compare(initial[b], initial[a]));
+
+            List<DiversificationScore> kept = new ArrayList<>();
+            for (int rank = 0; rank < byWeight.length; rank++) {
+                DiversificationScore score = allocated.get(byWeight[rank]);
+                if (rank < targetCount) {
+                    kept.add(score);
+                } else {
+                    score.setExclusionReason(String.format("배분 비중 하위 (1차 비중 %.4f)", initial[byWeight[rank]]));
                 }
             }
+            allocated = kept;
+            covariance = estimate.getCovariance().subMatrix(estimateIndices(allocated, estimate));
+            weights = allocateWeights(covariance, allocated.size(), allocationMode);
+        }
+
+        double[] contributions = RiskParityAllocator.riskContributions(covariance, weights, allocated.size());
+        for (int i = 0; i < allocated.size(); i++) {
+            DiversificationScore score = allocated.get(i);
+            score.setWeight(weights[i]);
+            score.setRiskContribution(contributions[i]);
+            score.setSelected(true);
+            score.setExclusionReason(null);
+        }
+
+        List<DiversificationScore> selected = new ArrayList<>(allocated);
+        selected.sort(Comparator.comparing(DiversificationScore::getWeight).reversed());
+        for (int rank = 0; rank < selected.size(); rank++) {
+            selected.get(rank).setSelectionRank(rank + 1);
         }
 
-        return count > 0 ? sum / count : 0.0;
+        log.info("{} 배분 완료 - 종목수: {}, 최대 비중: {}, 관측 거래일: {}", allocationMode, selected.size(),
+                selected.get(0).getWeight(), estimate.getObservations());
+        return selected;
+    }
+
+    /**
+     * 공분산으로 비중 계산 (HRP 상관계수도 같은 공분산에서 유도)
+     */
+    private static double[] allocateWeights(double[] covariance, int n,
+                                            DiversificationRequest.AllocationMode allocationMode) {
+        if (allocationMode == DiversificationRequest.AllocationMode.HRP) {
+            return HierarchicalRiskParityAllocator.allocate(toCorrelation(covariance, n), covariance, n);
+        }
+        return RiskParityAllocator.allocate(covariance, n);
+    }
+
+    /**
+     * ρ_ij = Σ_ij / (σ_i σ_j)
+     */
+    private static double[] toCorrelation(double[] covariance, int n) {
+        double[] correlation = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            double sigmaI = Math.sqrt(covariance[i * n + i]);
+            for (int j = 0; j < n; j++) {
+                correlation[i * n + j] = covariance[i * n + j] / (sigmaI * Math.sqrt(covariance[j * n + j]));
+            }
+        }
+        return correlation;
+    }
+
+    /**
+     * 점수 목록 순서대로의 추정 결과 인덱스
+     */
+    private static int[] estimateIndices(List<DiversificationScore> scores, CovarianceEstimate estimate) {
+        int[] indices = new int[scores.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = estimate.indexOf(scores.get(i).getTicker());
+        }
+        return indices;
+    }
+
+    /**
+     * 분석 기간 코드의 개월 수
+     */
+    private static int periodMonths(String analysisPeriod) {
+        return switch (IndexedCorrelationMatrix.normalizePeriod(analysisPeriod)) {
+            case "3M" -> 3;
+            case "6M" -> 6;
+            default -> 12;
+        };
+    }
+
+    /**
+     * 점수 목록 순서대로의 테이블 인덱스
+     */
+    private static int[] tableIndices(List<DiversificationScore> scores, DenseCorrelationTable correlationTable) {
+        int[] indices = new int[scores.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = correlationTable.indexOf(scores.get(i).getTicker());
+        }
+        return indices;
+    }
+
+    /**
+     * 포트폴리오 평균 상관계수 계산 (선택 종목 쌍의 평균 |상관계수|)
+     */
+    private Double calculatePortfolioAvgCorrelation(
+            List<DiversificationScore> selectedStocks,
+            DenseCorrelationTable correlationTable) {
+
+        if (selectedStocks.size() <= 1) {
+            return 0.0;
+        }
+        return correlationTable.pairwiseAbsSum(tableIndices(selectedStocks, correlationTable)).average();
     }
 
     /**
@@ -317,16 +545,17 @@ public class DiversificationService {
      * 선택된 종목들의 상관관계 매트릭스 필터링
      */
     private Map<String, Map<String, Double>> filterCorrelationMatrix(
-            Map<String, Map<String, Double>> fullMatrix,
+            DenseCorrelationTable correlationTable,
             List<String> selectedTickers) {
 
         Map<String, Map<String, Double>> filtered = new HashMap<>();
 
         for (String ticker1 : selectedTickers) {
+            int i = correlationTable.indexOf(ticker1);
             Map<String, Double> row = new HashMap<>();
             for (String ticker2 : selectedTickers) {
-                Double corr = fullMatrix.get(ticker1).get(ticker2);
-                if (corr != null) {
+                double corr = correlationTable.get(i, correlationTable.indexOf(ticker2));
+                if (!Double.isNaN(corr)) {
                     row.put(ticker2, corr);
                 }
             }
@@ -0,0 +1,71 @@
+package com.app.domain.correlation.service;
+
+
+import java.util.Arrays;
+
+/**
+ * 상관계수 배열 기반 그리디 분산 선택
+ *
+ * <p>{@link DiversificationService} 의 GREEDY 방식과 같은 규칙을 DB 세션 없이 적용한다.
+ * 종목별 분산 점수(1 - |평균 상관계수|) 내림차순으로 후보를 보며, 이미 선택된 종목과
+ * |상관계수| 가 임계값 이상인 후보는 건너뛴다. 상관계수가 하나도 없는 종목은 후보에서 제외한다.
+ * 백테스트처럼 여러 시점에서 반복 호출하는 용도라 문자열 키나 DTO 를 만들지 않는다.</p>
+ */
+public final class GreedyDiversificationSelector {
+
+    private GreedyDiversificationSelector() {
+    }
+
+    /**
+     * 그리디 선택
+     * @param correlation n x n row-major 상관계수 (값 없는 쌍은 NaN, 대각 원소는 무시)
+     * @param n 종목 수
+     * @param threshold 높은 상관관계 임계값
+     * @param targetCount 최대 선택 개수
+     * @return 선택된 종목 인덱스 (선택 순서)
+     */
+    public static int[] select(double[] correlation, int n, double threshold, int targetCount) {
+        // 1. 분산 점수 (평균 상관계수는 자기 자신과 값 없는 쌍 제외)
+        double[] score = new double[n];
+        int candidateCount = 0;
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            int row = i * n;
+            double sum = 0.0;
+            int count = 0;
+            for (int j = 0; j < n; j++) {
+                double value = correlation[row + j];
+                if (j == i || Double.isNaN(value)) continue;
+                sum += value;
+                count++;
+            }
+            if (count == 0) continue;
+            score[i] = 1.0 - Math.abs(sum / count);
+            order[candidateCount++] = i;
+        }
+
+        // 2. 분산 점수 내림차순 (동점은 입력 순서 유지)
+        Arrays.sort(order, 0, candidateCount, (a, b) -> Double.compare(score[b], score[a]));
+
+        // 3. 임계값 충돌이 없는 후보를 순서대로 선택
+        int[] selected = new int[Math.min(targetCount, candidateCount)];
+        int size = 0;
+        for (int c = 0; c < candidateCount && size < selected.length; c++) {
+            int candidate = order[c];
+            int row = candidate * n;
+            boolean conflict = false;
+            for (int s = 0; s < size; s++) {
+                if (Math.abs(correlation[row + selected[s]]) >= threshold) {
+                    conflict = true;
+                    break;
+                }
+            }
+            if (!conflict) {
+                selected[size++] = candidate;
+            }
+        }
+        return size == selected.length ? selected : Arrays.copyOf(selected, size);
+    }
+
+
+}//class
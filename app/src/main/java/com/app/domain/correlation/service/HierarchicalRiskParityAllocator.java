@@ -0,0 +1,185 @@
+package com.app.domain.correlation.service;
+
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * 계층적 위험 균등(HRP, Hierarchical Risk Parity) 배분
+ *
+ * <ol>
+ *   <li>상관 거리 d_ij = √(½(1 - ρ_ij)) 로 단일 연결(single linkage) 군집화
+ *       - 단일 연결 덴드로그램은 최소 신장 트리와 같으므로 Prim 알고리즘(O(n²))으로 간선을 구하고
+ *       거리 순으로 합친다</li>
+ *   <li>덴드로그램 잎 순서로 준대각화(quasi-diagonalization)</li>
+ *   <li>순서를 반씩 나누며 역분산 가중 군집 분산에 반비례하게 비중을 배분(recursive bisection)</li>
+ * </ol>
+ *
+ * <p>역행렬을 쓰지 않고 메모리는 입력 행렬 외에 O(n) 이다. 재귀 대신 명시적 스택을 사용한다.</p>
+ */
+public final class HierarchicalRiskParityAllocator {
+
+    private HierarchicalRiskParityAllocator() {
+    }
+
+    /**
+     * HRP 비중 계산
+     * @param correlation n x n 상관계수 (row-major, NaN 은 0으로 취급)
+     * @param covariance n x n 공분산 (row-major)
+     * @param n 종목 수
+     * @return 합 1 비중
+     */
+    public static double[] allocate(double[] correlation, double[] covariance, int n) {
+        double[] weights = new double[n];
+        if (n == 0) return weights;
+        if (n == 1) {
+            weights[0] = 1.0;
+            return weights;
+        }
+
+        int[] order = quasiDiagonalOrder(correlation, n);
+
+        Arrays.fill(weights, 1.0);
+        Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[]{0, n});
+        while (!stack.isEmpty()) {
+            int[] range = stack.pop();
+            int from = range[0], to = range[1];
+            if (to - from <= 1) continue;
+
+            int middle = (from + to) >>> 1;
+            double leftVariance = clusterVariance(covariance, n, order, from, middle);
+            double rightVariance = clusterVariance(covariance, n, order, middle, to);
+            double total = leftVariance + rightVariance;
+            double alpha = total > 0.0 ? 1.0 - leftVariance / total : 0.5;
+
+            for (int a = from; a < middle; a++) weights[order[a]] *= alpha;
+            for (int a = middle; a < to; a++) weights[order[a]] *= 1.0 - alpha;
+
+            stack.push(new int[]{from, middle});
+            stack.push(new int[]{middle, to});
+        }
+        return weights;
+    }
+
+    /**
+     * 단일 연결 덴드로그램의 잎 순서
+     */
+    static int[] quasiDiagonalOrder(double[] correlation, int n) {
+        // 1. Prim 최소 신장 트리 (간선: parent[v] - v, 길이 best[v])
+        double[] best = new double[n];
+        int[] parent = new int[n];
+        boolean[] inTree = new boolean[n];
+        Arrays.fill(best, Double.POSITIVE_INFINITY);
+        best[0] = 0.0;
+        parent[0] = -1;
+
+        int[] edgeFrom = new int[n - 1];
+        int[] edgeTo = new int[n - 1];
+        double[] edgeLength = new double[n - 1];
+        int edges = 0;
+
+        for (int step = 0; step < n; step++) {
+            int next = -1;
+            for (int v = 0; v < n; v++) {
+                if (!inTree[v] && (next < 0 || best[v] < best[next])) next = v;
+            }
+            inTree[next] = true;
+            if (parent[next] >= 0) {
+                edgeFrom[edges] = parent[next];
+                edgeTo[edges] = next;
+                edgeLength[edges] = best[next];
+                edges++;
+            }
+            for (int v = 0; v < n; v++) {
+                if (inTree[v]) continue;
+                double d = distance(correlation, n, next, v);
+                if (d < best[v]) {
+                    best[v] = d;
+                    parent[v] = next;
+                }
+            }
+        }
+
+        // 2. 거리 오름차순으로 군집 병합 (union-find), 덴드로그램 노드: 0..n-1 잎, n.. 내부
+        Integer[] sorted = new Integer[edges];
+        for (int e = 0; e < edges; e++) sorted[e] = e;
+        Arrays.sort(sorted, (a, b) -> Double.compare(edgeLength[a], edgeLength[b]));
+
+        int[] root = new int[n];
+        int[] clusterNode = new int[n];
+        for (int v = 0; v < n; v++) {
+            root[v] = v;
+            clusterNode[v] = v;
+        }
+        int[] left = new int[2 * n - 1];
+        int[] right = new int[2 * n - 1];
+        int node = n;
+        for (Integer e : sorted) {
+            int a = find(root, edgeFrom[e]);
+            int b = find(root, edgeTo[e]);
+            left[node] = clusterNode[a];
+            right[node] = clusterNode[b];
+            root[b] = a;
+            clusterNode[a] = node;
+            node++;
+        }
+
+        // 3. 루트부터 왼쪽 우선 순회
+        int[] order = new int[n];
+        int count = 0;
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(node - 1);
+        while (!stack.isEmpty()) {
+            int current = stack.pop();
+            if (current < n) {
+                order[count++] = current;
+            } else {
+                stack.push(right[current]);
+                stack.push(left[current]);
+            }
+        }
+        return order;
+    }
+
+    /**
+     * 군집 내 역분산 가중 포트폴리오의 분산
+     */
+    private static double clusterVariance(double[] covariance, int n, int[] order, int from, int to) {
+        int size = to - from;
+        double[] w = new double[size];
+        double total = 0.0;
+        for (int a = 0; a < size; a++) {
+            double variance = covariance[order[from + a] * n + order[from + a]];
+            w[a] = variance > 0.0 ? 1.0 / variance : 0.0;
+            total += w[a];
+        }
+        if (total <= 0.0) return 0.0;
+
+        double variance = 0.0;
+        for (int a = 0; a < size; a++) {
+            int row = order[from + a] * n;
+            double inner = 0.0;
+            for (int b = 0; b < size; b++) inner += covariance[row + order[from + b]] * w[b];
+            variance += w[a] * inner;
+        }
+        return variance / (total * total);
+    }
+
+    private static double distance(double[] correlation, int n, int i, int j) {
+        double rho = correlation[i * n + j];
+        if (Double.isNaN(rho)) rho = 0.0;
+        return Math.sqrt(Math.max(0.0, 0.5 * (1.0 - rho)));
+    }
+
+    private static int find(int[] root, int v) {
+        while (root[v] != v) {
+            root[v] = root[root[v]];
+            v = root[v];
+        }
+        return v;
+    }
+
+
+}//class
@@ -0,0 +1,122 @@
+package com.app.domain.correlation.service;
+
+
+import com.app.domain.correlation.entity.CorrelationAnalysis;
+
+import java.util.*;
+
+/**
+ * 세션 상관관계 분석 결과의 인덱스 매트릭스
+ *
+ * <p>findBySessionId 결과를 한 번 읽어 티커 → 인덱스 맵과 기간(3M, 6M, 1Y)별
+ * 상삼각 packed double[] 를 만든다. 히트맵·응답 매트릭스·분산 최적화에서
+ * 종목 쌍 조회를 리스트 전체 스캔 대신 O(1) 로 처리한다.
+ * 값이 없는 쌍은 NaN 으로 보관한다.</p>
+ */
+public class IndexedCorrelationMatrix {
+
+    public static final List<String> PERIODS = List.of("3M", "6M", "1Y");
+
+    private final List<String> tickers;
+    private final Map<String, Integer> tickerIndex;
+    private final int n;
+    private final Map<String, double[]> packed = new HashMap<>();
+
+    private IndexedCorrelationMatrix(List<String> tickers) {
+        this.tickers = Collections.unmodifiableList(tickers);
+        this.n = tickers.size();
+        this.tickerIndex = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            tickerIndex.put(tickers.get(i), i);
+        }
+
+        int pairCount = n * (n - 1) / 2;
+        for (String period : PERIODS) {
+            double[] values = new double[pairCount];
+            Arrays.fill(values, Double.NaN);
+            packed.put(period, values);
+        }
+    }
+
+    /**
+     * 상관관계 분석 결과 목록으로 매트릭스 구성
+     * @param correlations 종목 쌍별 분석 결과
+     * @return 인덱스 매트릭스 (종목 순서는 결과에 처음 등장한 순서)
+     */
+    public static IndexedCorrelationMatrix of(List<CorrelationAnalysis> correlations) {
+        Set<String> tickerSet = new LinkedHashSet<>();
+        for (CorrelationAnalysis corr : correlations) {
+            tickerSet.add(corr.getTicker1());
+            tickerSet.add(corr.getTicker2());
+        }
+
+        IndexedCorrelationMatrix matrix = new IndexedCorrelationMatrix(new ArrayList<>(tickerSet));
+        for (CorrelationAnalysis corr : correlations) {
+            int i = matrix.indexOf(corr.getTicker1());
+            int j = matrix.indexOf(corr.getTicker2());
+            if (i == j) continue;
+
+            int k = matrix.packedIndex(Math.min(i, j), Math.max(i, j));
+            matrix.packed.get("3M")[k] = toPrimitive(corr.getCorrelation3m());
+            matrix.packed.get("6M")[k] = toPrimitive(corr.getCorrelation6m());
+            matrix.packed.get("1Y")[k] = toPrimitive(corr.getCorrelation1y());
+        }
+        return matrix;
+    }
+
+    /**
+     * 기간 코드 정규화 (null 이거나 알 수 없는 값은 1Y)
+     */
+    public static String normalizePeriod(String period) {
+        if (period == null) return "1Y";
+        String upper = period.toUpperCase();
+        return PERIODS.contains(upper) ? upper : "1Y";
+    }
+
+    public List<String> getTickers() {
+        return tickers;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public int indexOf(String ticker) {
+        Integer index = tickerIndex.get(ticker);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * 인덱스로 상관계수 조회
+     * @return 상관계수 (같은 종목이면 1.0, 값이 없으면 NaN)
+     */
+    public double get(String period, int i, int j) {
+        if (i == j) return 1.0;
+        double[] values = packed.get(normalizePeriod(period));
+        return values[packedIndex(Math.min(i, j), Math.max(i, j))];
+    }
+
+    /**
+     * 티커로 상관계수 조회
+     * @return 상관계수 (종목이 없거나 값이 없으면 null)
+     */
+    public Double find(String period, String ticker1, String ticker2) {
+        int i = indexOf(ticker1);
+        int j = indexOf(ticker2);
+        if (i < 0 || j < 0) return null;
+
+        double value = get(period, i, j);
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private int packedIndex(int i, int j) {
+        // i < j 인 상삼각 (대각선 제외) 위치
+        return i * (2 * n - i - 1) / 2 + (j - i - 1);
+    }
+
+    private static double toPrimitive(Double value) {
+        return value != null ? value : Double.NaN;
+    }
+
+
+}//class
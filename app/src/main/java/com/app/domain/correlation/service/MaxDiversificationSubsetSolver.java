@@ -0,0 +1,265 @@
+package com.app.domain.correlation.service;
+
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * 최대 분산 k-부분집합 분기 한정(branch-and-bound) 해법
+ *
+ * <p>모든 쌍의 |상관계수| 가 임계값 미만인 k개 종목 중 쌍별 |상관계수| 합(= 평균)이 가장 작은 조합을 찾는다.
+ * 후보 집합과 충돌(임계값 이상) 관계는 long[] 비트셋으로 표현하고, 경로 비용과 후보별 교차 비용은
+ * 한 단계 내려갈 때마다 증분 갱신한다.</p>
+ *
+ * <p>하한: 남은 r개를 고를 때 후보 j 의 비용은 (선택된 종목과의 교차 비용) + ½(j 와의 |상관계수| 중
+ * 가장 작은 r-1개 합) 이상이므로, 그 값이 가장 작은 r개 후보의 합을 더한 것을 하한으로 쓴다.
+ * 첫 번째 선택 종목별 최상위 분기를 병렬로 탐색하며 현재 최적해(초기값: 그리디 해)를 공유한다.
+ * 제한 시간을 넘기면 그때까지의 최적해를 반환한다.</p>
+ */
+public final class MaxDiversificationSubsetSolver {
+
+    private static final double EPSILON = 1e-12;
+    private static final int TIME_CHECK_INTERVAL = 4_096;
+
+    private final double[] cost;
+    private final int n;
+    private final int words;
+    private final long[][] compatible;
+    private final double[][] smallestPrefix;
+    private final long deadline;
+
+    private final Object lock = new Object();
+    private volatile double bestCost;
+    private int[] bestSubset;
+    private volatile boolean timedOut;
+    private final LongAdder nodes = new LongAdder();
+
+    /**
+     * 탐색 결과
+     * @param selected 선택된 후보 인덱스 (오름차순)
+     * @param optimal 제한 시간 내 탐색 완료 여부 (true 면 최적해)
+     * @param nodes 탐색한 노드 수
+     */
+    public record Result(int[] selected, boolean optimal, long nodes) {
+    }
+
+    private MaxDiversificationSubsetSolver(double[] cost, int n, double threshold, long deadline) {
+        this.cost = cost;
+        this.n = n;
+        this.words = (n + 63) >>> 6;
+        this.deadline = deadline;
+
+        // 양립 가능(임계값 미만) 비트셋
+        this.compatible = new long[n][words];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i != j && cost[i * n + j] < threshold) {
+                    compatible[i][j >>> 6] |= 1L << j;
+                }
+            }
+        }
+
+        // 종목별 |상관계수| 오름차순 누적합 (smallestPrefix[i][m] = 가장 작은 m개 합)
+        this.smallestPrefix = new double[n][n];
+        double[] row = new double[n - 1];
+        for (int i = 0; i < n; i++) {
+            int m = 0;
+            for (int j = 0; j < n; j++) {
+                if (j != i) row[m++] = cost[i * n + j];
+            }
+            Arrays.sort(row);
+            for (int a = 0; a < n - 1; a++) {
+                smallestPrefix[i][a + 1] = smallestPrefix[i][a] + row[a];
+            }
+        }
+    }
+
+    /**
+     * 최대 분산 부분집합 탐색
+     * @param absCorrelation n x n |상관계수| (row-major, 없는 쌍은 0)
+     * @param n 후보 수 (분산 점수 내림차순 정렬 권장)
+     * @param threshold 높은 상관관계 임계값 (이상이면 함께 선택 불가)
+     * @param k 목표 종목 수
+     * @param timeBudgetMillis 제한 시간 (밀리초)
+     * @return 선택 결과 - k개 조합이 불가능하면 가능한 최대 크기로 줄여 탐색
+     */
+    public static Result solve(double[] absCorrelation, int n, double threshold, int k, long timeBudgetMillis) {
+        if (n == 0 || k <= 0) return new Result(new int[0], true, 0);
+
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        MaxDiversificationSubsetSolver solver = new MaxDiversificationSubsetSolver(absCorrelation, n, threshold, deadline);
+
+        int[] greedy = solver.greedy(Math.min(k, n));
+        for (int size = Math.min(k, n); size >= 1; size--) {
+            solver.bestCost = Double.POSITIVE_INFINITY;
+            solver.bestSubset = null;
+            if (greedy.length == size) {
+                solver.offer(greedy, solver.subsetCost(greedy));
+            }
+
+            solver.search(size);
+
+            if (solver.bestSubset != null) {
+                return new Result(solver.bestSubset, !solver.timedOut, solver.nodes.sum());
+            }
+            if (solver.timedOut) break;
+        }
+        return new Result(greedy, false, solver.nodes.sum());
+    }
+
+    /**
+     * 후보 순서대로 충돌 없는 종목을 고르는 그리디 해 (초기 상한)
+     */
+    private int[] greedy(int k) {
+        int[] chosen = new int[k];
+        int count = 0;
+        for (int i = 0; i < n && count < k; i++) {
+            boolean ok = true;
+            for (int a = 0; a < count; a++) {
+                if ((compatible[chosen[a]][i >>> 6] & (1L << i)) == 0) {
+                    ok = false;
+                    break;
+                }
+            }
+            if (ok) chosen[count++] = i;
+        }
+        return Arrays.copyOf(chosen, count);
+    }
+
+    /**
+     * 크기 k 탐색 - 첫 선택 종목별 분기 병렬 처리
+     */
+    private void search(int k) {
+        IntStream.rangeClosed(0, n - k).parallel().forEach(first -> {
+            if (timedOut) return;
+
+            long[][] candidates = new long[k + 1][words];
+            double[][] partial = new double[k + 1][n];
+            int[] path = new int[k];
+            double[] bounds = new double[n];
+
+            // 첫 종목 이후의 양립 가능 후보
+            for (int w = 0; w < words; w++) candidates[1][w] = compatible[first][w];
+            clearUpTo(candidates[1], first);
+            System.arraycopy(cost, first * n, partial[1], 0, n);
+            path[0] = first;
+
+            long[] counter = new long[1];
+            branch(k, 1, 0.0, candidates, partial, path, bounds, counter);
+            nodes.add(counter[0] % TIME_CHECK_INTERVAL);
+        });
+    }
+
+    private void branch(int k, int depth, double pathCost, long[][] candidates, double[][] partial,
+                        int[] path, double[] bounds, long[] counter) {
+        if (timedOut) return;
+        if (++counter[0] % TIME_CHECK_INTERVAL == 0) {
+            nodes.add(TIME_CHECK_INTERVAL);
+            if (System.nanoTime() > deadline) {
+                timedOut = true;
+                return;
+            }
+        }
+
+        if (depth == k) {
+            offer(path, pathCost);
+            return;
+        }
+
+        int remaining = k - depth;
+        long[] current = candidates[depth];
+        double[] cross = partial[depth];
+
+        // 하한 계산
+        int available = 0;
+        for (int w = 0; w < words; w++) {
+            long bits = current[w];
+            while (bits != 0) {
+                int j = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                bounds[available++] = cross[j] + 0.5 * smallestPrefix[j][remaining - 1];
+            }
+        }
+        if (available < remaining) return;
+        if (pathCost + sumSmallest(bounds, available, remaining) >= bestCost - EPSILON) return;
+
+        // 후보 순서대로 분기
+        int left = available;
+        for (int w = 0; w < words && left >= remaining; w++) {
+            long bits = current[w];
+            while (bits != 0 && left >= remaining) {
+                int j = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                left--;
+
+                long[] next = candidates[depth + 1];
+                long[] compatibleJ = compatible[j];
+                for (int v = 0; v < words; v++) next[v] = current[v] & compatibleJ[v];
+                clearUpTo(next, j);
+
+                double[] nextCross = partial[depth + 1];
+                int offset = j * n;
+                for (int v = 0; v < n; v++) nextCross[v] = cross[v] + cost[offset + v];
+
+                path[depth] = j;
+                branch(k, depth + 1, pathCost + cross[j], candidates, partial, path, bounds, counter);
+                if (timedOut) return;
+            }
+        }
+    }
+
+    private void offer(int[] subset, double subsetCost) {
+        if (subsetCost >= bestCost - EPSILON) return;
+        synchronized (lock) {
+            if (subsetCost < bestCost - EPSILON) {
+                bestCost = subsetCost;
+                bestSubset = subset.clone();
+            }
+        }
+    }
+
+    private double subsetCost(int[] subset) {
+        double sum = 0.0;
+        for (int a = 0; a < subset.length; a++) {
+            for (int b = a + 1; b < subset.length; b++) sum += cost[subset[a] * n + subset[b]];
+        }
+        return sum;
+    }
+
+    /**
+     * 0 ~ index 비트 제거 (이후 후보만 남김)
+     */
+    private static void clearUpTo(long[] bits, int index) {
+        int word = index >>> 6;
+        for (int w = 0; w < word; w++) bits[w] = 0L;
+        int shift = (index & 63) + 1;
+        bits[word] &= shift == 64 ? 0L : -1L << shift;
+    }
+
+    /**
+     * 앞 count 개 값 중 가장 작은 r개 합 (부분 정렬)
+     */
+    private static double sumSmallest(double[] values, int count, int r) {
+        if (r == count) {
+            double sum = 0.0;
+            for (int a = 0; a < count; a++) sum += values[a];
+            return sum;
+        }
+        // r 이 작으므로 선택 정렬 방식으로 앞 r개만 확정
+        double sum = 0.0;
+        for (int a = 0; a < r; a++) {
+            int min = a;
+            for (int b = a + 1; b < count; b++) {
+                if (values[b] < values[min]) min = b;
+            }
+            double tmp = values[a];
+            values[a] = values[min];
+            values[min] = tmp;
+            sum += values[a];
+        }
+        return sum;
+    }
+
+
+}//class
@@ -0,0 +1,55 @@
+package com.app.domain.correlation.service;
+
+
+import java.util.*;
+
+/**
+ * 수익률 매트릭스 기반 기간별 상관계수 계산 결과
+ * - 기간 코드(3M, 6M, 1Y)별 n x n 행 우선(row-major) 상관계수 배열
+ * - 계산 불가능한 값(공통 거래일 부족, 분산 0)은 NaN
+ */
+public class ReturnCorrelationMatrix {
+
+    private final List<String> tickers;
+    private final Map<String, Integer> tickerIndex;
+    private final Map<String, double[]> windows;
+
+    public ReturnCorrelationMatrix(List<String> tickers, Map<String, double[]> windows) {
+        this.tickers = tickers;
+        this.windows = windows;
+        this.tickerIndex = new HashMap<>();
+        for (int i = 0; i < tickers.size(); i++) {
+            tickerIndex.put(tickers.get(i), i);
+        }
+    }
+
+    public List<String> getTickers() {
+        return tickers;
+    }
+
+    /**
+     * 기간 코드별 상관계수 배열
+     */
+    public Map<String, double[]> getWindows() {
+        return Collections.unmodifiableMap(windows);
+    }
+
+    /**
+     * 두 종목의 기간별 상관계수 조회
+     * @param period 기간 코드 (3M, 6M, 1Y)
+     * @return 상관계수 (미계산 기간이거나 계산 불가능하면 null)
+     */
+    public Double get(String period, String ticker1, String ticker2) {
+        double[] matrix = windows.get(period);
+        if (matrix == null) return null;
+
+        Integer i = tickerIndex.get(ticker1);
+        Integer j = tickerIndex.get(ticker2);
+        if (i == null || j == null) return null;
+
+        double value = matrix[i * tickers.size() + j];
+        return Double.isNaN(value) ? null : value;
+    }
+
+
+}//class
@@ -0,0 +1,113 @@
+package com.app.domain.correlation.service;
+
+
+import com.app.domain.correlation.dto.CorrelationAnalysisRequest;
+import com.app.domain.correlation.mapper.CorrelationMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 인메모리 수익률 매트릭스 상관관계 엔진
+ *
+ * <p>종목 쌍/기간마다 stock_price 를 셀프 조인하던 SQL 피어슨 계산 대신
+ * 전체 종목의 일수익률을 한 번의 범위 스캔으로 로딩한 뒤,
+ * 기간별로 중심화·정규화된 벡터의 내적으로 상관계수 매트릭스를 한 번에 계산한다.
+ * 수백 종목 규모에서도 동작하도록 내적 계산은 {@link BlockedCorrelationKernel} 에서
+ * 블록 단위 병렬로 수행한다.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReturnMatrixCorrelationEngine {
+
+
+    private final CorrelationMapper correlationMapper;
+
+    /**
+     * 수익률 로딩 및 기간별 상관계수 매트릭스 계산
+     * @param tickers 분석 대상 티커 목록
+     * @param endDate 분석 종료일
+     * @param period 분석 기간 (ALL이면 3M, 6M, 1Y 모두 계산)
+     * @return 기간별 상관계수 매트릭스
+     */
+    public ReturnCorrelationMatrix compute(List<String> tickers, LocalDate endDate,
+                                           CorrelationAnalysisRequest.AnalysisPeriod period) {
+        return compute(tickers, endDate, period, AnalysisProgress.NONE);
+    }
+
+    /**
+     * 수익률 로딩 및 기간별 상관계수 매트릭스 계산 (블록 쌍 단위 진행 상황 보고·취소 확인)
+     */
+    public ReturnCorrelationMatrix compute(List<String> tickers, LocalDate endDate,
+                                           CorrelationAnalysisRequest.AnalysisPeriod period,
+                                           AnalysisProgress progress) {
+        List<CorrelationAnalysisRequest.AnalysisPeriod> windows = resolveWindows(period);
+
+        // 가장 긴 기간 기준으로 한 번만 로딩
+        int maxMonths = windows.stream()
+                .mapToInt(CorrelationAnalysisRequest.AnalysisPeriod::getMonths)
+                .max()
+                .orElse(12);
+        LocalDate startDate = endDate.minusMonths(maxMonths);
+
+        List<CorrelationMapper.DailyReturnRow> rows =
+                correlationMapper.findDailyReturnsByTickers(tickers, startDate, endDate);
+        ReturnPanel panel = ReturnPanel.of(tickers, rows);
+
+        log.debug("수익률 매트릭스 로딩 완료 - 종목수: {}, 거래일수: {}, 행수: {}",
+                panel.size(), panel.length(), rows.size());
+
+        return compute(panel, endDate, windows, progress);
+    }
+
+    /**
+     * 로딩된 패널로 기간별 상관계수 매트릭스 계산
+     */
+    public ReturnCorrelationMatrix compute(ReturnPanel panel, LocalDate endDate,
+                                           List<CorrelationAnalysisRequest.AnalysisPeriod> windows,
+                                           AnalysisProgress progress) {
+        Map<String, double[]> matrices = new LinkedHashMap<>();
+        int to = panel.firstIndexOnOrAfter(endDate.plusDays(1));
+
+        for (CorrelationAnalysisRequest.AnalysisPeriod window : windows) {
+            int from = panel.firstIndexOnOrAfter(endDate.minusMonths(window.getMonths()));
+            matrices.put(window.getCode(), computeWindow(panel, from, to, progress));
+        }
+
+        return new ReturnCorrelationMatrix(panel.getTickers(), matrices);
+    }
+
+    /**
+     * 분석 기간에 해당하는 계산 대상 기간 목록
+     */
+    public static List<CorrelationAnalysisRequest.AnalysisPeriod> resolveWindows(
+            CorrelationAnalysisRequest.AnalysisPeriod period) {
+        if (period == null || period == CorrelationAnalysisRequest.AnalysisPeriod.ALL) {
+            return List.of(CorrelationAnalysisRequest.AnalysisPeriod.THREE_MONTH,
+                    CorrelationAnalysisRequest.AnalysisPeriod.SIX_MONTH,
+                    CorrelationAnalysisRequest.AnalysisPeriod.ONE_YEAR);
+        }
+        return List.of(period);
+    }
+
+    /**
+     * 종목 x 거래일 row-major 수익률 전체 구간의 상관계수 매트릭스 (n x n, 계산 불가능한 쌍은 NaN)
+     * @param values 종목별 수익률 (values[i * length + t], 결측치 NaN)
+     */
+    public static double[] correlationMatrix(double[] values, int n, int length) {
+        return BlockedCorrelationKernel.compute(values, n, length, 0, length);
+    }
+
+    /**
+     * [from, to) 구간의 상관계수 매트릭스 계산 (n x n, row-major)
+     */
+    static double[] computeWindow(ReturnPanel panel, int from, int to, AnalysisProgress progress) {
+        return BlockedCorrelationKernel.compute(panel.values(), panel.size(), panel.length(), from, to, progress);
+    }
+
+
+}//class
@@ -0,0 +1,125 @@
+package com.app.domain.correlation.service;
+
+
+import com.app.domain.correlation.mapper.CorrelationMapper;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 종목별 일수익률 패널
+ * - 모든 종목을 공통 거래일 축에 정렬해 하나의 dense row-major double[] 로 보관
+ *   (values[i * length() + t] = i번째 종목의 t번째 거래일 수익률)
+ * - 해당 거래일에 데이터가 없거나 수익률이 NULL이면 NaN
+ */
+public class ReturnPanel {
+
+    private final List<String> tickers;
+    private final Map<String, Integer> tickerIndex;
+    private final LocalDate[] dates;
+    private final double[] values;
+
+    private ReturnPanel(List<String> tickers, Map<String, Integer> tickerIndex,
+                        LocalDate[] dates, double[] values) {
+        this.tickers = tickers;
+        this.tickerIndex = tickerIndex;
+        this.dates = dates;
+        this.values = values;
+    }
+
+    /**
+     * 일수익률 행 목록으로 패널 생성
+     * @param tickers 패널에 포함할 티커 목록 (중복은 제거됨)
+     * @param rows 일수익률 행 목록
+     * @return 정렬된 수익률 패널
+     */
+    public static ReturnPanel of(List<String> tickers, List<CorrelationMapper.DailyReturnRow> rows) {
+        List<String> uniqueTickers = new ArrayList<>(new LinkedHashSet<>(tickers));
+        Map<String, Integer> tickerIndex = new HashMap<>();
+        for (int i = 0; i < uniqueTickers.size(); i++) {
+            tickerIndex.put(uniqueTickers.get(i), i);
+        }
+
+        // 공통 거래일 축 생성
+        TreeSet<LocalDate> dateSet = new TreeSet<>();
+        for (CorrelationMapper.DailyReturnRow row : rows) {
+            if (row.getPriceDate() != null && tickerIndex.containsKey(row.getTicker())) {
+                dateSet.add(row.getPriceDate());
+            }
+        }
+        LocalDate[] dates = dateSet.toArray(new LocalDate[0]);
+
+        Map<LocalDate, Integer> dateIndex = new HashMap<>();
+        for (int t = 0; t < dates.length; t++) {
+            dateIndex.put(dates[t], t);
+        }
+
+        int length = dates.length;
+        double[] values = new double[uniqueTickers.size() * length];
+        Arrays.fill(values, Double.NaN);
+
+        for (CorrelationMapper.DailyReturnRow row : rows) {
+            Integer i = tickerIndex.get(row.getTicker());
+            if (i == null || row.getPriceDate() == null || row.getDailyReturn() == null) continue;
+            values[i * length + dateIndex.get(row.getPriceDate())] = row.getDailyReturn();
+        }
+
+        return new ReturnPanel(Collections.unmodifiableList(uniqueTickers), tickerIndex, dates, values);
+    }
+
+    public List<String> getTickers() {
+        return tickers;
+    }
+
+    public int size() {
+        return tickers.size();
+    }
+
+    public int length() {
+        return dates.length;
+    }
+
+    public LocalDate getDate(int t) {
+        return dates[t];
+    }
+
+    /**
+     * 티커의 패널 인덱스 (없으면 -1)
+     */
+    public int indexOf(String ticker) {
+        Integer index = tickerIndex.get(ticker);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * 전체 수익률 배열 (복사본이 아니므로 수정 금지)
+     */
+    public double[] values() {
+        return values;
+    }
+
+    /**
+     * i번째 종목 행의 시작 위치
+     */
+    public int offset(int i) {
+        return i * dates.length;
+    }
+
+    /**
+     * 지정일 이후(포함) 첫 거래일 인덱스 (없으면 length())
+     */
+    public int firstIndexOnOrAfter(LocalDate date) {
+        int low = 0, high = dates.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dates[mid].isBefore(date)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+
+}//class
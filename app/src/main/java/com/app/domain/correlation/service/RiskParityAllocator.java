@@ -0,0 +1,116 @@
+package com.app.domain.correlation.service;
+
+
+/**
+ * 위험 균등 기여(ERC, Equal Risk Contribution) 배분
+ *
+ * <p>min ½xᵀΣx - Σ b_i ln x_i (b_i = 1/n) 를 순환 좌표 하강법으로 풀고 x 를 합 1로 정규화한다.
+ * 좌표마다 이차방정식의 양의 근으로 닫힌 형태 갱신을 하며, Σx 를 유지해 한 번의 순회가 O(n²) 이다.
+ * 역행렬을 쓰지 않으므로 종목 수가 많거나 공분산이 특이에 가까워도 동작한다.</p>
+ *
+ * <p>Σ 가 양의 준정부호가 아니면 목적함수가 아래로 유계가 아닐 수 있으므로 입력은 일관된 공분산 추정
+ * (같은 관측 구간의 표본·수축 공분산) 이어야 하며, 최대 순회 안에 수렴하지 않으면 {@link Result#converged()} 가
+ * false 다. {@link #allocate} 는 이 경우 예외를 던진다.</p>
+ */
+public final class RiskParityAllocator {
+
+    private static final int MAX_SWEEPS = 500;
+    private static final double TOLERANCE = 1e-10;
+
+    /**
+     * 풀이 결과
+     * @param weights 합 1 비중 (수렴하지 않았으면 마지막 반복값)
+     * @param sweeps 수행한 순회 수
+     * @param converged 허용 오차 안에 수렴했는지 여부
+     */
+    public record Result(double[] weights, int sweeps, boolean converged) {
+    }
+
+    private RiskParityAllocator() {
+    }
+
+    /**
+     * ERC 비중 계산
+     * @param covariance n x n 양의 준정부호 공분산 (row-major, 대각 원소는 양수)
+     * @param n 종목 수
+     * @return 합 1 비중
+     * @throws IllegalStateException 최대 순회 안에 수렴하지 않았거나 비중이 유한하지 않을 때
+     */
+    public static double[] allocate(double[] covariance, int n) {
+        Result result = solve(covariance, n);
+        if (!result.converged()) {
+            throw new IllegalStateException(String.format(
+                    "위험 균등 배분이 %d회 순회 안에 수렴하지 않았습니다. (종목수: %d)", result.sweeps(), n));
+        }
+        return result.weights();
+    }
+
+    /**
+     * ERC 비중 계산 (수렴 여부 포함)
+     * @param covariance n x n 양의 준정부호 공분산 (row-major, 대각 원소는 양수)
+     * @param n 종목 수
+     */
+    public static Result solve(double[] covariance, int n) {
+        double[] x = new double[n];
+        double[] sigmaX = new double[n];
+        if (n == 0) return new Result(x, 0, true);
+
+        // 역변동성 비중에서 시작
+        for (int i = 0; i < n; i++) {
+            x[i] = 1.0 / Math.sqrt(covariance[i * n + i]);
+        }
+        for (int i = 0; i < n; i++) {
+            double sum = 0.0;
+            for (int j = 0; j < n; j++) sum += covariance[i * n + j] * x[j];
+            sigmaX[i] = sum;
+        }
+
+        double budget = 1.0 / n;
+        int sweeps = 0;
+        boolean converged = false;
+        while (sweeps < MAX_SWEEPS && !converged) {
+            sweeps++;
+            double maxChange = 0.0;
+            for (int i = 0; i < n; i++) {
+                double diagonal = covariance[i * n + i];
+                double others = sigmaX[i] - diagonal * x[i];
+                double updated = (-others + Math.sqrt(others * others + 4.0 * diagonal * budget)) / (2.0 * diagonal);
+
+                double delta = updated - x[i];
+                if (delta != 0.0) {
+                    for (int j = 0; j < n; j++) sigmaX[j] += covariance[j * n + i] * delta;
+                    x[i] = updated;
+                    maxChange = Math.max(maxChange, Math.abs(delta) / updated);
+                }
+            }
+            // NaN 은 비교가 거짓이므로 수렴으로 보지 않음
+            converged = maxChange < TOLERANCE;
+        }
+
+        double total = 0.0;
+        for (int i = 0; i < n; i++) total += x[i];
+        for (int i = 0; i < n; i++) x[i] /= total;
+        converged &= Double.isFinite(total) && total > 0.0;
+        return new Result(x, sweeps, converged);
+    }
+
+    /**
+     * 종목별 위험 기여 비율 (합 1) - w_i(Σw)_i / wᵀΣw
+     */
+    public static double[] riskContributions(double[] covariance, double[] weights, int n) {
+        double[] contributions = new double[n];
+        double variance = 0.0;
+        for (int i = 0; i < n; i++) {
+            double sum = 0.0;
+            for (int j = 0; j < n; j++) sum += covariance[i * n + j] * weights[j];
+            contributions[i] = weights[i] * sum;
+            variance += contributions[i];
+        }
+        if (variance > 0.0) {
+            for (int i = 0; i < n; i++) contributions[i] /= variance;
+        }
+        return contributions;
+    }
+
+
+}//class
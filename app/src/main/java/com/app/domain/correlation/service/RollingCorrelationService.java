@@ -0,0 +1,201 @@
+package com.app.domain.correlation.service;
+
+
+import com.app.domain.common.event.StockPriceReloadedEvent;
+import com.app.domain.correlation.dto.CorrelationAnalysisRequest;
+import com.app.domain.correlation.mapper.CorrelationMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 롤링 상관관계 상태 관리 서비스
+ *
+ * <p>시가총액 상위 추적 종목의 {@link RollingCorrelationState} 를 메모리에 유지한다.
+ * 조회 시 stock_price 의 최근 거래일을 확인해 새 거래일만 읽어 추가하고,
+ * 기준일에 맞춰 오래된 거래일을 빼므로 야간 주가 적재 이후에도 전체 이력을 다시 스캔하지 않는다.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RollingCorrelationService {
+
+
+    private final CorrelationMapper correlationMapper;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private RollingCorrelationState state;
+
+    /**
+     * 롤링 상태 사용 여부
+     */
+    @Value("${correlation.rolling.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 추적 종목 수 (시가총액 상위)
+     */
+    @Value("${correlation.rolling.max-tickers:200}")
+    private int maxTickers;
+
+    /**
+     * 롤링 상태에서 상관계수 매트릭스 조회
+     * @param tickers 분석 대상 티커 목록
+     * @param endDate 분석 종료일
+     * @param period 분석 기간
+     * @return 기간별 상관계수 매트릭스 (추적하지 않는 종목이 있거나 상태를 쓸 수 없으면 null)
+     */
+    public ReturnCorrelationMatrix lookup(List<String> tickers, LocalDate endDate,
+                                          CorrelationAnalysisRequest.AnalysisPeriod period) {
+        if (!enabled) return null;
+
+        try {
+            ensureCurrent(endDate);
+        } catch (Exception e) {
+            log.warn("롤링 상관관계 상태 갱신 실패 (직접 계산으로 대체): {}", e.getMessage());
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            if (state == null || !endDate.equals(state.getAsOf())) return null;
+
+            List<String> uniqueTickers = new ArrayList<>(new LinkedHashSet<>(tickers));
+            int[] indices = new int[uniqueTickers.size()];
+            for (int a = 0; a < indices.length; a++) {
+                indices[a] = state.indexOf(uniqueTickers.get(a));
+                if (indices[a] < 0) return null;
+            }
+
+            Map<String, double[]> matrices = new LinkedHashMap<>();
+            for (CorrelationAnalysisRequest.AnalysisPeriod window
+                    : ReturnMatrixCorrelationEngine.resolveWindows(period)) {
+                matrices.put(window.getCode(), state.matrix(window.getCode(), indices));
+            }
+
+            log.debug("롤링 상관관계 상태 조회 - 종목수: {}, 기준일: {}", indices.length, endDate);
+            return new ReturnCorrelationMatrix(uniqueTickers, matrices);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 주가 재적재 시 상태 폐기
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockPriceReloaded(StockPriceReloadedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * 상태 폐기 (다음 조회 시 전체 재구성)
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            state = null;
+            log.info("롤링 상관관계 상태 초기화");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 기준일과 최근 거래일에 맞게 상태를 최신화
+     */
+    private void ensureCurrent(LocalDate endDate) {
+        LocalDate latestPriceDate = correlationMapper.findLatestPriceDate();
+
+        lock.readLock().lock();
+        try {
+            if (isCurrent(endDate, latestPriceDate)) return;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (isCurrent(endDate, latestPriceDate)) return;
+
+            if (state == null) {
+                bootstrap(endDate);
+            } else if (!endDate.isBefore(state.getAsOf())) {
+                advance(endDate);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean isCurrent(LocalDate endDate, LocalDate latestPriceDate) {
+        if (state == null || !endDate.equals(state.getAsOf())) return false;
+        if (latestPriceDate == null || latestPriceDate.isAfter(endDate)) return true;
+        return state.getLastPriceDate() != null && !latestPriceDate.isAfter(state.getLastPriceDate());
+    }
+
+    /**
+     * 추적 종목 결정 후 1년치 수익률로 상태 구성
+     */
+    private void bootstrap(LocalDate endDate) {
+        long startTime = System.currentTimeMillis();
+        LocalDate startDate = endDate.minusMonths(12);
+
+        List<String> universe = correlationMapper.findUniverseTickers(startDate, endDate, maxTickers);
+        List<CorrelationMapper.DailyReturnRow> rows = universe.isEmpty()
+                ? Collections.emptyList()
+                : correlationMapper.findDailyReturnsByTickers(universe, startDate, endDate);
+
+        ReturnPanel panel = ReturnPanel.of(universe, rows);
+        RollingCorrelationState newState = new RollingCorrelationState(
+                panel.getTickers(),
+                ReturnMatrixCorrelationEngine.resolveWindows(CorrelationAnalysisRequest.AnalysisPeriod.ALL));
+        appendPanel(newState, panel);
+        newState.advanceTo(endDate);
+        state = newState;
+
+        log.info("롤링 상관관계 상태 구성 완료 - 종목수: {}, 거래일수: {}, 소요시간: {}ms",
+                panel.size(), panel.length(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * 마지막 반영일 이후 거래일만 추가하고 기준일 이동
+     */
+    private void advance(LocalDate endDate) {
+        LocalDate lastPriceDate = state.getLastPriceDate();
+        LocalDate fromDate = lastPriceDate != null ? lastPriceDate.plusDays(1) : endDate.minusMonths(12);
+
+        int appended = 0;
+        if (!state.getTickers().isEmpty() && !fromDate.isAfter(endDate)) {
+            List<CorrelationMapper.DailyReturnRow> rows =
+                    correlationMapper.findDailyReturnsByTickers(state.getTickers(), fromDate, endDate);
+            ReturnPanel panel = ReturnPanel.of(state.getTickers(), rows);
+            appendPanel(state, panel);
+            appended = panel.length();
+        }
+        state.advanceTo(endDate);
+
+        log.info("롤링 상관관계 상태 갱신 - 추가 거래일: {}, 기준일: {}", appended, endDate);
+    }
+
+    private static void appendPanel(RollingCorrelationState target, ReturnPanel panel) {
+        double[] values = panel.values();
+        int n = panel.size();
+        double[] day = new double[n];
+        for (int t = 0; t < panel.length(); t++) {
+            for (int i = 0; i < n; i++) {
+                day[i] = values[panel.offset(i) + t];
+            }
+            target.append(panel.getDate(t), day);
+        }
+    }
+
+
+}//class
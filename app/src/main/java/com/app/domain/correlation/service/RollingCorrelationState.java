@@ -0,0 +1,310 @@
+package com.app.domain.correlation.service;
+
+
+import com.app.domain.correlation.dto.CorrelationAnalysisRequest;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 기간별 롤링 상관관계 모멘트 저장소
+ *
+ * <p>추적 종목마다 기간(3M, 6M, 1Y)별 유효 거래일 수, 수익률 합, 제곱합을,
+ * 종목 쌍마다 교차곱 합(상삼각 packed 배열)을 유지한다.
+ * 새 거래일이 추가되면 O(쌍 수)로 모멘트를 더하고, 기간 시작일 밖으로 밀려난
+ * 가장 오래된 거래일은 같은 방식으로 빼서 전체 이력을 다시 스캔하지 않는다.</p>
+ *
+ * <p>합은 종목별 기준값(직전 재계산 시점의 기간 평균)을 뺀 값으로 누적해 Σx² - (Σx)²/n 의 자릿수 상쇄를 줄이고,
+ * 더하고 빼는 갱신이 기간 거래일 수만큼 쌓이면 보관 거래일로 모멘트를 다시 계산해 누적 오차를 없앤다.
+ * 재계산 비용 O(거래일 수 x 쌍 수)는 그 사이의 갱신 횟수로 나누면 갱신당 O(쌍 수)다.</p>
+ *
+ * <p>스레드 안전하지 않으므로 호출 측({@link RollingCorrelationService})에서 잠금을 관리한다.</p>
+ */
+public class RollingCorrelationState {
+
+    /** 재정렬 없이 보관할 만료 거래일 수 (초과 시 앞부분 정리) */
+    private static final int COMPACT_THRESHOLD = 64;
+
+    /** 모멘트 재계산 전 최소 갱신 횟수 (짧은 기간에서 재계산이 너무 잦지 않도록) */
+    private static final int REBASE_MIN_UPDATES = 32;
+
+    private final List<String> tickers;
+    private final Map<String, Integer> tickerIndex;
+    private final int n;
+
+    // 1년 기간을 덮는 보관 거래일 (결측치가 있는 쌍의 재계산용)
+    private final List<LocalDate> dates = new ArrayList<>();
+    private final List<double[]> days = new ArrayList<>();
+
+    private final Map<String, Window> windows = new LinkedHashMap<>();
+
+    private LocalDate asOf;
+    private LocalDate lastPriceDate;
+
+    public RollingCorrelationState(List<String> tickers,
+                                   List<CorrelationAnalysisRequest.AnalysisPeriod> periods) {
+        this.tickers = Collections.unmodifiableList(new ArrayList<>(tickers));
+        this.n = tickers.size();
+        this.tickerIndex = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            tickerIndex.put(tickers.get(i), i);
+        }
+        for (CorrelationAnalysisRequest.AnalysisPeriod period : periods) {
+            windows.put(period.getCode(), new Window(period.getMonths(), n));
+        }
+    }
+
+    public List<String> getTickers() {
+        return tickers;
+    }
+
+    /**
+     * 기간 종료 기준일 (마지막 advanceTo 호출 기준)
+     */
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+
+    /**
+     * 마지막으로 반영된 주가 거래일
+     */
+    public LocalDate getLastPriceDate() {
+        return lastPriceDate;
+    }
+
+    public int indexOf(String ticker) {
+        Integer index = tickerIndex.get(ticker);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * 새 거래일 수익률 추가 (모든 기간에 O(쌍 수)로 반영)
+     * @param date 거래일 (마지막 반영일 이후여야 함)
+     * @param returns 종목별 수익률 (결측치 NaN, 길이 = 추적 종목 수)
+     */
+    public void append(LocalDate date, double[] returns) {
+        if (lastPriceDate != null && !date.isAfter(lastPriceDate)) {
+            throw new IllegalArgumentException("이미 반영된 거래일입니다: " + date);
+        }
+
+        double[] day = returns.clone();
+        int[] valid = validIndices(day);
+        dates.add(date);
+        days.add(day);
+
+        for (Window window : windows.values()) {
+            window.accumulate(day, valid, 1.0);
+            window.count++;
+            window.rebaseIfDue();
+        }
+        lastPriceDate = date;
+    }
+
+    /**
+     * 기간 종료 기준일 이동 - 기간 시작일보다 오래된 거래일의 모멘트를 제거
+     * @param asOfDate 새 기준일
+     */
+    public void advanceTo(LocalDate asOfDate) {
+        for (Window window : windows.values()) {
+            LocalDate start = asOfDate.minusMonths(window.months);
+            while (window.start < dates.size() && dates.get(window.start).isBefore(start)) {
+                double[] day = days.get(window.start);
+                window.accumulate(day, validIndices(day), -1.0);
+                window.count--;
+                window.start++;
+            }
+            window.rebaseIfDue();
+        }
+        asOf = asOfDate;
+        compact();
+    }
+
+    /**
+     * 추적 종목 부분집합의 기간별 상관계수 매트릭스 (k x k, row-major)
+     * @param period 기간 코드
+     * @param indices 추적 종목 인덱스 목록
+     * @return 상관계수 (계산 불가능하면 NaN), 추적하지 않는 기간이면 null
+     */
+    public double[] matrix(String period, int[] indices) {
+        Window window = windows.get(period);
+        if (window == null) return null;
+
+        int k = indices.length;
+        double[] matrix = new double[k * k];
+        for (int a = 0; a < k; a++) {
+            matrix[a * k + a] = 1.0;
+            for (int b = a + 1; b < k; b++) {
+                double r = correlation(window, indices[a], indices[b]);
+                matrix[a * k + b] = r;
+                matrix[b * k + a] = r;
+            }
+        }
+        return matrix;
+    }
+
+    private double correlation(Window window, int i, int j) {
+        if (i == j) return 1.0;
+
+        int count = window.count;
+        if (window.valid[i] != count || window.valid[j] != count) {
+            // 결측치가 있는 쌍은 보관 거래일로 공통 거래일 기준 재계산
+            return pairwisePearson(window.start, i, j);
+        }
+        if (count < 2) return Double.NaN;
+
+        double varX = window.sumSq[i] - window.sum[i] * window.sum[i] / count;
+        double varY = window.sumSq[j] - window.sum[j] * window.sum[j] / count;
+        // 누적 오차로 남은 미세한 분산은 0으로 간주
+        if (varX <= 1e-12 * window.sumSq[i] || varY <= 1e-12 * window.sumSq[j]) return Double.NaN;
+
+        int a = Math.min(i, j), b = Math.max(i, j);
+        double cov = window.cross[packedIndex(a, b)] - window.sum[i] * window.sum[j] / count;
+
+        double r = cov / Math.sqrt(varX * varY);
+        return Math.max(-1.0, Math.min(1.0, r));
+    }
+
+    private double pairwisePearson(int from, int i, int j) {
+        int count = 0;
+        double sumX = 0.0, sumY = 0.0;
+        for (int t = from; t < days.size(); t++) {
+            double x = days.get(t)[i], y = days.get(t)[j];
+            if (Double.isNaN(x) || Double.isNaN(y)) continue;
+            count++;
+            sumX += x;
+            sumY += y;
+        }
+        if (count < 2) return Double.NaN;
+
+        double meanX = sumX / count, meanY = sumY / count;
+        double sxy = 0.0, sxx = 0.0, syy = 0.0;
+        for (int t = from; t < days.size(); t++) {
+            double x = days.get(t)[i], y = days.get(t)[j];
+            if (Double.isNaN(x) || Double.isNaN(y)) continue;
+            double dx = x - meanX, dy = y - meanY;
+            sxy += dx * dy;
+            sxx += dx * dx;
+            syy += dy * dy;
+        }
+        if (sxx <= 0.0 || syy <= 0.0) return Double.NaN;
+
+        return Math.max(-1.0, Math.min(1.0, sxy / Math.sqrt(sxx * syy)));
+    }
+
+    /**
+     * 모든 기간 밖으로 밀려난 거래일 정리
+     */
+    private void compact() {
+        int minStart = Integer.MAX_VALUE;
+        for (Window window : windows.values()) {
+            minStart = Math.min(minStart, window.start);
+        }
+        if (minStart == Integer.MAX_VALUE || minStart < COMPACT_THRESHOLD) return;
+
+        dates.subList(0, minStart).clear();
+        days.subList(0, minStart).clear();
+        for (Window window : windows.values()) {
+            window.start -= minStart;
+        }
+    }
+
+    private int packedIndex(int i, int j) {
+        // i < j 인 상삼각 (대각선 제외) 위치
+        return i * (2 * n - i - 1) / 2 + (j - i - 1);
+    }
+
+    private static int[] validIndices(double[] day) {
+        int[] valid = new int[day.length];
+        int m = 0;
+        for (int i = 0; i < day.length; i++) {
+            if (!Double.isNaN(day[i])) {
+                valid[m++] = i;
+            }
+        }
+        return Arrays.copyOf(valid, m);
+    }
+
+    /**
+     * 단일 기간 모멘트 (합은 모두 종목별 기준값 shift 를 뺀 값 기준)
+     */
+    private final class Window {
+        final int months;
+        int start;   // 기간 첫 거래일의 보관 인덱스
+        int count;   // 기간 내 거래일 수
+        int updates; // 마지막 재계산 이후 더하고 뺀 거래일 수
+        final int[] valid;
+        final double[] shift;
+        final double[] sum;
+        final double[] sumSq;
+        final double[] cross;
+
+        Window(int months, int n) {
+            this.months = months;
+            this.valid = new int[n];
+            this.shift = new double[n];
+            this.sum = new double[n];
+            this.sumSq = new double[n];
+            this.cross = new double[n * (n - 1) / 2];
+        }
+
+        void rebaseIfDue() {
+            if (updates >= Math.max(count, REBASE_MIN_UPDATES)) {
+                rebase();
+            }
+        }
+
+        /**
+         * 보관 거래일로 모멘트 재계산 (기준값은 현재 기간 평균)
+         */
+        void rebase() {
+            int end = days.size();
+            Arrays.fill(valid, 0);
+            Arrays.fill(shift, 0.0);
+            for (int t = start; t < end; t++) {
+                double[] day = days.get(t);
+                for (int i = 0; i < n; i++) {
+                    if (Double.isNaN(day[i])) continue;
+                    valid[i]++;
+                    shift[i] += day[i];
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                if (valid[i] > 0) shift[i] /= valid[i];
+            }
+
+            Arrays.fill(valid, 0);
+            Arrays.fill(sum, 0.0);
+            Arrays.fill(sumSq, 0.0);
+            Arrays.fill(cross, 0.0);
+            for (int t = start; t < end; t++) {
+                double[] day = days.get(t);
+                accumulate(day, validIndices(day), 1.0);
+            }
+            updates = 0;
+        }
+
+        /**
+         * 거래일 하나의 모멘트를 더하거나(sign = 1) 뺀다(sign = -1)
+         */
+        void accumulate(double[] day, int[] validIdx, double sign) {
+            int delta = sign > 0 ? 1 : -1;
+            for (int a = 0; a < validIdx.length; a++) {
+                int i = validIdx[a];
+                double x = day[i] - shift[i];
+                valid[i] += delta;
+                sum[i] += sign * x;
+                sumSq[i] += sign * x * x;
+
+                double sx = sign * x;
+                int rowBase = i * (2 * n - i - 1) / 2 - i - 1;
+                for (int b = a + 1; b < validIdx.length; b++) {
+                    int j = validIdx[b];
+                    cross[rowBase + j] += sx * (day[j] - shift[j]);
+                }
+            }
+            updates++;
+        }
+    }
+
+
+}//class
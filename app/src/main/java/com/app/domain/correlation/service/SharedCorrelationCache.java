@@ -0,0 +1,273 @@
+package com.app.domain.correlation.service;
+
+
+import com.app.domain.common.event.StockPriceReloadedEvent;
+import com.app.domain.correlation.dto.CorrelationAnalysisRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 세션 공유 상관계수 캐시
+ *
+ * <p>분석 한 번에 계산한 (종목 집합, 기준일) 의 기간별 n x n 상관계수 배열을 블록 하나로 그대로 보관해,
+ * 같은 날 같은 종목 쌍을 분석하는 세션끼리 계산 결과를 재사용한다. 값은 원시 double 배열에만 있으므로
+ * 쌍마다 키·박싱 객체를 만들지 않는다. 보관 값 수가 한도를 넘으면 가장 오래 사용되지 않은 블록부터
+ * 제거(LRU)하고, stock_price 의 최근 거래일이 바뀌거나 주가가 재적재되면 전체를 비운다.</p>
+ *
+ * <p>한도는 설정값과 UNIVERSE 범위 최대 실행 2회분(최대 종목 수² x 전체 기간 수 x 2) 중 큰 값이라,
+ * 가장 큰 분석도 자기 결과나 직전 다른 세션의 결과를 밀어내지 않는다.</p>
+ */
+@Component
+@Slf4j
+public class SharedCorrelationCache {
+
+
+    /**
+     * 블록에 없는 값 표시 (계산 불가능한 값의 NaN 과 구분하기 위해 무한대 사용, 상관계수는 [-1, 1])
+     */
+    private static final double MISSING = Double.POSITIVE_INFINITY;
+
+    /**
+     * 최대 보관 상관계수 값 수 (블록 배열 길이 합)
+     */
+    private final long maxValues;
+
+    /**
+     * 블록 목록 (앞쪽이 가장 오래 사용되지 않은 블록)
+     */
+    private final ArrayList<Block> blocks = new ArrayList<>();
+
+    private long totalValues;
+    private LocalDate priceDate;
+    private long hits;
+    private long misses;
+
+    public SharedCorrelationCache(@Value("${correlation.cache.max-entries:0}") long maxEntries,
+                                  @Value("${correlation.universe.max-tickers:500}") int universeMaxTickers) {
+        long universeRun = (long) universeMaxTickers * universeMaxTickers
+                * ReturnMatrixCorrelationEngine.resolveWindows(CorrelationAnalysisRequest.AnalysisPeriod.ALL).size();
+        this.maxValues = Math.max(maxEntries, 2 * universeRun);
+    }
+
+    /**
+     * 분석 대상 종목 쌍의 캐시 조회
+     *
+     * <p>찾은 값은 조회 시점의 스냅샷으로 복사해 돌려준다. 이후 다른 요청의 무효화나 LRU 제거로
+     * 캐시에서 빠지더라도 스냅샷에서 읽으므로, 캐시에 있던 쌍은 재계산 목록에서 빠진 채 값도 잃는 일이 없다.
+     * 블록마다 대상 종목의 위치를 한 번 구해 두고, 대상 종목이 두 개 이상 들어 있는 블록만 최근 순으로 찾는다.</p>
+     * @param tickers 분석 대상 티커 목록 (중복 없음)
+     * @param windows 분석 기간 목록
+     * @param asOfDate 기준일
+     * @return 캐시에 있던 값과 재계산이 필요한 티커 목록
+     */
+    public synchronized CachedCorrelations lookup(List<String> tickers,
+                                                  List<CorrelationAnalysisRequest.AnalysisPeriod> windows,
+                                                  LocalDate asOfDate) {
+        int n = tickers.size();
+
+        // 대상 종목이 2개 이상 있는 블록과 그 안의 위치 (최근 사용 순)
+        List<Block> candidates = new ArrayList<>();
+        List<int[]> positions = new ArrayList<>();
+        for (int b = blocks.size() - 1; b >= 0; b--) {
+            Block block = blocks.get(b);
+            if (!block.asOfDate.equals(asOfDate)) continue;
+            int[] position = new int[n];
+            int present = 0;
+            for (int k = 0; k < n; k++) {
+                Integer index = block.index.get(tickers.get(k));
+                position[k] = index != null ? index : -1;
+                if (index != null) present++;
+            }
+            if (present >= 2) {
+                candidates.add(block);
+                positions.add(position);
+            }
+        }
+
+        Map<String, double[]> values = new HashMap<>();
+        boolean[] missing = new boolean[n];
+        boolean[] used = new boolean[candidates.size()];
+        for (CorrelationAnalysisRequest.AnalysisPeriod window : windows) {
+            double[] found = new double[n * n];
+            Arrays.fill(found, MISSING);
+            values.put(window.getCode(), found);
+
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    double value = MISSING;
+                    for (int c = 0; c < candidates.size(); c++) {
+                        int[] position = positions.get(c);
+                        double[] matrix = candidates.get(c).windows.get(window.getCode());
+                        if (matrix == null || position[i] < 0 || position[j] < 0) continue;
+                        value = matrix[position[i] * candidates.get(c).size + position[j]];
+                        used[c] = true;
+                        break;
+                    }
+                    if (isMissing(value)) {
+                        missing[i] = true;
+                        missing[j] = true;
+                        misses++;
+                    } else {
+                        found[i * n + j] = value;
+                        hits++;
+                    }
+                }
+            }
+        }
+
+        // 사용한 블록을 최근 사용으로 이동
+        for (int c = 0; c < candidates.size(); c++) {
+            if (used[c]) {
+                blocks.remove(candidates.get(c));
+                blocks.add(candidates.get(c));
+            }
+        }
+
+        List<String> ordered = new ArrayList<>();
+        Map<String, Integer> index = new HashMap<>();
+        for (int k = 0; k < n; k++) {
+            index.put(tickers.get(k), k);
+            if (missing[k]) ordered.add(tickers.get(k));
+        }
+        return new CachedCorrelations(index, values, ordered);
+    }
+
+    /**
+     * 계산된 상관계수 매트릭스를 블록 하나로 캐시에 저장 (배열은 복사하지 않으므로 저장 후 수정하지 않는다)
+     */
+    public synchronized void putAll(ReturnCorrelationMatrix matrix, LocalDate asOfDate) {
+        Block block = new Block(matrix.getTickers(), matrix.getWindows(), asOfDate);
+        blocks.add(block);
+        totalValues += block.values;
+
+        // 방금 넣은 블록은 한도를 넘더라도 남긴다
+        while (totalValues > maxValues && blocks.size() > 1) {
+            totalValues -= blocks.remove(0).values;
+        }
+    }
+
+    /**
+     * 최근 주가 거래일이 바뀌었으면 캐시 전체 무효화
+     * @param latestPriceDate stock_price 의 최근 거래일
+     */
+    public synchronized void syncPriceDate(LocalDate latestPriceDate) {
+        if (!Objects.equals(priceDate, latestPriceDate)) {
+            if (!blocks.isEmpty()) {
+                log.info("주가 최근 거래일 변경({} -> {}) - 공유 상관계수 캐시 초기화 ({}블록, {}값)",
+                        priceDate, latestPriceDate, blocks.size(), totalValues);
+            }
+            clear();
+            priceDate = latestPriceDate;
+        }
+    }
+
+    /**
+     * 캐시 전체 무효화 (주가 재적재 시)
+     */
+    public synchronized void invalidate() {
+        log.info("공유 상관계수 캐시 초기화 - {}블록, {}값 (hit: {}, miss: {})",
+                blocks.size(), totalValues, hits, misses);
+        clear();
+        priceDate = null;
+    }
+
+    /**
+     * 주가 재적재 시 캐시 전체 무효화
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockPriceReloaded(StockPriceReloadedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * 보관 중인 상관계수 값 수 (블록 배열 길이 합)
+     */
+    public synchronized long size() {
+        return totalValues;
+    }
+
+    private void clear() {
+        blocks.clear();
+        totalValues = 0;
+    }
+
+    private static boolean isMissing(double value) {
+        return value == MISSING;
+    }
+
+    /**
+     * 조회 시점의 캐시 값 스냅샷
+     */
+    public static final class CachedCorrelations {
+
+        private final Map<String, Integer> index;
+        private final Map<String, double[]> values;
+        private final List<String> missingTickers;
+
+        private CachedCorrelations(Map<String, Integer> index, Map<String, double[]> values,
+                                   List<String> missingTickers) {
+            this.index = index;
+            this.values = values;
+            this.missingTickers = missingTickers;
+        }
+
+        /**
+         * 캐시를 거치지 않는 빈 스냅샷 (모든 종목 재계산)
+         */
+        public static CachedCorrelations uncached(List<String> tickers) {
+            return new CachedCorrelations(Map.of(), Map.of(), List.copyOf(tickers));
+        }
+
+        /**
+         * 재계산이 필요한 티커 목록 (입력 순서 유지) - 값이 없는 쌍은 모두 이 종목들끼리의 쌍
+         */
+        public List<String> getMissingTickers() {
+            return missingTickers;
+        }
+
+        /**
+         * 조회 시점에 캐시돼 있던 상관계수
+         * @return 상관계수 (계산 불가능했던 값은 NaN), 캐시에 없었으면 null
+         */
+        public Double get(String ticker1, String ticker2, String period) {
+            double[] found = values.get(period);
+            Integer i = index.get(ticker1);
+            Integer j = index.get(ticker2);
+            if (found == null || i == null || j == null || i.equals(j)) return null;
+
+            double value = found[Math.min(i, j) * index.size() + Math.max(i, j)];
+            return isMissing(value) ? null : value;
+        }
+    }
+
+    /**
+     * 한 번의 계산 결과 블록 - 종목 집합과 기간별 n x n 상관계수 배열
+     */
+    private static final class Block {
+
+        private final Map<String, Integer> index = new HashMap<>();
+        private final Map<String, double[]> windows;
+        private final LocalDate asOfDate;
+        private final int size;
+        private final long values;
+
+        private Block(List<String> tickers, Map<String, double[]> windows, LocalDate asOfDate) {
+            for (int i = 0; i < tickers.size(); i++) {
+                index.put(tickers.get(i), i);
+            }
+            this.windows = windows;
+            this.asOfDate = asOfDate;
+            this.size = tickers.size();
+            long total = 0;
+            for (double[] matrix : windows.values()) total += matrix.length;
+            this.values = total;
+        }
+    }
+
+
+}//class
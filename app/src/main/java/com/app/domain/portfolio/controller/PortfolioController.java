@@ -1,4 +1,311 @@
 package com.app.domain.portfolio.controller;
 
+import com.app.app.global.common.ApiResponse;
+import com.app.app.global.util.SessionUtil;
+import com.app.domain.portfolio.dto.BatchOptimizationRequest;
+import com.app.domain.portfolio.dto.BatchOptimizationResponse;
+import com.app.domain.portfolio.dto.EfficientFrontierRequest;
+import com.app.domain.portfolio.dto.EfficientFrontierResponse;
+import com.app.domain.portfolio.dto.MonteCarloSimulationRequest;
+import com.app.domain.portfolio.dto.MonteCarloSimulationResponse;
+import com.app.domain.portfolio.dto.PortfolioOptimizationRequest;
+import com.app.domain.portfolio.dto.PortfolioOptimizationResponse;
+import com.app.domain.portfolio.dto.RiskAnalyticsRequest;
+import com.app.domain.portfolio.dto.RiskAnalyticsResponse;
+import com.app.domain.portfolio.entity.EfficientFrontierPoint;
+import com.app.domain.portfolio.entity.OptimalPortfolio;
+import com.app.domain.portfolio.service.PortfolioOptimizationService;
+import com.app.domain.portfolio.service.PortfolioRiskAnalyticsService;
+import jakarta.servlet.http.HttpSession;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 포트폴리오 최적화 컨트롤러
+ */
+@RestController
+@RequestMapping("/api/portfolio")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
 public class PortfolioController {
-}
+
+    private final PortfolioOptimizationService portfolioOptimizationService;
+    private final PortfolioRiskAnalyticsService portfolioRiskAnalyticsService;
+    private final SessionUtil sessionUtil;
+
+    /**
+     * 평균-분산 최적화 (최소분산, 최대 샤프)
+     */
+    @PostMapping("/optimize")
+    public ResponseEntity<ApiResponse> optimize(
+            @Valid @RequestBody(required = false) PortfolioOptimizationRequest request,
+            HttpSession httpSession) {
+
+        String businessSessionId = sessionUtil.getBusinessSessionId(httpSession);
+        if (request == null) {
+            request = new PortfolioOptimizationRequest();
+        }
+        log.info("평균-분산 최적화 요청 - 비즈니스 세션: {}", businessSessionId);
+
+        try {
+            // 선택 자산은 HTTP 세션 ID 기준으로 저장됨
+            PortfolioOptimizationResponse response =
+                    portfolioOptimizationService.optimize(businessSessionId, httpSession.getId(), request);
+
+            return ResponseEntity.ok(ApiResponse.success(
+                    "포트폴리오 최적화가 완료되었습니다.",
+                    response
+            ));
+
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("포트폴리오 최적화 실패: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(
+                    e.getMessage(),
+                    "INVALID_REQUEST"
+            ));
+        } catch (Exception e) {
+            log.error("포트폴리오 최적화 중 오류: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(ApiResponse.error(
+                    "포트폴리오 최적화 중 오류가 발생했습니다.",
+                    "OPTIMIZATION_ERROR"
+            ));
+        }
+    }
+
+    /**
+     * 여러 바스켓 일괄 최적화 (추정 기간별 종목 합집합 1회 로딩, 바스켓별 공통 거래일 추정·병렬 풀이, optimal_portfolio 에 일괄 ID 로 저장)
+     */
+    @PostMapping("/optimize/batch")
+    public ResponseEntity<ApiResponse> optimizeBatch(
+            @Valid @RequestBody BatchOptimizationRequest request,
+            HttpSession httpSession) {
+
+        String businessSessionId = sessionUtil.getBusinessSessionId(httpSession);
+        log.info("일괄 최적화 요청 - 비즈니스 세션: {}, 바스켓수: {}", businessSessionId, request.getBaskets().size());
+
+        try {
+            BatchOptimizationResponse response = portfolioOptimizationService.optimizeBatch(businessSessionId, request);
+
+            return ResponseEntity.ok(ApiResponse.success(
+                    String.format("일괄 최적화가 완료되었습니다. (성공 %d건, 실패 %d건)",
+                            response.getSucceeded(), response.getFailed()),
+                    response
+            ));
+
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("일괄 최적화 실패: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(
+                    e.getMessage(),
+                    "INVALID_REQUEST"
+            ));
+        } catch (Exception e) {
+            log.error("일괄 최적화 중 오류: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(ApiResponse.error(
+                    "일괄 최적화 중 오류가 발생했습니다.",
+                    "OPTIMIZATION_ERROR"
+            ));
+        }
+    }
+
+    /**
+     * 효율적 경계 추적 (점 병렬 계산 후 efficient_frontier 에 일괄 저장)
+     */
+    @PostMapping("/frontier")
+    public ResponseEntity<ApiResponse> traceEfficientFrontier(
+            @Valid @RequestBody(required = false) EfficientFrontierRequest request,
+            HttpSession httpSession) {
+
+        String businessSessionId = sessionUtil.getBusinessSessionId(httpSession);
+        if (request == null) {
+            request = new EfficientFrontierRequest();
+        }
+        log.info("효율적 경계 추적 요청 - 비즈니스 세션: {}, 점 수: {}", businessSessionId, request.getPoints());
+
+        try {
+            EfficientFrontierResponse response = portfolioOptimizationService.traceEfficientFrontier(
+                    businessSessionId, httpSession.getId(), request);
+
+            return ResponseEntity.ok(ApiResponse.success(
+                    "효율적 경계 계산이 완료되었습니다.",
+                    response
+            ));
+
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("효율적 경계 추적 실패: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(
+                    e.getMessage(),
+                    "INVALID_REQUEST"
+            ));
+        } catch (Exception e) {
+            log.error("효율적 경계 추적 중 오류: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(ApiResponse.error(
+                    "효율적 경계 계산 중 오류가 발생했습니다.",
+                    "OPTIMIZATION_ERROR"
+            ));
+        }
+    }
+
+    /**
+     * 무작위 포트폴리오 몬테카를로 시뮬레이션 (구름 점 + 최적 표본, 저장 없음)
+     */
+    @PostMapping("/simulate")
+    public ResponseEntity<ApiResponse> simulateRandomPortfolios(
+            @Valid @RequestBody(required = false) MonteCarloSimulationRequest request,
+            HttpSession httpSession) {
+
+        String businessSessionId = sessionUtil.getBusinessSessionId(httpSession);
+        if (request == null) {
+            request = new MonteCarloSimulationRequest();
+        }
+        log.info("몬테카를로 시뮬레이션 요청 - 비즈니스 세션: {}, 표본: {}", businessSessionId, request.getSamples());
+
+        try {
+            MonteCarloSimulationResponse response = portfolioOptimizationService.simulateRandomPortfolios(
+                    businessSessionId, httpSession.getId(), request);
+
+            return ResponseEntity.ok(ApiResponse.success(
+                    "포트폴리오 시뮬레이션이 완료되었습니다.",
+                    response
+            ));
+
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("몬테카를로 시뮬레이션 실패: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(
+                    e.getMessage(),
+                    "INVALID_REQUEST"
+            ));
+        } catch (Exception e) {
+            log.error("몬테카를로 시뮬레이션 중 오류: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(ApiResponse.error(
+                    "포트폴리오 시뮬레이션 중 오류가 발생했습니다.",
+                    "SIMULATION_ERROR"
+            ));
+        }
+    }
+
+    /**
+     * 포트폴리오 위험 분석 (3M / 6M / 1Y VaR, CVaR, 최대 낙폭, 변동성, 저장 없음)
+     */
+    @PostMapping("/risk")
+    public ResponseEntity<ApiResponse> analyzeRisk(
+            @Valid @RequestBody(required = false) RiskAnalyticsRequest request,
+            HttpSession httpSession) {
+
+        if (request == null) {
+            request = new RiskAnalyticsRequest();
+        }
+        log.info("포트폴리오 위험 분석 요청 - 선택 세션: {}", httpSession.getId());
+
+        try {
+            // 선택 자산은 HTTP 세션 ID 기준으로 저장됨
+            RiskAnalyticsResponse response = portfolioRiskAnalyticsService.analyze(httpSession.getId(), request);
+
+            return ResponseEntity.ok(ApiResponse.success(
+                    "포트폴리오 위험 분석이 완료되었습니다.",
+                    response
+            ));
+
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("포트폴리오 위험 분석 실패: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(
+                    e.getMessage(),
+                    "INVALID_REQUEST"
+            ));
+        } catch (Exception e) {
+            log.error("포트폴리오 위험 분석 중 오류: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(ApiResponse.error(
+                    "포트폴리오 위험 분석 중 오류가 발생했습니다.",
+                    "RISK_ANALYSIS_ERROR"
+            ));
+        }
+    }
+
+    /**
+     * 저장된 효율적 경계 조회
+     */
+    @GetMapping("/frontier")
+    public ResponseEntity<ApiResponse> getEfficientFrontier(HttpSession httpSession) {
+
+        String businessSessionId = sessionUtil.getBusinessSessionId(httpSession);
+        log.info("효율적 경계 조회 - 비즈니스 세션: {}", businessSessionId);
+
+        try {
+            List<EfficientFrontierPoint> frontier = portfolioOptimizationService.getEfficientFrontier(businessSessionId);
+
+            return ResponseEntity.ok(ApiResponse.success(
+                    "효율적 경계를 조회했습니다.",
+                    frontier
+            ));
+
+        } catch (Exception e) {
+            log.error("효율적 경계 조회 중 오류: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(ApiResponse.error(
+                    "효율적 경계 조회 중 오류가 발생했습니다.",
+                    "QUERY_ERROR"
+            ));
+        }
+    }
+
+    /**
+     * 저장된 최적 포트폴리오 조회 (대화형 최적화 결과)
+     */
+    @GetMapping("/optimal")
+    public ResponseEntity<ApiResponse> getOptimalPortfolios(HttpSession httpSession) {
+
+        String businessSessionId = sessionUtil.getBusinessSessionId(httpSession);
+        log.info("최적 포트폴리오 조회 - 비즈니스 세션: {}", businessSessionId);
+
+        try {
+            List<OptimalPortfolio> portfolios = portfolioOptimizationService.getOptimalPortfolios(businessSessionId);
+
+            return ResponseEntity.ok(ApiResponse.success(
+                    "최적 포트폴리오를 조회했습니다.",
+                    portfolios
+            ));
+
+        } catch (Exception e) {
+            log.error("최적 포트폴리오 조회 중 오류: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(ApiResponse.error(
+                    "최적 포트폴리오 조회 중 오류가 발생했습니다.",
+                    "QUERY_ERROR"
+            ));
+        }
+    }
+
+    /**
+     * 저장된 일괄 최적화 결과 조회
+     */
+    @GetMapping("/optimal/batch/{batchId}")
+    public ResponseEntity<ApiResponse> getBatchOptimalPortfolios(
+            @PathVariable String batchId,
+            HttpSession httpSession) {
+
+        String businessSessionId = sessionUtil.getBusinessSessionId(httpSession);
+        log.info("일괄 최적화 결과 조회 - 비즈니스 세션: {}, 일괄 ID: {}", businessSessionId, batchId);
+
+        try {
+            List<OptimalPortfolio> portfolios =
+                    portfolioOptimizationService.getBatchOptimalPortfolios(businessSessionId, batchId);
+
+            return ResponseEntity.ok(ApiResponse.success(
+                    "일괄 최적화 결과를 조회했습니다.",
+                    portfolios
+            ));
+
+        } catch (Exception e) {
+            log.error("일괄 최적화 결과 조회 중 오류: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(ApiResponse.error(
+                    "일괄 최적화 결과 조회 중 오류가 발생했습니다.",
+                    "QUERY_ERROR"
+            ));
+        }
+    }
+
+
+}//class
@@ -0,0 +1,109 @@
+package com.app.domain.portfolio.dto;
+
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 여러 바스켓 일괄 최적화 요청 DTO
+ * - 바스켓별 설정이 비어 있으면 요청 공통값을 사용
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchOptimizationRequest {
+
+    /**
+     * 최적화할 바스켓 목록
+     */
+    @NotEmpty(message = "최적화할 바스켓을 하나 이상 지정해주세요.")
+    @Size(max = 200, message = "바스켓은 최대 200개까지 지정 가능합니다.")
+    @Valid
+    private List<BasketRequest> baskets;
+
+    /**
+     * 공통 추정 기간 (개월, 기본값 12)
+     */
+    @Min(value = 3, message = "추정 기간은 최소 3개월입니다.")
+    @Max(value = 60, message = "추정 기간은 최대 60개월입니다.")
+    @Builder.Default
+    private Integer lookbackMonths = 12;
+
+    /**
+     * 공통 공분산 추정 방식 (기본값 SAMPLE)
+     */
+    @Builder.Default
+    private CovarianceMethod covarianceMethod = CovarianceMethod.SAMPLE;
+
+    /**
+     * 공통 무위험 수익률 (비우면 portfolio_settings 값 사용)
+     */
+    private Double riskFreeRate;
+
+    /**
+     * 공통 최적화 목표 (기본값 BOTH)
+     */
+    @Builder.Default
+    private Objective objective = Objective.BOTH;
+
+    /**
+     * 바스켓 요청 (종목 집합 + 제약 프로필)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BasketRequest {
+
+        /**
+         * 바스켓 식별자 (고객 바스켓 이름 등, 결과의 포트폴리오 명에 사용)
+         */
+        @NotBlank(message = "바스켓 ID는 필수입니다.")
+        @Size(max = 60, message = "바스켓 ID는 최대 60자입니다.")
+        private String basketId;
+
+        @NotEmpty(message = "바스켓 종목은 필수입니다.")
+        @Size(min = 2, max = 200, message = "바스켓 종목은 2개 이상 200개 이하입니다.")
+        private List<String> tickers;
+
+        @Min(value = 3, message = "추정 기간은 최소 3개월입니다.")
+        @Max(value = 60, message = "추정 기간은 최대 60개월입니다.")
+        private Integer lookbackMonths;
+
+        private CovarianceMethod covarianceMethod;
+
+        private Double riskFreeRate;
+
+        private Objective objective;
+    }
+
+    /**
+     * 최적화 목표
+     */
+    public enum Objective {
+        MIN_VARIANCE,
+        MAX_SHARPE,
+        BOTH;
+
+        public boolean includesMinVariance() {
+            return this != MAX_SHARPE;
+        }
+
+        public boolean includesMaxSharpe() {
+            return this != MIN_VARIANCE;
+        }
+    }
+
+
+}//class
@@ -0,0 +1,80 @@
+package com.app.domain.portfolio.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 여러 바스켓 일괄 최적화 응답 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchOptimizationResponse {
+
+    private String sessionId;
+
+    /**
+     * 일괄 최적화 ID (저장된 결과 조회 키, 대화형 최적화 결과와 분리)
+     */
+    private String batchId;
+
+    /**
+     * 바스켓 수 / 성공 / 실패
+     */
+    private Integer basketCount;
+    private Integer succeeded;
+    private Integer failed;
+
+    /**
+     * 로딩한 종목 합집합 크기와 추정 그룹 수 (추정 기간·공분산 방식 조합)
+     */
+    private Integer loadedTickers;
+    private Integer estimationGroups;
+
+    /**
+     * 저장된 optimal_portfolio 행 수
+     */
+    private Integer savedRows;
+
+    private Long computationTimeMs;
+
+    /**
+     * 바스켓별 결과 (요청 순서)
+     */
+    private List<BasketResult> results;
+
+    /**
+     * 바스켓별 최적화 결과
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BasketResult {
+        private String basketId;
+        private List<String> tickers;
+        private List<String> excludedTickers;
+        private LocalDate estimationStartDate;
+        private LocalDate estimationEndDate;
+        private Integer observations;
+        private String covarianceMethod;
+        private Double riskFreeRate;
+
+        private PortfolioOptimizationResponse.PortfolioResult minVariance;
+        private PortfolioOptimizationResponse.PortfolioResult maxSharpe;
+
+        /**
+         * 실패 사유 (성공이면 null)
+         */
+        private String error;
+    }
+
+
+}//class
@@ -0,0 +1,48 @@
+package com.app.domain.portfolio.dto;
+
+
+/**
+ * 공분산 추정 방식
+ */
+public enum CovarianceMethod {
+
+    /**
+     * 표본 공분산
+     */
+    SAMPLE("sample"),
+
+    /**
+     * Ledoit-Wolf 수축 (대각 스칼라 목표)
+     */
+    LEDOIT_WOLF("ledoit_wolf"),
+
+    /**
+     * 업종(stock.industry) 팩터 모형
+     */
+    INDUSTRY_FACTOR("industry_factor");
+
+    private final String code;
+
+    CovarianceMethod(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * 코드 또는 이름으로 조회 (알 수 없으면 SAMPLE)
+     */
+    public static CovarianceMethod from(String value) {
+        if (value == null || value.isBlank()) return SAMPLE;
+        for (CovarianceMethod method : values()) {
+            if (method.code.equalsIgnoreCase(value) || method.name().equalsIgnoreCase(value)) {
+                return method;
+            }
+        }
+        return SAMPLE;
+    }
+
+
+}//enum
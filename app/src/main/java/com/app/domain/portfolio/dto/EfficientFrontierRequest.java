@@ -0,0 +1,57 @@
+package com.app.domain.portfolio.dto;
+
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 효율적 경계 추적 요청 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EfficientFrontierRequest {
+
+    /**
+     * 대상 종목 티커 목록 (비우면 세션의 선택 자산 사용)
+     */
+    @Size(max = 200, message = "경계 계산 종목은 최대 200개까지 지정 가능합니다.")
+    private List<String> tickers;
+
+    /**
+     * 수익률·공분산 추정 기간 (개월, 기본값 12)
+     */
+    @Min(value = 3, message = "추정 기간은 최소 3개월입니다.")
+    @Max(value = 60, message = "추정 기간은 최대 60개월입니다.")
+    @Builder.Default
+    private Integer lookbackMonths = 12;
+
+    /**
+     * 공분산 추정 방식 (기본값 SAMPLE)
+     */
+    @Builder.Default
+    private CovarianceMethod covarianceMethod = CovarianceMethod.SAMPLE;
+
+    /**
+     * 무위험 수익률 (연율, 비우면 portfolio_settings 값 사용)
+     */
+    private Double riskFreeRate;
+
+    /**
+     * 경계 점 개수 (기본값 50)
+     */
+    @Min(value = 2, message = "경계 점은 최소 2개입니다.")
+    @Max(value = 500, message = "경계 점은 최대 500개입니다.")
+    @Builder.Default
+    private Integer points = 50;
+
+
+}//class
@@ -0,0 +1,66 @@
+package com.app.domain.portfolio.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 효율적 경계 추적 응답 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EfficientFrontierResponse {
+
+    private String sessionId;
+    private List<String> tickers;
+    private List<String> excludedTickers;
+    private LocalDate estimationStartDate;
+    private LocalDate estimationEndDate;
+    private Integer observations;
+    private String covarianceMethod;
+    private Double riskFreeRate;
+
+    /**
+     * 경계 점 (기대수익률 오름차순)
+     */
+    private List<FrontierPoint> points;
+
+    private FrontierPoint minVariance;
+    private FrontierPoint maxSharpe;
+
+    /**
+     * 계산 통계
+     */
+    private Integer solveCount;
+    private Integer nonOptimalSolveCount;   // 최적해로 끝나지 않은 풀이 수 (특이 공분산·반복 한도, 0이 아니면 일부 점이 근사치)
+    private Long computationTimeMs;
+
+    /**
+     * 경계 점 정보
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class FrontierPoint {
+        private Integer pointOrder;
+        private Double expectedReturn;
+        private Double risk;
+        private Double sharpeRatio;
+
+        /**
+         * 티커별 비중 (0 비중 제외)
+         */
+        private Map<String, Double> weights;
+    }
+
+
+}//class
@@ -0,0 +1,70 @@
+package com.app.domain.portfolio.dto;
+
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 무작위 포트폴리오 몬테카를로 시뮬레이션 요청 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonteCarloSimulationRequest {
+
+    /**
+     * 대상 종목 티커 목록 (비우면 세션의 선택 자산 사용)
+     */
+    @Size(max = 200, message = "시뮬레이션 종목은 최대 200개까지 지정 가능합니다.")
+    private List<String> tickers;
+
+    /**
+     * 수익률·공분산 추정 기간 (개월, 기본값 12)
+     */
+    @Min(value = 3, message = "추정 기간은 최소 3개월입니다.")
+    @Max(value = 60, message = "추정 기간은 최대 60개월입니다.")
+    @Builder.Default
+    private Integer lookbackMonths = 12;
+
+    /**
+     * 공분산 추정 방식 (기본값 SAMPLE)
+     */
+    @Builder.Default
+    private CovarianceMethod covarianceMethod = CovarianceMethod.SAMPLE;
+
+    /**
+     * 무위험 수익률 (연율, 비우면 portfolio_settings 값 사용)
+     */
+    private Double riskFreeRate;
+
+    /**
+     * 표본 수 (기본값 100,000)
+     */
+    @Min(value = 1_000, message = "표본 수는 최소 1,000개입니다.")
+    @Max(value = 5_000_000, message = "표본 수는 최대 5,000,000개입니다.")
+    @Builder.Default
+    private Integer samples = 100_000;
+
+    /**
+     * 반환할 구름 점 최대 개수 (기본값 2,000)
+     */
+    @Min(value = 100, message = "구름 점은 최소 100개입니다.")
+    @Max(value = 20_000, message = "구름 점은 최대 20,000개입니다.")
+    @Builder.Default
+    private Integer cloudSize = 2_000;
+
+    /**
+     * 난수 시드 (비우면 임의 시드)
+     */
+    private Long seed;
+
+
+}//class
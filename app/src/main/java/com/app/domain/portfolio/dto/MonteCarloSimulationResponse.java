@@ -0,0 +1,66 @@
+package com.app.domain.portfolio.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 무작위 포트폴리오 몬테카를로 시뮬레이션 응답 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonteCarloSimulationResponse {
+
+    private String sessionId;
+    private List<String> tickers;
+    private List<String> excludedTickers;
+    private LocalDate estimationStartDate;
+    private LocalDate estimationEndDate;
+    private Integer observations;
+    private String covarianceMethod;
+    private Double riskFreeRate;
+
+    private Integer samples;
+    private Long seed;
+
+    /**
+     * 다운샘플링된 구름 점 ([기대수익률, 위험, 샤프 비율])
+     */
+    private List<double[]> cloud;
+
+    /**
+     * 표본 중 최대 샤프, 최소 위험 포트폴리오
+     */
+    private SimulatedPortfolio maxSharpe;
+    private SimulatedPortfolio minRisk;
+
+    private Long computationTimeMs;
+
+    /**
+     * 시뮬레이션 포트폴리오 정보
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class SimulatedPortfolio {
+        private Double expectedReturn;
+        private Double risk;
+        private Double sharpeRatio;
+
+        /**
+         * 티커별 비중
+         */
+        private Map<String, Double> weights;
+    }
+
+
+}//class
@@ -0,0 +1,97 @@
+package com.app.domain.portfolio.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 평균-분산 최적화 결과 응답 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PortfolioOptimizationResponse {
+
+    /**
+     * 세션 ID
+     */
+    private String sessionId;
+
+    /**
+     * 최적화에 사용된 종목
+     */
+    private List<String> tickers;
+
+    /**
+     * 관측치 부족으로 제외된 종목
+     */
+    private List<String> excludedTickers;
+
+    /**
+     * 추정 시작일 / 종료일
+     */
+    private LocalDate estimationStartDate;
+    private LocalDate estimationEndDate;
+
+    /**
+     * 추정에 사용된 공통 거래일 수
+     */
+    private Integer observations;
+
+    /**
+     * 공분산 추정 방식 코드 (sample, ledoit_wolf, industry_factor)
+     */
+    private String covarianceMethod;
+
+    /**
+     * 무위험 수익률 (연율)
+     */
+    private Double riskFreeRate;
+
+    /**
+     * 최소분산 포트폴리오
+     */
+    private PortfolioResult minVariance;
+
+    /**
+     * 최대 샤프 포트폴리오 (무위험 수익률을 넘는 종목이 없으면 null)
+     */
+    private PortfolioResult maxSharpe;
+
+    /**
+     * 최적 포트폴리오 결과
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class PortfolioResult {
+        private String portfolioType;       // max_sharpe, min_variance, efficient_portfolio
+        private String portfolioName;
+        private Double expectedReturn;      // 연율 기대수익률
+        private Double risk;                // 연율 표준편차
+        private Double sharpeRatio;
+        private List<AssetWeight> weights;  // 비중 내림차순 (0 비중 제외)
+        private String solverStatus;        // converged, regularized(특이 공분산 릿지 근사), singular, iteration_limit
+    }
+
+    /**
+     * 종목별 비중
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class AssetWeight {
+        private String ticker;
+        private Double weight;
+    }
+
+
+}//class
@@ -0,0 +1,41 @@
+package com.app.domain.portfolio.dto;
+
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 포트폴리오 위험 분석 (VaR, CVaR, 낙폭, 변동성) 요청 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RiskAnalyticsRequest {
+
+    /**
+     * 대상 종목 티커 목록 (비우면 weights 의 종목, 그것도 없으면 세션의 선택 자산 사용)
+     */
+    @Size(max = 500, message = "위험 분석 종목은 최대 500개까지 지정 가능합니다.")
+    private List<String> tickers;
+
+    /**
+     * 종목별 비중 (비우면 동일 비중, 합이 1이 아니면 합 1로 정규화)
+     */
+    private Map<String, Double> weights;
+
+    /**
+     * VaR / CVaR 신뢰수준 목록 (기본값 0.95, 0.99)
+     */
+    @Size(min = 1, max = 5, message = "신뢰수준은 1~5개까지 지정 가능합니다.")
+    @Builder.Default
+    private List<Double> confidenceLevels = List.of(0.95, 0.99);
+
+
+}//class
@@ -0,0 +1,125 @@
+package com.app.domain.portfolio.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 포트폴리오 위험 분석 결과 DTO
+ * - VaR / CVaR 는 1일 기준 손실률 (양수일수록 손실이 큼)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RiskAnalyticsResponse {
+
+    /**
+     * 분석 기준일 (최근 거래일)
+     */
+    private LocalDate asOfDate;
+
+    private List<String> tickers;
+
+    /**
+     * 실제 적용 비중 (합 1)
+     */
+    private Map<String, Double> weights;
+
+    /**
+     * 수익률 데이터 부족으로 제외된 종목 (남은 종목 비중을 다시 합 1로 정규화)
+     */
+    private List<String> excludedTickers;
+
+    /**
+     * 기간별 위험 지표 (3M, 6M, 1Y)
+     */
+    private List<WindowRisk> windows;
+
+    /**
+     * 캐시 결과 여부
+     */
+    private Boolean cached;
+
+    /**
+     * 계산 소요 시간 (밀리초)
+     */
+    private Long computeMillis;
+
+    /**
+     * 기간별 위험 지표
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class WindowRisk {
+
+        /**
+         * 기간 코드 (3M, 6M, 1Y)
+         */
+        private String period;
+
+        private LocalDate startDate;
+
+        private LocalDate endDate;
+
+        /**
+         * 공통 거래일 수
+         */
+        private Integer observations;
+
+        private Double meanDailyReturn;
+
+        private Double dailyVolatility;
+
+        private Double annualizedVolatility;
+
+        /**
+         * 최대 낙폭 (0 이하)
+         */
+        private Double maxDrawdown;
+
+        private List<ValueAtRisk> valueAtRisk;
+    }
+
+    /**
+     * 신뢰수준별 VaR / CVaR
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ValueAtRisk {
+
+        private Double confidenceLevel;
+
+        /**
+         * 역사적 VaR (과거 수익률 분위수)
+         */
+        private Double historicalVar;
+
+        /**
+         * 역사적 CVaR (VaR 이하 꼬리 평균)
+         */
+        private Double historicalCvar;
+
+        /**
+         * 정규분포 가정 VaR
+         */
+        private Double parametricVar;
+
+        /**
+         * 정규분포 가정 CVaR
+         */
+        private Double parametricCvar;
+    }
+
+
+}//class
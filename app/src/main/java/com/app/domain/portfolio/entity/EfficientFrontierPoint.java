@@ -0,0 +1,70 @@
+package com.app.domain.portfolio.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 효율적 경계 점 엔티티 (efficient_frontier)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EfficientFrontierPoint {
+
+
+    public static final String TYPE_EFFICIENT_FRONTIER = "efficient_frontier";
+    public static final String TYPE_MAX_SHARPE = "max_sharpe";
+    public static final String TYPE_MIN_VARIANCE = "min_variance";
+
+    /**
+     * 경계 ID (Primary Key)
+     */
+    private Long frontierId;
+
+    /**
+     * 세션 ID
+     */
+    private String sessionId;
+
+    /**
+     * 기대수익률 (연율)
+     */
+    private Double expectedReturn;
+
+    /**
+     * 위험 (연율 표준편차)
+     */
+    private Double riskStdDev;
+
+    /**
+     * 샤프 비율
+     */
+    private Double sharpeRatio;
+
+    /**
+     * 포트폴리오 비중 JSON ({"티커": 비중})
+     */
+    private String portfolioWeights;
+
+    /**
+     * 포트폴리오 유형 (efficient_frontier, max_sharpe, min_variance)
+     */
+    private String portfolioType;
+
+    /**
+     * 경계선상 점 순서
+     */
+    private Integer pointOrder;
+
+    /**
+     * 생성일시
+     */
+    private LocalDateTime createdAt;
+
+
+}//class
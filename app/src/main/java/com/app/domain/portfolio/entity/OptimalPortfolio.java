@@ -0,0 +1,90 @@
+package com.app.domain.portfolio.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 최적 포트폴리오 엔티티 (optimal_portfolio, 종목별 1행)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OptimalPortfolio {
+
+
+    public static final String TYPE_MAX_SHARPE = "max_sharpe";
+    public static final String TYPE_MIN_VARIANCE = "min_variance";
+    public static final String TYPE_EFFICIENT = "efficient_portfolio";
+
+    /**
+     * 포트폴리오 ID (Primary Key)
+     */
+    private Long portfolioId;
+
+    /**
+     * 세션 ID
+     */
+    private String sessionId;
+
+    /**
+     * 티커 심볼
+     */
+    private String ticker;
+
+    /**
+     * 포트폴리오 내 비중 (0~1)
+     */
+    private Double weight;
+
+    /**
+     * 포트폴리오 유형 (max_sharpe, min_variance, efficient_portfolio)
+     */
+    private String portfolioType;
+
+    /**
+     * 포트폴리오 순위 (1-5)
+     */
+    private Integer portfolioRank;
+
+    /**
+     * 기대수익률 (연율)
+     */
+    private Double expectedReturn;
+
+    /**
+     * 포트폴리오 위험도 (연율 표준편차)
+     */
+    private Double portfolioRisk;
+
+    /**
+     * 샤프 비율
+     */
+    private Double sharpeRatio;
+
+    /**
+     * 포트폴리오 명
+     */
+    private String portfolioName;
+
+    /**
+     * 일괄 최적화 ID (대화형 최적화 결과는 null)
+     */
+    private String batchId;
+
+    /**
+     * 일괄 최적화 바스켓 ID
+     */
+    private String basketId;
+
+    /**
+     * 생성일시
+     */
+    private LocalDateTime createdAt;
+
+
+}//class
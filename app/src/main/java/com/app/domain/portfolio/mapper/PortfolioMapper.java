@@ -0,0 +1,152 @@
+package com.app.domain.portfolio.mapper;
+
+
+import com.app.domain.portfolio.entity.EfficientFrontierPoint;
+import com.app.domain.portfolio.entity.OptimalPortfolio;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 포트폴리오 최적화 데이터 접근 객체
+ */
+@Mapper
+public interface PortfolioMapper {
+
+    /**
+     * 일수익률 행 DTO (수익률·공분산 추정용)
+     */
+    class DailyReturnRow {
+        private String ticker;
+        private LocalDate priceDate;
+        private Double dailyReturn;
+
+        public String getTicker() { return ticker; }
+        public void setTicker(String ticker) { this.ticker = ticker; }
+
+        public LocalDate getPriceDate() { return priceDate; }
+        public void setPriceDate(LocalDate priceDate) { this.priceDate = priceDate; }
+
+        public Double getDailyReturn() { return dailyReturn; }
+        public void setDailyReturn(Double dailyReturn) { this.dailyReturn = dailyReturn; }
+    }
+
+    /**
+     * 종목 업종 행 DTO (업종 팩터 공분산용)
+     */
+    class TickerIndustryRow {
+        private String ticker;
+        private String industry;
+
+        public String getTicker() { return ticker; }
+        public void setTicker(String ticker) { this.ticker = ticker; }
+
+        public String getIndustry() { return industry; }
+        public void setIndustry(String industry) { this.industry = industry; }
+    }
+
+    /**
+     * 세션의 선택 자산 티커 조회 (선택 순서)
+     * @param sessionId 자산 선택 세션 ID
+     * @return 티커 목록
+     */
+    List<String> findSelectedTickers(@Param("sessionId") String sessionId);
+
+    /**
+     * 세션 포트폴리오 설정의 무위험 수익률 조회
+     * @param sessionId 세션 ID
+     * @return 무위험 수익률 (설정이 없으면 null)
+     */
+    BigDecimal findRiskFreeRate(@Param("sessionId") String sessionId);
+
+    /**
+     * 여러 종목의 기간별 일수익률 일괄 조회
+     * @param tickers 티커 목록
+     * @param startDate 시작일
+     * @param endDate 종료일
+     * @return 거래일, 티커 순으로 정렬된 일수익률 목록
+     */
+    List<DailyReturnRow> findDailyReturnsByTickers(
+            @Param("tickers") List<String> tickers,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * 주가 데이터의 가장 최근 거래일 조회 (공분산 캐시 기준일)
+     */
+    LocalDate findLatestPriceDate();
+
+    /**
+     * 여러 종목의 업종 일괄 조회
+     * @param tickers 티커 목록
+     * @return 티커별 업종 (업종 미등록 종목은 industry 가 null)
+     */
+    List<TickerIndustryRow> findIndustriesByTickers(@Param("tickers") List<String> tickers);
+
+    /**
+     * 세션의 최적 포트폴리오 조회 (대화형 최적화 결과만, 일괄 최적화 결과 제외)
+     * @param sessionId 세션 ID
+     * @return 포트폴리오 유형, 순위, 비중 내림차순 목록
+     */
+    List<OptimalPortfolio> findOptimalPortfolios(@Param("sessionId") String sessionId);
+
+    /**
+     * 세션의 특정 유형 최적 포트폴리오 삭제 (대화형 최적화 결과만)
+     * @param sessionId 세션 ID
+     * @param portfolioTypes 포트폴리오 유형 목록
+     * @return 삭제된 행 수
+     */
+    int deleteOptimalPortfolios(
+            @Param("sessionId") String sessionId,
+            @Param("portfolioTypes") List<String> portfolioTypes);
+
+    /**
+     * 세션의 일괄 최적화 결과 조회
+     * @param sessionId 세션 ID
+     * @param batchId 일괄 최적화 ID
+     * @return 바스켓, 포트폴리오 유형, 비중 내림차순 목록
+     */
+    List<OptimalPortfolio> findBatchOptimalPortfolios(
+            @Param("sessionId") String sessionId,
+            @Param("batchId") String batchId);
+
+    /**
+     * 세션의 일괄 최적화 결과 전체 삭제 (대화형 최적화 결과는 유지)
+     * @param sessionId 세션 ID
+     * @return 삭제된 행 수
+     */
+    int deleteBatchOptimalPortfolios(@Param("sessionId") String sessionId);
+
+    /**
+     * 최적 포트폴리오 일괄 저장
+     * @param portfolios 종목별 비중 목록
+     * @return 삽입된 행 수
+     */
+    int insertOptimalPortfoliosBatch(@Param("portfolios") List<OptimalPortfolio> portfolios);
+
+    /**
+     * 세션의 효율적 경계 조회
+     * @param sessionId 세션 ID
+     * @return 유형, 점 순서 순 목록
+     */
+    List<EfficientFrontierPoint> findEfficientFrontier(@Param("sessionId") String sessionId);
+
+    /**
+     * 세션의 효율적 경계 삭제
+     * @param sessionId 세션 ID
+     * @return 삭제된 행 수
+     */
+    int deleteEfficientFrontier(@Param("sessionId") String sessionId);
+
+    /**
+     * 효율적 경계 점 일괄 저장
+     * @param points 경계 점 목록
+     * @return 삽입된 행 수
+     */
+    int insertEfficientFrontierBatch(@Param("points") List<EfficientFrontierPoint> points);
+
+
+}//interface
@@ -0,0 +1,123 @@
+package com.app.domain.portfolio.service;
+
+
+import com.app.domain.portfolio.mapper.PortfolioMapper;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 거래일 축에 정렬한 일수익률 (결측 NaN)
+ *
+ * <p>여러 종목 집합이 같은 조회 결과를 나눠 쓰도록 일수익률 행을 한 번만 정리해 둔다.
+ * 종목 집합마다의 공통 거래일 패널은 {@link #completeCase(List, int)} 로 따로 만든다.
+ * 생성 후에는 읽기 전용이라 여러 스레드에서 동시에 사용해도 된다.</p>
+ */
+public class AlignedReturns {
+
+    private final Map<String, Integer> tickerIndex;
+    private final LocalDate[] dates;
+    /**
+     * 거래일 우선 배열 (values[t * size + i])
+     */
+    private final double[] values;
+    private final int[] counts;
+
+    private AlignedReturns(Map<String, Integer> tickerIndex, LocalDate[] dates, double[] values, int[] counts) {
+        this.tickerIndex = tickerIndex;
+        this.dates = dates;
+        this.values = values;
+        this.counts = counts;
+    }
+
+    /**
+     * 일수익률 행으로 생성
+     * @param tickers 대상 티커 목록 (중복은 제거됨)
+     * @param rows 일수익률 (거래일, 티커 순)
+     */
+    public static AlignedReturns of(Collection<String> tickers, List<PortfolioMapper.DailyReturnRow> rows) {
+        Map<String, Integer> tickerIndex = new HashMap<>();
+        for (String ticker : tickers) {
+            tickerIndex.putIfAbsent(ticker, tickerIndex.size());
+        }
+        int n = tickerIndex.size();
+
+        TreeMap<LocalDate, double[]> byDate = new TreeMap<>();
+        int[] counts = new int[n];
+        for (PortfolioMapper.DailyReturnRow row : rows) {
+            Integer i = tickerIndex.get(row.getTicker());
+            if (i == null || row.getDailyReturn() == null || row.getPriceDate() == null) continue;
+
+            double[] day = byDate.computeIfAbsent(row.getPriceDate(), d -> {
+                double[] values = new double[n];
+                Arrays.fill(values, Double.NaN);
+                return values;
+            });
+            if (Double.isNaN(day[i])) counts[i]++;
+            day[i] = row.getDailyReturn();
+        }
+
+        LocalDate[] dates = byDate.keySet().toArray(new LocalDate[0]);
+        double[] values = new double[dates.length * n];
+        int t = 0;
+        for (double[] day : byDate.values()) {
+            System.arraycopy(day, 0, values, t++ * n, n);
+        }
+        return new AlignedReturns(tickerIndex, dates, values, counts);
+    }
+
+    /**
+     * 지정 종목의 공통 거래일 패널
+     *
+     * <p>관측치가 부족하거나 조회 대상이 아니었던 종목은 제외하고, 남은 종목이 모두 수익률을 가진
+     * 거래일만 남긴다. 다른 종목 집합의 결측치에는 영향받지 않는다.</p>
+     * @param tickers 대상 티커 목록 (중복은 제거됨)
+     * @param minObservations 종목별 최소 관측치 수
+     */
+    public CompleteCaseReturns completeCase(List<String> tickers, int minObservations) {
+        int n = tickerIndex.size();
+
+        // 1. 관측치가 부족한 종목 제외
+        List<String> kept = new ArrayList<>();
+        List<String> excluded = new ArrayList<>();
+        List<Integer> keptIndex = new ArrayList<>();
+        for (String ticker : new LinkedHashSet<>(tickers)) {
+            Integer i = tickerIndex.get(ticker);
+            if (i != null && counts[i] >= minObservations) {
+                kept.add(ticker);
+                keptIndex.add(i);
+            } else {
+                excluded.add(ticker);
+            }
+        }
+
+        // 2. 남은 종목이 모두 수익률을 가진 거래일만 사용
+        int k = kept.size();
+        int[] completeDays = new int[dates.length];
+        int length = 0;
+        for (int t = 0; t < dates.length; t++) {
+            int base = t * n;
+            boolean complete = true;
+            for (int a = 0; a < k; a++) {
+                if (Double.isNaN(values[base + keptIndex.get(a)])) {
+                    complete = false;
+                    break;
+                }
+            }
+            if (complete) completeDays[length++] = t;
+        }
+
+        LocalDate[] completeDates = new LocalDate[length];
+        double[] panel = new double[k * length];
+        for (int d = 0; d < length; d++) {
+            int base = completeDays[d] * n;
+            completeDates[d] = dates[completeDays[d]];
+            for (int a = 0; a < k; a++) {
+                panel[a * length + d] = values[base + keptIndex.get(a)];
+            }
+        }
+        return new CompleteCaseReturns(kept, excluded, completeDates, panel);
+    }
+
+
+}//class
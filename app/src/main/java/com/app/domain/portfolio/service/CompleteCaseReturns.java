@@ -0,0 +1,101 @@
+package com.app.domain.portfolio.service;
+
+
+import com.app.domain.portfolio.mapper.PortfolioMapper;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 공통 거래일 수익률 패널
+ *
+ * <p>일수익률을 (거래일 x 종목) 으로 정리한 뒤 관측치가 부족한 종목은 제외하고, 남은 종목이 모두
+ * 수익률을 가진 거래일만 남긴다. 값은 종목 우선 dense 배열
+ * (values[i * length() + t] = i번째 종목의 t번째 공통 거래일 수익률) 로 보관한다.</p>
+ */
+public class CompleteCaseReturns {
+
+    private final List<String> tickers;
+    private final List<String> excludedTickers;
+    private final LocalDate[] dates;
+    private final double[] values;
+
+    CompleteCaseReturns(List<String> tickers, List<String> excludedTickers,
+                        LocalDate[] dates, double[] values) {
+        this.tickers = Collections.unmodifiableList(tickers);
+        this.excludedTickers = Collections.unmodifiableList(excludedTickers);
+        this.dates = dates;
+        this.values = values;
+    }
+
+    /**
+     * 일수익률 행으로 패널 생성
+     * @param tickers 대상 티커 목록 (중복은 제거됨)
+     * @param rows 일수익률 (거래일, 티커 순)
+     * @param minObservations 종목별 최소 관측치 수
+     */
+    public static CompleteCaseReturns of(List<String> tickers, List<PortfolioMapper.DailyReturnRow> rows,
+                                         int minObservations) {
+        return AlignedReturns.of(tickers, rows).completeCase(tickers, minObservations);
+    }
+
+    public List<String> getTickers() {
+        return tickers;
+    }
+
+    /**
+     * 관측치 부족으로 제외된 티커
+     */
+    public List<String> getExcludedTickers() {
+        return excludedTickers;
+    }
+
+    public int size() {
+        return tickers.size();
+    }
+
+    /**
+     * 공통 거래일 수
+     */
+    public int length() {
+        return dates.length;
+    }
+
+    /**
+     * 전체 수익률 배열 (복사본이 아니므로 수정 금지)
+     */
+    public double[] values() {
+        return values;
+    }
+
+    public LocalDate getDate(int t) {
+        return dates[t];
+    }
+
+    /**
+     * 지정일 이후(포함) 첫 공통 거래일 인덱스 (없으면 length())
+     */
+    public int firstIndexOnOrAfter(LocalDate date) {
+        int low = 0, high = dates.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dates[mid].isBefore(date)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public LocalDate getStartDate() {
+        return dates.length > 0 ? dates[0] : null;
+    }
+
+    public LocalDate getEndDate() {
+        return dates.length > 0 ? dates[dates.length - 1] : null;
+    }
+
+
+}//class
@@ -0,0 +1,147 @@
+package com.app.domain.portfolio.service;
+
+
+import com.app.domain.portfolio.dto.CovarianceMethod;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 공분산 추정 결과 (캐시 단위)
+ * - 종목은 정렬된 티커 순, 기대수익률·공분산은 연율화 값
+ * - 공분산은 {@link PackedSymmetricMatrix} 로 보관해 요청마다 필요한 부분만 전개한다
+ */
+public class CovarianceEstimate {
+
+    private final CovarianceMethod method;
+    private final LocalDate asOfDate;
+    private final int months;
+    private final List<String> tickers;
+    private final Map<String, Integer> tickerIndex;
+    private final List<String> excludedTickers;
+    private final double[] mean;
+    private final PackedSymmetricMatrix covariance;
+    private final int observations;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final Double shrinkageIntensity;
+
+    public CovarianceEstimate(CovarianceMethod method, LocalDate asOfDate, int months,
+                              List<String> tickers, List<String> excludedTickers,
+                              double[] mean, PackedSymmetricMatrix covariance, int observations,
+                              LocalDate startDate, LocalDate endDate, Double shrinkageIntensity) {
+        this.method = method;
+        this.asOfDate = asOfDate;
+        this.months = months;
+        this.tickers = Collections.unmodifiableList(tickers);
+        this.excludedTickers = Collections.unmodifiableList(excludedTickers);
+        this.mean = mean;
+        this.covariance = covariance;
+        this.observations = observations;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.shrinkageIntensity = shrinkageIntensity;
+
+        this.tickerIndex = new HashMap<>();
+        for (int i = 0; i < tickers.size(); i++) {
+            tickerIndex.put(tickers.get(i), i);
+        }
+    }
+
+    /**
+     * 요청 순서대로 재배열한 최적화 입력
+     * @param order 요청 티커 순서 (추정에서 제외된 티커는 건너뜀)
+     */
+    public ReturnEstimates toReturnEstimates(List<String> order) {
+        List<String> kept = new ArrayList<>();
+        List<Integer> indices = new ArrayList<>();
+        for (String ticker : new LinkedHashSet<>(order)) {
+            Integer index = tickerIndex.get(ticker);
+            if (index == null) continue;
+            kept.add(ticker);
+            indices.add(index);
+        }
+
+        int[] index = indices.stream().mapToInt(Integer::intValue).toArray();
+        double[] subMean = new double[index.length];
+        for (int a = 0; a < index.length; a++) subMean[a] = mean[index[a]];
+
+        List<String> excluded = new ArrayList<>();
+        for (String ticker : excludedTickers) {
+            if (order.contains(ticker)) excluded.add(ticker);
+        }
+
+        return new ReturnEstimates(kept, excluded, subMean, covariance.subMatrix(index),
+                observations, startDate, endDate);
+    }
+
+    /**
+     * 두 종목의 상관계수 (추정에 없거나 분산이 0이면 NaN)
+     */
+    public double correlation(String ticker1, String ticker2) {
+        Integer i = tickerIndex.get(ticker1);
+        Integer j = tickerIndex.get(ticker2);
+        if (i == null || j == null) return Double.NaN;
+        if (i.equals(j)) return 1.0;
+
+        double denominator = Math.sqrt(covariance.get(i, i) * covariance.get(j, j));
+        return denominator > 0.0 ? covariance.get(i, j) / denominator : Double.NaN;
+    }
+
+    public CovarianceMethod getMethod() {
+        return method;
+    }
+
+    public LocalDate getAsOfDate() {
+        return asOfDate;
+    }
+
+    public int getMonths() {
+        return months;
+    }
+
+    public List<String> getTickers() {
+        return tickers;
+    }
+
+    public List<String> getExcludedTickers() {
+        return excludedTickers;
+    }
+
+    public int indexOf(String ticker) {
+        Integer index = tickerIndex.get(ticker);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * 연율화 기대수익률 (복사본이 아니므로 수정 금지)
+     */
+    public double[] getMean() {
+        return mean;
+    }
+
+    public PackedSymmetricMatrix getCovariance() {
+        return covariance;
+    }
+
+    public int getObservations() {
+        return observations;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Ledoit-Wolf 수축 강도 (다른 방식이면 null)
+     */
+    public Double getShrinkageIntensity() {
+        return shrinkageIntensity;
+    }
+
+
+}//class
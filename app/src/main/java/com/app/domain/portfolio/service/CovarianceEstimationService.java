@@ -0,0 +1,291 @@
+package com.app.domain.portfolio.service;
+
+
+import com.app.domain.common.event.StockPriceReloadedEvent;
+import com.app.domain.portfolio.dto.CovarianceMethod;
+import com.app.domain.portfolio.mapper.PortfolioMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 공분산 추정 서비스
+ *
+ * <p>표본, Ledoit-Wolf 수축, 업종 팩터 모형 중 하나로 연율화 공분산을 추정하고
+ * (정렬된 종목 집합, 기간, 방식, 기준일) 단위로 압축 대칭 행렬을 LRU 캐시에 보관한다.
+ * 기준일은 stock_price 의 최근 거래일이며, 최근 거래일이 바뀌면 캐시를 비운다.
+ * 포트폴리오 최적화와 상관관계 분석(compute-mode=covariance)이 함께 사용한다.</p>
+ */
+@Service
+@Slf4j
+public class CovarianceEstimationService {
+
+
+    /**
+     * 업종 정보가 없는 종목의 업종명
+     */
+    private static final String UNKNOWN_INDUSTRY = "기타";
+
+    private final PortfolioMapper portfolioMapper;
+    private final int tradingDays;
+    private final int maxEntries;
+
+    private final LinkedHashMap<EstimateKey, CovarianceEstimate> entries;
+
+    private LocalDate priceDate;
+    private long hits;
+    private long misses;
+
+    public CovarianceEstimationService(PortfolioMapper portfolioMapper,
+                                       @Value("${portfolio.optimization.trading-days:252}") int tradingDays,
+                                       @Value("${portfolio.covariance.cache.max-entries:32}") int maxEntries) {
+        this.portfolioMapper = portfolioMapper;
+        this.tradingDays = tradingDays;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<EstimateKey, CovarianceEstimate> eldest) {
+                return size() > CovarianceEstimationService.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 최적화 입력용 추정치 (요청 티커 순서)
+     * @param tickers 대상 티커 목록
+     * @param months 추정 기간 (개월)
+     * @param method 추정 방식
+     */
+    public ReturnEstimates estimate(List<String> tickers, int months, CovarianceMethod method) {
+        return getEstimate(tickers, months, method).toReturnEstimates(tickers);
+    }
+
+    /**
+     * 캐시된 공분산 추정 조회 (없으면 계산 후 보관)
+     * @param tickers 대상 티커 목록 (순서 무관)
+     * @param months 추정 기간 (개월)
+     * @param method 추정 방식
+     * @return 정렬된 티커 순 추정 결과
+     */
+    public CovarianceEstimate getEstimate(List<String> tickers, int months, CovarianceMethod method) {
+        LocalDate asOfDate = portfolioMapper.findLatestPriceDate();
+        if (asOfDate == null) {
+            throw new IllegalStateException("주가 데이터가 없습니다.");
+        }
+
+        List<String> sortedTickers = new ArrayList<>(new TreeSet<>(tickers));
+        EstimateKey key = new EstimateKey(sortedTickers, months, method, asOfDate);
+
+        synchronized (this) {
+            if (!asOfDate.equals(priceDate)) {
+                if (priceDate != null) {
+                    log.info("공분산 캐시 초기화 - 최근 거래일 변경: {} -> {}", priceDate, asOfDate);
+                }
+                entries.clear();
+                priceDate = asOfDate;
+            }
+
+            CovarianceEstimate cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+
+        long startTime = System.currentTimeMillis();
+        CovarianceEstimate estimate = compute(sortedTickers, months, method, asOfDate);
+
+        synchronized (this) {
+            if (asOfDate.equals(priceDate)) {
+                entries.put(key, estimate);
+            }
+            log.info("공분산 추정 완료 - 방식: {}, 종목수: {}, 거래일: {}, 소요시간: {}ms (캐시 hit {}, miss {})",
+                    method.getCode(), estimate.getTickers().size(), estimate.getObservations(),
+                    System.currentTimeMillis() - startTime, hits, misses);
+        }
+        return estimate;
+    }
+
+    /**
+     * 여러 종목 집합이 나눠 쓸 일수익률 조회 (합집합을 한 번만 로딩)
+     * @param tickers 대상 티커 합집합
+     * @param months 추정 기간 (개월)
+     */
+    public ReturnWindow loadReturns(Collection<String> tickers, int months) {
+        LocalDate asOfDate = portfolioMapper.findLatestPriceDate();
+        if (asOfDate == null) {
+            throw new IllegalStateException("주가 데이터가 없습니다.");
+        }
+        List<String> union = new ArrayList<>(new LinkedHashSet<>(tickers));
+        List<PortfolioMapper.DailyReturnRow> rows = union.isEmpty() ? List.of()
+                : portfolioMapper.findDailyReturnsByTickers(union, asOfDate.minusMonths(months), asOfDate);
+        return new ReturnWindow(asOfDate, months, AlignedReturns.of(union, rows));
+    }
+
+    /**
+     * 미리 조회한 일수익률로 종목 집합 하나를 추정 (그 집합의 공통 거래일만 사용)
+     *
+     * <p>캐시에 같은 항목이 있으면 재사용하지만, 일괄 최적화의 바스켓별 결과로 대화형 요청의 캐시 항목이
+     * 밀려나지 않도록 새 결과는 보관하지 않는다.</p>
+     * @param window {@link #loadReturns} 결과 (대상 종목이 조회 합집합에 포함되어야 함)
+     * @param tickers 대상 티커 목록 (순서 무관)
+     * @param method 추정 방식
+     * @return 정렬된 티커 순 추정 결과
+     */
+    public CovarianceEstimate estimate(ReturnWindow window, List<String> tickers, CovarianceMethod method) {
+        List<String> sortedTickers = new ArrayList<>(new TreeSet<>(tickers));
+        EstimateKey key = new EstimateKey(sortedTickers, window.months(), method, window.asOfDate());
+        synchronized (this) {
+            CovarianceEstimate cached = window.asOfDate().equals(priceDate) ? entries.get(key) : null;
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+        }
+
+        CompleteCaseReturns panel = window.returns().completeCase(sortedTickers, ReturnEstimates.MIN_OBSERVATIONS);
+        return estimate(panel, window.months(), method, window.asOfDate());
+    }
+
+    /**
+     * DB 조회 없이 캐시에서만 추정 결과 조회
+     *
+     * <p>같은 기간·방식으로 보관된 항목 중 요청 종목을 모두 포함하는 집합의 추정을 찾는다.
+     * 포함 집합이면 관측 구간이 다를 수 있지만 하나의 추정에서 나온 공분산이므로 부분 행렬도 양의 준정부호다.
+     * 기준일 확인도 하지 않으므로 최근 거래일 변경은 주가 재적재 이벤트의 무효화에 맡긴다.</p>
+     * @param tickers 대상 티커 목록 (순서 무관)
+     * @param months 추정 기간 (개월)
+     * @param method 추정 방식
+     * @return 캐시된 추정 결과, 없으면 null
+     */
+    public synchronized CovarianceEstimate findCachedEstimate(List<String> tickers, int months,
+                                                              CovarianceMethod method) {
+        if (priceDate == null) return null;
+
+        List<String> sortedTickers = new ArrayList<>(new TreeSet<>(tickers));
+        CovarianceEstimate exact = entries.get(new EstimateKey(sortedTickers, months, method, priceDate));
+        if (exact != null) {
+            hits++;
+            return exact;
+        }
+
+        for (Map.Entry<EstimateKey, CovarianceEstimate> entry : entries.entrySet()) {
+            EstimateKey key = entry.getKey();
+            if (key.months() != months || key.method() != method || !priceDate.equals(key.asOfDate())) continue;
+            if (key.tickers().size() < sortedTickers.size()) continue;
+
+            boolean covers = true;
+            for (String ticker : sortedTickers) {
+                if (Collections.binarySearch(key.tickers(), ticker) < 0) {
+                    covers = false;
+                    break;
+                }
+            }
+            if (covers) {
+                hits++;
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 캐시 전체 무효화 (주가 재적재 시)
+     */
+    public synchronized void invalidate() {
+        log.info("공분산 캐시 무효화 - 항목수: {}", entries.size());
+        entries.clear();
+        priceDate = null;
+    }
+
+    /**
+     * 주가 재적재 시 공분산 캐시 무효화
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockPriceReloaded(StockPriceReloadedEvent event) {
+        invalidate();
+    }
+
+    // === Private Methods ===
+
+    private CovarianceEstimate compute(List<String> tickers, int months, CovarianceMethod method,
+                                       LocalDate asOfDate) {
+        List<PortfolioMapper.DailyReturnRow> rows = portfolioMapper.findDailyReturnsByTickers(
+                tickers, asOfDate.minusMonths(months), asOfDate);
+        CompleteCaseReturns panel = CompleteCaseReturns.of(tickers, rows, ReturnEstimates.MIN_OBSERVATIONS);
+        return estimate(panel, months, method, asOfDate);
+    }
+
+    private CovarianceEstimate estimate(CompleteCaseReturns panel, int months, CovarianceMethod method,
+                                        LocalDate asOfDate) {
+        int n = panel.size();
+        int length = panel.length();
+        double[] mean = CovarianceEstimators.means(panel.values(), n, length);
+        double[] centered = CovarianceEstimators.center(panel.values(), n, length, mean);
+
+        double[] covariance;
+        Double shrinkageIntensity = null;
+        switch (method) {
+            case LEDOIT_WOLF -> {
+                covariance = CovarianceEstimators.sample(centered, n, length);
+                double intensity = CovarianceEstimators.ledoitWolfIntensity(centered, covariance, n, length);
+                CovarianceEstimators.shrinkToScaledIdentity(covariance, n, intensity);
+                shrinkageIntensity = intensity;
+            }
+            case INDUSTRY_FACTOR -> {
+                int[] group = new int[n];
+                int groups = resolveIndustryGroups(panel.getTickers(), group);
+                covariance = CovarianceEstimators.industryFactor(centered, n, length, group, groups);
+            }
+            default -> covariance = CovarianceEstimators.sample(centered, n, length);
+        }
+
+        // 연율화
+        for (int i = 0; i < n; i++) mean[i] *= tradingDays;
+        for (int i = 0; i < covariance.length; i++) covariance[i] *= tradingDays;
+
+        return new CovarianceEstimate(method, asOfDate, months, panel.getTickers(), panel.getExcludedTickers(),
+                mean, PackedSymmetricMatrix.fromDense(covariance, n), length,
+                panel.getStartDate(), panel.getEndDate(), shrinkageIntensity);
+    }
+
+    /**
+     * 종목별 업종 번호 지정
+     * @return 업종 수
+     */
+    private int resolveIndustryGroups(List<String> tickers, int[] group) {
+        Map<String, String> industries = new HashMap<>();
+        if (!tickers.isEmpty()) {
+            for (PortfolioMapper.TickerIndustryRow row : portfolioMapper.findIndustriesByTickers(tickers)) {
+                industries.put(row.getTicker(), row.getIndustry());
+            }
+        }
+
+        Map<String, Integer> groupIndex = new HashMap<>();
+        for (int i = 0; i < tickers.size(); i++) {
+            String industry = industries.get(tickers.get(i));
+            if (industry == null || industry.isBlank()) industry = UNKNOWN_INDUSTRY;
+            group[i] = groupIndex.computeIfAbsent(industry, k -> groupIndex.size());
+        }
+        return groupIndex.size();
+    }
+
+    /**
+     * 합집합으로 한 번 조회한 일수익률
+     * @param asOfDate 기준일 (조회 시점의 최근 거래일)
+     * @param months 추정 기간 (개월)
+     * @param returns 거래일 정렬 수익률
+     */
+    public record ReturnWindow(LocalDate asOfDate, int months, AlignedReturns returns) {
+    }
+
+    private record EstimateKey(List<String> tickers, int months, CovarianceMethod method, LocalDate asOfDate) {
+    }
+
+
+}//class
@@ -0,0 +1,209 @@
+package com.app.domain.portfolio.service;
+
+
+/**
+ * 공분산 추정 계산 모음
+ *
+ * <p>입력은 {@link CompleteCaseReturns} 와 같은 종목 우선 수익률 배열(values[i * T + t])이며,
+ * 결과는 일간 단위 n x n 행 우선 배열이다. 연율화는 호출 측에서 한다.</p>
+ */
+public final class CovarianceEstimators {
+
+    private CovarianceEstimators() {
+    }
+
+    /**
+     * 결측 없는 수익률 배열의 Ledoit-Wolf 수축 공분산 (일간 단위)
+     * @param values 종목 우선 수익률 (values[i * length + t])
+     */
+    public static double[] ledoitWolf(double[] values, int n, int length) {
+        double[] centered = center(values, n, length, means(values, n, length));
+        double[] covariance = sample(centered, n, length);
+        shrinkToScaledIdentity(covariance, n, ledoitWolfIntensity(centered, covariance, n, length));
+        return covariance;
+    }
+
+    /**
+     * 종목별 평균 수익률
+     */
+    static double[] means(double[] values, int n, int length) {
+        double[] mean = new double[n];
+        for (int i = 0; i < n; i++) {
+            int offset = i * length;
+            double sum = 0.0;
+            for (int t = 0; t < length; t++) sum += values[offset + t];
+            mean[i] = length > 0 ? sum / length : 0.0;
+        }
+        return mean;
+    }
+
+    /**
+     * 평균을 뺀 수익률 배열 (원본과 같은 배치)
+     */
+    static double[] center(double[] values, int n, int length, double[] mean) {
+        double[] centered = new double[n * length];
+        for (int i = 0; i < n; i++) {
+            int offset = i * length;
+            double m = mean[i];
+            for (int t = 0; t < length; t++) centered[offset + t] = values[offset + t] - m;
+        }
+        return centered;
+    }
+
+    /**
+     * 표본 공분산 (T - 1 로 나눈 불편 추정) - O(n²·T)
+     */
+    static double[] sample(double[] centered, int n, int length) {
+        double[] covariance = new double[n * n];
+        if (length < 2) return covariance;
+
+        double scale = 1.0 / (length - 1);
+        for (int a = 0; a < n; a++) {
+            int offsetA = a * length;
+            for (int b = a; b < n; b++) {
+                int offsetB = b * length;
+                double sum = 0.0;
+                for (int t = 0; t < length; t++) sum += centered[offsetA + t] * centered[offsetB + t];
+                double value = sum * scale;
+                covariance[a * n + b] = value;
+                covariance[b * n + a] = value;
+            }
+        }
+        return covariance;
+    }
+
+    /**
+     * Ledoit-Wolf 수축 강도 (목표: 평균 분산 x 단위행렬)
+     *
+     * <p>Ledoit & Wolf(2004) 의 δ = min(b̄², d²) / d² 를 1/T 정규화 표본 공분산으로 계산한다.
+     * Σ_t ‖x_t x_tᵀ - S‖² = Σ_t ‖x_t‖⁴ - T‖S‖² 을 이용해 추가 비용은 O(n·T) 이다.</p>
+     * @param sample {@link #sample} 결과 (불편 추정)
+     * @return 수축 강도 (0~1)
+     */
+    static double ledoitWolfIntensity(double[] centered, double[] sample, int n, int length) {
+        if (n == 0 || length < 2) return 1.0;
+
+        // S_T = (T - 1) / T · S
+        double biasScale = (double) (length - 1) / length;
+        double trace = 0.0;
+        double frobenius = 0.0;
+        for (int a = 0; a < n; a++) {
+            trace += sample[a * n + a] * biasScale;
+            for (int b = 0; b < n; b++) {
+                double s = sample[a * n + b] * biasScale;
+                frobenius += s * s;
+            }
+        }
+        double mu = trace / n;
+
+        // d² = ‖S_T - μI‖² / n
+        double d2 = (frobenius - 2.0 * mu * trace + mu * mu * n) / n;
+
+        // b̄² = (Σ_t ‖x_t‖⁴ - T‖S_T‖²) / (T² n)
+        double fourth = 0.0;
+        for (int t = 0; t < length; t++) {
+            double norm = 0.0;
+            for (int a = 0; a < n; a++) {
+                double x = centered[a * length + t];
+                norm += x * x;
+            }
+            fourth += norm * norm;
+        }
+        double b2Bar = Math.max(fourth - length * frobenius, 0.0) / ((double) length * length * n);
+
+        if (d2 <= 0.0) return 1.0;
+        return Math.min(b2Bar, d2) / d2;
+    }
+
+    /**
+     * 수축 적용 - Σ* = δ·μ·I + (1 - δ)·S (제자리 갱신)
+     */
+    static void shrinkToScaledIdentity(double[] covariance, int n, double intensity) {
+        double trace = 0.0;
+        for (int a = 0; a < n; a++) trace += covariance[a * n + a];
+        double mu = n > 0 ? trace / n : 0.0;
+
+        double keep = 1.0 - intensity;
+        for (int a = 0; a < n; a++) {
+            for (int b = 0; b < n; b++) covariance[a * n + b] *= keep;
+            covariance[a * n + a] += intensity * mu;
+        }
+    }
+
+    /**
+     * 업종 팩터 모형 공분산 - Σ = B F Bᵀ + D
+     *
+     * <p>업종 팩터 수익률은 소속 종목의 동일가중 평균이고, 각 종목은 자기 업종 팩터 하나에 대해
+     * 회귀한다. 팩터 공분산 O(k²·T), 베타·잔차 O(n·T) 로 T 에 비례하는 비용이 O(n·k·T) 이하이며,
+     * n x n 전개는 T 와 무관하다.</p>
+     * @param group 종목별 업종 번호 (0 ~ k-1)
+     * @param groups 업종 수 k
+     */
+    static double[] industryFactor(double[] centered, int n, int length, int[] group, int groups) {
+        double[] covariance = new double[n * n];
+        if (length < 2) return covariance;
+
+        // 1. 업종 팩터 수익률 (k x T)
+        double[] factors = new double[groups * length];
+        int[] members = new int[groups];
+        for (int i = 0; i < n; i++) {
+            int offsetF = group[i] * length;
+            int offset = i * length;
+            members[group[i]]++;
+            for (int t = 0; t < length; t++) factors[offsetF + t] += centered[offset + t];
+        }
+        for (int g = 0; g < groups; g++) {
+            if (members[g] == 0) continue;
+            double inverse = 1.0 / members[g];
+            int offsetF = g * length;
+            for (int t = 0; t < length; t++) factors[offsetF + t] *= inverse;
+        }
+
+        // 2. 팩터 공분산 (k x k)
+        double scale = 1.0 / (length - 1);
+        double[] factorCovariance = new double[groups * groups];
+        for (int g = 0; g < groups; g++) {
+            for (int h = g; h < groups; h++) {
+                double sum = 0.0;
+                for (int t = 0; t < length; t++) sum += factors[g * length + t] * factors[h * length + t];
+                factorCovariance[g * groups + h] = sum * scale;
+                factorCovariance[h * groups + g] = sum * scale;
+            }
+        }
+
+        // 3. 종목별 베타와 잔차 분산
+        double[] beta = new double[n];
+        double[] residual = new double[n];
+        for (int i = 0; i < n; i++) {
+            int g = group[i];
+            int offset = i * length;
+            int offsetF = g * length;
+            double cross = 0.0, variance = 0.0;
+            for (int t = 0; t < length; t++) {
+                double x = centered[offset + t];
+                cross += x * factors[offsetF + t];
+                variance += x * x;
+            }
+            cross *= scale;
+            variance *= scale;
+
+            double factorVariance = factorCovariance[g * groups + g];
+            beta[i] = factorVariance > 0.0 ? cross / factorVariance : 0.0;
+            residual[i] = Math.max(variance - beta[i] * beta[i] * factorVariance, 0.0);
+        }
+
+        // 4. Σ = B F Bᵀ + D
+        for (int a = 0; a < n; a++) {
+            int rowF = group[a] * groups;
+            for (int b = a; b < n; b++) {
+                double value = beta[a] * beta[b] * factorCovariance[rowF + group[b]];
+                if (a == b) value += residual[a];
+                covariance[a * n + b] = value;
+                covariance[b * n + a] = value;
+            }
+        }
+        return covariance;
+    }
+
+
+}//class
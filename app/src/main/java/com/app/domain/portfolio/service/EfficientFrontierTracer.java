@@ -0,0 +1,198 @@
+package com.app.domain.portfolio.service;
+
+
+import java.util.stream.IntStream;
+
+/**
+ * 효율적 경계 추적기 (롱 온리)
+ *
+ * <p>최소분산 수익률부터 최고 기대수익률 종목까지 목표 수익률을 균등 분할하고, 각 목표에 대해
+ * min ½wᵀΣw - t μᵀw 의 t 를 구간 할선법(Illinois)으로 찾는다. 같은 active set 안에서 수익률은
+ * t 에 대해 선형이므로 보통 2~4회 풀이로 수렴한다.</p>
+ *
+ * <p>점들은 연속 구간으로 나눠 병렬 처리하고, 구간 안에서는 바로 앞 점의 비중과 t 를
+ * 다음 점의 warm start·하한으로 사용한다. 최적화기는 스레드마다 새로 만든다.
+ * 최적해로 끝나지 않은 풀이(특이 블록, 반복 한도)는 {@link #getNonOptimalSolves()} 로 집계한다.</p>
+ */
+public class EfficientFrontierTracer {
+
+    /**
+     * 구간당 최소 점 수 (너무 잘게 나누면 warm start 이점이 사라짐)
+     */
+    private static final int MIN_POINTS_PER_CHUNK = 8;
+
+    private static final int MAX_BISECTION = 60;
+    private static final int MAX_DOUBLING = 80;
+    private static final double RETURN_TOLERANCE = 1e-10;
+
+    private final double[] mean;
+    private final double[] covariance;
+
+    private double[] minVarianceWeights;
+    private double minReturn;
+    private double maxReturn;
+    private double maxT;
+    private double[] maxReturnWeights;
+
+    private int totalSolves;
+    private int nonOptimalSolves;
+
+    public EfficientFrontierTracer(double[] mean, double[] covariance) {
+        this.mean = mean;
+        this.covariance = covariance;
+    }
+
+    /**
+     * 경계 점 추적
+     * @param points 점 개수 (2 이상)
+     * @param parallelism 최대 병렬 구간 수
+     * @return 점 순서대로의 비중 배열 (0번은 최소분산, 마지막은 최고 수익률)
+     */
+    public double[][] trace(int points, int parallelism) {
+        if (points < 2) {
+            throw new IllegalArgumentException("경계 점은 최소 2개 이상이어야 합니다.");
+        }
+
+        MeanVarianceOptimizer anchor = new MeanVarianceOptimizer(mean, covariance);
+        minVarianceWeights = anchor.minVariance();
+        minReturn = anchor.expectedReturn(minVarianceWeights);
+        totalSolves = 1;
+        nonOptimalSolves = anchor.lastStatus().isOptimal() ? 0 : 1;
+        locateMaxReturn(anchor);
+
+        double[][] frontier = new double[points][];
+        frontier[0] = minVarianceWeights.clone();
+        frontier[points - 1] = maxReturnWeights.clone();
+
+        int inner = points - 2;
+        if (inner > 0) {
+            int chunks = Math.max(1, Math.min(parallelism, inner / MIN_POINTS_PER_CHUNK));
+            int[] solves = new int[chunks];
+            int[] nonOptimal = new int[chunks];
+
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int from = 1 + (int) ((long) inner * chunk / chunks);
+                int to = 1 + (int) ((long) inner * (chunk + 1) / chunks);
+                traceChunk(frontier, points, from, to, chunk, solves, nonOptimal);
+            });
+
+            for (int count : solves) totalSolves += count;
+            for (int count : nonOptimal) nonOptimalSolves += count;
+        }
+
+        return frontier;
+    }
+
+    /**
+     * 전체 QP 풀이 횟수 (최근 trace 기준)
+     */
+    public int getTotalSolves() {
+        return totalSolves;
+    }
+
+    /**
+     * 최적해로 끝나지 않은 QP 풀이 횟수 (최근 trace 기준, 0이 아니면 일부 점이 근사치)
+     */
+    public int getNonOptimalSolves() {
+        return nonOptimalSolves;
+    }
+
+    // === Private Methods ===
+
+    /**
+     * 최고 수익률 점과 그에 도달하는 t 상한 탐색 (t 를 두 배씩 증가)
+     */
+    private void locateMaxReturn(MeanVarianceOptimizer optimizer) {
+        int n = mean.length;
+        maxReturn = Double.NEGATIVE_INFINITY;
+        double trace = 0.0;
+        for (int i = 0; i < n; i++) {
+            maxReturn = Math.max(maxReturn, mean[i]);
+            trace += covariance[i * n + i];
+        }
+
+        double range = maxReturn - minReturn;
+        double[] weights = minVarianceWeights.clone();
+        if (range <= tolerance(range)) {
+            maxT = 0.0;
+            maxReturnWeights = weights;
+            return;
+        }
+
+        double t = (trace / n) / range;
+        for (int step = 0; step < MAX_DOUBLING; step++) {
+            weights = optimizer.frontierPoint(t, weights);
+            totalSolves++;
+            if (!optimizer.lastStatus().isOptimal()) nonOptimalSolves++;
+            if (optimizer.expectedReturn(weights) >= maxReturn - tolerance(range)) break;
+            t *= 2.0;
+        }
+        maxT = t;
+        maxReturnWeights = weights;
+    }
+
+    /**
+     * [from, to) 구간 점을 순서대로 추적
+     * - 구간의 풀이 횟수와 최적해가 아닌 풀이 횟수를 solves[chunk], nonOptimal[chunk] 에 기록
+     */
+    private void traceChunk(double[][] frontier, int points, int from, int to,
+                            int chunk, int[] solves, int[] nonOptimal) {
+        MeanVarianceOptimizer optimizer = new MeanVarianceOptimizer(mean, covariance);
+        double range = maxReturn - minReturn;
+        double tolerance = tolerance(range);
+
+        double[] weights = minVarianceWeights.clone();
+        double lowT = 0.0;
+        double lowReturn = minReturn;
+
+        for (int p = from; p < to; p++) {
+            double target = minReturn + range * p / (points - 1);
+
+            // 하한: 직전 점, 상한: 최고 수익률 점
+            double a = lowT, fa = lowReturn - target, aReturn = lowReturn;
+            double b = maxT, fb = maxReturn - target;
+            double t = lowT;
+            double achieved = lowReturn;
+            int side = 0;
+
+            for (int iter = 0; iter < MAX_BISECTION && Math.abs(achieved - target) > tolerance; iter++) {
+                t = fb - fa > 0.0 ? a - fa * (b - a) / (fb - fa) : 0.5 * (a + b);
+                if (!(t > a && t < b)) t = 0.5 * (a + b);
+
+                weights = optimizer.frontierPoint(t, weights);
+                solves[chunk]++;
+                if (!optimizer.lastStatus().isOptimal()) nonOptimal[chunk]++;
+                achieved = optimizer.expectedReturn(weights);
+                double f = achieved - target;
+
+                if (f < 0.0) {
+                    a = t;
+                    fa = f;
+                    aReturn = achieved;
+                    if (side == -1) fb *= 0.5;
+                    side = -1;
+                } else {
+                    b = t;
+                    fb = f;
+                    if (side == 1) fa *= 0.5;
+                    side = 1;
+                }
+            }
+
+            frontier[p] = weights.clone();
+            if (achieved <= target) {
+                lowT = t;
+                lowReturn = achieved;
+            } else {
+                lowT = a;
+                lowReturn = aReturn;
+            }
+        }
+    }
+
+    private static double tolerance(double range) {
+        return RETURN_TOLERANCE * Math.max(1.0, Math.abs(range));
+    }
+
+
+}//class
@@ -0,0 +1,141 @@
+package com.app.domain.portfolio.service;
+
+
+import java.util.Arrays;
+
+/**
+ * 평균-분산 최적화기 (롱 온리, 비중 합 1)
+ *
+ * <p>{@link QuadraticProgramSolver} 하나를 재사용해 최소분산, 최대 샤프, 효율적 경계 점을 구한다.
+ * 공분산에는 수치 안정을 위해 평균 분산 대비 아주 작은 릿지를 더한다. 스레드 안전하지 않으므로
+ * 병렬 계산 시 스레드마다 인스턴스를 만든다.</p>
+ */
+public class MeanVarianceOptimizer {
+
+    private static final double RIDGE = 1e-10;
+
+    private final int n;
+    private final double[] mean;
+    private final double[] covariance;
+    private final double[] ones;
+    private final double[] linear;
+    private final QuadraticProgramSolver solver;
+
+    public MeanVarianceOptimizer(double[] mean, double[] covariance) {
+        this.n = mean.length;
+        this.mean = mean;
+        this.covariance = covariance.clone();
+
+        double trace = 0.0;
+        for (int i = 0; i < n; i++) trace += covariance[i * n + i];
+        double ridge = RIDGE * Math.max(trace / Math.max(n, 1), 1e-12);
+        for (int i = 0; i < n; i++) this.covariance[i * n + i] += ridge;
+
+        this.ones = new double[n];
+        Arrays.fill(ones, 1.0);
+        this.linear = new double[n];
+        this.solver = new QuadraticProgramSolver(n);
+    }
+
+    public int size() {
+        return n;
+    }
+
+    /**
+     * 최소분산 포트폴리오
+     */
+    public double[] minVariance() {
+        return normalize(solver.solve(covariance, null, ones, null));
+    }
+
+    /**
+     * 최대 샤프 포트폴리오
+     * - min yᵀΣy s.t. (μ - rf)ᵀy = 1, y ≥ 0 을 풀고 w = y / Σy 로 정규화
+     * @param riskFreeRate 연 무위험 수익률
+     * @return 비중, 무위험 수익률을 넘는 종목이 없으면 null
+     */
+    public double[] maxSharpe(double riskFreeRate) {
+        double[] excess = new double[n];
+        boolean positive = false;
+        for (int i = 0; i < n; i++) {
+            excess[i] = mean[i] - riskFreeRate;
+            if (excess[i] > 0.0) positive = true;
+        }
+        if (!positive) return null;
+
+        return normalize(solver.solve(covariance, null, excess, null));
+    }
+
+    /**
+     * 효율적 경계 점 - min ½wᵀΣw - t μᵀw s.t. 1ᵀw = 1, w ≥ 0
+     * @param riskAversionInverse 수익 선호도 t (0이면 최소분산)
+     * @param warmStart 직전 점의 비중 (없으면 null), 결과가 이 배열에 기록될 수 있음
+     */
+    public double[] frontierPoint(double riskAversionInverse, double[] warmStart) {
+        for (int i = 0; i < n; i++) {
+            linear[i] = -riskAversionInverse * mean[i];
+        }
+        return normalize(solver.solve(covariance, linear, ones, warmStart));
+    }
+
+    /**
+     * 최근 풀이의 결과 상태
+     */
+    public QuadraticProgramSolver.Status lastStatus() {
+        return solver.getStatus();
+    }
+
+    /**
+     * 최근 풀이의 active-set 반복 횟수
+     */
+    public int lastIterations() {
+        return solver.getIterations();
+    }
+
+    public double expectedReturn(double[] weights) {
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) sum += weights[i] * mean[i];
+        return sum;
+    }
+
+    public double variance(double[] weights) {
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) {
+            if (weights[i] == 0.0) continue;
+            int row = i * n;
+            double inner = 0.0;
+            for (int j = 0; j < n; j++) inner += covariance[row + j] * weights[j];
+            sum += weights[i] * inner;
+        }
+        return Math.max(sum, 0.0);
+    }
+
+    public double risk(double[] weights) {
+        return Math.sqrt(variance(weights));
+    }
+
+    /**
+     * 샤프 비율 (위험이 0이면 NaN)
+     */
+    public double sharpe(double[] weights, double riskFreeRate) {
+        double risk = risk(weights);
+        return risk > 0.0 ? (expectedReturn(weights) - riskFreeRate) / risk : Double.NaN;
+    }
+
+    /**
+     * 미세한 음수·잔차 정리 후 합 1로 정규화
+     */
+    private static double[] normalize(double[] weights) {
+        double sum = 0.0;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] < 1e-12) weights[i] = 0.0;
+            sum += weights[i];
+        }
+        if (sum > 0.0) {
+            for (int i = 0; i < weights.length; i++) weights[i] /= sum;
+        }
+        return weights;
+    }
+
+
+}//class
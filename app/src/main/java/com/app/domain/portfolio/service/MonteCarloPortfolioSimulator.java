@@ -0,0 +1,221 @@
+package com.app.domain.portfolio.service;
+
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 무작위 포트폴리오 몬테카를로 시뮬레이터 (롱 온리, 비중 합 1)
+ *
+ * <p>비중은 단체(simplex) 위 균등분포(Dirichlet(1), 지수분포 표본 정규화)로 뽑는다. 표본 구간을 fork-join 으로
+ * 나누고 리프마다 {@link SplittableRandom#split()} 난수와 미리 할당한 버퍼를 써서 표본당 할당이 없다.
+ * 분산은 평탄화된 공분산의 상삼각 행을 연속 접근해 계산한다.</p>
+ *
+ * <p>구름 점은 전역 표본 번호가 stride 의 배수인 것만 남기므로 병렬 분할과 무관하게 결정적이고,
+ * 리프 간 병합 없이 공유 배열의 제자리에 기록한다.</p>
+ */
+public class MonteCarloPortfolioSimulator {
+
+    /**
+     * 리프 작업 최소 표본 수
+     */
+    private static final int MIN_LEAF_SAMPLES = 4_096;
+
+    private final int n;
+    private final double[] mean;
+    private final double[] covariance;
+
+    private double[] cloud;
+    private int cloudStride;
+    private int cloudPoints;
+
+    private double bestSharpe;
+    private double[] bestSharpeWeights;
+    private double minRisk;
+    private double[] minRiskWeights;
+
+    public MonteCarloPortfolioSimulator(double[] mean, double[] covariance) {
+        this.n = mean.length;
+        this.mean = mean;
+        this.covariance = covariance;
+    }
+
+    /**
+     * 시뮬레이션 실행
+     * @param samples 표본 수
+     * @param cloudSize 반환할 구름 점 최대 개수
+     * @param riskFreeRate 연 무위험 수익률
+     * @param seed 난수 시드
+     */
+    public void simulate(int samples, int cloudSize, double riskFreeRate, long seed) {
+        if (samples <= 0 || cloudSize <= 0) {
+            throw new IllegalArgumentException("표본 수와 구름 점 수는 양수여야 합니다.");
+        }
+
+        cloudStride = Math.max(1, (samples + cloudSize - 1) / cloudSize);
+        cloudPoints = (samples + cloudStride - 1) / cloudStride;
+        cloud = new double[cloudPoints * 3];
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int leafSize = Math.max(MIN_LEAF_SAMPLES, samples / (pool.getParallelism() * 8) + 1);
+
+        SimulationTask root = new SimulationTask(0, samples, leafSize, riskFreeRate, new SplittableRandom(seed));
+        pool.invoke(root);
+
+        bestSharpe = root.bestSharpe;
+        bestSharpeWeights = root.bestSharpeWeights;
+        minRisk = root.minRisk;
+        minRiskWeights = root.minRiskWeights;
+    }
+
+    /**
+     * 구름 점 (기대수익률, 위험, 샤프 비율 순으로 평탄화)
+     */
+    public double[] getCloud() {
+        return cloud;
+    }
+
+    public int getCloudPoints() {
+        return cloudPoints;
+    }
+
+    public double getBestSharpe() {
+        return bestSharpe;
+    }
+
+    /**
+     * 최대 샤프 표본의 비중 (모든 표본의 위험이 0이면 null)
+     */
+    public double[] getBestSharpeWeights() {
+        return bestSharpeWeights;
+    }
+
+    public double getMinRisk() {
+        return minRisk;
+    }
+
+    public double[] getMinRiskWeights() {
+        return minRiskWeights;
+    }
+
+    // === Private Methods ===
+
+    /**
+     * 단체 위 균등 비중 샘플링
+     */
+    private void sampleWeights(SplittableRandom random, double[] weights) {
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) {
+            double e = random.nextExponential();
+            weights[i] = e;
+            sum += e;
+        }
+        double inverse = 1.0 / sum;
+        for (int i = 0; i < n; i++) weights[i] *= inverse;
+    }
+
+    /**
+     * wᵀΣw (상삼각 행 연속 접근, 대각 외 항은 2배)
+     */
+    private double variance(double[] weights) {
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) {
+            int row = i * n;
+            double cross = 0.0;
+            for (int j = i + 1; j < n; j++) cross += covariance[row + j] * weights[j];
+            sum += weights[i] * (covariance[row + i] * weights[i] + 2.0 * cross);
+        }
+        return Math.max(sum, 0.0);
+    }
+
+    private double expectedReturn(double[] weights) {
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) sum += mean[i] * weights[i];
+        return sum;
+    }
+
+    /**
+     * 표본 구간 [from, to) 시뮬레이션 작업
+     */
+    private class SimulationTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final int leafSize;
+        private final double riskFreeRate;
+        private final SplittableRandom random;
+
+        private double bestSharpe = Double.NEGATIVE_INFINITY;
+        private double[] bestSharpeWeights;
+        private double minRisk = Double.POSITIVE_INFINITY;
+        private double[] minRiskWeights;
+
+        SimulationTask(int from, int to, int leafSize, double riskFreeRate, SplittableRandom random) {
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+            this.riskFreeRate = riskFreeRate;
+            this.random = random;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                computeLeaf();
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(from, middle, leafSize, riskFreeRate, random.split());
+            SimulationTask right = new SimulationTask(middle, to, leafSize, riskFreeRate, random);
+            invokeAll(left, right);
+
+            merge(left);
+            merge(right);
+        }
+
+        private void computeLeaf() {
+            double[] weights = new double[n];
+            bestSharpeWeights = new double[n];
+            minRiskWeights = new double[n];
+
+            for (int s = from; s < to; s++) {
+                sampleWeights(random, weights);
+                double ret = expectedReturn(weights);
+                double risk = Math.sqrt(variance(weights));
+                double sharpe = risk > 0.0 ? (ret - riskFreeRate) / risk : Double.NaN;
+
+                if (sharpe > bestSharpe) {
+                    bestSharpe = sharpe;
+                    System.arraycopy(weights, 0, bestSharpeWeights, 0, n);
+                }
+                if (risk < minRisk) {
+                    minRisk = risk;
+                    System.arraycopy(weights, 0, minRiskWeights, 0, n);
+                }
+                if (s % cloudStride == 0) {
+                    int offset = (s / cloudStride) * 3;
+                    cloud[offset] = ret;
+                    cloud[offset + 1] = risk;
+                    cloud[offset + 2] = sharpe;
+                }
+            }
+
+            if (bestSharpe == Double.NEGATIVE_INFINITY) bestSharpeWeights = null;
+        }
+
+        private void merge(SimulationTask child) {
+            if (child.bestSharpeWeights != null && child.bestSharpe > bestSharpe) {
+                bestSharpe = child.bestSharpe;
+                bestSharpeWeights = child.bestSharpeWeights;
+            }
+            if (child.minRisk < minRisk) {
+                minRisk = child.minRisk;
+                minRiskWeights = child.minRiskWeights;
+            }
+        }
+    }
+
+
+}//class
@@ -0,0 +1,80 @@
+package com.app.domain.portfolio.service;
+
+
+/**
+ * 대각 포함 상삼각 압축 대칭 행렬
+ * - (i, j), i ≤ j 원소를 values[i * n - i * (i - 1) / 2 + (j - i)] 에 보관 (n(n+1)/2 개)
+ */
+public final class PackedSymmetricMatrix {
+
+    private final int n;
+    private final double[] values;
+
+    private PackedSymmetricMatrix(int n, double[] values) {
+        this.n = n;
+        this.values = values;
+    }
+
+    /**
+     * 행 우선 n x n 배열에서 상삼각만 압축
+     */
+    public static PackedSymmetricMatrix fromDense(double[] dense, int n) {
+        double[] values = new double[n * (n + 1) / 2];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            int row = i * n;
+            for (int j = i; j < n; j++) {
+                values[k++] = dense[row + j];
+            }
+        }
+        return new PackedSymmetricMatrix(n, values);
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public double get(int i, int j) {
+        if (i > j) {
+            int tmp = i;
+            i = j;
+            j = tmp;
+        }
+        return values[i * n - i * (i - 1) / 2 + (j - i)];
+    }
+
+    /**
+     * 행 우선 n x n 배열로 전개
+     */
+    public double[] toDense() {
+        double[] dense = new double[n * n];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i; j < n; j++) {
+                double value = values[k++];
+                dense[i * n + j] = value;
+                dense[j * n + i] = value;
+            }
+        }
+        return dense;
+    }
+
+    /**
+     * 지정한 인덱스 순서의 부분 행렬을 행 우선 배열로 추출
+     * @param indices 원본 행렬 인덱스 (반환 행렬의 a번째 행 = 원본 indices[a]번째 행)
+     */
+    public double[] subMatrix(int[] indices) {
+        int m = indices.length;
+        double[] dense = new double[m * m];
+        for (int a = 0; a < m; a++) {
+            for (int b = a; b < m; b++) {
+                double value = get(indices[a], indices[b]);
+                dense[a * m + b] = value;
+                dense[b * m + a] = value;
+            }
+        }
+        return dense;
+    }
+
+
+}//class
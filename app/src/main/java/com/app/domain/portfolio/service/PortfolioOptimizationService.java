@@ -0,0 +1,40 @@
+package com.app.domain.portfolio.service;
+
+
+import com.app.domain.portfolio.dto.BatchOptimizationRequest;
+import com.app.domain.portfolio.dto.BatchOptimizationResponse;
+import com.app.domain.portfolio.dto.EfficientFrontierRequest;
+import com.app.domain.portfolio.dto.EfficientFrontierResponse;
+import com.app.domain.portfolio.dto.MonteCarloSimulationRequest;
+import com.app.domain.portfolio.dto.MonteCarloSimulationResponse;
+import com.app.domain.portfolio.dto.PortfolioOptimizationRequest;
+import com.app.domain.portfolio.dto.PortfolioOptimizationResponse;
+import com.app.domain.portfolio.entity.EfficientFrontierPoint;
+import com.app.domain.portfolio.entity.OptimalPortfolio;
+
+import java.util.List;
+
+/**
+ * 포트폴리오 최적화 서비스 인터페이스
+ */
+public interface PortfolioOptimizationService {
+
+    PortfolioOptimizationResponse optimize(String sessionId, String selectionSessionId,
+                                           PortfolioOptimizationRequest request);
+
+    List<OptimalPortfolio> getOptimalPortfolios(String sessionId);
+
+    EfficientFrontierResponse traceEfficientFrontier(String sessionId, String selectionSessionId,
+                                                     EfficientFrontierRequest request);
+
+    List<EfficientFrontierPoint> getEfficientFrontier(String sessionId);
+
+    BatchOptimizationResponse optimizeBatch(String sessionId, BatchOptimizationRequest request);
+
+    List<OptimalPortfolio> getBatchOptimalPortfolios(String sessionId, String batchId);
+
+    MonteCarloSimulationResponse simulateRandomPortfolios(String sessionId, String selectionSessionId,
+                                                          MonteCarloSimulationRequest request);
+
+
+}//interface
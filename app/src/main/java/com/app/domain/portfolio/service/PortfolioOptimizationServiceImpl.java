@@ -0,0 +1,588 @@
+package com.app.domain.portfolio.service;
+
+
+import com.app.domain.portfolio.dto.BatchOptimizationRequest;
+import com.app.domain.portfolio.dto.BatchOptimizationResponse;
+import com.app.domain.portfolio.dto.CovarianceMethod;
+import com.app.domain.portfolio.dto.EfficientFrontierRequest;
+import com.app.domain.portfolio.dto.EfficientFrontierResponse;
+import com.app.domain.portfolio.dto.MonteCarloSimulationRequest;
+import com.app.domain.portfolio.dto.MonteCarloSimulationResponse;
+import com.app.domain.portfolio.dto.PortfolioOptimizationRequest;
+import com.app.domain.portfolio.dto.PortfolioOptimizationResponse;
+import com.app.domain.portfolio.entity.EfficientFrontierPoint;
+import com.app.domain.portfolio.entity.OptimalPortfolio;
+import com.app.domain.portfolio.mapper.PortfolioMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * 포트폴리오 최적화 서비스 구현체
+ * - stock_price.daily_return 으로 기대수익률·공분산을 추정하고 최소분산, 최대 샤프 포트폴리오와
+ *   효율적 경계를 구해 저장
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class PortfolioOptimizationServiceImpl implements PortfolioOptimizationService {
+
+
+    /**
+     * portfolio_settings 가 없을 때 사용할 무위험 수익률
+     */
+    private static final double DEFAULT_RISK_FREE_RATE = 0.03;
+
+    /**
+     * 저장 대상 최소 비중 (이보다 작은 비중은 0으로 간주)
+     */
+    private static final double MIN_WEIGHT = 1e-6;
+
+    /**
+     * 최적 포트폴리오 일괄 저장 시 INSERT 한 번에 담는 최대 행 수
+     */
+    private static final int INSERT_CHUNK_SIZE = 500;
+
+    private final PortfolioMapper portfolioMapper;
+    private final CovarianceEstimationService covarianceEstimationService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public PortfolioOptimizationResponse optimize(String sessionId, String selectionSessionId,
+                                                  PortfolioOptimizationRequest request) {
+        long startTime = System.currentTimeMillis();
+
+        // 1. 대상 종목 결정 및 기대수익률·공분산 추정
+        List<String> tickers = resolveTickers(request.getTickers(), selectionSessionId);
+        log.info("평균-분산 최적화 시작 - 세션: {}, 종목수: {}", sessionId, tickers.size());
+
+        ReturnEstimates estimates = loadEstimates(tickers, request.getLookbackMonths(), request.getCovarianceMethod());
+
+        // 2. 최적화
+        double riskFreeRate = resolveRiskFreeRate(sessionId, request.getRiskFreeRate());
+        MeanVarianceOptimizer optimizer = new MeanVarianceOptimizer(estimates.getMean(), estimates.getCovariance());
+
+        double[] minVarianceWeights = optimizer.minVariance();
+        QuadraticProgramSolver.Status minVarianceStatus = optimizer.lastStatus();
+        double[] maxSharpeWeights = optimizer.maxSharpe(riskFreeRate);
+        QuadraticProgramSolver.Status maxSharpeStatus = optimizer.lastStatus();
+        if (maxSharpeWeights == null) {
+            log.warn("무위험 수익률({})을 넘는 종목이 없어 최대 샤프 포트폴리오를 생략합니다.", riskFreeRate);
+        }
+
+        PortfolioOptimizationResponse.PortfolioResult minVariance = buildResult(
+                OptimalPortfolio.TYPE_MIN_VARIANCE, "최소 분산 포트폴리오",
+                estimates.getTickers(), minVarianceWeights, minVarianceStatus, optimizer, riskFreeRate);
+        PortfolioOptimizationResponse.PortfolioResult maxSharpe = maxSharpeWeights == null ? null : buildResult(
+                OptimalPortfolio.TYPE_MAX_SHARPE, "최대 샤프 포트폴리오",
+                estimates.getTickers(), maxSharpeWeights, maxSharpeStatus, optimizer, riskFreeRate);
+
+        // 3. 저장 (기존 최소분산/최대샤프 결과 교체)
+        saveOptimalPortfolios(sessionId, Arrays.asList(minVariance, maxSharpe));
+
+        log.info("평균-분산 최적화 완료 - 세션: {}, 종목수: {}, 거래일: {}, 소요시간: {}ms",
+                sessionId, estimates.size(), estimates.getObservations(), System.currentTimeMillis() - startTime);
+
+        return PortfolioOptimizationResponse.builder()
+                .sessionId(sessionId)
+                .tickers(estimates.getTickers())
+                .excludedTickers(estimates.getExcludedTickers())
+                .estimationStartDate(estimates.getStartDate())
+                .estimationEndDate(estimates.getEndDate())
+                .observations(estimates.getObservations())
+                .covarianceMethod(covarianceCode(request.getCovarianceMethod()))
+                .riskFreeRate(riskFreeRate)
+                .minVariance(minVariance)
+                .maxSharpe(maxSharpe)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OptimalPortfolio> getOptimalPortfolios(String sessionId) {
+        return portfolioMapper.findOptimalPortfolios(sessionId);
+    }
+
+    @Override
+    public EfficientFrontierResponse traceEfficientFrontier(String sessionId, String selectionSessionId,
+                                                            EfficientFrontierRequest request) {
+        long startTime = System.currentTimeMillis();
+
+        // 1. 대상 종목 결정 및 기대수익률·공분산 추정
+        List<String> tickers = resolveTickers(request.getTickers(), selectionSessionId);
+        int points = request.getPoints() != null ? request.getPoints() : 50;
+        log.info("효율적 경계 추적 시작 - 세션: {}, 종목수: {}, 점 수: {}", sessionId, tickers.size(), points);
+
+        ReturnEstimates estimates = loadEstimates(tickers, request.getLookbackMonths(), request.getCovarianceMethod());
+        double riskFreeRate = resolveRiskFreeRate(sessionId, request.getRiskFreeRate());
+
+        // 2. 경계 점 병렬 추적 (구간 내 warm start)
+        EfficientFrontierTracer tracer = new EfficientFrontierTracer(estimates.getMean(), estimates.getCovariance());
+        double[][] frontier = tracer.trace(points, Runtime.getRuntime().availableProcessors());
+
+        MeanVarianceOptimizer optimizer = new MeanVarianceOptimizer(estimates.getMean(), estimates.getCovariance());
+        List<String> keptTickers = estimates.getTickers();
+
+        List<EfficientFrontierResponse.FrontierPoint> frontierPoints = new ArrayList<>(points);
+        for (int p = 0; p < frontier.length; p++) {
+            frontierPoints.add(buildFrontierPoint(p, keptTickers, frontier[p], optimizer, riskFreeRate));
+        }
+        EfficientFrontierResponse.FrontierPoint minVariance = frontierPoints.get(0);
+
+        double[] maxSharpeWeights = optimizer.maxSharpe(riskFreeRate);
+        EfficientFrontierResponse.FrontierPoint maxSharpe = maxSharpeWeights == null ? null
+                : buildFrontierPoint(null, keptTickers, maxSharpeWeights, optimizer, riskFreeRate);
+        int nonOptimalSolves = tracer.getNonOptimalSolves()
+                + (maxSharpeWeights != null && !optimizer.lastStatus().isOptimal() ? 1 : 0);
+        if (nonOptimalSolves > 0) {
+            log.warn("효율적 경계 - 최적해로 끝나지 않은 QP 풀이 {}회 (특이 공분산 또는 반복 한도)", nonOptimalSolves);
+        }
+
+        // 3. 일괄 저장 (세션의 기존 경계 교체)
+        List<EfficientFrontierPoint> rows = new ArrayList<>(points + 2);
+        for (EfficientFrontierResponse.FrontierPoint point : frontierPoints) {
+            rows.add(toFrontierEntity(sessionId, EfficientFrontierPoint.TYPE_EFFICIENT_FRONTIER, point));
+        }
+        rows.add(toFrontierEntity(sessionId, EfficientFrontierPoint.TYPE_MIN_VARIANCE, minVariance));
+        if (maxSharpe != null) {
+            rows.add(toFrontierEntity(sessionId, EfficientFrontierPoint.TYPE_MAX_SHARPE, maxSharpe));
+        }
+
+        portfolioMapper.deleteEfficientFrontier(sessionId);
+        portfolioMapper.insertEfficientFrontierBatch(rows);
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        log.info("효율적 경계 추적 완료 - 세션: {}, 점 수: {}, QP 풀이: {}회, 소요시간: {}ms",
+                sessionId, points, tracer.getTotalSolves(), elapsed);
+
+        return EfficientFrontierResponse.builder()
+                .sessionId(sessionId)
+                .tickers(keptTickers)
+                .excludedTickers(estimates.getExcludedTickers())
+                .estimationStartDate(estimates.getStartDate())
+                .estimationEndDate(estimates.getEndDate())
+                .observations(estimates.getObservations())
+                .covarianceMethod(covarianceCode(request.getCovarianceMethod()))
+                .riskFreeRate(riskFreeRate)
+                .points(frontierPoints)
+                .minVariance(minVariance)
+                .maxSharpe(maxSharpe)
+                .solveCount(tracer.getTotalSolves())
+                .nonOptimalSolveCount(nonOptimalSolves)
+                .computationTimeMs(elapsed)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EfficientFrontierPoint> getEfficientFrontier(String sessionId) {
+        return portfolioMapper.findEfficientFrontier(sessionId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MonteCarloSimulationResponse simulateRandomPortfolios(String sessionId, String selectionSessionId,
+                                                                 MonteCarloSimulationRequest request) {
+        long startTime = System.currentTimeMillis();
+
+        // 1. 대상 종목 결정 및 기대수익률·공분산 추정
+        List<String> tickers = resolveTickers(request.getTickers(), selectionSessionId);
+        int samples = request.getSamples() != null ? request.getSamples() : 100_000;
+        int cloudSize = request.getCloudSize() != null ? request.getCloudSize() : 2_000;
+        long seed = request.getSeed() != null ? request.getSeed() : System.nanoTime();
+        log.info("몬테카를로 시뮬레이션 시작 - 세션: {}, 종목수: {}, 표본: {}", sessionId, tickers.size(), samples);
+
+        ReturnEstimates estimates = loadEstimates(tickers, request.getLookbackMonths(), request.getCovarianceMethod());
+        double riskFreeRate = resolveRiskFreeRate(sessionId, request.getRiskFreeRate());
+
+        // 2. 시뮬레이션 (저장 없이 구름 점과 최적 표본만 반환)
+        MonteCarloPortfolioSimulator simulator =
+                new MonteCarloPortfolioSimulator(estimates.getMean(), estimates.getCovariance());
+        simulator.simulate(samples, cloudSize, riskFreeRate, seed);
+
+        double[] flatCloud = simulator.getCloud();
+        List<double[]> cloud = new ArrayList<>(simulator.getCloudPoints());
+        for (int p = 0; p < simulator.getCloudPoints(); p++) {
+            int offset = p * 3;
+            double sharpe = flatCloud[offset + 2];
+            cloud.add(new double[]{
+                    round(flatCloud[offset]),
+                    round(flatCloud[offset + 1]),
+                    Double.isNaN(sharpe) ? 0.0 : round(sharpe)
+            });
+        }
+
+        List<String> keptTickers = estimates.getTickers();
+        long elapsed = System.currentTimeMillis() - startTime;
+        log.info("몬테카를로 시뮬레이션 완료 - 세션: {}, 표본: {}, 최대 샤프: {}, 소요시간: {}ms",
+                sessionId, samples, simulator.getBestSharpe(), elapsed);
+
+        return MonteCarloSimulationResponse.builder()
+                .sessionId(sessionId)
+                .tickers(keptTickers)
+                .excludedTickers(estimates.getExcludedTickers())
+                .estimationStartDate(estimates.getStartDate())
+                .estimationEndDate(estimates.getEndDate())
+                .observations(estimates.getObservations())
+                .covarianceMethod(covarianceCode(request.getCovarianceMethod()))
+                .riskFreeRate(riskFreeRate)
+                .samples(samples)
+                .seed(seed)
+                .cloud(cloud)
+                .maxSharpe(buildSimulatedPortfolio(keptTickers, simulator.getBestSharpeWeights(),
+                        estimates, riskFreeRate))
+                .minRisk(buildSimulatedPortfolio(keptTickers, simulator.getMinRiskWeights(),
+                        estimates, riskFreeRate))
+                .computationTimeMs(elapsed)
+                .build();
+    }
+
+    @Override
+    public BatchOptimizationResponse optimizeBatch(String sessionId, BatchOptimizationRequest request) {
+        long startTime = System.currentTimeMillis();
+        List<BatchOptimizationRequest.BasketRequest> baskets = request.getBaskets();
+        log.info("일괄 최적화 시작 - 세션: {}, 바스켓수: {}", sessionId, baskets.size());
+
+        // 1. 바스켓별 (추정 기간, 공분산 방식) 과 추정 기간별 종목 합집합
+        Map<Integer, Set<String>> unions = new LinkedHashMap<>();
+        Set<EstimationGroup> groups = new HashSet<>();
+        EstimationGroup[] basketGroups = new EstimationGroup[baskets.size()];
+        for (int i = 0; i < baskets.size(); i++) {
+            BatchOptimizationRequest.BasketRequest basket = baskets.get(i);
+            int months = basket.getLookbackMonths() != null ? basket.getLookbackMonths()
+                    : request.getLookbackMonths() != null ? request.getLookbackMonths() : 12;
+            CovarianceMethod method = basket.getCovarianceMethod() != null ? basket.getCovarianceMethod()
+                    : request.getCovarianceMethod() != null ? request.getCovarianceMethod() : CovarianceMethod.SAMPLE;
+
+            basketGroups[i] = new EstimationGroup(months, method);
+            groups.add(basketGroups[i]);
+            unions.computeIfAbsent(months, m -> new LinkedHashSet<>()).addAll(basket.getTickers());
+        }
+
+        // 2. 추정 기간마다 합집합 수익률을 한 번만 로딩 (바스켓은 각자의 공통 거래일로 추정)
+        Map<Integer, CovarianceEstimationService.ReturnWindow> windows = new HashMap<>();
+        Set<String> loadedTickers = new HashSet<>();
+        for (Map.Entry<Integer, Set<String>> entry : unions.entrySet()) {
+            windows.put(entry.getKey(), covarianceEstimationService.loadReturns(entry.getValue(), entry.getKey()));
+            loadedTickers.addAll(entry.getValue());
+        }
+
+        // 3. 바스켓별 추정·최적화 병렬 수행
+        double defaultRiskFreeRate = resolveRiskFreeRate(sessionId, request.getRiskFreeRate());
+        BatchOptimizationRequest.Objective defaultObjective = request.getObjective() != null
+                ? request.getObjective() : BatchOptimizationRequest.Objective.BOTH;
+
+        BatchOptimizationResponse.BasketResult[] results = new BatchOptimizationResponse.BasketResult[baskets.size()];
+        IntStream.range(0, baskets.size()).parallel().forEach(i -> {
+            BatchOptimizationRequest.BasketRequest basket = baskets.get(i);
+            results[i] = optimizeBasket(basket, windows.get(basketGroups[i].months()), basketGroups[i].method(),
+                    basket.getRiskFreeRate() != null ? basket.getRiskFreeRate() : defaultRiskFreeRate,
+                    basket.getObjective() != null ? basket.getObjective() : defaultObjective);
+        });
+
+        // 4. 일괄 저장 (batch_id 로 대화형 결과와 분리, 세션의 이전 일괄 결과만 교체)
+        String batchId = UUID.randomUUID().toString();
+        List<OptimalPortfolio> rows = new ArrayList<>();
+        int failed = 0;
+        for (BatchOptimizationResponse.BasketResult result : results) {
+            if (result.getError() != null) {
+                failed++;
+                continue;
+            }
+            addPortfolioRows(rows, sessionId, batchId, result.getBasketId(), result.getMinVariance());
+            addPortfolioRows(rows, sessionId, batchId, result.getBasketId(), result.getMaxSharpe());
+        }
+        portfolioMapper.deleteBatchOptimalPortfolios(sessionId);
+        int savedRows = insertOptimalPortfolios(rows);
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        log.info("일괄 최적화 완료 - 세션: {}, 일괄 ID: {}, 바스켓: {} (실패 {}), 종목 합집합: {}, 저장 행: {}, 소요시간: {}ms",
+                sessionId, batchId, baskets.size(), failed, loadedTickers.size(), savedRows, elapsed);
+
+        return BatchOptimizationResponse.builder()
+                .sessionId(sessionId)
+                .batchId(batchId)
+                .basketCount(baskets.size())
+                .succeeded(baskets.size() - failed)
+                .failed(failed)
+                .loadedTickers(loadedTickers.size())
+                .estimationGroups(groups.size())
+                .savedRows(savedRows)
+                .computationTimeMs(elapsed)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OptimalPortfolio> getBatchOptimalPortfolios(String sessionId, String batchId) {
+        return portfolioMapper.findBatchOptimalPortfolios(sessionId, batchId);
+    }
+
+    // === Private Methods ===
+
+    /**
+     * 바스켓 하나 최적화 (실패는 결과의 error 로 기록)
+     */
+    private BatchOptimizationResponse.BasketResult optimizeBasket(BatchOptimizationRequest.BasketRequest basket,
+                                                                  CovarianceEstimationService.ReturnWindow window,
+                                                                  CovarianceMethod method, double riskFreeRate,
+                                                                  BatchOptimizationRequest.Objective objective) {
+        BatchOptimizationResponse.BasketResult.BasketResultBuilder builder = BatchOptimizationResponse.BasketResult.builder()
+                .basketId(basket.getBasketId())
+                .covarianceMethod(method.getCode())
+                .riskFreeRate(riskFreeRate);
+
+        try {
+            ReturnEstimates estimates = covarianceEstimationService.estimate(window, basket.getTickers(), method)
+                    .toReturnEstimates(basket.getTickers());
+            builder.tickers(estimates.getTickers())
+                    .excludedTickers(estimates.getExcludedTickers())
+                    .estimationStartDate(estimates.getStartDate())
+                    .estimationEndDate(estimates.getEndDate())
+                    .observations(estimates.getObservations());
+
+            if (estimates.size() < 2 || estimates.getObservations() < ReturnEstimates.MIN_OBSERVATIONS) {
+                return builder.error(String.format(
+                        "수익률 데이터가 부족합니다. (사용 가능 종목: %d개, 공통 거래일: %d일)",
+                        estimates.size(), estimates.getObservations())).build();
+            }
+
+            MeanVarianceOptimizer optimizer = new MeanVarianceOptimizer(estimates.getMean(), estimates.getCovariance());
+            if (objective.includesMinVariance()) {
+                double[] weights = optimizer.minVariance();
+                builder.minVariance(buildResult(OptimalPortfolio.TYPE_MIN_VARIANCE,
+                        basket.getBasketId() + " 최소 분산 포트폴리오",
+                        estimates.getTickers(), weights, optimizer.lastStatus(), optimizer, riskFreeRate));
+            }
+            if (objective.includesMaxSharpe()) {
+                double[] weights = optimizer.maxSharpe(riskFreeRate);
+                if (weights != null) {
+                    builder.maxSharpe(buildResult(OptimalPortfolio.TYPE_MAX_SHARPE,
+                            basket.getBasketId() + " 최대 샤프 포트폴리오",
+                            estimates.getTickers(), weights, optimizer.lastStatus(), optimizer, riskFreeRate));
+                } else if (!objective.includesMinVariance()) {
+                    builder.error("무위험 수익률을 넘는 종목이 없어 최대 샤프 포트폴리오를 구할 수 없습니다.");
+                }
+            }
+            return builder.build();
+
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("바스켓 최적화 실패 - {}: {}", basket.getBasketId(), e.getMessage());
+            return builder.error(e.getMessage()).build();
+        }
+    }
+
+    /**
+     * 요청 종목이 없으면 세션의 선택 자산 사용
+     */
+    private List<String> resolveTickers(List<String> requested, String selectionSessionId) {
+        List<String> tickers = requested != null && !requested.isEmpty()
+                ? requested
+                : portfolioMapper.findSelectedTickers(selectionSessionId);
+
+        if (tickers.size() < 2) {
+            throw new IllegalArgumentException("포트폴리오 최적화를 위해서는 최소 2개의 종목이 필요합니다.");
+        }
+        return tickers;
+    }
+
+    /**
+     * 조회 기간의 일수익률로 기대수익률·공분산 추정 (공분산 추정 서비스 캐시 사용)
+     */
+    private ReturnEstimates loadEstimates(List<String> tickers, Integer lookbackMonths,
+                                          CovarianceMethod covarianceMethod) {
+        int months = lookbackMonths != null ? lookbackMonths : 12;
+        ReturnEstimates estimates = covarianceEstimationService.estimate(tickers, months,
+                covarianceMethod != null ? covarianceMethod : CovarianceMethod.SAMPLE);
+
+        if (estimates.size() < 2 || estimates.getObservations() < ReturnEstimates.MIN_OBSERVATIONS) {
+            throw new IllegalStateException(String.format(
+                    "수익률 데이터가 부족합니다. (사용 가능 종목: %d개, 공통 거래일: %d일)",
+                    estimates.size(), estimates.getObservations()));
+        }
+        if (!estimates.getExcludedTickers().isEmpty()) {
+            log.warn("관측치 부족으로 제외된 종목: {}", estimates.getExcludedTickers());
+        }
+        return estimates;
+    }
+
+    private static String covarianceCode(CovarianceMethod covarianceMethod) {
+        return (covarianceMethod != null ? covarianceMethod : CovarianceMethod.SAMPLE).getCode();
+    }
+
+    private EfficientFrontierResponse.FrontierPoint buildFrontierPoint(
+            Integer pointOrder, List<String> tickers, double[] weights,
+            MeanVarianceOptimizer optimizer, double riskFreeRate) {
+
+        Map<String, Double> weightMap = new LinkedHashMap<>();
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] < MIN_WEIGHT) continue;
+            weightMap.put(tickers.get(i), round(weights[i]));
+        }
+
+        double sharpe = optimizer.sharpe(weights, riskFreeRate);
+
+        return EfficientFrontierResponse.FrontierPoint.builder()
+                .pointOrder(pointOrder)
+                .expectedReturn(round(optimizer.expectedReturn(weights)))
+                .risk(round(optimizer.risk(weights)))
+                .sharpeRatio(Double.isNaN(sharpe) ? null : round(sharpe))
+                .weights(weightMap)
+                .build();
+    }
+
+    private MonteCarloSimulationResponse.SimulatedPortfolio buildSimulatedPortfolio(
+            List<String> tickers, double[] weights, ReturnEstimates estimates, double riskFreeRate) {
+        if (weights == null) return null;
+
+        int n = weights.length;
+        double[] mean = estimates.getMean();
+        double[] covariance = estimates.getCovariance();
+
+        double expectedReturn = 0.0;
+        double variance = 0.0;
+        Map<String, Double> weightMap = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            expectedReturn += weights[i] * mean[i];
+            for (int j = 0; j < n; j++) variance += weights[i] * covariance[i * n + j] * weights[j];
+            weightMap.put(tickers.get(i), round(weights[i]));
+        }
+        double risk = Math.sqrt(Math.max(variance, 0.0));
+
+        return MonteCarloSimulationResponse.SimulatedPortfolio.builder()
+                .expectedReturn(round(expectedReturn))
+                .risk(round(risk))
+                .sharpeRatio(risk > 0.0 ? round((expectedReturn - riskFreeRate) / risk) : null)
+                .weights(weightMap)
+                .build();
+    }
+
+    private EfficientFrontierPoint toFrontierEntity(String sessionId, String portfolioType,
+                                                    EfficientFrontierResponse.FrontierPoint point) {
+        try {
+            return EfficientFrontierPoint.builder()
+                    .sessionId(sessionId)
+                    .expectedReturn(point.getExpectedReturn())
+                    .riskStdDev(point.getRisk())
+                    .sharpeRatio(point.getSharpeRatio())
+                    .portfolioWeights(objectMapper.writeValueAsString(point.getWeights()))
+                    .portfolioType(portfolioType)
+                    .pointOrder(point.getPointOrder())
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("포트폴리오 비중 직렬화 실패", e);
+        }
+    }
+
+    private double resolveRiskFreeRate(String sessionId, Double requested) {
+        if (requested != null) return requested;
+
+        BigDecimal configured = portfolioMapper.findRiskFreeRate(sessionId);
+        return configured != null ? configured.doubleValue() : DEFAULT_RISK_FREE_RATE;
+    }
+
+    private PortfolioOptimizationResponse.PortfolioResult buildResult(
+            String portfolioType, String portfolioName, List<String> tickers, double[] weights,
+            QuadraticProgramSolver.Status status, MeanVarianceOptimizer optimizer, double riskFreeRate) {
+
+        if (!status.isOptimal()) {
+            log.warn("{} - QP 풀이가 최적해로 끝나지 않았습니다 ({}). 중단 시점의 비중을 반환합니다.",
+                    portfolioName, status.getCode());
+        }
+
+        List<PortfolioOptimizationResponse.AssetWeight> assetWeights = new ArrayList<>();
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] < MIN_WEIGHT) continue;
+            assetWeights.add(PortfolioOptimizationResponse.AssetWeight.builder()
+                    .ticker(tickers.get(i))
+                    .weight(round(weights[i]))
+                    .build());
+        }
+        assetWeights.sort(Comparator.comparing(PortfolioOptimizationResponse.AssetWeight::getWeight).reversed());
+
+        double sharpe = optimizer.sharpe(weights, riskFreeRate);
+
+        return PortfolioOptimizationResponse.PortfolioResult.builder()
+                .portfolioType(portfolioType)
+                .portfolioName(portfolioName)
+                .expectedReturn(round(optimizer.expectedReturn(weights)))
+                .risk(round(optimizer.risk(weights)))
+                .sharpeRatio(Double.isNaN(sharpe) ? null : round(sharpe))
+                .weights(assetWeights)
+                .solverStatus(status.getCode())
+                .build();
+    }
+
+    /**
+     * 세션의 대화형 최소분산/최대샤프 결과를 교체 저장 (일괄 최적화 결과는 유지)
+     * @return 저장된 행 수
+     */
+    private int saveOptimalPortfolios(String sessionId, List<PortfolioOptimizationResponse.PortfolioResult> results) {
+        portfolioMapper.deleteOptimalPortfolios(sessionId,
+                List.of(OptimalPortfolio.TYPE_MIN_VARIANCE, OptimalPortfolio.TYPE_MAX_SHARPE));
+
+        List<OptimalPortfolio> rows = new ArrayList<>();
+        for (PortfolioOptimizationResponse.PortfolioResult result : results) {
+            addPortfolioRows(rows, sessionId, null, null, result);
+        }
+        return insertOptimalPortfolios(rows);
+    }
+
+    /**
+     * 포트폴리오 결과를 종목별 optimal_portfolio 행으로 변환해 추가 (결과가 null 이면 무시)
+     * @param batchId 일괄 최적화 ID (대화형 최적화는 null)
+     * @param basketId 일괄 최적화 바스켓 ID (대화형 최적화는 null)
+     */
+    private void addPortfolioRows(List<OptimalPortfolio> rows, String sessionId, String batchId, String basketId,
+                                  PortfolioOptimizationResponse.PortfolioResult result) {
+        if (result == null) return;
+        for (PortfolioOptimizationResponse.AssetWeight weight : result.getWeights()) {
+            rows.add(OptimalPortfolio.builder()
+                    .sessionId(sessionId)
+                    .ticker(weight.getTicker())
+                    .weight(weight.getWeight())
+                    .portfolioType(result.getPortfolioType())
+                    .portfolioRank(1)
+                    .expectedReturn(result.getExpectedReturn())
+                    .portfolioRisk(result.getRisk())
+                    .sharpeRatio(result.getSharpeRatio())
+                    .portfolioName(result.getPortfolioName())
+                    .batchId(batchId)
+                    .basketId(basketId)
+                    .build());
+        }
+    }
+
+    /**
+     * optimal_portfolio 행 저장 (INSERT_CHUNK_SIZE 행 단위 다중 행 INSERT)
+     * @return 저장된 행 수
+     */
+    private int insertOptimalPortfolios(List<OptimalPortfolio> rows) {
+        for (int from = 0; from < rows.size(); from += INSERT_CHUNK_SIZE) {
+            int to = Math.min(from + INSERT_CHUNK_SIZE, rows.size());
+            portfolioMapper.insertOptimalPortfoliosBatch(rows.subList(from, to));
+        }
+        return rows.size();
+    }
+
+    /**
+     * 일괄 최적화 추정 그룹 (같은 추정 기간의 바스켓은 합집합 수익률 조회 하나를 공유)
+     */
+    private record EstimationGroup(int months, CovarianceMethod method) {
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1_000_000.0) / 1_000_000.0;
+    }
+
+
+}//class
@@ -0,0 +1,325 @@
+package com.app.domain.portfolio.service;
+
+
+import com.app.domain.common.event.StockPriceReloadedEvent;
+import com.app.domain.portfolio.dto.RiskAnalyticsRequest;
+import com.app.domain.portfolio.dto.RiskAnalyticsResponse;
+import com.app.domain.portfolio.mapper.PortfolioMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 포트폴리오 위험 분석 서비스 (VaR, CVaR, 최대 낙폭, 변동성)
+ *
+ * <p>가장 긴 기간(1Y) 의 일수익률을 한 번 조회해 공통 거래일로 정렬한 뒤 비중 가중 포트폴리오
+ * 수익률을 한 번에 만들고, 3M / 6M / 1Y 구간은 그 시계열의 뒤쪽 구간으로 계산한다.
+ * 결과는 (정렬된 종목 집합, 비중 해시, 신뢰수준, 기준일) 단위로 LRU 캐시에 보관하며,
+ * 최근 거래일이 바뀌면 캐시를 비운다.</p>
+ */
+@Service
+@Slf4j
+public class PortfolioRiskAnalyticsService {
+
+
+    /**
+     * 분석 기간 (코드 → 개월 수)
+     */
+    private static final Map<String, Integer> WINDOWS = new LinkedHashMap<>();
+
+    static {
+        WINDOWS.put("3M", 3);
+        WINDOWS.put("6M", 6);
+        WINDOWS.put("1Y", 12);
+    }
+
+    private static final int MAX_WINDOW_MONTHS = 12;
+
+    /**
+     * 비중 합 판정 오차
+     */
+    private static final double WEIGHT_TOLERANCE = 1e-12;
+
+    private final PortfolioMapper portfolioMapper;
+    private final int tradingDays;
+    private final int maxEntries;
+
+    private final LinkedHashMap<RiskKey, CachedRisk> entries;
+
+    private LocalDate priceDate;
+    private long hits;
+    private long misses;
+
+    public PortfolioRiskAnalyticsService(PortfolioMapper portfolioMapper,
+                                         @Value("${portfolio.optimization.trading-days:252}") int tradingDays,
+                                         @Value("${portfolio.risk.cache.max-entries:64}") int maxEntries) {
+        this.portfolioMapper = portfolioMapper;
+        this.tradingDays = tradingDays;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RiskKey, CachedRisk> eldest) {
+                return size() > PortfolioRiskAnalyticsService.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 위험 분석
+     * @param selectionSessionId 선택 자산 세션 ID (종목 미지정 시 사용)
+     * @param request 분석 요청
+     */
+    public RiskAnalyticsResponse analyze(String selectionSessionId, RiskAnalyticsRequest request) {
+        long startTime = System.currentTimeMillis();
+
+        // 1. 종목·비중·신뢰수준 정리 (정렬된 티커 순)
+        List<String> tickers = resolveTickers(request, selectionSessionId);
+        double[] weights = resolveWeights(tickers, request.getWeights());
+        List<Double> levels = resolveConfidenceLevels(request.getConfidenceLevels());
+
+        LocalDate asOfDate = portfolioMapper.findLatestPriceDate();
+        if (asOfDate == null) {
+            throw new IllegalStateException("주가 데이터가 없습니다.");
+        }
+        RiskKey key = new RiskKey(tickers, hashWeights(weights), levels, asOfDate);
+
+        // 2. 캐시 조회
+        synchronized (this) {
+            if (!asOfDate.equals(priceDate)) {
+                entries.clear();
+                priceDate = asOfDate;
+            }
+            CachedRisk cached = entries.get(key);
+            if (cached != null && Arrays.equals(cached.weights(), weights)) {
+                hits++;
+                return copyOf(cached.response(), true, System.currentTimeMillis() - startTime);
+            }
+            misses++;
+        }
+
+        // 3. 계산
+        RiskAnalyticsResponse response = compute(tickers, weights, levels, asOfDate);
+        response.setCached(false);
+        response.setComputeMillis(System.currentTimeMillis() - startTime);
+
+        synchronized (this) {
+            if (asOfDate.equals(priceDate)) {
+                entries.put(key, new CachedRisk(weights, response));
+            }
+            log.info("위험 분석 완료 - 종목수: {}, 소요시간: {}ms (캐시 hit {}, miss {})",
+                    tickers.size(), response.getComputeMillis(), hits, misses);
+        }
+        return copyOf(response, false, response.getComputeMillis());
+    }
+
+    /**
+     * 캐시 전체 무효화 (주가 재적재 시)
+     */
+    public synchronized void invalidate() {
+        log.info("위험 분석 캐시 무효화 - 항목수: {}", entries.size());
+        entries.clear();
+        priceDate = null;
+    }
+
+    /**
+     * 주가 재적재 시 위험 분석 캐시 무효화
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockPriceReloaded(StockPriceReloadedEvent event) {
+        invalidate();
+    }
+
+    // === Private Methods ===
+
+    private RiskAnalyticsResponse compute(List<String> tickers, double[] weights, List<Double> levels,
+                                          LocalDate asOfDate) {
+        List<PortfolioMapper.DailyReturnRow> rows = portfolioMapper.findDailyReturnsByTickers(
+                tickers, asOfDate.minusMonths(MAX_WINDOW_MONTHS), asOfDate);
+        CompleteCaseReturns panel = CompleteCaseReturns.of(tickers, rows, ReturnEstimates.MIN_OBSERVATIONS);
+
+        if (panel.size() == 0 || panel.length() < ReturnEstimates.MIN_OBSERVATIONS) {
+            throw new IllegalStateException(String.format(
+                    "수익률 데이터가 부족합니다. (사용 가능 종목: %d개, 공통 거래일: %d일)",
+                    panel.size(), panel.length()));
+        }
+
+        // 제외 종목이 있으면 남은 종목 비중을 다시 합 1로
+        int n = panel.size();
+        double[] keptWeights = new double[n];
+        double keptSum = 0.0;
+        for (int i = 0; i < n; i++) {
+            keptWeights[i] = weights[Collections.binarySearch(tickers, panel.getTickers().get(i))];
+            keptSum += keptWeights[i];
+        }
+        if (!(keptSum > WEIGHT_TOLERANCE)) {
+            throw new IllegalStateException("수익률 데이터가 있는 종목의 비중 합이 0 이하입니다.");
+        }
+        Map<String, Double> appliedWeights = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            keptWeights[i] /= keptSum;
+            appliedWeights.put(panel.getTickers().get(i), keptWeights[i]);
+        }
+        if (!panel.getExcludedTickers().isEmpty()) {
+            log.warn("수익률 데이터 부족으로 제외된 종목: {}", panel.getExcludedTickers());
+        }
+
+        // 포트폴리오 수익률 (한 번의 종목 행 순회)
+        int length = panel.length();
+        double[] returns = RiskMeasures.portfolioReturns(panel.values(), keptWeights, n, length);
+        double[] work = new double[length];
+
+        List<RiskAnalyticsResponse.WindowRisk> windows = new ArrayList<>();
+        for (Map.Entry<String, Integer> window : WINDOWS.entrySet()) {
+            int from = panel.firstIndexOnOrAfter(asOfDate.minusMonths(window.getValue()));
+            windows.add(windowRisk(window.getKey(), panel, returns, from, length, levels, work));
+        }
+
+        return RiskAnalyticsResponse.builder()
+                .asOfDate(asOfDate)
+                .tickers(panel.getTickers())
+                .weights(appliedWeights)
+                .excludedTickers(panel.getExcludedTickers())
+                .windows(windows)
+                .build();
+    }
+
+    private RiskAnalyticsResponse.WindowRisk windowRisk(String period, CompleteCaseReturns panel, double[] returns,
+                                                        int from, int to, List<Double> levels, double[] work) {
+        int count = to - from;
+        RiskAnalyticsResponse.WindowRisk.WindowRiskBuilder builder = RiskAnalyticsResponse.WindowRisk.builder()
+                .period(period)
+                .observations(count);
+        if (count < 2) {
+            return builder.valueAtRisk(Collections.emptyList()).build();
+        }
+
+        double[] moments = RiskMeasures.moments(returns, from, to);
+        double mean = moments[0];
+        double sd = Math.sqrt(moments[1]);
+
+        List<RiskAnalyticsResponse.ValueAtRisk> valueAtRisk = new ArrayList<>(levels.size());
+        for (double level : levels) {
+            double[] historical = RiskMeasures.historical(returns, from, to, level, work);
+            double[] parametric = RiskMeasures.parametric(mean, sd, level);
+            valueAtRisk.add(RiskAnalyticsResponse.ValueAtRisk.builder()
+                    .confidenceLevel(level)
+                    .historicalVar(historical[0])
+                    .historicalCvar(historical[1])
+                    .parametricVar(parametric[0])
+                    .parametricCvar(parametric[1])
+                    .build());
+        }
+
+        return builder
+                .startDate(panel.getDate(from))
+                .endDate(panel.getDate(to - 1))
+                .meanDailyReturn(mean)
+                .dailyVolatility(sd)
+                .annualizedVolatility(sd * Math.sqrt(tradingDays))
+                .maxDrawdown(moments[2])
+                .valueAtRisk(valueAtRisk)
+                .build();
+    }
+
+    /**
+     * 대상 종목 (중복 제거, 정렬)
+     */
+    private List<String> resolveTickers(RiskAnalyticsRequest request, String selectionSessionId) {
+        Collection<String> tickers;
+        if (request.getTickers() != null && !request.getTickers().isEmpty()) {
+            tickers = request.getTickers();
+        } else if (request.getWeights() != null && !request.getWeights().isEmpty()) {
+            tickers = request.getWeights().keySet();
+        } else {
+            tickers = portfolioMapper.findSelectedTickers(selectionSessionId);
+        }
+
+        if (tickers.isEmpty()) {
+            throw new IllegalArgumentException("위험 분석 대상 종목이 없습니다. 먼저 자산을 선택하세요.");
+        }
+        return new ArrayList<>(new TreeSet<>(tickers));
+    }
+
+    /**
+     * 정렬된 종목 순 비중 (합 1)
+     */
+    private double[] resolveWeights(List<String> tickers, Map<String, Double> requested) {
+        int n = tickers.size();
+        double[] weights = new double[n];
+        if (requested == null || requested.isEmpty()) {
+            Arrays.fill(weights, 1.0 / n);
+            return weights;
+        }
+
+        for (String ticker : requested.keySet()) {
+            if (Collections.binarySearch(tickers, ticker) < 0) {
+                throw new IllegalArgumentException("분석 대상이 아닌 종목의 비중이 있습니다: " + ticker);
+            }
+        }
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) {
+            Double weight = requested.get(tickers.get(i));
+            if (weight == null || !Double.isFinite(weight)) {
+                throw new IllegalArgumentException("종목 비중이 없거나 올바르지 않습니다: " + tickers.get(i));
+            }
+            weights[i] = weight;
+            sum += weight;
+        }
+        if (!(sum > WEIGHT_TOLERANCE)) {
+            throw new IllegalArgumentException("비중의 합은 0보다 커야 합니다.");
+        }
+        for (int i = 0; i < n; i++) {
+            weights[i] /= sum;
+        }
+        return weights;
+    }
+
+    private List<Double> resolveConfidenceLevels(List<Double> requested) {
+        if (requested == null || requested.isEmpty()) {
+            return List.of(0.95, 0.99);
+        }
+        List<Double> levels = new ArrayList<>(new TreeSet<>(requested));
+        for (Double level : levels) {
+            if (level == null || level < 0.5 || level >= 1.0) {
+                throw new IllegalArgumentException("신뢰수준은 0.5 이상 1 미만이어야 합니다: " + level);
+            }
+        }
+        return levels;
+    }
+
+    private static long hashWeights(double[] weights) {
+        long hash = 1125899906842597L;
+        for (double weight : weights) {
+            hash = 31 * hash + Double.doubleToLongBits(weight);
+        }
+        return hash;
+    }
+
+    /**
+     * 캐시 항목을 공유하지 않도록 최상위 필드 복사
+     */
+    private static RiskAnalyticsResponse copyOf(RiskAnalyticsResponse source, boolean cached, long computeMillis) {
+        return RiskAnalyticsResponse.builder()
+                .asOfDate(source.getAsOfDate())
+                .tickers(source.getTickers())
+                .weights(source.getWeights())
+                .excludedTickers(source.getExcludedTickers())
+                .windows(source.getWindows())
+                .cached(cached)
+                .computeMillis(computeMillis)
+                .build();
+    }
+
+    private record RiskKey(List<String> tickers, long weightsHash, List<Double> confidenceLevels,
+                           LocalDate asOfDate) {
+    }
+
+    private record CachedRisk(double[] weights, RiskAnalyticsResponse response) {
+    }
+
+
+}//class
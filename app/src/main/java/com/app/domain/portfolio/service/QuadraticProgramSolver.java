@@ -0,0 +1,327 @@
+package com.app.domain.portfolio.service;
+
+
+import java.util.Arrays;
+
+/**
+ * 단일 등식 제약 + 비음수 제약 이차계획 해법 (primal active-set)
+ *
+ * <pre>
+ * minimize   ½ xᵀQx + cᵀx
+ * subject to bᵀx = 1,  x ≥ 0
+ * </pre>
+ *
+ * <p>최소분산(b = 1), 효율적 경계 점(c = -tμ), 최대 샤프(b = μ - rf) 포트폴리오를 모두 이 형태로 푼다.
+ * 자유 변수 집합에서 Q_FF 를 촐레스키 분해해 KKT 해를 구하고, 음수가 되는 변수는 0에 고정,
+ * 라그랑주 승수가 음수인 고정 변수는 해제하는 과정을 반복한다.
+ * 관측치보다 종목이 많은 표본 공분산처럼 Q_FF 가 특이하면 대각에 릿지를 키워 가며 다시 분해하고,
+ * 그래도 안 되거나 반복 한도에 닿으면 현재 해와 함께 {@link Status} 로 알린다.
+ * 작업 배열은 인스턴스에 미리 할당해 반복 호출 시 추가 할당이 없다. 스레드 안전하지 않다.</p>
+ */
+public final class QuadraticProgramSolver {
+
+    private static final double FEASIBILITY_TOL = 1e-12;
+    private static final double MULTIPLIER_TOL = 1e-10;
+
+    /**
+     * 특이한 자유 변수 블록에 더하는 릿지 (대각 평균 대비), 시작값·배율·최대값
+     */
+    private static final double RIDGE_START = 1e-10;
+    private static final double RIDGE_GROWTH = 100.0;
+    private static final double RIDGE_MAX = 1e-2;
+
+    /**
+     * 풀이 결과 상태
+     */
+    public enum Status {
+        /** 최적성 조건 만족 */
+        CONVERGED,
+        /** 자유 변수 블록에 릿지를 더해 수렴 (특이 공분산의 근사 최적해) */
+        REGULARIZED,
+        /** 릿지를 더해도 자유 변수 블록을 풀 수 없어 중단 (최적해 아님) */
+        SINGULAR,
+        /** 반복 한도 도달 (최적해 아님) */
+        ITERATION_LIMIT;
+
+        /**
+         * 최적해(또는 릿지 근사 최적해) 여부
+         */
+        public boolean isOptimal() {
+            return this == CONVERGED || this == REGULARIZED;
+        }
+
+        public String getCode() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final int n;
+    private final int maxIterations;
+
+    // 작업 배열
+    private final boolean[] free;
+    private final int[] freeIdx;
+    private final double[] chol;
+    private final double[] u;
+    private final double[] v;
+    private final double[] candidate;
+    private final double[] gradient;
+
+    private int iterations;
+    private Status status = Status.CONVERGED;
+    private boolean regularized;
+
+    public QuadraticProgramSolver(int n) {
+        this.n = n;
+        this.maxIterations = 50 * Math.max(n, 1) + 100;
+        this.free = new boolean[n];
+        this.freeIdx = new int[n];
+        this.chol = new double[n * n];
+        this.u = new double[n];
+        this.v = new double[n];
+        this.candidate = new double[n];
+        this.gradient = new double[n];
+    }
+
+    /**
+     * 최근 solve 의 반복 횟수
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * 최근 solve 의 결과 상태
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * 이차계획 풀이
+     * @param q n x n 양의 정부호 행렬 (row-major)
+     * @param c 선형 항 (null 이면 0)
+     * @param b 등식 제약 계수 (양수 원소가 하나 이상 있어야 함)
+     * @param x 시작점 겸 결과 (bᵀx = 1, x ≥ 0 인 실행가능해, null 또는 실행불가능하면 단일 자산에서 시작)
+     * @return x (최적해, {@link #getStatus()} 가 최적이 아니면 중단 시점의 실행가능해)
+     */
+    public double[] solve(double[] q, double[] c, double[] b, double[] x) {
+        if (x == null || x.length != n) {
+            x = new double[n];
+        }
+        if (!isFeasible(b, x)) {
+            initialize(q, b, x);
+        }
+
+        for (int i = 0; i < n; i++) {
+            free[i] = x[i] > 0.0;
+        }
+
+        iterations = 0;
+        regularized = false;
+        status = Status.ITERATION_LIMIT;
+        while (iterations++ < maxIterations) {
+            // 1. 자유 변수에 대한 등식 제약 QP 해
+            if (!solveEqualityConstrained(q, c, b)) {
+                // 릿지를 더해도 자유 변수 부분 행렬이 특이하면 현재 해 유지
+                status = Status.SINGULAR;
+                break;
+            }
+
+            // 2. 후보해가 실행가능하지 않으면 가장 먼저 막히는 변수를 고정
+            double alpha = 1.0;
+            int blocking = -1;
+            for (int i = 0; i < n; i++) {
+                if (!free[i]) continue;
+                if (candidate[i] < -FEASIBILITY_TOL) {
+                    double step = x[i] / (x[i] - candidate[i]);
+                    if (step < alpha) {
+                        alpha = step;
+                        blocking = i;
+                    }
+                }
+            }
+
+            for (int i = 0; i < n; i++) {
+                if (free[i]) {
+                    x[i] += alpha * (candidate[i] - x[i]);
+                    if (x[i] < 0.0) x[i] = 0.0;
+                }
+            }
+
+            if (blocking >= 0) {
+                x[blocking] = 0.0;
+                free[blocking] = false;
+                continue;
+            }
+
+            // 3. 고정 변수의 라그랑주 승수 확인, 가장 음수인 변수 해제
+            double nu = multiplier(q, c, b, x);
+            int release = -1;
+            double mostNegative = -MULTIPLIER_TOL;
+            for (int i = 0; i < n; i++) {
+                if (free[i]) continue;
+                double lambda = gradient[i] - nu * b[i];
+                if (lambda < mostNegative) {
+                    mostNegative = lambda;
+                    release = i;
+                }
+            }
+            if (release < 0) {
+                status = regularized ? Status.REGULARIZED : Status.CONVERGED;
+                break;
+            }
+            free[release] = true;
+        }
+
+        return x;
+    }
+
+    /**
+     * 자유 변수 집합의 KKT 해를 candidate 에 기록
+     * x_F = u + νv, Q_FF u = -c_F, Q_FF v = b_F, ν = (1 - b_Fᵀu) / b_Fᵀv
+     * - 분해가 실패하면 Q_FF 대각 평균 대비 릿지를 RIDGE_START 부터 RIDGE_MAX 까지 키워 가며 재시도
+     */
+    private boolean solveEqualityConstrained(double[] q, double[] c, double[] b) {
+        int k = 0;
+        double diagonal = 0.0;
+        for (int i = 0; i < n; i++) {
+            if (free[i]) {
+                freeIdx[k++] = i;
+                diagonal += Math.abs(q[i * n + i]);
+            }
+        }
+        if (k == 0) return false;
+
+        if (!factorize(q, k, 0.0)) {
+            double scale = Math.max(diagonal / k, 1e-300);
+            boolean factorized = false;
+            for (double ridge = RIDGE_START; ridge <= RIDGE_MAX && !factorized; ridge *= RIDGE_GROWTH) {
+                factorized = factorize(q, k, ridge * scale);
+            }
+            if (!factorized) return false;
+            regularized = true;
+        }
+
+        for (int a = 0; a < k; a++) {
+            int i = freeIdx[a];
+            u[a] = c != null ? -c[i] : 0.0;
+            v[a] = b[i];
+        }
+        substitute(u, k);
+        substitute(v, k);
+
+        double bu = 0.0, bv = 0.0;
+        for (int a = 0; a < k; a++) {
+            bu += b[freeIdx[a]] * u[a];
+            bv += b[freeIdx[a]] * v[a];
+        }
+        if (Math.abs(bv) < 1e-300) return false;
+
+        double nu = (1.0 - bu) / bv;
+        Arrays.fill(candidate, 0.0);
+        for (int a = 0; a < k; a++) {
+            candidate[freeIdx[a]] = u[a] + nu * v[a];
+        }
+        return true;
+    }
+
+    /**
+     * 현재 해의 기울기(Qx + c)를 gradient 에 기록하고 등식 제약 승수 ν 반환
+     */
+    private double multiplier(double[] q, double[] c, double[] b, double[] x) {
+        for (int i = 0; i < n; i++) {
+            double sum = c != null ? c[i] : 0.0;
+            int row = i * n;
+            for (int j = 0; j < n; j++) {
+                sum += q[row + j] * x[j];
+            }
+            gradient[i] = sum;
+        }
+
+        // 자유 변수에서 ∇ = νb 이므로 최소제곱으로 ν 추정
+        double num = 0.0, den = 0.0;
+        for (int i = 0; i < n; i++) {
+            if (!free[i]) continue;
+            num += gradient[i] * b[i];
+            den += b[i] * b[i];
+        }
+        return den > 0.0 ? num / den : 0.0;
+    }
+
+    /**
+     * Q_FF + ridge·I 촐레스키 분해 (하삼각, chol 의 앞 k x k 사용)
+     */
+    private boolean factorize(double[] q, int k, double ridge) {
+        for (int a = 0; a < k; a++) {
+            int ia = freeIdx[a];
+            for (int bIdx = 0; bIdx <= a; bIdx++) {
+                int ib = freeIdx[bIdx];
+                double sum = q[ia * n + ib];
+                for (int m = 0; m < bIdx; m++) {
+                    sum -= chol[a * k + m] * chol[bIdx * k + m];
+                }
+                if (a == bIdx) {
+                    sum += ridge;
+                    if (!(sum > 0.0)) return false;
+                    chol[a * k + a] = Math.sqrt(sum);
+                } else {
+                    chol[a * k + bIdx] = sum / chol[bIdx * k + bIdx];
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * L Lᵀ y = rhs 풀이 (rhs 자리에 결과)
+     */
+    private void substitute(double[] rhs, int k) {
+        for (int a = 0; a < k; a++) {
+            double sum = rhs[a];
+            for (int m = 0; m < a; m++) {
+                sum -= chol[a * k + m] * rhs[m];
+            }
+            rhs[a] = sum / chol[a * k + a];
+        }
+        for (int a = k - 1; a >= 0; a--) {
+            double sum = rhs[a];
+            for (int m = a + 1; m < k; m++) {
+                sum -= chol[m * k + a] * rhs[m];
+            }
+            rhs[a] = sum / chol[a * k + a];
+        }
+    }
+
+    private boolean isFeasible(double[] b, double[] x) {
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) {
+            if (x[i] < 0.0 || Double.isNaN(x[i])) return false;
+            sum += b[i] * x[i];
+        }
+        return Math.abs(sum - 1.0) < 1e-9;
+    }
+
+    /**
+     * 시작점: b_i > 0 인 자산 중 대각 원소 대비 목적함수가 가장 작은 단일 자산
+     */
+    private void initialize(double[] q, double[] b, double[] x) {
+        Arrays.fill(x, 0.0);
+        int best = -1;
+        double bestValue = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            if (b[i] <= 0.0) continue;
+            double value = q[i * n + i] / (b[i] * b[i]);
+            if (value < bestValue) {
+                bestValue = value;
+                best = i;
+            }
+        }
+        if (best < 0) {
+            throw new IllegalArgumentException("등식 제약을 만족하는 비음수 해가 없습니다.");
+        }
+        x[best] = 1.0 / b[best];
+    }
+
+
+}//class
@@ -0,0 +1,84 @@
+package com.app.domain.portfolio.service;
+
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 최적화 입력용 연율화 기대수익률·공분산
+ *
+ * <p>{@link CovarianceEstimationService} 의 캐시된 추정을 요청 티커 순서로 전개한 것이다.
+ * 공분산은 n x n 행 우선(row-major) 배열이다.</p>
+ */
+public class ReturnEstimates {
+
+    /**
+     * 추정에 필요한 최소 공통 거래일 수
+     */
+    public static final int MIN_OBSERVATIONS = 20;
+
+    private final List<String> tickers;
+    private final List<String> excludedTickers;
+    private final double[] mean;
+    private final double[] covariance;
+    private final int observations;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    public ReturnEstimates(List<String> tickers, List<String> excludedTickers, double[] mean, double[] covariance,
+                           int observations, LocalDate startDate, LocalDate endDate) {
+        this.tickers = Collections.unmodifiableList(tickers);
+        this.excludedTickers = Collections.unmodifiableList(excludedTickers);
+        this.mean = mean;
+        this.covariance = covariance;
+        this.observations = observations;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public List<String> getTickers() {
+        return tickers;
+    }
+
+    /**
+     * 관측치 부족으로 제외된 티커
+     */
+    public List<String> getExcludedTickers() {
+        return excludedTickers;
+    }
+
+    public int size() {
+        return tickers.size();
+    }
+
+    /**
+     * 연율화 기대수익률
+     */
+    public double[] getMean() {
+        return mean;
+    }
+
+    /**
+     * 연율화 공분산 (n x n, row-major)
+     */
+    public double[] getCovariance() {
+        return covariance;
+    }
+
+    /**
+     * 추정에 사용된 공통 거래일 수
+     */
+    public int getObservations() {
+        return observations;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+
+}//class
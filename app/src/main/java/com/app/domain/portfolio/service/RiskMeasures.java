@@ -0,0 +1,168 @@
+package com.app.domain.portfolio.service;
+
+
+/**
+ * 포트폴리오 위험 지표 계산 함수 모음
+ *
+ * <p>수익률 시계열은 double[] 구간 [from, to) 로 받는다. 분위수는 전체 정렬 대신
+ * 선택 알고리즘(quickselect)으로 꼬리 m개만 앞쪽으로 모아 O(T) 평균 시간에 구한다.</p>
+ */
+final class RiskMeasures {
+
+    private RiskMeasures() {
+    }
+
+    /**
+     * 비중 가중 포트폴리오 일수익률 r_t = Σ w_i x_{i,t}
+     * @param values 종목 우선 수익률 (values[i * length + t])
+     */
+    static double[] portfolioReturns(double[] values, double[] weights, int n, int length) {
+        double[] returns = new double[length];
+        for (int i = 0; i < n; i++) {
+            double w = weights[i];
+            if (w == 0.0) continue;
+            int base = i * length;
+            for (int t = 0; t < length; t++) {
+                returns[t] += w * values[base + t];
+            }
+        }
+        return returns;
+    }
+
+    /**
+     * 구간 [from, to) 한 번 순회로 평균, 표본 분산, 최대 낙폭 계산
+     * @return {평균, 표본 분산, 최대 낙폭(0 이하)}
+     */
+    static double[] moments(double[] returns, int from, int to) {
+        int count = to - from;
+        double mean = 0.0, m2 = 0.0;
+        double nav = 1.0, peak = 1.0, maxDrawdown = 0.0;
+        for (int t = from; t < to; t++) {
+            double r = returns[t];
+
+            // Welford 누적
+            int k = t - from + 1;
+            double delta = r - mean;
+            mean += delta / k;
+            m2 += delta * (r - mean);
+
+            nav *= 1.0 + r;
+            if (nav > peak) peak = nav;
+            double drawdown = nav / peak - 1.0;
+            if (drawdown < maxDrawdown) maxDrawdown = drawdown;
+        }
+        double variance = count > 1 ? m2 / (count - 1) : 0.0;
+        return new double[]{mean, variance, maxDrawdown};
+    }
+
+    /**
+     * 역사적 VaR / CVaR (손실을 양수로 표기)
+     *
+     * <p>꼬리 관측치 수 m = ceil((1 - c) T) 로 두고 m번째로 작은 수익률을 VaR,
+     * 가장 작은 m개의 평균을 CVaR 로 한다. work 는 T 이상 크기의 작업 배열이며 내용이 바뀐다.</p>
+     * @return {VaR, CVaR}
+     */
+    static double[] historical(double[] returns, int from, int to, double confidence, double[] work) {
+        int count = to - from;
+        int tail = (int) Math.ceil((1.0 - confidence) * count - 1e-9);
+        tail = Math.min(Math.max(tail, 1), count);
+
+        System.arraycopy(returns, from, work, 0, count);
+        double quantile = select(work, count, tail - 1);
+
+        // select 후 [0, tail) 에는 가장 작은 tail 개가 모여 있음
+        double sum = 0.0;
+        for (int t = 0; t < tail; t++) sum += work[t];
+        return new double[]{-quantile, -sum / tail};
+    }
+
+    /**
+     * 정규분포 가정 VaR / CVaR (손실을 양수로 표기)
+     * @return {VaR, CVaR}
+     */
+    static double[] parametric(double mean, double sd, double confidence) {
+        double z = inverseNormalCdf(confidence);
+        double var = -(mean - z * sd);
+        double cvar = -(mean - sd * normalPdf(z) / (1.0 - confidence));
+        return new double[]{var, cvar};
+    }
+
+    /**
+     * k번째(0부터)로 작은 값 선택 (Hoare 분할 quickselect, a[0, count) 를 부분 정렬)
+     */
+    static double select(double[] a, int count, int k) {
+        int left = 0, right = count - 1;
+        while (right > left) {
+            // 세 값의 중앙값을 피벗으로
+            int middle = (left + right) >>> 1;
+            if (a[middle] < a[left]) swap(a, middle, left);
+            if (a[right] < a[left]) swap(a, right, left);
+            if (a[right] < a[middle]) swap(a, right, middle);
+            double pivot = a[middle];
+
+            int i = left, j = right;
+            while (i <= j) {
+                while (a[i] < pivot) i++;
+                while (a[j] > pivot) j--;
+                if (i <= j) {
+                    swap(a, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                break;
+            }
+        }
+        return a[k];
+    }
+
+    /**
+     * 표준정규 누적분포 역함수 (Acklam 유리 근사, 상대 오차 1.15e-9)
+     */
+    static double inverseNormalCdf(double p) {
+        if (p <= 0.0) return Double.NEGATIVE_INFINITY;
+        if (p >= 1.0) return Double.POSITIVE_INFINITY;
+
+        final double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        final double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                6.680131188771972e+01, -1.328068155288572e+01};
+        final double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        final double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                3.754408661907416e+00};
+        final double low = 0.02425;
+
+        if (p < low) {
+            double q = Math.sqrt(-2.0 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1.0);
+        }
+        if (p > 1.0 - low) {
+            double q = Math.sqrt(-2.0 * Math.log(1.0 - p));
+            return -(((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1.0);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1.0);
+    }
+
+    static double normalPdf(double z) {
+        return Math.exp(-0.5 * z * z) / Math.sqrt(2.0 * Math.PI);
+    }
+
+    private static void swap(double[] a, int i, int j) {
+        double tmp = a[i];
+        a[i] = a[j];
+        a[j] = tmp;
+    }
+
+
+}//class
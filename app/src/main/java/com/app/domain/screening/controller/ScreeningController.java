@@ -1,10 +1,14 @@
 package com.app.domain.screening.controller;
 
 
+import com.app.domain.screening.dto.FactorInfo;
+import com.app.domain.screening.dto.FactorRankSnapshotStatus;
 import com.app.domain.screening.dto.ScreeningRequest;
 import com.app.domain.screening.dto.ScreeningResponse;
 import com.app.domain.screening.dto.ScreeningResultPage;
+import com.app.domain.screening.service.FactorRankSnapshotService;
 import com.app.domain.screening.service.MultifactorScreeningService;
+import com.app.domain.screening.service.ScreeningPreviewService;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +28,8 @@ public class ScreeningController {
 
 
     private final MultifactorScreeningService screeningService;
+    private final FactorRankSnapshotService snapshotService;
+    private final ScreeningPreviewService previewService;
 
     /**
      * 멀티팩터 스크리닝 수행
@@ -48,6 +54,39 @@ public class ScreeningController {
         }
     }
 
+    /**
+     * 가중치 변경 미리보기 (결과를 저장하지 않음)
+     */
+    @PostMapping("/preview")
+    public ResponseEntity<ScreeningResultPage> previewScreening(
+            @Valid @RequestBody ScreeningRequest request,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "30") int size,
+            HttpSession session) {
+
+        try {
+            ScreeningResultPage result = previewService.preview(request, session.getId(), page, size);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            log.error("스크리닝 미리보기 파라미터 오류: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("스크리닝 미리보기 중 오류 발생", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * 미리보기한 가중치로 스크리닝 결과 확정 (세션 결과 저장)
+     */
+    @PostMapping("/commit")
+    public ResponseEntity<ScreeningResultPage> commitScreening(
+            @Valid @RequestBody ScreeningRequest request,
+            HttpSession session) {
+
+        return performScreening(request, session);
+    }
+
     /**
      * 기본 가중치로 스크리닝 수행
      */
@@ -58,7 +97,9 @@ public class ScreeningController {
                 new BigDecimal("0.3333"), // PER 가중치
                 new BigDecimal("0.3333"), // PBR 가중치
                 new BigDecimal("0.3334"), // ROE 가중치
-                new BigDecimal("2.0")     // 최대 부채비율
+                new BigDecimal("2.0"),    // 최대 부채비율
+                ScreeningRequest.ScoringMode.RANK,
+                null                      // 팩터별 가중치 (PER / PBR / ROE 사용)
         );
 
         return performScreening(defaultRequest, session);
@@ -100,11 +141,45 @@ public class ScreeningController {
         }
     }
 
+    /**
+     * 사용 가능한 스크리닝 팩터 목록
+     */
+    @GetMapping("/factors")
+    public ResponseEntity<List<FactorInfo>> getFactors() {
+        try {
+            return ResponseEntity.ok(snapshotService.getFactorInfos());
+        } catch (Exception e) {
+            log.error("스크리닝 팩터 목록 조회 중 오류 발생", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
 
+    /**
+     * 팩터 순위 스냅샷 상태 조회
+     */
+    @GetMapping("/snapshot")
+    public ResponseEntity<FactorRankSnapshotStatus> getSnapshotStatus() {
+        try {
+            return ResponseEntity.ok(snapshotService.getStatus());
+        } catch (Exception e) {
+            log.error("팩터 순위 스냅샷 조회 중 오류 발생", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
 
-
-
-
+    /**
+     * 팩터 순위 스냅샷 재생성 (stock 테이블 재적재 후 호출)
+     */
+    @PostMapping("/snapshot/refresh")
+    public ResponseEntity<FactorRankSnapshotStatus> refreshSnapshot() {
+        try {
+            snapshotService.rebuild();
+            return ResponseEntity.ok(snapshotService.getStatus());
+        } catch (Exception e) {
+            log.error("팩터 순위 스냅샷 재생성 중 오류 발생", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
 
 
 }//class
@@ -0,0 +1,22 @@
+package com.app.domain.screening.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FactorInfo {
+
+
+    private String code;                // 팩터 코드 (가중치 키)
+    private String name;                // 표시 이름
+    private boolean higherBetter;       // 값이 클수록 좋은 팩터 여부
+    private boolean available;          // 현재 스냅샷에서 사용 가능 여부
+
+
+}//class
@@ -0,0 +1,26 @@
+package com.app.domain.screening.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FactorRankSnapshotStatus {
+
+
+    private long version;               // 스냅샷 버전 (재생성마다 증가)
+    private LocalDateTime builtAt;      // 생성일시
+    private int stockCount;             // 스크리닝 대상 종목 수 (부채비율 조건 전)
+    private List<String> factors;       // 사용 가능한 팩터 코드
+    private long buildMillis;           // 생성 소요시간 (ms)
+
+
+}//class
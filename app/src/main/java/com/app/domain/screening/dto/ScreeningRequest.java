@@ -3,12 +3,12 @@ package com.app.domain.screening.dto;
 
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
-import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.Map;
 
 
 @Data
@@ -18,17 +18,15 @@ public class ScreeningRequest {
 
 
 
-    @NotNull(message = "PER 가중치는 필수입니다.")
+    // PER / PBR / ROE 가중치 (factorWeights 가 없을 때 필수)
     @DecimalMin(value = "0.0", message = "PER 가중치는 0 이상이어야 합니다.")
     @DecimalMax(value = "1.0", message = "PER 가중치는 1 이하여야 합니다.")
     private BigDecimal perWeight;
 
-    @NotNull(message = "PBR 가중치는 필수입니다.")
     @DecimalMin(value = "0.0", message = "PBR 가중치는 0 이상이어야 합니다.")
     @DecimalMax(value = "1.0", message = "PBR 가중치는 1 이하여야 합니다.")
     private BigDecimal pbrWeight;
 
-    @NotNull(message = "ROE 가중치는 필수입니다.")
     @DecimalMin(value = "0.0", message = "ROE 가중치는 0 이상이어야 합니다.")
     @DecimalMax(value = "1.0", message = "ROE 가중치는 1 이하여야 합니다.")
     private BigDecimal roeWeight;
@@ -36,6 +34,35 @@ public class ScreeningRequest {
     @DecimalMin(value = "0.0", message = "최대 부채비율은 0 이상이어야 합니다.")
     private BigDecimal maxDebtRatio = new BigDecimal("2.0"); // 기본값: 200%
 
+    /**
+     * 팩터 점수 방식 (기본값: RANK)
+     */
+    private ScoringMode scoringMode = ScoringMode.RANK;
+
+    /**
+     * 팩터 코드별 가중치 (예: {"ROE": 0.5, "MOMENTUM": 0.3, "VOLATILITY": 0.2}, 합 1)
+     * 지정하면 PER / PBR / ROE 가중치 대신 사용
+     */
+    private Map<String, BigDecimal> factorWeights;
+
+    /**
+     * 팩터 점수 방식 열거형
+     */
+    public enum ScoringMode {
+        /**
+         * 순위 점수 (1위 = 1, 꼴등 = 0, 동점은 같은 순위)
+         */
+        RANK,
+        /**
+         * 중간 순위 백분위 (0~1)
+         */
+        PERCENTILE,
+        /**
+         * 표준화 점수 (±3 절단)
+         */
+        ZSCORE
+    }
+
 
 
 
@@ -9,6 +9,7 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -27,6 +28,7 @@ public class ScreeningResponse {
     private BigDecimal pbrScore;
     private BigDecimal roeScore;
     private BigDecimal compositeScore;
+    private Map<String, BigDecimal> factorScores;   // 팩터 코드별 점수 (가중치 적용 팩터)
     private Integer ranking;
     private Boolean isSelected;
     private BigDecimal closePrice;
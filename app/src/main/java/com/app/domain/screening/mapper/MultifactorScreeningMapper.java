@@ -6,11 +6,126 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @Mapper
 public interface MultifactorScreeningMapper {
 
+    /**
+     * 팩터 원천 데이터 행 DTO (스크리닝 대상 종목의 stock 컬럼)
+     */
+    class FactorSourceRow {
+        private String ticker;
+        private String stockName;
+        private String industry;
+        private BigDecimal eps;
+        private BigDecimal bps;
+        private BigDecimal sps;
+        private BigDecimal cfps;
+        private BigDecimal ebitdaps;
+        private BigDecimal per;
+        private BigDecimal pbr;
+        private BigDecimal roe;
+        private BigDecimal debtRatio;
+        private BigDecimal closePrice;
+        private Long marketCap;
+
+        public String getTicker() { return ticker; }
+        public void setTicker(String ticker) { this.ticker = ticker; }
+
+        public String getStockName() { return stockName; }
+        public void setStockName(String stockName) { this.stockName = stockName; }
+
+        public String getIndustry() { return industry; }
+        public void setIndustry(String industry) { this.industry = industry; }
+
+        public BigDecimal getEps() { return eps; }
+        public void setEps(BigDecimal eps) { this.eps = eps; }
+
+        public BigDecimal getBps() { return bps; }
+        public void setBps(BigDecimal bps) { this.bps = bps; }
+
+        public BigDecimal getSps() { return sps; }
+        public void setSps(BigDecimal sps) { this.sps = sps; }
+
+        public BigDecimal getCfps() { return cfps; }
+        public void setCfps(BigDecimal cfps) { this.cfps = cfps; }
+
+        public BigDecimal getEbitdaps() { return ebitdaps; }
+        public void setEbitdaps(BigDecimal ebitdaps) { this.ebitdaps = ebitdaps; }
+
+        public BigDecimal getPer() { return per; }
+        public void setPer(BigDecimal per) { this.per = per; }
+
+        public BigDecimal getPbr() { return pbr; }
+        public void setPbr(BigDecimal pbr) { this.pbr = pbr; }
+
+        public BigDecimal getRoe() { return roe; }
+        public void setRoe(BigDecimal roe) { this.roe = roe; }
+
+        public BigDecimal getDebtRatio() { return debtRatio; }
+        public void setDebtRatio(BigDecimal debtRatio) { this.debtRatio = debtRatio; }
+
+        public BigDecimal getClosePrice() { return closePrice; }
+        public void setClosePrice(BigDecimal closePrice) { this.closePrice = closePrice; }
+
+        public Long getMarketCap() { return marketCap; }
+        public void setMarketCap(Long marketCap) { this.marketCap = marketCap; }
+    }
+
+    /**
+     * 기간 주가 요약 행 DTO (모멘텀, 변동성 팩터용)
+     */
+    class PriceWindowRow {
+        private String ticker;
+        private BigDecimal firstClose;
+        private BigDecimal lastClose;
+        private Double volatility;
+        private Integer observations;
+
+        public String getTicker() { return ticker; }
+        public void setTicker(String ticker) { this.ticker = ticker; }
+
+        public BigDecimal getFirstClose() { return firstClose; }
+        public void setFirstClose(BigDecimal firstClose) { this.firstClose = firstClose; }
+
+        public BigDecimal getLastClose() { return lastClose; }
+        public void setLastClose(BigDecimal lastClose) { this.lastClose = lastClose; }
+
+        public Double getVolatility() { return volatility; }
+        public void setVolatility(Double volatility) { this.volatility = volatility; }
+
+        public Integer getObservations() { return observations; }
+        public void setObservations(Integer observations) { this.observations = observations; }
+    }
+
+    /**
+     * 팩터별 점수 행 DTO (세션, 종목, 팩터 단위)
+     */
+    class FactorScoreRow {
+        private String sessionId;
+        private String ticker;
+        private String factorCode;
+        private BigDecimal score;
+        private BigDecimal weight;
+
+        public String getSessionId() { return sessionId; }
+        public void setSessionId(String sessionId) { this.sessionId = sessionId; }
+
+        public String getTicker() { return ticker; }
+        public void setTicker(String ticker) { this.ticker = ticker; }
+
+        public String getFactorCode() { return factorCode; }
+        public void setFactorCode(String factorCode) { this.factorCode = factorCode; }
+
+        public BigDecimal getScore() { return score; }
+        public void setScore(BigDecimal score) { this.score = score; }
+
+        public BigDecimal getWeight() { return weight; }
+        public void setWeight(BigDecimal weight) { this.weight = weight; }
+    }
+
     /**
      * 세션 존재 여부 확인
      */
@@ -28,11 +143,45 @@ public interface MultifactorScreeningMapper {
      */
     List<MultifactorScreening> selectAllStocksForScreening(@Param("maxDebtRatio") BigDecimal maxDebtRatio);
 
+    /**
+     * 스크리닝 대상 종목의 팩터 원천 데이터 조회 (티커 순)
+     */
+    List<FactorSourceRow> selectFactorSources();
+
+    /**
+     * 가장 최근 주가 일자
+     */
+    LocalDate findLatestPriceDate();
+
+    /**
+     * 기간 내 종목별 첫·마지막 종가와 일수익률 표준편차
+     * @param startDate 시작일 (포함)
+     * @param endDate 종료일 (포함)
+     */
+    List<PriceWindowRow> selectPriceWindows(@Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate);
+
     /**
      * 스크리닝 결과 일괄 저장
      */
     void insertScreeningResults(@Param("results") List<MultifactorScreening> results);
 
+    /**
+     * 팩터별 점수 일괄 저장
+     */
+    void insertFactorScores(@Param("rows") List<FactorScoreRow> rows);
+
+    /**
+     * 기존 팩터별 점수 삭제 (세션별)
+     */
+    void deleteFactorScoresBySession(@Param("sessionId") String sessionId);
+
+    /**
+     * 종목들의 팩터별 점수 조회
+     */
+    List<FactorScoreRow> selectFactorScoresByTickers(@Param("sessionId") String sessionId,
+                                                     @Param("tickers") List<String> tickers);
+
     /**
      * 기존 스크리닝 결과 삭제 (세션별)
      */
@@ -0,0 +1,100 @@
+package com.app.domain.screening.service;
+
+
+import com.app.domain.screening.mapper.MultifactorScreeningMapper.FactorSourceRow;
+import com.app.domain.screening.mapper.MultifactorScreeningMapper.PriceWindowRow;
+
+import java.util.function.Function;
+
+/**
+ * 기본 스크리닝 팩터 (stock 컬럼, stock_price 기간 요약)
+ */
+public enum BuiltInFactor implements ScreeningFactor {
+
+    PER("주가수익비율", false, context -> context.column(FactorSourceRow::getPer)),
+    PBR("주가순자산비율", false, context -> context.column(FactorSourceRow::getPbr)),
+    ROE("자기자본이익률", true, context -> context.column(FactorSourceRow::getRoe)),
+    EPS("주당순이익", true, context -> context.column(FactorSourceRow::getEps)),
+    BPS("주당순자산가치", true, context -> context.column(FactorSourceRow::getBps)),
+    SPS("주당매출", true, context -> context.column(FactorSourceRow::getSps)),
+    CFPS("주당현금흐름", true, context -> context.column(FactorSourceRow::getCfps)),
+    EBITDAPS("주당EBITDA", true, context -> context.column(FactorSourceRow::getEbitdaps)),
+    DEBT_RATIO("부채비율", false, context -> context.column(FactorSourceRow::getDebtRatio)),
+    /**
+     * 시가총액 (소형주 효과 - 작을수록 좋음)
+     */
+    MARKET_CAP("시가총액", false, context -> context.column(FactorSourceRow::getMarketCap)),
+    /**
+     * 12-1개월 모멘텀 (최근 1개월을 제외한 12개월 수익률)
+     */
+    MOMENTUM("12-1개월 모멘텀", true, BuiltInFactor::momentum),
+    /**
+     * 1년 일수익률 표준편차 (저변동성 - 낮을수록 좋음)
+     */
+    VOLATILITY("1년 변동성", false, BuiltInFactor::volatility);
+
+    /**
+     * 주가 팩터 최소 관측 일수
+     */
+    private static final int MIN_PRICE_OBSERVATIONS = 20;
+
+    private final String name;
+    private final boolean higherBetter;
+    private final Function<FactorContext, double[]> calculator;
+
+    BuiltInFactor(String name, boolean higherBetter, Function<FactorContext, double[]> calculator) {
+        this.name = name;
+        this.higherBetter = higherBetter;
+        this.calculator = calculator;
+    }
+
+    @Override
+    public String getCode() {
+        return name();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean isHigherBetter() {
+        return higherBetter;
+    }
+
+    @Override
+    public double[] compute(FactorContext context) {
+        return calculator.apply(context);
+    }
+
+    private static double[] momentum(FactorContext context) {
+        PriceWindowRow[] window = context.priceWindow(12, 1);
+        double[] values = new double[window.length];
+        for (int i = 0; i < window.length; i++) {
+            PriceWindowRow row = window[i];
+            values[i] = Double.NaN;
+            if (row == null || row.getObservations() == null || row.getObservations() < MIN_PRICE_OBSERVATIONS
+                    || row.getFirstClose() == null || row.getLastClose() == null
+                    || row.getFirstClose().signum() <= 0) {
+                continue;
+            }
+            values[i] = row.getLastClose().doubleValue() / row.getFirstClose().doubleValue() - 1.0;
+        }
+        return values;
+    }
+
+    private static double[] volatility(FactorContext context) {
+        PriceWindowRow[] window = context.priceWindow(12, 0);
+        double[] values = new double[window.length];
+        for (int i = 0; i < window.length; i++) {
+            PriceWindowRow row = window[i];
+            boolean enough = row != null && row.getObservations() != null
+                    && row.getObservations() >= MIN_PRICE_OBSERVATIONS && row.getVolatility() != null;
+            values[i] = enough ? row.getVolatility() : Double.NaN;
+        }
+        return values;
+    }
+
+
+}//enum
@@ -0,0 +1,203 @@
+package com.app.domain.screening.service;
+
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 복합 점수·순위 계산 (원시 배열)
+ *
+ * <p>점수는 저장 단위(소수점 6자리)의 정수, 즉 백만분의 1 단위 long 으로 다룬다. 가중치를
+ * 공통 소수 자릿수의 정수로 맞추면 Σ 점수 × 가중치 가 long 안에서 정확히 계산되므로 (가중치 합 ≤ 1),
+ * 종목마다 BigDecimal 을 만들지 않고도 BigDecimal 로 곱하고 HALF_UP 으로 자른 값과 같은
+ * 복합 점수와 순위가 나온다. BigDecimal 변환은 저장·응답 직전에만 한다.</p>
+ */
+final class CompositeScoring {
+
+    /**
+     * 저장 점수 소수 자릿수
+     */
+    static final int SCALE = 6;
+
+    private static final double MICROS = 1e6;
+
+    /**
+     * 정확 계산 가능한 가중치 최대 소수 자릿수 (|점수| ≤ 3, 가중치 합 ≤ 1 에서 long 범위 이내)
+     */
+    private static final int MAX_WEIGHT_SCALE = 9;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_WEIGHT_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10L;
+        }
+    }
+
+    private CompositeScoring() {
+    }
+
+    /**
+     * 점수를 소수점 6자리 정수로 ({@code BigDecimal.valueOf(score).setScale(6, HALF_UP)} 과 같은 값)
+     *
+     * <p>반올림 경계(0.5)에서 충분히 떨어져 있으면 double 곱셈 오차가 결과를 바꿀 수 없으므로 바로
+     * 반올림하고, 경계 근처일 때만 십진 표현으로 다시 계산한다.</p>
+     */
+    static long toMicros(double score) {
+        if (score < 0.0) {
+            return -toMicros(-score);
+        }
+        double scaled = score * MICROS;
+        double floor = Math.floor(scaled);
+        double fraction = scaled - floor;
+        if (Math.abs(fraction - 0.5) > 1e-6) {
+            return (long) floor + (fraction > 0.5 ? 1L : 0L);
+        }
+        return BigDecimal.valueOf(score).setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * 대상 종목의 점수만 모아 소수점 6자리 정수로
+     * @param scores 전체 종목 점수
+     * @param stocks 대상 종목 인덱스
+     */
+    static long[] toMicros(double[] scores, int[] stocks) {
+        long[] micros = new long[stocks.length];
+        for (int k = 0; k < stocks.length; k++) {
+            micros[k] = toMicros(scores[stocks[k]]);
+        }
+        return micros;
+    }
+
+    /**
+     * 복합 점수 Σ 점수 × 가중치 (소수점 6자리 정수, HALF_UP)
+     *
+     * 팩터 열 단위로 한 번씩 곱해 누적한다. 가중치 소수 자릿수가 9자리를 넘거나 |가중치| 가 1을 넘으면
+     * 정확 계산 대신 double 로 계산한다.
+     * @param columns 팩터별 점수 열 (소수점 6자리 정수, 같은 길이)
+     * @param weights 팩터별 가중치
+     */
+    static long[] composite(long[][] columns, BigDecimal[] weights) {
+        int n = columns.length > 0 ? columns[0].length : 0;
+        long[] composite = new long[n];
+
+        int scale = 0;
+        boolean exact = true;
+        for (BigDecimal weight : weights) {
+            scale = Math.max(scale, weight.scale());
+            exact &= weight.abs().compareTo(BigDecimal.ONE) <= 0;
+        }
+        exact &= scale <= MAX_WEIGHT_SCALE;
+
+        if (!exact) {
+            double[] sum = new double[n];
+            for (int f = 0; f < columns.length; f++) {
+                double w = weights[f].doubleValue();
+                long[] column = columns[f];
+                for (int i = 0; i < n; i++) {
+                    sum[i] += column[i] * w;
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                composite[i] = toMicros(sum[i] / MICROS);
+            }
+            return composite;
+        }
+
+        for (int f = 0; f < columns.length; f++) {
+            long w = weights[f].setScale(scale).unscaledValue().longValueExact();
+            if (w == 0L) continue;
+            long[] column = columns[f];
+            for (int i = 0; i < n; i++) {
+                composite[i] += column[i] * w;
+            }
+        }
+        long divisor = POWERS_OF_TEN[scale];
+        for (int i = 0; i < n; i++) {
+            composite[i] = divideHalfUp(composite[i], divisor);
+        }
+        return composite;
+    }
+
+    /**
+     * 복합 점수 상위 k개 인덱스 (높은 순, 동점은 인덱스 순)
+     *
+     * 가장 나쁜 후보를 루트에 두는 크기 k의 힙을 유지하고, 마지막에 힙에서 하나씩 꺼내 뒤에서부터 채운다.
+     * k 가 전체 종목 수면 전체 순위가 된다.
+     */
+    static int[] rank(long[] composite, int k) {
+        int[] heap = new int[k];
+        if (k == 0) return heap;
+
+        int size = 0;
+        for (int i = 0; i < composite.length; i++) {
+            if (size < k) {
+                heap[size] = i;
+                siftUp(heap, size++, composite);
+            } else if (isWorse(heap[0], i, composite)) {
+                heap[0] = i;
+                siftDown(heap, size, composite);
+            }
+        }
+
+        int[] ranked = new int[k];
+        for (int r = k - 1; r >= 0; r--) {
+            ranked[r] = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, size, composite);
+        }
+        return ranked;
+    }
+
+    /**
+     * 저장·응답용 BigDecimal (소수점 6자리)
+     */
+    static BigDecimal toDecimal(long micros) {
+        return BigDecimal.valueOf(micros, SCALE);
+    }
+
+    private static long divideHalfUp(long value, long divisor) {
+        long quotient = value / divisor;
+        long remainder = value % divisor;
+        if (Math.abs(remainder) * 2 >= divisor) {
+            quotient += value < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    /**
+     * a 가 b 보다 나쁜 순위인지 (점수가 낮거나, 같으면 인덱스가 뒤)
+     */
+    private static boolean isWorse(int a, int b, long[] composite) {
+        return composite[a] < composite[b] || (composite[a] == composite[b] && a > b);
+    }
+
+    private static void siftUp(int[] heap, int index, long[] composite) {
+        int item = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!isWorse(item, heap[parent], composite)) break;
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = item;
+    }
+
+    private static void siftDown(int[] heap, int size, long[] composite) {
+        if (size == 0) return;
+        int item = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) break;
+            if (child + 1 < size && isWorse(heap[child + 1], heap[child], composite)) child++;
+            if (!isWorse(heap[child], item, composite)) break;
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = item;
+    }
+
+
+}//class
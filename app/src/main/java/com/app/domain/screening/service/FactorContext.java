@@ -0,0 +1,102 @@
+package com.app.domain.screening.service;
+
+
+import com.app.domain.screening.mapper.MultifactorScreeningMapper;
+import com.app.domain.screening.mapper.MultifactorScreeningMapper.FactorSourceRow;
+import com.app.domain.screening.mapper.MultifactorScreeningMapper.PriceWindowRow;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 팩터 계산 입력 (스냅샷 한 번 생성 동안 유지)
+ *
+ * <p>stock 컬럼은 이미 조회한 행에서 열로 꺼내고, 주가 기간 요약은 처음 요청될 때 기간별로
+ * 한 번만 조회해 같은 기간을 쓰는 팩터끼리 공유한다.</p>
+ */
+public final class FactorContext {
+
+    private final List<FactorSourceRow> stocks;
+    private final Map<String, Integer> indexByTicker;
+    private final MultifactorScreeningMapper screeningMapper;
+
+    private final Map<String, PriceWindowRow[]> priceWindows = new HashMap<>();
+    private LocalDate latestPriceDate;
+    private boolean latestPriceDateLoaded;
+
+    FactorContext(List<FactorSourceRow> stocks, MultifactorScreeningMapper screeningMapper) {
+        this.stocks = stocks;
+        this.screeningMapper = screeningMapper;
+        this.indexByTicker = new HashMap<>(stocks.size() * 2);
+        for (int i = 0; i < stocks.size(); i++) {
+            indexByTicker.put(stocks.get(i).getTicker(), i);
+        }
+    }
+
+    /**
+     * 대상 종목 수
+     */
+    public int size() {
+        return stocks.size();
+    }
+
+    /**
+     * 대상 종목 원천 데이터 (티커 순)
+     */
+    public List<FactorSourceRow> getStocks() {
+        return stocks;
+    }
+
+    /**
+     * stock 컬럼 하나를 double 열로 (null 은 NaN)
+     */
+    public double[] column(Function<FactorSourceRow, ? extends Number> getter) {
+        double[] values = new double[stocks.size()];
+        for (int i = 0; i < values.length; i++) {
+            Number value = getter.apply(stocks.get(i));
+            values[i] = value != null ? value.doubleValue() : Double.NaN;
+        }
+        return values;
+    }
+
+    /**
+     * 최근 거래일 기준 기간 주가 요약 (대상 종목 순, 데이터가 없으면 null 원소)
+     * @param months 기간 (개월)
+     * @param skipMonths 최근에서 제외할 기간 (개월)
+     */
+    public synchronized PriceWindowRow[] priceWindow(int months, int skipMonths) {
+        String key = months + ":" + skipMonths;
+        PriceWindowRow[] cached = priceWindows.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        PriceWindowRow[] window = new PriceWindowRow[stocks.size()];
+        LocalDate asOfDate = latestPriceDate();
+        if (asOfDate != null) {
+            LocalDate endDate = asOfDate.minusMonths(skipMonths);
+            List<PriceWindowRow> rows = screeningMapper.selectPriceWindows(asOfDate.minusMonths(months), endDate);
+            for (PriceWindowRow row : rows) {
+                Integer index = indexByTicker.get(row.getTicker());
+                if (index != null) {
+                    window[index] = row;
+                }
+            }
+        }
+        priceWindows.put(key, window);
+        return window;
+    }
+
+    private LocalDate latestPriceDate() {
+        if (!latestPriceDateLoaded) {
+            latestPriceDate = screeningMapper.findLatestPriceDate();
+            latestPriceDateLoaded = true;
+        }
+        return latestPriceDate;
+    }
+
+
+}//class
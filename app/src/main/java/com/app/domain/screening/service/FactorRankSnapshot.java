@@ -0,0 +1,149 @@
+package com.app.domain.screening.service;
+
+
+import com.app.domain.screening.dto.ScreeningRequest;
+import com.app.domain.screening.entity.MultifactorScreening;
+import com.app.domain.screening.mapper.MultifactorScreeningMapper.FactorSourceRow;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 팩터 순위 스냅샷 (불변)
+ *
+ * <p>PER, PBR, ROE 가 모두 양수인 종목 전체를 티커 순으로 담고, 등록된 팩터마다 값 열과
+ * 좋은 순서의 인덱스 배열을 한 번만 정렬해 둔다. 세션별 스크리닝은 부채비율 조건으로 대상 마스크를
+ * 만든 뒤 정렬된 순서를 한 번 훑어 점수를 매기므로, 요청마다 DB 조회나 정렬을 하지 않는다.</p>
+ */
+final class FactorRankSnapshot {
+
+    private final long version;
+    private final LocalDateTime builtAt;
+
+    /**
+     * 조회 원본 (종목 정보, 재무지표) - 외부로 내보낼 때는 복사본을 만든다
+     */
+    private final MultifactorScreening[] stocks;
+
+    /**
+     * 팩터 코드 → 값 열과 좋은 순서 인덱스 (등록 순)
+     */
+    private final Map<String, FactorColumn> columns;
+
+    private FactorRankSnapshot(long version, MultifactorScreening[] stocks, Map<String, FactorColumn> columns) {
+        this.version = version;
+        this.builtAt = LocalDateTime.now();
+        this.stocks = stocks;
+        this.columns = columns;
+    }
+
+    /**
+     * 스냅샷 생성
+     * @param version 발행 버전
+     * @param sources 부채비율 조건 없이 조회한 스크리닝 대상 종목 (티커 순)
+     * @param values 팩터별 값 열 (sources 와 같은 순서, 등록 순)
+     */
+    static FactorRankSnapshot of(long version, List<FactorSourceRow> sources,
+                                 Map<ScreeningFactor, double[]> values) {
+        int n = sources.size();
+        MultifactorScreening[] stocks = new MultifactorScreening[n];
+        for (int i = 0; i < n; i++) {
+            FactorSourceRow source = sources.get(i);
+            stocks[i] = MultifactorScreening.builder()
+                    .ticker(source.getTicker())
+                    .stockName(source.getStockName())
+                    .industry(source.getIndustry())
+                    .per(source.getPer())
+                    .pbr(source.getPbr())
+                    .roe(source.getRoe())
+                    .closePrice(source.getClosePrice())
+                    .debtRatio(source.getDebtRatio())
+                    .build();
+        }
+
+        Map<String, FactorColumn> columns = new LinkedHashMap<>();
+        for (Map.Entry<ScreeningFactor, double[]> entry : values.entrySet()) {
+            ScreeningFactor factor = entry.getKey();
+            double[] column = entry.getValue();
+            if (column == null || column.length != n) {
+                throw new IllegalStateException("팩터 값 개수가 종목 수와 다릅니다: " + factor.getCode());
+            }
+            columns.put(factor.getCode(), new FactorColumn(column,
+                    FactorRanking.sortIndices(column, factor.isHigherBetter()), factor.isHigherBetter()));
+        }
+        return new FactorRankSnapshot(version, stocks, columns);
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    LocalDateTime getBuiltAt() {
+        return builtAt;
+    }
+
+    int size() {
+        return stocks.length;
+    }
+
+    /**
+     * 사용 가능한 팩터 코드 (등록 순)
+     */
+    List<String> getFactorCodes() {
+        return new ArrayList<>(columns.keySet());
+    }
+
+    boolean hasFactor(String code) {
+        return columns.containsKey(code);
+    }
+
+    /**
+     * 부채비율 조건 대상 마스크 (부채비율이 없는 종목은 포함, 조건이 없으면 전체)
+     */
+    boolean[] filterByDebtRatio(BigDecimal maxDebtRatio) {
+        boolean[] included = new boolean[stocks.length];
+        for (int i = 0; i < stocks.length; i++) {
+            BigDecimal debtRatio = stocks[i].getDebtRatio();
+            included[i] = maxDebtRatio == null || debtRatio == null || debtRatio.compareTo(maxDebtRatio) <= 0;
+        }
+        return included;
+    }
+
+    /**
+     * 대상 종목의 팩터 점수 (전체 종목 길이, 대상이 아닌 종목은 0)
+     */
+    double[] scores(String code, boolean[] included, int count, ScreeningRequest.ScoringMode mode) {
+        FactorColumn column = columns.get(code);
+        if (column == null) {
+            throw new IllegalArgumentException("현재 사용할 수 없는 팩터입니다: " + code);
+        }
+        return FactorRanking.scoreSorted(column.values(), column.order(), included, count,
+                column.higherBetter(), mode);
+    }
+
+    /**
+     * i번째 종목의 새 스크리닝 엔티티 (종목 정보만 채움)
+     */
+    MultifactorScreening newScreening(int i) {
+        MultifactorScreening stock = stocks[i];
+        return MultifactorScreening.builder()
+                .ticker(stock.getTicker())
+                .stockName(stock.getStockName())
+                .industry(stock.getIndustry())
+                .per(stock.getPer())
+                .pbr(stock.getPbr())
+                .roe(stock.getRoe())
+                .closePrice(stock.getClosePrice())
+                .debtRatio(stock.getDebtRatio())
+                .build();
+    }
+
+    private record FactorColumn(double[] values, int[] order, boolean higherBetter) {
+    }
+
+
+}//class
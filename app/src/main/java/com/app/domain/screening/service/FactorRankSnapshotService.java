@@ -0,0 +1,149 @@
+package com.app.domain.screening.service;
+
+
+import com.app.domain.common.event.StockFundamentalsChangedEvent;
+import com.app.domain.common.event.StockPriceReloadedEvent;
+import com.app.domain.screening.dto.FactorInfo;
+import com.app.domain.screening.dto.FactorRankSnapshotStatus;
+import com.app.domain.screening.mapper.MultifactorScreeningMapper;
+import com.app.domain.screening.mapper.MultifactorScreeningMapper.FactorSourceRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 팩터 순위 스냅샷 관리
+ *
+ * <p>팩터 순위는 stock, stock_price 테이블에만 의존하므로 재무지표 계산이나 종목 재적재 직후에
+ * 등록된 팩터 전체를 열 단위로 한 번만 계산해 volatile 참조로 통째로 교체한다. 계산에 실패한
+ * 팩터는 로그를 남기고 스냅샷에서 빠지며, 나머지 팩터는 그대로 사용한다. 읽는 쪽은 락 없이 현재 스냅샷을 받아 쓰고,
+ * 재생성 중에도 이전 스냅샷을 그대로 사용한다.</p>
+ *
+ * <p>재무지표 변경({@link StockFundamentalsChangedEvent})과 주가 재적재({@link StockPriceReloadedEvent})
+ * 이벤트를 구독해, 발행 트랜잭션 커밋 후 factorSnapshotExecutor 에서 재생성한다 (stock_price 집계가 무거워
+ * 요청 스레드에서 하지 않음). 밀린 요청은 한 번으로 합쳐지고, 재생성에 실패하면 마지막으로 성공한 스냅샷을 계속 쓴다.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FactorRankSnapshotService {
+
+
+    private final MultifactorScreeningMapper screeningMapper;
+    private final FactorRegistry factorRegistry;
+
+    private volatile FactorRankSnapshot snapshot;
+    private volatile long lastBuildMillis;
+    private long version;
+
+    /**
+     * 현재 스냅샷 (없으면 생성)
+     */
+    FactorRankSnapshot current() {
+        FactorRankSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            return snapshot != null ? snapshot : rebuild();
+        }
+    }
+
+    /**
+     * stock 테이블에서 스냅샷 재생성 후 교체
+     */
+    public synchronized FactorRankSnapshot rebuild() {
+        long startTime = System.currentTimeMillis();
+
+        // 부채비율 조건은 세션별로 적용하므로 전체 대상 조회
+        List<FactorSourceRow> sources = screeningMapper.selectFactorSources();
+        FactorContext context = new FactorContext(sources, screeningMapper);
+
+        Map<ScreeningFactor, double[]> values = new LinkedHashMap<>();
+        for (ScreeningFactor factor : factorRegistry.getFactors()) {
+            try {
+                values.put(factor, factor.compute(context));
+            } catch (Exception e) {
+                log.error("팩터 계산 실패 (스냅샷에서 제외) - {}", factor.getCode(), e);
+            }
+        }
+        FactorRankSnapshot rebuilt = FactorRankSnapshot.of(++version, sources, values);
+
+        snapshot = rebuilt;
+        lastBuildMillis = System.currentTimeMillis() - startTime;
+        log.info("팩터 순위 스냅샷 생성 - 버전: {}, 종목수: {}, 팩터: {}, 소요시간: {}ms",
+                rebuilt.getVersion(), rebuilt.size(), rebuilt.getFactorCodes(), lastBuildMillis);
+        return rebuilt;
+    }
+
+    /**
+     * 재무지표 변경 후 스냅샷 재생성
+     * - 발행 트랜잭션 커밋 후 factorSnapshotExecutor 에서 재생성하며, 그동안은 이전 스냅샷을 사용
+     * - 순위는 전체 종목 기준이라 한 종목만 바뀌어도 전체를 다시 만들지만, 밀린 요청은 한 번으로 합쳐진다
+     */
+    @Async("factorSnapshotExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockFundamentalsChanged(StockFundamentalsChangedEvent event) {
+        rebuildQuietly();
+    }
+
+    /**
+     * 주가 재적재 후 스냅샷 재생성 (모멘텀·변동성 팩터가 주가에 의존)
+     * - 발행 트랜잭션 커밋 후 factorSnapshotExecutor 에서 재생성하며, 그동안은 이전 스냅샷을 사용
+     */
+    @Async("factorSnapshotExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockPriceReloaded(StockPriceReloadedEvent event) {
+        rebuildQuietly();
+    }
+
+    /**
+     * 현재 스냅샷 상태
+     */
+    public FactorRankSnapshotStatus getStatus() {
+        FactorRankSnapshot current = current();
+        return FactorRankSnapshotStatus.builder()
+                .version(current.getVersion())
+                .builtAt(current.getBuiltAt())
+                .stockCount(current.size())
+                .factors(current.getFactorCodes())
+                .buildMillis(lastBuildMillis)
+                .build();
+    }
+
+    /**
+     * 등록 팩터 목록 (현재 스냅샷 사용 가능 여부 포함)
+     */
+    public List<FactorInfo> getFactorInfos() {
+        FactorRankSnapshot current = current();
+        List<FactorInfo> infos = new ArrayList<>();
+        for (ScreeningFactor factor : factorRegistry.getFactors()) {
+            infos.add(FactorInfo.builder()
+                    .code(factor.getCode())
+                    .name(factor.getName())
+                    .higherBetter(factor.isHigherBetter())
+                    .available(current.hasFactor(factor.getCode()))
+                    .build());
+        }
+        return infos;
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // 재생성 실패 시 마지막으로 성공한 스냅샷을 계속 사용
+            log.error("팩터 순위 스냅샷 재생성 실패 - 이전 스냅샷 유지 (버전: {})",
+                    snapshot != null ? snapshot.getVersion() : null, e);
+        }
+    }
+
+
+}//class
@@ -0,0 +1,185 @@
+package com.app.domain.screening.service;
+
+
+import com.app.domain.screening.dto.ScreeningRequest;
+
+import java.util.Arrays;
+
+/**
+ * 팩터 순위·점수 계산
+ *
+ * <p>팩터 값을 double[] 로 받아 인덱스 배열을 안정 병합 정렬하고, 정렬 순서를 한 번 훑으며
+ * 같은 값끼리 묶어 점수를 매긴다. 종목마다 정렬 목록을 선형 탐색하지 않으므로 O(n log n) 이다.
+ * 값이 없는(NaN) 종목은 방향과 무관하게 가장 나쁜 순위로 함께 묶인다.</p>
+ *
+ * <ul>
+ *     <li>RANK - 동점은 같은 (가장 좋은) 순위, (N - 1 - 순위) / (N - 1) : 1위 = 1, 꼴등 = 0</li>
+ *     <li>PERCENTILE - 중간 순위 백분위, (더 나쁜 종목 수 + 동점 수 / 2) / N</li>
+ *     <li>ZSCORE - (값 - 평균) / 표준편차, 낮을수록 좋은 팩터는 부호 반전, ±3 에서 절단</li>
+ * </ul>
+ */
+final class FactorRanking {
+
+    /**
+     * z-score 절단 범위 (극단값 한 종목이 복합 점수를 좌우하지 않도록)
+     */
+    static final double Z_SCORE_LIMIT = 3.0;
+
+    private FactorRanking() {
+    }
+
+    /**
+     * 팩터 점수 계산
+     * @param values 종목별 팩터 값 (없으면 NaN)
+     * @param higherIsBetter 값이 클수록 좋은 팩터 여부
+     * @param mode 점수 방식
+     * @return 종목별 점수 (입력 순서)
+     */
+    static double[] score(double[] values, boolean higherIsBetter, ScreeningRequest.ScoringMode mode) {
+        int n = values.length;
+        boolean[] included = new boolean[n];
+        Arrays.fill(included, true);
+        int[] order = mode == ScreeningRequest.ScoringMode.ZSCORE ? null : sortIndices(values, higherIsBetter);
+        return scoreSorted(values, order, included, n, higherIsBetter, mode);
+    }
+
+    /**
+     * 미리 정렬된 순서로 부분 집합의 팩터 점수 계산 (정렬 없이 O(n))
+     * @param values 전체 종목 팩터 값
+     * @param order 좋은 순서로 정렬된 전체 종목 인덱스 ({@link #sortIndices}, ZSCORE 면 null 가능)
+     * @param included 점수 계산 대상 여부
+     * @param count 대상 종목 수
+     * @return 종목별 점수 (대상이 아닌 종목은 0)
+     */
+    static double[] scoreSorted(double[] values, int[] order, boolean[] included, int count,
+                                boolean higherIsBetter, ScreeningRequest.ScoringMode mode) {
+        if (mode == ScreeningRequest.ScoringMode.ZSCORE) {
+            return zScore(values, included, higherIsBetter);
+        }
+
+        double[] scores = new double[values.length];
+        if (count == 0) return scores;
+
+        // 대상 종목만 좋은 순서로 보며 동점 구간 단위로 점수 부여
+        int position = 0;
+        int k = 0;
+        while (k < order.length) {
+            if (!included[order[k]]) {
+                k++;
+                continue;
+            }
+            double value = values[order[k]];
+            int end = k;
+            int ties = 0;
+            while (end < order.length && (!included[order[end]] || sameValue(values[order[end]], value))) {
+                if (included[order[end]]) ties++;
+                end++;
+            }
+
+            double score;
+            if (count == 1) {
+                score = 1.0;
+            } else if (mode == ScreeningRequest.ScoringMode.PERCENTILE) {
+                score = ((count - position - ties) + 0.5 * ties) / count;
+            } else {
+                score = (double) (count - 1 - position) / (count - 1);
+            }
+            for (int j = k; j < end; j++) {
+                if (included[order[j]]) scores[order[j]] = score;
+            }
+            position += ties;
+            k = end;
+        }
+        return scores;
+    }
+
+    /**
+     * 안정 정렬된 인덱스 (NaN 은 항상 마지막, 동점은 입력 순서 유지)
+     * @param keys 정렬 키
+     * @param descending 내림차순 여부
+     */
+    static int[] sortIndices(double[] keys, boolean descending) {
+        int n = keys.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        if (n < 2) return order;
+
+        int[] buffer = new int[n];
+        // 바닥부터 병합 (작은 구간은 삽입 정렬)
+        final int run = 16;
+        for (int from = 0; from < n; from += run) {
+            int to = Math.min(from + run, n);
+            for (int i = from + 1; i < to; i++) {
+                int current = order[i];
+                int j = i - 1;
+                while (j >= from && compare(keys, order[j], current, descending) > 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = current;
+            }
+        }
+
+        int[] source = order, target = buffer;
+        for (int width = run; width < n; width *= 2) {
+            for (int from = 0; from < n; from += 2 * width) {
+                int middle = Math.min(from + width, n);
+                int to = Math.min(from + 2 * width, n);
+                int left = from, right = middle, k = from;
+                while (left < middle && right < to) {
+                    target[k++] = compare(keys, source[right], source[left], descending) < 0
+                            ? source[right++] : source[left++];
+                }
+                while (left < middle) target[k++] = source[left++];
+                while (right < to) target[k++] = source[right++];
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        return source;
+    }
+
+    private static double[] zScore(double[] values, boolean[] included, boolean higherIsBetter) {
+        int n = values.length;
+        double mean = 0.0, m2 = 0.0;
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            double value = values[i];
+            if (!included[i] || Double.isNaN(value)) continue;
+            count++;
+            double delta = value - mean;
+            mean += delta / count;
+            m2 += delta * (value - mean);
+        }
+        double sd = count > 1 ? Math.sqrt(m2 / (count - 1)) : 0.0;
+
+        double[] scores = new double[n];
+        for (int i = 0; i < n; i++) {
+            if (!included[i]) continue;
+            if (Double.isNaN(values[i])) {
+                scores[i] = -Z_SCORE_LIMIT;
+                continue;
+            }
+            double z = sd > 0.0 ? (values[i] - mean) / sd : 0.0;
+            if (!higherIsBetter) z = -z;
+            scores[i] = Math.max(-Z_SCORE_LIMIT, Math.min(Z_SCORE_LIMIT, z));
+        }
+        return scores;
+    }
+
+    private static int compare(double[] keys, int a, int b, boolean descending) {
+        double x = keys[a], y = keys[b];
+        boolean xNaN = Double.isNaN(x), yNaN = Double.isNaN(y);
+        if (xNaN || yNaN) {
+            return xNaN == yNaN ? 0 : (xNaN ? 1 : -1);
+        }
+        return descending ? Double.compare(y, x) : Double.compare(x, y);
+    }
+
+    private static boolean sameValue(double a, double b) {
+        return a == b || (Double.isNaN(a) && Double.isNaN(b));
+    }
+
+
+}//class
@@ -0,0 +1,97 @@
+package com.app.domain.screening.service;
+
+
+import com.app.domain.screening.dto.ScreeningRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * 스크리닝 팩터 레지스트리
+ *
+ * <p>{@link BuiltInFactor} 다음에 {@link ScreeningFactor} 스프링 빈을 등록 순서대로 담는다.
+ * 요청 가중치는 이 순서로 정렬해 스냅샷 열, 복합 점수, 저장 행이 항상 같은 팩터 순서를 갖게 한다.</p>
+ */
+@Component
+@Slf4j
+public class FactorRegistry {
+
+
+    private final Map<String, ScreeningFactor> factors = new LinkedHashMap<>();
+
+    public FactorRegistry(ObjectProvider<ScreeningFactor> plugins) {
+        for (BuiltInFactor factor : BuiltInFactor.values()) {
+            register(factor);
+        }
+        plugins.orderedStream().forEach(this::register);
+        log.info("스크리닝 팩터 등록 - {}", factors.keySet());
+    }
+
+    /**
+     * 등록된 팩터 (등록 순)
+     */
+    public Collection<ScreeningFactor> getFactors() {
+        return Collections.unmodifiableCollection(factors.values());
+    }
+
+    /**
+     * 요청 팩터 가중치 (등록 순, 검증 완료)
+     *
+     * factorWeights 가 있으면 그 팩터들 (가중치 0 제외), 없으면 PER / PBR / ROE 가중치를 쓴다.
+     * 가중치 합은 정확히 1 이어야 한다.
+     */
+    public LinkedHashMap<String, BigDecimal> resolveWeights(ScreeningRequest request) {
+        Map<String, BigDecimal> requested = new HashMap<>();
+        if (request.getFactorWeights() != null && !request.getFactorWeights().isEmpty()) {
+            for (Map.Entry<String, BigDecimal> entry : request.getFactorWeights().entrySet()) {
+                String code = entry.getKey() != null ? entry.getKey().trim().toUpperCase(Locale.ROOT) : null;
+                if (code == null || !factors.containsKey(code)) {
+                    throw new IllegalArgumentException("알 수 없는 팩터입니다: " + entry.getKey());
+                }
+                BigDecimal weight = entry.getValue();
+                if (weight == null || weight.signum() < 0 || weight.compareTo(BigDecimal.ONE) > 0) {
+                    throw new IllegalArgumentException("팩터 가중치는 0 이상 1 이하여야 합니다: " + entry.getKey());
+                }
+                if (weight.signum() > 0 && requested.put(code, weight) != null) {
+                    throw new IllegalArgumentException("팩터가 중복되었습니다: " + code);
+                }
+            }
+        } else {
+            if (request.getPerWeight() == null || request.getPbrWeight() == null || request.getRoeWeight() == null) {
+                throw new IllegalArgumentException("PER, PBR, ROE 가중치는 필수입니다.");
+            }
+            requested.put(BuiltInFactor.PER.getCode(), request.getPerWeight());
+            requested.put(BuiltInFactor.PBR.getCode(), request.getPbrWeight());
+            requested.put(BuiltInFactor.ROE.getCode(), request.getRoeWeight());
+        }
+
+        BigDecimal sum = BigDecimal.ZERO;
+        LinkedHashMap<String, BigDecimal> weights = new LinkedHashMap<>();
+        for (String code : factors.keySet()) {
+            BigDecimal weight = requested.get(code);
+            if (weight != null) {
+                weights.put(code, weight);
+                sum = sum.add(weight);
+            }
+        }
+        if (sum.compareTo(BigDecimal.ONE) != 0) {
+            throw new IllegalArgumentException("가중치의 합은 1.0이어야 합니다. 현재 합: " + sum);
+        }
+        return weights;
+    }
+
+    private void register(ScreeningFactor factor) {
+        String code = factor.getCode();
+        if (code == null || !code.equals(code.toUpperCase(Locale.ROOT))) {
+            throw new IllegalStateException("팩터 코드는 대문자여야 합니다: " + code);
+        }
+        if (factors.putIfAbsent(code, factor) != null) {
+            throw new IllegalStateException("팩터 코드가 중복되었습니다: " + code);
+        }
+    }
+
+
+}//class
@@ -9,6 +9,7 @@ import com.app.domain.screening.mapper.MultifactorScreeningMapper;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,18 +17,28 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class MultifactorScreeningService {
 
+    /**
+     * 팩터별 점수 일괄 저장 단위 (행 수)
+     */
+    private static final int FACTOR_SCORE_BATCH_SIZE = 1000;
+
     private final MultifactorScreeningMapper screeningMapper;
+    private final FactorRankSnapshotService snapshotService;
+    private final FactorRegistry factorRegistry;
+
+    /**
+     * 복합 점수 검증 모드 (BigDecimal 계산과 점수·순위가 같은지 매번 대조)
+     */
+    @Value("${screening.composite.verify:false}")
+    private boolean verifyComposite;
 
     /**
      * 멀티팩터 스크리닝 수행
@@ -41,34 +52,39 @@ public class MultifactorScreeningService {
         // 세션 존재 확인 및 자동 생성
         ensureSessionExists(sessionId);
 
-        // 가중치 합계 검증
-        validateWeights(request);
+        // 팩터 가중치 검증 (등록 순)
+        LinkedHashMap<String, BigDecimal> weights = factorRegistry.resolveWeights(request);
 
         // 기존 스크리닝 결과 삭제
+        screeningMapper.deleteFactorScoresBySession(sessionId);
         screeningMapper.deleteScreeningResultsBySession(sessionId);
 
-        // 가중치 합계 검증
-        validateWeights(request);
+        // 팩터 순위 스냅샷에 부채비율 조건 적용 후 팩터별 점수 계산
+        FactorRankSnapshot snapshot = snapshotService.current();
+        ScreeningFactorScores scores = ScreeningFactorScores.of(snapshot, request.getMaxDebtRatio(),
+                request.getScoringMode());
 
-        // 기존 스크리닝 결과 삭제
-        screeningMapper.deleteScreeningResultsBySession(sessionId);
-
-        // 모든 종목 데이터 조회
-        List<MultifactorScreening> allStocks = screeningMapper.selectAllStocksForScreening(request.getMaxDebtRatio());
-
-        log.info("분석 대상 종목 수: {}", allStocks.size());
-
-        // 팩터별 점수 계산 및 순위 매기기
-        List<MultifactorScreening> scoredStocks = calculateFactorScores(allStocks, request, sessionId);
+        log.info("분석 대상 종목 수: {}, 팩터: {} (스냅샷 버전: {})",
+                scores.size(), weights.keySet(), snapshot.getVersion());
 
         // 복합 점수 계산 및 최종 순위 결정
-        List<MultifactorScreening> rankedStocks = calculateCompositeScoresAndRanking(scoredStocks, request);
+        long[][] columns = scores.columns(weights);
+        long[] composite = CompositeScoring.composite(columns, weights.values().toArray(new BigDecimal[0]));
+        int[] ranked = CompositeScoring.rank(composite, composite.length);
 
-        // 상위 50개 선별
-        markTop50Stocks(rankedStocks);
+        if (verifyComposite) {
+            verifyAgainstDecimal(scores, weights, composite, ranked);
+        }
+
+        // 저장용 엔티티 (상위 50개 선별 포함)
+        List<MultifactorScreening> rankedStocks = toScreeningResults(scores, weights, columns, composite, ranked,
+                sessionId);
 
         // 결과 저장
-        screeningMapper.insertScreeningResults(rankedStocks);
+        if (!rankedStocks.isEmpty()) {
+            screeningMapper.insertScreeningResults(rankedStocks);
+            insertFactorScores(rankedStocks, weights, columns, ranked, sessionId);
+        }
 
         log.info("멀티팩터 스크리닝 완료 - 총 {}개 종목 분석", rankedStocks.size());
 
@@ -98,124 +114,138 @@ public class MultifactorScreeningService {
     }
 
     /**
-     * 팩터별 점수 계산 (순위 기반 점수화)
+     * 순위순 저장용 엔티티 (BigDecimal 변환은 여기서만)
+     *
+     * PER / PBR / ROE 점수·가중치 컬럼은 해당 팩터를 쓴 경우에만 채운다.
      */
-    private List<MultifactorScreening> calculateFactorScores(List<MultifactorScreening> stocks,
-                                                             ScreeningRequest request, String sessionId) {
-
-        // PER 기준 정렬 (낮을수록 좋음 - 오름차순)
-        List<MultifactorScreening> perSorted = new ArrayList<>(stocks);
-        perSorted.sort(Comparator.comparing(MultifactorScreening::getPer, Comparator.nullsLast(Comparator.naturalOrder())));
-
-        // PBR 기준 정렬 (낮을수록 좋음 - 오름차순)
-        List<MultifactorScreening> pbrSorted = new ArrayList<>(stocks);
-        pbrSorted.sort(Comparator.comparing(MultifactorScreening::getPbr, Comparator.nullsLast(Comparator.naturalOrder())));
-
-        // ROE 기준 정렬 (높을수록 좋음 - 내림차순)
-        List<MultifactorScreening> roeSorted = new ArrayList<>(stocks);
-        roeSorted.sort(Comparator.comparing(MultifactorScreening::getRoe, Comparator.nullsLast(Comparator.reverseOrder())));
-
-        // 각 종목에 대해 순위 기반 점수 부여
-        for (int i = 0; i < stocks.size(); i++) {
-            MultifactorScreening stock = stocks.get(i);
-
-            // PER 점수 (순위 기반, 1위=1.0, 꼴등=0)
-            int perRank = findRankInList(perSorted, stock.getTicker());
-            BigDecimal perScore = calculateRankScore(perRank, stocks.size());
-
-            // PBR 점수 (순위 기반, 1위=1.0, 꼴등=0)
-            int pbrRank = findRankInList(pbrSorted, stock.getTicker());
-            BigDecimal pbrScore = calculateRankScore(pbrRank, stocks.size());
-
-            // ROE 점수 (순위 기반, 1위=1.0, 꼴등=0)
-            int roeRank = findRankInList(roeSorted, stock.getTicker());
-            BigDecimal roeScore = calculateRankScore(roeRank, stocks.size());
+    private List<MultifactorScreening> toScreeningResults(ScreeningFactorScores scores,
+                                                          LinkedHashMap<String, BigDecimal> weights,
+                                                          long[][] columns, long[] composite, int[] ranked,
+                                                          String sessionId) {
+        long[] per = column(weights, columns, BuiltInFactor.PER);
+        long[] pbr = column(weights, columns, BuiltInFactor.PBR);
+        long[] roe = column(weights, columns, BuiltInFactor.ROE);
+
+        FactorRankSnapshot snapshot = scores.getSnapshot();
+        LocalDate screeningDate = LocalDate.now();
+        LocalDateTime createdAt = LocalDateTime.now();
+        List<MultifactorScreening> results = new ArrayList<>(ranked.length);
+        for (int r = 0; r < ranked.length; r++) {
+            int k = ranked[r];
+            MultifactorScreening stock = snapshot.newScreening(scores.stock(k));
 
             // 점수 설정
-            stock.setPerScore(perScore);
-            stock.setPbrScore(pbrScore);
-            stock.setRoeScore(roeScore);
+            stock.setPerScore(per != null ? CompositeScoring.toDecimal(per[k]) : null);
+            stock.setPbrScore(pbr != null ? CompositeScoring.toDecimal(pbr[k]) : null);
+            stock.setRoeScore(roe != null ? CompositeScoring.toDecimal(roe[k]) : null);
+            stock.setCompositeScore(CompositeScoring.toDecimal(composite[k]));
 
             // 가중치 설정
-            stock.setPerWeight(request.getPerWeight());
-            stock.setPbrWeight(request.getPbrWeight());
-            stock.setRoeWeight(request.getRoeWeight());
+            stock.setPerWeight(weights.get(BuiltInFactor.PER.getCode()));
+            stock.setPbrWeight(weights.get(BuiltInFactor.PBR.getCode()));
+            stock.setRoeWeight(weights.get(BuiltInFactor.ROE.getCode()));
+
+            // 순위 및 상위 50개 선별
+            stock.setRanking(r + 1);
+            stock.setIsSelected(r < 50);
 
             // 메타 정보 설정
             stock.setSessionId(sessionId);
-            stock.setScreeningDate(LocalDate.now());
-            stock.setCreatedAt(LocalDateTime.now());
-        }
-
-        return stocks;
-    }
-
-    /**
-     * 복합 점수 계산 및 최종 순위 결정
-     */
-    private List<MultifactorScreening> calculateCompositeScoresAndRanking(List<MultifactorScreening> stocks,
-                                                                          ScreeningRequest request) {
-
-        // 복합 점수 계산
-        for (MultifactorScreening stock : stocks) {
-            BigDecimal compositeScore = stock.getPerScore().multiply(request.getPerWeight())
-                    .add(stock.getPbrScore().multiply(request.getPbrWeight()))
-                    .add(stock.getRoeScore().multiply(request.getRoeWeight()));
+            stock.setScreeningDate(screeningDate);
+            stock.setCreatedAt(createdAt);
 
-            stock.setCompositeScore(compositeScore.setScale(6, RoundingMode.HALF_UP));
+            results.add(stock);
         }
-
-        // 복합 점수 기준 정렬 (높은 순)
-        stocks.sort(Comparator.comparing(MultifactorScreening::getCompositeScore).reversed());
-
-        // 순위 부여
-        IntStream.range(0, stocks.size())
-                .forEach(i -> stocks.get(i).setRanking(i + 1));
-
-        return stocks;
+        return results;
     }
 
     /**
-     * 상위 50개 종목 표시
+     * 팩터별 점수 저장 (세션, 종목, 팩터 단위, 나눠서 일괄 저장)
      */
-    private void markTop50Stocks(List<MultifactorScreening> rankedStocks) {
-        for (int i = 0; i < rankedStocks.size(); i++) {
-            rankedStocks.get(i).setIsSelected(i < 50);
+    private void insertFactorScores(List<MultifactorScreening> rankedStocks, LinkedHashMap<String, BigDecimal> weights,
+                                    long[][] columns, int[] ranked, String sessionId) {
+        List<String> codes = new ArrayList<>(weights.keySet());
+        List<MultifactorScreeningMapper.FactorScoreRow> batch = new ArrayList<>(FACTOR_SCORE_BATCH_SIZE);
+        for (int r = 0; r < ranked.length; r++) {
+            int k = ranked[r];
+            String ticker = rankedStocks.get(r).getTicker();
+            for (int f = 0; f < codes.size(); f++) {
+                MultifactorScreeningMapper.FactorScoreRow row = new MultifactorScreeningMapper.FactorScoreRow();
+                row.setSessionId(sessionId);
+                row.setTicker(ticker);
+                row.setFactorCode(codes.get(f));
+                row.setScore(CompositeScoring.toDecimal(columns[f][k]));
+                row.setWeight(weights.get(codes.get(f)));
+                batch.add(row);
+
+                if (batch.size() == FACTOR_SCORE_BATCH_SIZE) {
+                    screeningMapper.insertFactorScores(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            screeningMapper.insertFactorScores(batch);
         }
     }
 
-    /**
-     * 순위 기반 점수 계산 (1위=1.0, 꼴등=0에 가까운 값)
-     */
-    private BigDecimal calculateRankScore(int rank, int totalCount) {
-        if (totalCount <= 1) return BigDecimal.ONE;
-
-        double score = (double) (totalCount - rank) / (totalCount - 1);
-        return BigDecimal.valueOf(score).setScale(6, RoundingMode.HALF_UP);
+    private static long[] column(LinkedHashMap<String, BigDecimal> weights, long[][] columns, BuiltInFactor factor) {
+        int f = 0;
+        for (String code : weights.keySet()) {
+            if (code.equals(factor.getCode())) {
+                return columns[f];
+            }
+            f++;
+        }
+        return null;
     }
 
     /**
-     * 특정 종목의 순위 찾기
+     * BigDecimal 계산과 대조 (검증 모드)
+     *
+     * 종목마다 점수를 BigDecimal 로 소수점 6자리 반올림해 가중치를 곱하고, 복합 점수 내림차순
+     * 안정 정렬(동점은 티커 순)로 순위를 매겨 원시 배열 계산 결과와 비교한다.
      */
-    private int findRankInList(List<MultifactorScreening> sortedList, String ticker) {
-        for (int i = 0; i < sortedList.size(); i++) {
-            if (sortedList.get(i).getTicker().equals(ticker)) {
-                return i;
+    private void verifyAgainstDecimal(ScreeningFactorScores scores, LinkedHashMap<String, BigDecimal> weights,
+                                      long[] composite, int[] ranked) {
+        int n = scores.size();
+        BigDecimal[] expected = new BigDecimal[n];
+        Arrays.fill(expected, BigDecimal.ZERO);
+        int mismatches = 0;
+
+        for (Map.Entry<String, BigDecimal> entry : weights.entrySet()) {
+            double[] raw = scores.raw(entry.getKey());
+            long[] micros = scores.micros(entry.getKey());
+            for (int k = 0; k < n; k++) {
+                BigDecimal score = BigDecimal.valueOf(raw[scores.stock(k)]).setScale(6, RoundingMode.HALF_UP);
+                expected[k] = expected[k].add(score.multiply(entry.getValue()));
+                if (score.compareTo(CompositeScoring.toDecimal(micros[k])) != 0 && mismatches++ == 0) {
+                    log.warn("팩터 점수 불일치 - 팩터: {}, 인덱스: {}, 기대값: {}, 계산값: {}",
+                            entry.getKey(), k, score, CompositeScoring.toDecimal(micros[k]));
+                }
+            }
+        }
+        for (int k = 0; k < n; k++) {
+            expected[k] = expected[k].setScale(6, RoundingMode.HALF_UP);
+            if (expected[k].compareTo(CompositeScoring.toDecimal(composite[k])) != 0 && mismatches++ == 0) {
+                log.warn("복합 점수 불일치 - 인덱스: {}, 기대값: {}, 계산값: {}",
+                        k, expected[k], CompositeScoring.toDecimal(composite[k]));
             }
         }
-        return sortedList.size() - 1; // 못 찾으면 꼴등
-    }
 
-    /**
-     * 가중치 검증
-     */
-    private void validateWeights(ScreeningRequest request) {
-        BigDecimal sum = request.getPerWeight()
-                .add(request.getPbrWeight())
-                .add(request.getRoeWeight());
+        List<Integer> order = new ArrayList<>(n);
+        for (int k = 0; k < n; k++) order.add(k);
+        order.sort(Comparator.comparing((Integer k) -> expected[k]).reversed());
+        for (int r = 0; r < n; r++) {
+            if (order.get(r) != ranked[r] && mismatches++ == 0) {
+                log.warn("순위 불일치 - 순위: {}, 기대 인덱스: {}, 계산 인덱스: {}", r + 1, order.get(r), ranked[r]);
+            }
+        }
 
-        if (sum.compareTo(BigDecimal.ONE) != 0) {
-            throw new IllegalArgumentException("가중치의 합은 1.0이어야 합니다. 현재 합: " + sum);
+        if (mismatches > 0) {
+            log.warn("복합 점수 검증 실패 - 불일치 {}건 (대상 {}개)", mismatches, n);
+        } else {
+            log.info("복합 점수 검증 통과 - 대상 {}개 점수·순위 일치", n);
         }
     }
 
@@ -232,6 +262,7 @@ public class MultifactorScreeningService {
         List<ScreeningResponse> responses = results.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
+        attachFactorScores(sessionId, responses);
 
         return ScreeningResultPage.builder()
                 .screeningResults(responses)
@@ -252,9 +283,41 @@ public class MultifactorScreeningService {
      */
     public List<ScreeningResponse> getTop50Results(String sessionId) {
         List<MultifactorScreening> top50 = screeningMapper.selectTop50Results(sessionId);
-        return top50.stream()
+        List<ScreeningResponse> responses = top50.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
+        attachFactorScores(sessionId, responses);
+        return responses;
+    }
+
+    /**
+     * 조회한 종목들의 팩터별 점수 첨부 (한 번의 조회)
+     */
+    private void attachFactorScores(String sessionId, List<ScreeningResponse> responses) {
+        if (responses.isEmpty()) {
+            return;
+        }
+        List<String> tickers = responses.stream()
+                .map(ScreeningResponse::getTicker)
+                .collect(Collectors.toList());
+
+        Map<String, Map<String, BigDecimal>> scoresByTicker = new HashMap<>();
+        for (MultifactorScreeningMapper.FactorScoreRow row : screeningMapper.selectFactorScoresByTickers(sessionId, tickers)) {
+            scoresByTicker.computeIfAbsent(row.getTicker(), ticker -> new HashMap<>())
+                    .put(row.getFactorCode(), row.getScore());
+        }
+
+        // 팩터 등록 순으로 정렬
+        for (ScreeningResponse response : responses) {
+            Map<String, BigDecimal> scores = scoresByTicker.get(response.getTicker());
+            if (scores == null) continue;
+            Map<String, BigDecimal> ordered = new LinkedHashMap<>();
+            for (ScreeningFactor factor : factorRegistry.getFactors()) {
+                BigDecimal score = scores.get(factor.getCode());
+                if (score != null) ordered.put(factor.getCode(), score);
+            }
+            response.setFactorScores(ordered);
+        }
     }
 
     /**
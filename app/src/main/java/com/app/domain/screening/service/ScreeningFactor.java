@@ -0,0 +1,36 @@
+package com.app.domain.screening.service;
+
+
+/**
+ * 스크리닝 팩터 플러그인
+ *
+ * <p>팩터는 스냅샷을 만들 때 한 번, 대상 종목 전체의 값을 한 열(double[])로 계산한다.
+ * 기본 팩터는 {@link BuiltInFactor} 에 있고, 이 인터페이스를 구현한 스프링 빈을 등록하면
+ * {@link FactorRegistry} 가 자동으로 함께 사용한다 (스키마·DTO 변경 불필요).</p>
+ */
+public interface ScreeningFactor {
+
+    /**
+     * 팩터 코드 (요청 가중치 키, 저장 factor_code, 대문자)
+     */
+    String getCode();
+
+    /**
+     * 표시 이름
+     */
+    String getName();
+
+    /**
+     * 값이 클수록 좋은 팩터 여부
+     */
+    boolean isHigherBetter();
+
+    /**
+     * 팩터 값 계산
+     * @param context 스냅샷 대상 종목 (티커 순) 과 원천 데이터
+     * @return 종목별 값 (context 와 같은 순서·길이, 값이 없으면 NaN)
+     */
+    double[] compute(FactorContext context);
+
+
+}//interface
@@ -0,0 +1,110 @@
+package com.app.domain.screening.service;
+
+
+import com.app.domain.screening.dto.ScreeningRequest;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 한 스냅샷·부채비율 조건·점수 방식의 팩터 점수
+ *
+ * <p>대상 종목(티커 순)을 한 번 정해 두고, 팩터 점수는 처음 요청될 때 팩터별로 계산해
+ * 저장 단위(소수점 6자리) 정수 열로 보관한다. 가중치만 바뀌는 요청은 이 열들을 재사용한다.</p>
+ */
+final class ScreeningFactorScores {
+
+    private final FactorRankSnapshot snapshot;
+    private final ScreeningRequest.ScoringMode mode;
+    private final boolean[] included;
+    private final int[] stocks;
+
+    /**
+     * 팩터 코드 → 전체 종목 double 점수 / 대상 종목 소수점 6자리 정수 점수
+     */
+    private final Map<String, double[]> rawScores = new HashMap<>();
+    private final Map<String, long[]> microScores = new HashMap<>();
+
+    private ScreeningFactorScores(FactorRankSnapshot snapshot, ScreeningRequest.ScoringMode mode, boolean[] included) {
+        this.snapshot = snapshot;
+        this.mode = mode;
+        this.included = included;
+
+        int count = 0;
+        for (boolean flag : included) {
+            if (flag) count++;
+        }
+        this.stocks = new int[count];
+        for (int i = 0, k = 0; i < included.length; i++) {
+            if (included[i]) stocks[k++] = i;
+        }
+    }
+
+    /**
+     * @param maxDebtRatio 최대 부채비율 (null 이면 전체)
+     * @param mode 점수 방식 (null 이면 RANK)
+     */
+    static ScreeningFactorScores of(FactorRankSnapshot snapshot, BigDecimal maxDebtRatio,
+                                    ScreeningRequest.ScoringMode mode) {
+        return new ScreeningFactorScores(snapshot,
+                mode != null ? mode : ScreeningRequest.ScoringMode.RANK,
+                snapshot.filterByDebtRatio(maxDebtRatio));
+    }
+
+    FactorRankSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 대상 종목 수
+     */
+    int size() {
+        return stocks.length;
+    }
+
+    /**
+     * k번째 대상 종목의 스냅샷 인덱스
+     */
+    int stock(int k) {
+        return stocks[k];
+    }
+
+    /**
+     * 대상 종목의 팩터 점수 (소수점 6자리 정수, 대상 종목 순)
+     */
+    synchronized long[] micros(String code) {
+        long[] micros = microScores.get(code);
+        if (micros == null) {
+            micros = CompositeScoring.toMicros(raw(code), stocks);
+            microScores.put(code, micros);
+        }
+        return micros;
+    }
+
+    /**
+     * 전체 종목 길이의 double 팩터 점수 (대상이 아닌 종목은 0)
+     */
+    synchronized double[] raw(String code) {
+        double[] raw = rawScores.get(code);
+        if (raw == null) {
+            raw = snapshot.scores(code, included, stocks.length, mode);
+            rawScores.put(code, raw);
+        }
+        return raw;
+    }
+
+    /**
+     * 가중치 순서의 팩터 점수 열
+     */
+    long[][] columns(Map<String, BigDecimal> weights) {
+        long[][] columns = new long[weights.size()][];
+        int f = 0;
+        for (String code : weights.keySet()) {
+            columns[f++] = micros(code);
+        }
+        return columns;
+    }
+
+
+}//class
@@ -0,0 +1,171 @@
+package com.app.domain.screening.service;
+
+
+import com.app.domain.screening.dto.ScreeningRequest;
+import com.app.domain.screening.dto.ScreeningResponse;
+import com.app.domain.screening.dto.ScreeningResultPage;
+import com.app.domain.screening.entity.MultifactorScreening;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 가중치 변경 미리보기 (DB 저장 없음)
+ *
+ * <p>가중치 슬라이더를 움직일 때마다 세션 결과를 지우고 다시 저장하지 않도록, 팩터 점수는
+ * (스냅샷 버전, 최대 부채비율, 점수 방식) 단위로 캐시하고 ({@link ScreeningFactorScores},
+ * 팩터별로 처음 쓸 때 계산) 요청마다 복합 점수만 선형 결합한다.
+ * 요청한 페이지까지의 상위 k개만 크기 k의 힙({@link CompositeScoring#rank})으로 고르므로 O(n log k) 이다.
+ * 결과는 저장하지 않으며, 확정은 {@link MultifactorScreeningService#performScreening} 으로 한다.</p>
+ */
+@Service
+@Slf4j
+public class ScreeningPreviewService {
+
+
+    /**
+     * 상위 선별 종목 수 (저장 결과의 is_selected 와 동일)
+     */
+    private static final int SELECTED_COUNT = 50;
+
+    private final FactorRankSnapshotService snapshotService;
+    private final FactorRegistry factorRegistry;
+    private final int maxEntries;
+
+    private final LinkedHashMap<ScoreKey, ScreeningFactorScores> entries;
+
+    private long snapshotVersion;
+
+    public ScreeningPreviewService(FactorRankSnapshotService snapshotService,
+                                   FactorRegistry factorRegistry,
+                                   @Value("${screening.preview.cache.max-entries:16}") int maxEntries) {
+        this.snapshotService = snapshotService;
+        this.factorRegistry = factorRegistry;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ScoreKey, ScreeningFactorScores> eldest) {
+                return size() > ScreeningPreviewService.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 가중치 미리보기 (순위순 페이지)
+     * @param request 스크리닝 조건
+     * @param sessionId 세션 ID (응답 표기용)
+     * @param page 페이지 번호 (0부터)
+     * @param size 페이지 크기
+     */
+    public ScreeningResultPage preview(ScreeningRequest request, String sessionId, int page, int size) {
+        long startTime = System.currentTimeMillis();
+
+        LinkedHashMap<String, BigDecimal> weights = factorRegistry.resolveWeights(request);
+        if (page < 0 || size < 1) {
+            throw new IllegalArgumentException("페이지 번호는 0 이상, 페이지 크기는 1 이상이어야 합니다.");
+        }
+
+        // 1. 팩터 점수 (캐시)
+        FactorRankSnapshot snapshot = snapshotService.current();
+        ScreeningFactorScores scores = factorScores(snapshot, request);
+        int count = scores.size();
+
+        // 2. 복합 점수 (저장 결과와 같은 소수점 6자리 정수)
+        long[][] columns = scores.columns(weights);
+        long[] composite = CompositeScoring.composite(columns, weights.values().toArray(new BigDecimal[0]));
+
+        // 3. 요청 페이지까지 상위 k개
+        int from = (int) Math.min((long) page * size, count);
+        int k = (int) Math.min((long) (page + 1) * size, count);
+        int[] ranked = CompositeScoring.rank(composite, k);
+
+        List<String> codes = new ArrayList<>(weights.keySet());
+        List<ScreeningResponse> responses = new ArrayList<>(k - from);
+        LocalDate screeningDate = LocalDate.now();
+        for (int r = from; r < k; r++) {
+            int i = ranked[r];
+            MultifactorScreening stock = snapshot.newScreening(scores.stock(i));
+            Map<String, BigDecimal> factorScores = new LinkedHashMap<>();
+            for (int f = 0; f < codes.size(); f++) {
+                factorScores.put(codes.get(f), CompositeScoring.toDecimal(columns[f][i]));
+            }
+            responses.add(ScreeningResponse.builder()
+                    .ticker(stock.getTicker())
+                    .stockName(stock.getStockName())
+                    .industry(stock.getIndustry())
+                    .per(stock.getPer())
+                    .pbr(stock.getPbr())
+                    .roe(stock.getRoe())
+                    .perScore(factorScores.get(BuiltInFactor.PER.getCode()))
+                    .pbrScore(factorScores.get(BuiltInFactor.PBR.getCode()))
+                    .roeScore(factorScores.get(BuiltInFactor.ROE.getCode()))
+                    .compositeScore(CompositeScoring.toDecimal(composite[i]))
+                    .factorScores(factorScores)
+                    .ranking(r + 1)
+                    .isSelected(r < SELECTED_COUNT)
+                    .closePrice(stock.getClosePrice())
+                    .debtRatio(stock.getDebtRatio())
+                    .screeningDate(screeningDate)
+                    .build());
+        }
+
+        log.debug("스크리닝 미리보기 - 대상: {}개, 페이지: {}, 소요시간: {}ms",
+                count, page, System.currentTimeMillis() - startTime);
+
+        return ScreeningResultPage.builder()
+                .screeningResults(responses)
+                .totalElements(count)
+                .totalPages((int) Math.ceil((double) count / size))
+                .currentPage(page)
+                .pageSize(size)
+                .hasNext((long) (page + 1) * size < count)
+                .hasPrevious(page > 0)
+                .totalStocksAnalyzed(count)
+                .selectedStocksCount(Math.min(count, SELECTED_COUNT))
+                .sessionId(sessionId)
+                .build();
+    }
+
+    // === Private Methods ===
+
+    /**
+     * 부채비율 조건·점수 방식별 팩터 점수 (팩터 열은 처음 쓸 때 계산)
+     */
+    private ScreeningFactorScores factorScores(FactorRankSnapshot snapshot, ScreeningRequest request) {
+        ScreeningRequest.ScoringMode mode = request.getScoringMode() != null
+                ? request.getScoringMode() : ScreeningRequest.ScoringMode.RANK;
+        BigDecimal maxDebtRatio = request.getMaxDebtRatio() != null
+                ? request.getMaxDebtRatio().stripTrailingZeros() : null;
+        ScoreKey key = new ScoreKey(maxDebtRatio, mode);
+
+        synchronized (this) {
+            if (snapshot.getVersion() < snapshotVersion) {
+                // 이미 더 새 스냅샷이 발행됨 - 캐시하지 않음
+                return ScreeningFactorScores.of(snapshot, maxDebtRatio, mode);
+            }
+            if (snapshot.getVersion() > snapshotVersion) {
+                entries.clear();
+                snapshotVersion = snapshot.getVersion();
+            }
+            ScreeningFactorScores scores = entries.get(key);
+            if (scores == null) {
+                // 마스크만 만들고 팩터 열은 처음 쓸 때 계산하므로 락 안에서 생성
+                scores = ScreeningFactorScores.of(snapshot, maxDebtRatio, mode);
+                entries.put(key, scores);
+            }
+            return scores;
+        }
+    }
+
+    private record ScoreKey(BigDecimal maxDebtRatio, ScreeningRequest.ScoringMode mode) {
+    }
+
+
+}//class
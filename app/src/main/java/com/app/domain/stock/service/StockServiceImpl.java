@@ -1,11 +1,13 @@
 package com.app.domain.stock.service;
 
+import com.app.domain.common.event.StockFundamentalsChangedEvent;
 import com.app.domain.stock.dto.PageResponseDto;
 import com.app.domain.stock.dto.StockSearchDto;
 import com.app.domain.stock.entity.Stock;
 import com.app.domain.stock.mapper.StockMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -22,6 +24,7 @@ public class StockServiceImpl implements StockService {
 
 
     private final StockMapper stockMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 주식 목록 조회 (페이지네이션)
@@ -209,6 +212,9 @@ public class StockServiceImpl implements StockService {
             // 결과 확인
             validateCalculationResults();
 
+            // 재무지표 변경 알림 (팩터 순위 스냅샷은 커밋 후 비동기로 재생성)
+            eventPublisher.publishEvent(new StockFundamentalsChangedEvent(this, null));
+
         } catch (Exception e) {
             log.error("재무지표 계산 중 오류 발생", e);
             throw new RuntimeException("재무지표 계산 실패", e);
@@ -226,6 +232,7 @@ public class StockServiceImpl implements StockService {
         log.info("ROE 계산 시작");
         int count = stockMapper.updateROE();
         log.info("ROE 계산 완료: {} 건", count);
+        eventPublisher.publishEvent(new StockFundamentalsChangedEvent(this, null));
         return count;
     }
 
@@ -238,6 +245,7 @@ public class StockServiceImpl implements StockService {
         log.info("부채비율 계산 시작");
         int count = stockMapper.updateDebtRatio();
         log.info("부채비율 계산 완료: {} 건", count);
+        eventPublisher.publishEvent(new StockFundamentalsChangedEvent(this, null));
         return count;
     }
 
@@ -250,6 +258,7 @@ public class StockServiceImpl implements StockService {
         log.info("PER 계산 시작");
         int count = stockMapper.updatePER();
         log.info("PER 계산 완료: {} 건", count);
+        eventPublisher.publishEvent(new StockFundamentalsChangedEvent(this, null));
         return count;
     }
 
@@ -262,6 +271,7 @@ public class StockServiceImpl implements StockService {
         log.info("PBR 계산 시작");
         int count = stockMapper.updatePBR();
         log.info("PBR 계산 완료: {} 건", count);
+        eventPublisher.publishEvent(new StockFundamentalsChangedEvent(this, null));
         return count;
     }
 
@@ -274,6 +284,7 @@ public class StockServiceImpl implements StockService {
         log.info("종목 {} 재무지표 계산 시작", ticker);
         int count = stockMapper.calculateRatiosByTicker(ticker);
         log.info("종목 {} 재무지표 계산 완료: {} 건", ticker, count);
+        eventPublisher.publishEvent(new StockFundamentalsChangedEvent(this, ticker));
     }
 
     /**
@@ -10,6 +10,7 @@ DROP TABLE IF EXISTS optimal_portfolio;
 DROP TABLE IF EXISTS efficient_frontier;
 DROP TABLE IF EXISTS correlation_analysis;
 DROP TABLE IF EXISTS user_selected_assets;
+DROP TABLE IF EXISTS multifactor_screening_factor_score;
 DROP TABLE IF EXISTS multifactor_screening;
 DROP TABLE IF EXISTS portfolio_settings;
 
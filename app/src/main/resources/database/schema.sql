@@ -120,6 +120,20 @@ CREATE TABLE multifactor_screening (
     FOREIGN KEY (ticker) REFERENCES stock(ticker) ON DELETE CASCADE
 ) ENGINE=InnoDB COMMENT='PER, PBR, ROE 기반 종목 평가 및 상위 50개 선별';
 
+-- 4-1. 멀티팩터 스크리닝 팩터별 점수 테이블 (팩터 추가 시 스키마 변경 없음)
+CREATE TABLE multifactor_screening_factor_score (
+    session_id VARCHAR(50) NOT NULL COMMENT '세션 ID',
+    ticker VARCHAR(10) NOT NULL COMMENT '티커 심볼',
+    factor_code VARCHAR(30) NOT NULL COMMENT '팩터 코드 (PER, EPS, MOMENTUM 등)',
+    score DECIMAL(8,6) NOT NULL COMMENT '팩터 점수',
+    weight DECIMAL(10,9) COMMENT '팩터 가중치',
+    
+    PRIMARY KEY (session_id, ticker, factor_code),
+    
+    FOREIGN KEY (session_id) REFERENCES user_session(session_id) ON DELETE CASCADE,
+    FOREIGN KEY (ticker) REFERENCES stock(ticker) ON DELETE CASCADE
+) ENGINE=InnoDB COMMENT='세션·종목·팩터 단위 팩터 점수 (세로형)';
+
 -- 5. 사용자 선택 자산 테이블
 CREATE TABLE user_selected_assets (
     selection_id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '선택 ID',
@@ -214,9 +228,12 @@ CREATE TABLE optimal_portfolio (
     portfolio_risk DECIMAL(8,6) COMMENT '포트폴리오 위험도',
     sharpe_ratio DECIMAL(8,6) COMMENT '샤프 비율',
     portfolio_name VARCHAR(100) COMMENT '포트폴리오 명',
+    batch_id VARCHAR(36) COMMENT '일괄 최적화 ID (대화형 최적화 결과는 NULL)',
+    basket_id VARCHAR(60) COMMENT '일괄 최적화 바스켓 ID',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '생성일시',
     
     INDEX idx_session_type_rank (session_id, portfolio_type, portfolio_rank),
+    INDEX idx_session_batch (session_id, batch_id, basket_id),
     INDEX idx_sharpe_desc (sharpe_ratio DESC),
     INDEX idx_weight (weight DESC),
     
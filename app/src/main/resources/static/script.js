@@ -476,6 +476,14 @@ async function loadHeatmap() {
     try {
         console.log('히트맵 로드 시작');
 
+        // 스트리밍 응답을 먼저 사용하고, 실패하면 일괄 응답으로 대체
+        try {
+            await loadHeatmapStream();
+            return;
+        } catch (streamError) {
+            console.warn('히트맵 스트리밍 실패, 일괄 조회로 대체:', streamError);
+        }
+
         // 티커 없이 호출 (분석된 데이터 사용)
         const response = await apiCall('/api/correlation/heatmap');
 
@@ -494,6 +502,99 @@ async function loadHeatmap() {
     }
 }
 
+/**
+ * 히트맵 스트리밍 로드 (NDJSON: header → row → summary)
+ * - 표시하는 1년 상관계수만 요청하고, 행이 도착하는 대로 표에 추가
+ */
+async function loadHeatmapStream() {
+    const card = document.getElementById('heatmap-card');
+    const displayDiv = document.getElementById('heatmap-display');
+
+    const response = await fetch(API_BASE_URL + '/api/correlation/heatmap/stream?period=1Y', {
+        headers: { 'Accept': 'application/x-ndjson' },
+        credentials: 'include'
+    });
+
+    if (!response.ok || !response.body) {
+        throw new Error(`HTTP error! status: ${response.status}`);
+    }
+
+    const reader = response.body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = '';
+    let tickers = [];
+    let tbody = null;
+
+    const handleLine = (line) => {
+        if (!line.trim()) return;
+        const message = JSON.parse(line);
+
+        if (message.type === 'header') {
+            tickers = message.labels || [];
+            card.style.display = 'block';
+            displayDiv.innerHTML = `
+              <div style="overflow-x: auto;">
+                <table class="table" style="min-width: 600px;">
+                  <thead>
+                    <tr>
+                      <th></th>
+                      ${tickers.map(t => `<th>${t}</th>`).join('')}
+                    </tr>
+                  </thead>
+                  <tbody></tbody>
+                </table>
+              </div>
+            `;
+            tbody = displayDiv.querySelector('tbody');
+        } else if (message.type === 'row' && tbody) {
+            const values = message['1Y'] || [];
+            let rowHtml = `<td><strong>${message.ticker}</strong></td>`;
+            values.forEach(value => {
+                rowHtml += `<td style="background-color: ${getCorrelationColor(value)}; text-align: center;">
+          ${value !== null && value !== undefined ? value.toFixed(3) : '-'}
+        </td>`;
+            });
+            const tr = document.createElement('tr');
+            tr.innerHTML = rowHtml;
+            tbody.appendChild(tr);
+        } else if (message.type === 'summary') {
+            displayDiv.insertAdjacentHTML('beforeend', heatmapLegendHtml());
+        }
+    };
+
+    while (true) {
+        const { done, value } = await reader.read();
+        if (done) break;
+
+        buffer += decoder.decode(value, { stream: true });
+        let newline;
+        while ((newline = buffer.indexOf('\n')) >= 0) {
+            handleLine(buffer.slice(0, newline));
+            buffer = buffer.slice(newline + 1);
+        }
+    }
+    handleLine(buffer);
+
+    if (!tbody) {
+        throw new Error('히트맵 헤더를 받지 못했습니다.');
+    }
+}
+
+function heatmapLegendHtml() {
+    return `
+      <div style="margin-top: 1rem; padding: 1rem; background-color: var(--bg-beige); border-radius: 8px;">
+        <div style="font-size: 0.9rem; color: var(--text-gray);">
+          <strong>범례:</strong>
+          <span style="display: inline-block; width: 20px; height: 20px; background: rgba(231, 76, 60, 0.3); margin-left: 1rem; border-radius: 4px;"></span> 높은 상관관계 (0.7~1.0)
+          <span style="display: inline-block; width: 20px; height: 20px; background: rgba(243, 156, 18, 0.3); margin-left: 0.5rem; border-radius: 4px;"></span> 중간 상관관계 (0.3~0.7)
+          <span style="display: inline-block; width: 20px; height: 20px; background: rgba(39, 174, 96, 0.3); margin-left: 0.5rem; border-radius: 4px;"></span> 낮은 상관관계 (0~0.3)
+          <br><br>
+          <small style="color: var(--text-gray);">💡 상관계수가 0.7 이상이면 두 종목이 함께 움직이므로 분산 효과가 낮습니다.</small>
+        </div>
+      </div>
+    `;
+}
+
 function displayHeatmap(data) {
     const card = document.getElementById('heatmap-card');
     const displayDiv = document.getElementById('heatmap-display');
@@ -548,16 +649,7 @@ function displayHeatmap(data) {
           </tbody>
         </table>
       </div>
-      <div style="margin-top: 1rem; padding: 1rem; background-color: var(--bg-beige); border-radius: 8px;">
-        <div style="font-size: 0.9rem; color: var(--text-gray);">
-          <strong>범례:</strong>
-          <span style="display: inline-block; width: 20px; height: 20px; background: rgba(231, 76, 60, 0.3); margin-left: 1rem; border-radius: 4px;"></span> 높은 상관관계 (0.7~1.0)
-          <span style="display: inline-block; width: 20px; height: 20px; background: rgba(243, 156, 18, 0.3); margin-left: 0.5rem; border-radius: 4px;"></span> 중간 상관관계 (0.3~0.7)
-          <span style="display: inline-block; width: 20px; height: 20px; background: rgba(39, 174, 96, 0.3); margin-left: 0.5rem; border-radius: 4px;"></span> 낮은 상관관계 (0~0.3)
-          <br><br>
-          <small style="color: var(--text-gray);">💡 상관계수가 0.7 이상이면 두 종목이 함께 움직이므로 분산 효과가 낮습니다.</small>
-        </div>
-      </div>
+      ${heatmapLegendHtml()}
     `;
 
     displayDiv.innerHTML = html;
@@ -0,0 +1,163 @@
+package com.app.domain.backtest.service;
+
+import com.app.domain.backtest.dto.BacktestRequest;
+import com.app.domain.backtest.dto.BacktestResponse;
+import com.app.domain.backtest.mapper.BacktestMapper;
+import com.app.domain.correlation.service.RiskParityAllocator;
+import com.app.domain.portfolio.service.CovarianceEstimators;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class BacktestEngineTest {
+
+	private static final List<String> TICKERS = List.of("A", "B", "C", "D");
+	private static final double[] VOLATILITY = {0.005, 0.01, 0.02, 0.015};
+
+	@Test
+	void equalizesRiskContributionsOnCompleteCaseDays() {
+		// D 는 홀수 거래일 종가가 없어 수익률이 대부분 NaN
+		PricePanel panel = panel(120, true);
+		BacktestEngine engine = engine(panel, BacktestRequest.Weighting.RISK_PARITY);
+		int[] chosen = {0, 1, 2};
+		int length = panel.length();
+
+		double[] weights = engine.allocate(chosen, panel.returns(), length);
+
+		double[] covariance = completeCaseCovariance(panel, chosen);
+		double[] contributions = RiskParityAllocator.riskContributions(covariance, weights, 3);
+		assertThat(weights[0] + weights[1] + weights[2]).isCloseTo(1.0, within(1e-12));
+		assertThat(weights[0]).isGreaterThan(weights[1]);
+		assertThat(weights[1]).isGreaterThan(weights[2]);
+		for (double contribution : contributions) {
+			assertThat(contribution).isCloseTo(1.0 / 3.0, within(1e-6));
+		}
+	}
+
+	@Test
+	void fallsBackToEqualWeightsWithoutEnoughCompleteDays() {
+		PricePanel panel = panel(120, true);
+		BacktestEngine engine = engine(panel, BacktestRequest.Weighting.HRP);
+
+		// D 와 함께 모두 관측된 날이 없음
+		double[] weights = engine.allocate(new int[]{0, 3}, panel.returns(), panel.length());
+
+		assertThat(weights).containsExactly(0.5, 0.5);
+	}
+
+	@Test
+	void runsMonthlyRebalancesWithFullyInvestedWeights() throws Exception {
+		PricePanel panel = panel(200, false);
+		BacktestEngine engine = engine(panel, BacktestRequest.Weighting.HRP);
+		List<BacktestResponse.Rebalance> rebalances = new ArrayList<>();
+		List<BacktestResponse.DailyPoint> days = new ArrayList<>();
+		BacktestResponse.Summary[] summary = new BacktestResponse.Summary[1];
+
+		engine.run(panel.getDate(80), panel.getDate(199), new BacktestListener() {
+			@Override
+			public void onRebalance(BacktestResponse.Rebalance rebalance) {
+				rebalances.add(rebalance);
+			}
+
+			@Override
+			public void onDay(BacktestResponse.DailyPoint point) {
+				days.add(point);
+			}
+
+			@Override
+			public void onComplete(BacktestResponse.Summary result) {
+				summary[0] = result;
+			}
+		}, System.currentTimeMillis());
+
+		assertThat(days).hasSize(120);
+		assertThat(rebalances).isNotEmpty();
+		assertThat(summary[0].getRebalanceCount()).isEqualTo(rebalances.size());
+		assertThat(summary[0].getTotalReturn()).isCloseTo(days.get(days.size() - 1).getNav() - 1.0, within(1e-12));
+		for (int r = 0; r < rebalances.size(); r++) {
+			BacktestResponse.Rebalance rebalance = rebalances.get(r);
+			if (r > 0) {
+				assertThat(rebalance.getDate().getMonth()).isNotEqualTo(rebalances.get(r - 1).getDate().getMonth());
+			}
+			double sum = rebalance.getHoldings().stream().mapToDouble(BacktestResponse.Holding::getWeight).sum();
+			assertThat(sum).isCloseTo(1.0, within(1e-9));
+		}
+	}
+
+	private static BacktestEngine engine(PricePanel panel, BacktestRequest.Weighting weighting) {
+		BacktestRequest request = BacktestRequest.builder()
+				.weighting(weighting)
+				.screeningSize(4)
+				.targetStockCount(3)
+				.highCorrelationThreshold(0.9)
+				.transactionCostBps(0.0)
+				.build();
+		double[] eps = {10, 20, 30, 40};
+		double[] bps = {100, 150, 200, 250};
+		double[] roe = {0.10, 0.12, 0.08, 0.15};
+		return new BacktestEngine(panel, eps, bps, roe, request, 3, 252);
+	}
+
+	/**
+	 * 평일 거래일, 종목별 변동성이 다른 무작위 종가 패널
+	 */
+	private static PricePanel panel(int length, boolean sparseLast) {
+		List<LocalDate> dates = new ArrayList<>();
+		LocalDate date = LocalDate.of(2024, 1, 1);
+		while (dates.size() < length) {
+			if (date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY) {
+				dates.add(date);
+			}
+			date = date.plusDays(1);
+		}
+
+		PricePanel.Loader loader = PricePanel.loader(TICKERS, dates);
+		DefaultResultContext<BacktestMapper.ClosePriceRow> context = new DefaultResultContext<>();
+		Random random = new Random(7);
+		double[] price = {100, 100, 100, 100};
+		for (int t = 0; t < length; t++) {
+			double market = random.nextGaussian();
+			for (int i = 0; i < TICKERS.size(); i++) {
+				price[i] *= 1.0 + VOLATILITY[i] * (0.5 * market + random.nextGaussian());
+				if (sparseLast && i == TICKERS.size() - 1 && t % 2 == 1) continue;
+
+				BacktestMapper.ClosePriceRow row = new BacktestMapper.ClosePriceRow();
+				row.setTicker(TICKERS.get(i));
+				row.setPriceDate(dates.get(t));
+				row.setClosePrice(price[i]);
+				context.nextResultObject(row);
+				loader.handleResult(context);
+			}
+		}
+		return loader.finish();
+	}
+
+	/**
+	 * 선택 종목이 모두 관측된 날의 Ledoit-Wolf 공분산
+	 */
+	private static double[] completeCaseCovariance(PricePanel panel, int[] chosen) {
+		int length = panel.length();
+		List<Integer> days = new ArrayList<>();
+		for (int t = 0; t < length; t++) {
+			boolean complete = true;
+			for (int i : chosen) complete &= !Double.isNaN(panel.dailyReturn(i, t));
+			if (complete) days.add(t);
+		}
+		double[] returns = new double[chosen.length * days.size()];
+		for (int a = 0; a < chosen.length; a++) {
+			for (int d = 0; d < days.size(); d++) {
+				returns[a * days.size() + d] = panel.dailyReturn(chosen[a], days.get(d));
+			}
+		}
+		return CovarianceEstimators.ledoitWolf(returns, chosen.length, days.size());
+	}
+
+}
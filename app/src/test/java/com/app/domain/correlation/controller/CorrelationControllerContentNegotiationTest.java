@@ -0,0 +1,110 @@
+package com.app.domain.correlation.controller;
+
+import com.app.app.global.util.SessionUtil;
+import com.app.domain.correlation.dto.CorrelationAnalysisResponse;
+import com.app.domain.correlation.dto.DiversificationResponse;
+import com.app.domain.correlation.entity.CorrelationAnalysis;
+import com.app.domain.correlation.service.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class CorrelationControllerContentNegotiationTest {
+
+	private static final String SESSION_ID = "test-session";
+	private static final String OPTIMIZE_BODY = "{\"tickers\":[\"A\",\"B\",\"C\"],\"analysisPeriod\":\"1Y\"}";
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		CorrelationService correlationService = mock(CorrelationService.class);
+		DiversificationService diversificationService = mock(DiversificationService.class);
+		SessionUtil sessionUtil = mock(SessionUtil.class);
+		when(sessionUtil.getBusinessSessionId(any())).thenReturn(SESSION_ID);
+
+		when(correlationService.getCorrelationAnalysisResults(SESSION_ID)).thenReturn(
+				CorrelationAnalysisResponse.builder().sessionId(SESSION_ID).tickers(List.of("A", "B")).build());
+		when(correlationService.loadCorrelationMatrix(SESSION_ID)).thenReturn(IndexedCorrelationMatrix.of(List.of(
+				CorrelationAnalysis.builder().ticker1("A").ticker2("B")
+						.correlation3m(0.1).correlation6m(0.2).correlation1y(0.3).build())));
+
+		Map<String, Map<String, Double>> matrix = new LinkedHashMap<>();
+		matrix.put("A", Map.of("A", 1.0, "C", 0.2));
+		matrix.put("C", Map.of("A", 0.2, "C", 1.0));
+		when(diversificationService.optimizeDiversification(any())).thenReturn(DiversificationResponse.builder()
+				.sessionId(SESSION_ID)
+				.selectedStocks(List.of())
+				.excludedStocks(List.of())
+				.correlationMatrix(matrix)
+				.build());
+
+		mockMvc = MockMvcBuilders.standaloneSetup(new CorrelationController(
+				correlationService, diversificationService, mock(CorrelationJobService.class),
+				mock(CorrelationHeatmapStreamWriter.class), sessionUtil)).build();
+	}
+
+	@Test
+	void resultsReturnJsonByDefault() throws Exception {
+		mockMvc.perform(get("/api/correlation/results").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.data.sessionId").value(SESSION_ID));
+	}
+
+	@Test
+	void resultsReturnBinaryMatrixForVendorAccept() throws Exception {
+		byte[] body = mockMvc.perform(get("/api/correlation/results")
+						.accept(CorrelationMatrixBinaryEncoder.MEDIA_TYPE_VALUE + ";precision=64"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(CorrelationMatrixBinaryEncoder.MEDIA_TYPE))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		assertThat(new String(body, 0, 4, StandardCharsets.US_ASCII)).isEqualTo("CMX1");
+		assertThat(body[4]).isEqualTo((byte) 8);
+		assertThat(body[5]).isEqualTo((byte) 3);
+	}
+
+	@Test
+	void optimizeKeepsFullJsonPayloadAndRejectsBinaryAccept() throws Exception {
+		mockMvc.perform(post("/api/correlation/diversification/optimize")
+						.contentType(MediaType.APPLICATION_JSON).content(OPTIMIZE_BODY)
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.selectedStocks").isArray())
+				.andExpect(jsonPath("$.correlationMatrix.A.C").value(0.2));
+
+		mockMvc.perform(post("/api/correlation/diversification/optimize")
+						.contentType(MediaType.APPLICATION_JSON).content(OPTIMIZE_BODY)
+						.accept(CorrelationMatrixBinaryEncoder.MEDIA_TYPE_VALUE))
+				.andExpect(status().isNotAcceptable());
+	}
+
+	@Test
+	void optimizeMatrixReturnsBinaryOnItsOwnUrl() throws Exception {
+		byte[] body = mockMvc.perform(post("/api/correlation/diversification/optimize/matrix")
+						.contentType(MediaType.APPLICATION_JSON).content(OPTIMIZE_BODY)
+						.accept(CorrelationMatrixBinaryEncoder.MEDIA_TYPE_VALUE))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(CorrelationMatrixBinaryEncoder.MEDIA_TYPE))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		assertThat(new String(body, 0, 4, StandardCharsets.US_ASCII)).isEqualTo("CMX1");
+		assertThat(body[4]).isEqualTo((byte) 4);
+		assertThat(body[5]).isEqualTo((byte) 1);
+	}
+
+}
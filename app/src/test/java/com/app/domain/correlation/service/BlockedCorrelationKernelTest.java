@@ -0,0 +1,105 @@
+package com.app.domain.correlation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class BlockedCorrelationKernelTest {
+
+	@Test
+	void matchesPairwisePearsonAcrossTilesAndChunks() {
+		// 병렬 경로, 여러 블록, 여러 거래일 구간, 부분 구간 [from, to)
+		int n = BlockedCorrelationKernel.PARALLEL_THRESHOLD + BlockedCorrelationKernel.TILE + 5;
+		int stride = BlockedCorrelationKernel.CHUNK * 2 + 40;
+		int from = 17, to = stride - 3;
+		double[] values = returns(new Random(21), n, stride);
+		// 결측치가 있는 종목 (공통 거래일 경로)
+		for (int t = 0; t < stride; t += 9) values[3 * stride + t] = Double.NaN;
+		for (int t = 5; t < stride; t += 13) values[70 * stride + t] = Double.NaN;
+
+		double[] matrix = BlockedCorrelationKernel.compute(values, n, stride, from, to);
+
+		for (int i = 0; i < n; i++) {
+			assertThat(matrix[i * n + i]).isEqualTo(1.0);
+			for (int j = i + 1; j < n; j++) {
+				double expected = BlockedCorrelationKernel.pairwisePearson(values, i * stride, j * stride, from, to);
+				assertThat(matrix[i * n + j]).isCloseTo(expected, within(1e-12));
+				assertThat(matrix[j * n + i]).isEqualTo(matrix[i * n + j]);
+			}
+		}
+	}
+
+	@Test
+	void returnsNaNForConstantOrTooShortSeries() {
+		int n = 3, stride = 50;
+		double[] values = returns(new Random(2), n, stride);
+		for (int t = 0; t < stride; t++) values[stride + t] = 0.01;
+		for (int t = 1; t < stride; t++) values[2 * stride + t] = Double.NaN;
+
+		double[] matrix = BlockedCorrelationKernel.compute(values, n, stride, 0, stride);
+
+		assertThat(matrix[1]).isNaN();
+		assertThat(matrix[2]).isNaN();
+		assertThat(matrix[5]).isNaN();
+	}
+
+	@Test
+	void reportsEveryPairAndStopsWhenCancelled() {
+		int n = 100, stride = 60;
+		double[] values = returns(new Random(8), n, stride);
+		AtomicInteger computed = new AtomicInteger();
+
+		BlockedCorrelationKernel.compute(values, n, stride, 0, stride, progress(computed, false));
+
+		assertThat(computed.get()).isEqualTo(n * (n - 1) / 2);
+		assertThatThrownBy(() -> BlockedCorrelationKernel.compute(values, n, stride, 0, stride,
+				progress(new AtomicInteger(), true)))
+				.isInstanceOf(CancellationException.class);
+	}
+
+	private static double[] returns(Random random, int n, int stride) {
+		double[] values = new double[n * stride];
+		double[] market = new double[stride];
+		for (int t = 0; t < stride; t++) market[t] = random.nextGaussian();
+		for (int i = 0; i < n; i++) {
+			double beta = random.nextDouble();
+			for (int t = 0; t < stride; t++) {
+				values[i * stride + t] = 0.01 * (beta * market[t] + random.nextGaussian());
+			}
+		}
+		return values;
+	}
+
+	private static AnalysisProgress progress(AtomicInteger computed, boolean cancelled) {
+		return new AnalysisProgress() {
+			@Override
+			public void onStart(int totalPairs) {
+			}
+
+			@Override
+			public void onComputeStart(int pairs) {
+			}
+
+			@Override
+			public void onPairsComputed(int pairs) {
+				computed.addAndGet(pairs);
+			}
+
+			@Override
+			public void onPairsDone(int pairs) {
+			}
+
+			@Override
+			public boolean isCancelled() {
+				return cancelled;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,158 @@
+package com.app.domain.correlation.service;
+
+import com.app.domain.correlation.entity.CorrelationAnalysis;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CorrelationMatrixBinaryEncoderTest {
+
+	@Test
+	void indexedMatrixRoundTripsAllPeriods() {
+		List<CorrelationAnalysis> rows = List.of(
+				pair("005930", "000660", 0.81, 0.72, 0.65),
+				pair("005930", "035420", -0.12, null, 0.08),
+				pair("000660", "035420", 0.33, 0.41, null));
+		IndexedCorrelationMatrix matrix = IndexedCorrelationMatrix.of(rows);
+
+		for (int precision : new int[]{4, 8}) {
+			byte[] body = CorrelationMatrixBinaryEncoder.encode(matrix, precision);
+			Decoded decoded = Decoded.of(body);
+
+			assertThat(decoded.precision).isEqualTo(precision);
+			assertThat(decoded.labels).containsExactly("005930", "000660", "035420");
+			assertThat(decoded.values.keySet()).containsExactly("3M", "6M", "1Y");
+			for (String period : IndexedCorrelationMatrix.PERIODS) {
+				double[] values = decoded.values.get(period);
+				assertThat(values).hasSize(3);
+				int k = 0;
+				for (int i = 0; i < 3; i++) {
+					for (int j = i + 1; j < 3; j++) {
+						assertClose(values[k++], matrix.get(period, i, j), precision);
+					}
+				}
+			}
+			assertThat(Double.isNaN(decoded.values.get("6M")[1])).isTrue();
+			assertThat(Double.isNaN(decoded.values.get("1Y")[2])).isTrue();
+			assertThat(body).hasSize(expectedSize(decoded.labels, 3, precision));
+		}
+	}
+
+	@Test
+	void nestedMapRoundTripsSinglePeriod() {
+		Map<String, Map<String, Double>> matrix = new LinkedHashMap<>();
+		matrix.put("A", new LinkedHashMap<>(Map.of("A", 1.0, "B", 0.25, "C", -0.5)));
+		matrix.put("B", new LinkedHashMap<>(Map.of("A", 0.25, "B", 1.0)));
+		matrix.put("C", new LinkedHashMap<>(Map.of("A", -0.5, "C", 1.0)));
+
+		byte[] body = CorrelationMatrixBinaryEncoder.encode(matrix, "6M", 8);
+		Decoded decoded = Decoded.of(body);
+
+		assertThat(decoded.labels).containsExactly("A", "B", "C");
+		assertThat(decoded.values.keySet()).containsExactly("6M");
+		double[] values = decoded.values.get("6M");
+		assertThat(values[0]).isEqualTo(0.25);
+		assertThat(values[1]).isEqualTo(-0.5);
+		assertThat(Double.isNaN(values[2])).isTrue();
+	}
+
+	@Test
+	void payloadSizeScalesWithPeriods() {
+		// 200종목 float32: 기간당 19,900쌍 x 4바이트 ≒ 80KB, /results 는 3개 기간이라 약 240KB
+		List<CorrelationAnalysis> rows = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			for (int j = i + 1; j < 200; j++) {
+				rows.add(pair(String.format("%06d", i), String.format("%06d", j), 0.1, 0.2, 0.3));
+			}
+		}
+		byte[] body = CorrelationMatrixBinaryEncoder.encode(IndexedCorrelationMatrix.of(rows), 4);
+
+		assertThat(body.length).isBetween(3 * 19_900 * 4, 3 * 19_900 * 4 + 2_000);
+	}
+
+	@Test
+	void resolvesPrecisionFromAcceptHeader() {
+		assertThat(CorrelationMatrixBinaryEncoder.resolvePrecision(null)).isEqualTo(4);
+		assertThat(CorrelationMatrixBinaryEncoder.resolvePrecision(
+				CorrelationMatrixBinaryEncoder.MEDIA_TYPE_VALUE)).isEqualTo(4);
+		assertThat(CorrelationMatrixBinaryEncoder.resolvePrecision(
+				CorrelationMatrixBinaryEncoder.MEDIA_TYPE_VALUE + ";precision=64")).isEqualTo(8);
+		assertThat(CorrelationMatrixBinaryEncoder.resolvePrecision(
+				"application/json, " + CorrelationMatrixBinaryEncoder.MEDIA_TYPE_VALUE + ";precision=64")).isEqualTo(8);
+	}
+
+	private static CorrelationAnalysis pair(String ticker1, String ticker2, Double c3m, Double c6m, Double c1y) {
+		return CorrelationAnalysis.builder()
+				.ticker1(ticker1)
+				.ticker2(ticker2)
+				.correlation3m(c3m)
+				.correlation6m(c6m)
+				.correlation1y(c1y)
+				.build();
+	}
+
+	private static void assertClose(double actual, double expected, int precision) {
+		if (Double.isNaN(expected)) {
+			assertThat(Double.isNaN(actual)).isTrue();
+		} else if (precision == 8) {
+			assertThat(actual).isEqualTo(expected);
+		} else {
+			assertThat(actual).isEqualTo((double) (float) expected);
+		}
+	}
+
+	private static int expectedSize(List<String> labels, int periods, int precision) {
+		int n = labels.size();
+		int size = 4 + 2 + 4;
+		for (String label : labels) {
+			size += 2 + label.getBytes(StandardCharsets.UTF_8).length;
+		}
+		return size + periods * (2 + 2 + n * (n - 1) / 2 * precision);
+	}
+
+	/**
+	 * 테스트용 CMX1 디코더
+	 */
+	private static final class Decoded {
+		int precision;
+		List<String> labels = new ArrayList<>();
+		Map<String, double[]> values = new LinkedHashMap<>();
+
+		static Decoded of(byte[] body) {
+			ByteBuffer buffer = ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN);
+			byte[] magic = new byte[4];
+			buffer.get(magic);
+			assertThat(new String(magic, StandardCharsets.US_ASCII)).isEqualTo("CMX1");
+
+			Decoded decoded = new Decoded();
+			decoded.precision = buffer.get();
+			int periods = buffer.get();
+			int n = buffer.getInt();
+			for (int i = 0; i < n; i++) {
+				decoded.labels.add(readString(buffer));
+			}
+			for (int p = 0; p < periods; p++) {
+				String code = readString(buffer);
+				double[] values = new double[n * (n - 1) / 2];
+				for (int k = 0; k < values.length; k++) {
+					values[k] = decoded.precision == 8 ? buffer.getDouble() : buffer.getFloat();
+				}
+				decoded.values.put(code, values);
+			}
+			assertThat(buffer.hasRemaining()).isFalse();
+			return decoded;
+		}
+
+		private static String readString(ByteBuffer buffer) {
+			byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+			buffer.get(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.app.domain.correlation.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HierarchicalRiskParityAllocatorTest {
+
+	@Test
+	void splitsInverseVarianceBetweenTwoUncorrelatedAssets() {
+		double[] correlation = {1.0, 0.0, 0.0, 1.0};
+		double[] covariance = {1.0, 0.0, 0.0, 4.0};
+
+		double[] weights = HierarchicalRiskParityAllocator.allocate(correlation, covariance, 2);
+
+		assertThat(weights[0]).isCloseTo(0.8, within(1e-12));
+		assertThat(weights[1]).isCloseTo(0.2, within(1e-12));
+	}
+
+	@Test
+	void bisectsAlongClustersRegardlessOfInputOrder() {
+		// 입력 순서 A1, B1, A2, B2 - A 쌍 ρ=0.9, B 쌍 ρ=0.5, 군집 간 ρ=0
+		double[] correlation = {
+				1.0, 0.0, 0.9, 0.0,
+				0.0, 1.0, 0.0, 0.5,
+				0.9, 0.0, 1.0, 0.0,
+				0.0, 0.5, 0.0, 1.0
+		};
+		double[] covariance = correlation.clone();
+
+		double[] weights = HierarchicalRiskParityAllocator.allocate(correlation, covariance, 4);
+
+		// 군집 분산 (군집 내 역분산 비중 ½, ½): A = ¼(2 + 1.8) = 0.95, B = ¼(2 + 1.0) = 0.75
+		double alphaA = 1.0 - 0.95 / (0.95 + 0.75);
+		assertThat(weights[0]).isCloseTo(alphaA / 2, within(1e-12));
+		assertThat(weights[2]).isCloseTo(alphaA / 2, within(1e-12));
+		assertThat(weights[1]).isCloseTo((1.0 - alphaA) / 2, within(1e-12));
+		assertThat(weights[3]).isCloseTo((1.0 - alphaA) / 2, within(1e-12));
+	}
+
+	@Test
+	void treatsMissingCorrelationsAsZero() {
+		double[] correlation = {1.0, Double.NaN, Double.NaN, 1.0};
+		double[] covariance = {1.0, 0.0, 0.0, 1.0};
+
+		double[] weights = HierarchicalRiskParityAllocator.allocate(correlation, covariance, 2);
+
+		assertThat(weights).containsExactly(0.5, 0.5);
+	}
+
+}
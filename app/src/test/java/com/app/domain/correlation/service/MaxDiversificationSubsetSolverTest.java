@@ -0,0 +1,102 @@
+package com.app.domain.correlation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MaxDiversificationSubsetSolverTest {
+
+	@Test
+	void matchesExhaustiveSearchOnRandomInstances() {
+		Random random = new Random(3);
+		for (int trial = 0; trial < 20; trial++) {
+			int n = 14;
+			double[] cost = randomAbsCorrelation(random, n);
+
+			MaxDiversificationSubsetSolver.Result result = MaxDiversificationSubsetSolver.solve(cost, n, 0.6, 4, 10_000);
+
+			assertThat(result.optimal()).isTrue();
+			assertThat(result.selected()).hasSize(4).isSorted();
+			assertThat(subsetCost(cost, n, result.selected()))
+					.isCloseTo(bruteForce(cost, n, 0.6, 4), within(1e-12));
+		}
+	}
+
+	@Test
+	void neverPairsTickersAtOrAboveTheThreshold() {
+		Random random = new Random(9);
+		int n = 40;
+		double[] cost = randomAbsCorrelation(random, n);
+
+		int[] selected = MaxDiversificationSubsetSolver.solve(cost, n, 0.5, 8, 10_000).selected();
+
+		for (int a = 0; a < selected.length; a++) {
+			for (int b = a + 1; b < selected.length; b++) {
+				assertThat(cost[selected[a] * n + selected[b]]).isLessThan(0.5);
+			}
+		}
+	}
+
+	@Test
+	void shrinksTheTargetWhenNoFeasibleSubsetOfThatSizeExists() {
+		// 0, 1, 2 는 서로 모두 충돌, 3 은 누구와도 충돌하지 않음 - 최대 양립 집합 크기 2
+		int n = 4;
+		double[] cost = {
+				0.0, 0.9, 0.9, 0.1,
+				0.9, 0.0, 0.9, 0.2,
+				0.9, 0.9, 0.0, 0.3,
+				0.1, 0.2, 0.3, 0.0
+		};
+
+		MaxDiversificationSubsetSolver.Result result = MaxDiversificationSubsetSolver.solve(cost, n, 0.7, 3, 10_000);
+
+		assertThat(result.selected()).containsExactly(0, 3);
+		assertThat(result.optimal()).isTrue();
+	}
+
+	private static double[] randomAbsCorrelation(Random random, int n) {
+		double[] cost = new double[n * n];
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				double value = random.nextDouble();
+				cost[i * n + j] = value;
+				cost[j * n + i] = value;
+			}
+		}
+		return cost;
+	}
+
+	private static double subsetCost(double[] cost, int n, int[] subset) {
+		double sum = 0.0;
+		for (int a = 0; a < subset.length; a++) {
+			for (int b = a + 1; b < subset.length; b++) {
+				sum += cost[subset[a] * n + subset[b]];
+			}
+		}
+		return sum;
+	}
+
+	private static double bruteForce(double[] cost, int n, double threshold, int k) {
+		double best = Double.POSITIVE_INFINITY;
+		for (int mask = 0; mask < 1 << n; mask++) {
+			if (Integer.bitCount(mask) != k) continue;
+			int[] subset = new int[k];
+			int m = 0;
+			for (int i = 0; i < n; i++) {
+				if ((mask & 1 << i) != 0) subset[m++] = i;
+			}
+			boolean feasible = true;
+			for (int a = 0; a < k && feasible; a++) {
+				for (int b = a + 1; b < k && feasible; b++) {
+					feasible = cost[subset[a] * n + subset[b]] < threshold;
+				}
+			}
+			if (feasible) best = Math.min(best, subsetCost(cost, n, subset));
+		}
+		return best;
+	}
+
+}
@@ -0,0 +1,67 @@
+package com.app.domain.correlation.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class RiskParityAllocatorTest {
+
+	@Test
+	void equalizesRiskContributionsOnACorrelatedCovariance() {
+		double[] volatility = {0.10, 0.20, 0.35};
+		double[] correlation = {
+				1.0, 0.6, 0.2,
+				0.6, 1.0, -0.3,
+				0.2, -0.3, 1.0
+		};
+		double[] covariance = covariance(correlation, volatility);
+
+		RiskParityAllocator.Result result = RiskParityAllocator.solve(covariance, 3);
+		double[] contributions = RiskParityAllocator.riskContributions(covariance, result.weights(), 3);
+
+		assertThat(result.converged()).isTrue();
+		assertThat(result.weights()[0] + result.weights()[1] + result.weights()[2]).isCloseTo(1.0, within(1e-12));
+		for (double contribution : contributions) {
+			assertThat(contribution).isCloseTo(1.0 / 3.0, within(1e-8));
+		}
+	}
+
+	@Test
+	void reducesToInverseVolatilityWhenUncorrelated() {
+		double[] volatility = {0.1, 0.2, 0.4};
+		double[] covariance = covariance(new double[]{1, 0, 0, 0, 1, 0, 0, 0, 1}, volatility);
+
+		double[] weights = RiskParityAllocator.allocate(covariance, 3);
+
+		// 1/σ 비례: 10 : 5 : 2.5
+		assertThat(weights[0]).isCloseTo(10.0 / 17.5, within(1e-9));
+		assertThat(weights[1]).isCloseTo(5.0 / 17.5, within(1e-9));
+		assertThat(weights[2]).isCloseTo(2.5 / 17.5, within(1e-9));
+	}
+
+	@Test
+	void throwsInsteadOfReturningUnconvergedWeights() {
+		// 고유값 -1 인 양의 준정부호가 아닌 행렬 - 목적함수가 아래로 유계가 아님
+		double[] covariance = {1.0, -2.0, -2.0, 1.0};
+
+		RiskParityAllocator.Result result = RiskParityAllocator.solve(covariance, 2);
+
+		assertThat(result.converged()).isFalse();
+		assertThatThrownBy(() -> RiskParityAllocator.allocate(covariance, 2))
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	static double[] covariance(double[] correlation, double[] volatility) {
+		int n = volatility.length;
+		double[] covariance = new double[n * n];
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				covariance[i * n + j] = correlation[i * n + j] * volatility[i] * volatility[j];
+			}
+		}
+		return covariance;
+	}
+
+}
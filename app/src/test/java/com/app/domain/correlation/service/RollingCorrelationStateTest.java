@@ -0,0 +1,110 @@
+package com.app.domain.correlation.service;
+
+import com.app.domain.correlation.dto.CorrelationAnalysisRequest.AnalysisPeriod;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RollingCorrelationStateTest {
+
+	private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+	@Test
+	void staysAccurateAfterYearsOfRollingWithALargeCommonOffset() {
+		// 평균이 표준편차의 10^4 배라 비중심 합으로는 자릿수가 상쇄되는 수익률
+		Random random = new Random(11);
+		List<double[]> history = new ArrayList<>();
+		RollingCorrelationState state = new RollingCorrelationState(List.of("A", "B", "C"),
+				List.of(AnalysisPeriod.THREE_MONTH, AnalysisPeriod.ONE_YEAR));
+		for (int t = 0; t < 2000; t++) {
+			double common = random.nextGaussian();
+			double[] day = {
+					10.0 + 1e-3 * (common + random.nextGaussian()),
+					-5.0 + 1e-3 * (0.5 * common + random.nextGaussian()),
+					3.0 + 1e-3 * random.nextGaussian()
+			};
+			history.add(day);
+			state.append(START.plusDays(t), day);
+			state.advanceTo(START.plusDays(t));
+		}
+
+		LocalDate asOf = START.plusDays(1999);
+		for (AnalysisPeriod period : List.of(AnalysisPeriod.THREE_MONTH, AnalysisPeriod.ONE_YEAR)) {
+			int from = (int) (asOf.minusMonths(period.getMonths()).toEpochDay() - START.toEpochDay());
+			double[] matrix = state.matrix(period.getCode(), new int[]{0, 1, 2});
+
+			assertThat(matrix[1]).isCloseTo(pearson(history, from, 0, 1), within(1e-9));
+			assertThat(matrix[2]).isCloseTo(pearson(history, from, 0, 2), within(1e-9));
+			assertThat(matrix[5]).isCloseTo(pearson(history, from, 1, 2), within(1e-9));
+		}
+	}
+
+	@Test
+	void matchesDirectPearsonWhenMissingDaysRollOut() {
+		Random random = new Random(5);
+		List<double[]> history = new ArrayList<>();
+		RollingCorrelationState state = new RollingCorrelationState(List.of("A", "B"),
+				List.of(AnalysisPeriod.THREE_MONTH));
+		for (int t = 0; t < 400; t++) {
+			double common = random.nextGaussian();
+			double[] day = {0.01 * (common + random.nextGaussian()), 0.02 * (common + random.nextGaussian())};
+			// 초반에만 B 결측 - 기간 밖으로 밀려난 뒤에는 전체 관측 경로로 계산
+			if (t < 50 && t % 7 == 0) day[1] = Double.NaN;
+			history.add(day);
+			state.append(START.plusDays(t), day);
+			state.advanceTo(START.plusDays(t));
+
+			if (t == 60 || t == 399) {
+				int from = (int) (START.plusDays(t).minusMonths(3).toEpochDay() - START.toEpochDay());
+				double[] matrix = state.matrix("3M", new int[]{0, 1});
+				assertThat(matrix[1]).isCloseTo(pearson(history, from, 0, 1), within(1e-12));
+			}
+		}
+	}
+
+	@Test
+	void returnsNaNForAConstantSeries() {
+		RollingCorrelationState state = new RollingCorrelationState(List.of("A", "B"),
+				List.of(AnalysisPeriod.THREE_MONTH));
+		for (int t = 0; t < 200; t++) {
+			state.append(START.plusDays(t), new double[]{0.01, 0.001 * (t % 5)});
+			state.advanceTo(START.plusDays(t));
+		}
+
+		assertThat(state.matrix("3M", new int[]{0, 1})[1]).isNaN();
+	}
+
+	/**
+	 * 두 종목이 모두 관측된 날의 중심화 Pearson 상관계수
+	 */
+	private static double pearson(List<double[]> history, int from, int i, int j) {
+		int count = 0;
+		double meanX = 0.0, meanY = 0.0;
+		for (int t = Math.max(from, 0); t < history.size(); t++) {
+			double[] day = history.get(t);
+			if (Double.isNaN(day[i]) || Double.isNaN(day[j])) continue;
+			count++;
+			meanX += day[i];
+			meanY += day[j];
+		}
+		meanX /= count;
+		meanY /= count;
+
+		double sxy = 0.0, sxx = 0.0, syy = 0.0;
+		for (int t = Math.max(from, 0); t < history.size(); t++) {
+			double[] day = history.get(t);
+			if (Double.isNaN(day[i]) || Double.isNaN(day[j])) continue;
+			sxy += (day[i] - meanX) * (day[j] - meanY);
+			sxx += (day[i] - meanX) * (day[i] - meanX);
+			syy += (day[j] - meanY) * (day[j] - meanY);
+		}
+		return sxy / Math.sqrt(sxx * syy);
+	}
+
+}
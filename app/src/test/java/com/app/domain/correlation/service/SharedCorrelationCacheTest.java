@@ -0,0 +1,141 @@
+package com.app.domain.correlation.service;
+
+import com.app.domain.correlation.dto.CorrelationAnalysisRequest.AnalysisPeriod;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SharedCorrelationCacheTest {
+
+	private static final LocalDate AS_OF = LocalDate.of(2025, 6, 30);
+	private static final List<AnalysisPeriod> WINDOWS =
+			List.of(AnalysisPeriod.THREE_MONTH, AnalysisPeriod.SIX_MONTH, AnalysisPeriod.ONE_YEAR);
+
+	@Test
+	void holdsAMaximalUniverseRunWithTheDefaultLimit() {
+		SharedCorrelationCache cache = new SharedCorrelationCache(0, 500);
+		List<String> universe = tickers("U", 500);
+		cache.putAll(matrix(universe, 0.0), AS_OF);
+
+		// 다른 세션의 작은 결과가 들어와도 universe 결과는 남아 있음
+		cache.putAll(matrix(tickers("S", 20), 0.0), AS_OF);
+		SharedCorrelationCache.CachedCorrelations cached = cache.lookup(universe, WINDOWS, AS_OF);
+
+		assertThat(cached.getMissingTickers()).isEmpty();
+		assertThat(cached.get("U0", "U499", "1Y")).isEqualTo(value(0, 499, 0.0));
+		assertThat(cached.get("U499", "U0", "3M")).isEqualTo(value(0, 499, 0.0));
+	}
+
+	@Test
+	void marksBothTickersOfEveryUncachedPairAsMissing() {
+		SharedCorrelationCache cache = new SharedCorrelationCache(0, 10);
+		cache.putAll(matrix(List.of("A", "B", "C"), 0.0), AS_OF);
+
+		SharedCorrelationCache.CachedCorrelations cached =
+				cache.lookup(List.of("A", "B", "C", "D", "E"), WINDOWS, AS_OF);
+
+		assertThat(cached.getMissingTickers()).containsExactly("A", "B", "C", "D", "E");
+		assertThat(cached.get("A", "C", "6M")).isEqualTo(value(0, 2, 0.0));
+		assertThat(cached.get("A", "D", "6M")).isNull();
+
+		assertThat(cache.lookup(List.of("C", "A"), WINDOWS, AS_OF).getMissingTickers()).isEmpty();
+		assertThat(cache.lookup(List.of("A", "B"), WINDOWS, AS_OF.minusDays(1)).getMissingTickers())
+				.containsExactly("A", "B");
+	}
+
+	@Test
+	void combinesBlocksAndPrefersTheMostRecent() {
+		SharedCorrelationCache cache = new SharedCorrelationCache(0, 10);
+		cache.putAll(matrix(List.of("A", "B"), 0.0), AS_OF);
+		cache.putAll(matrix(List.of("C", "D", "A", "B"), 0.5), AS_OF);
+		cache.putAll(matrix(List.of("A", "E"), 0.0), AS_OF);
+
+		SharedCorrelationCache.CachedCorrelations cached = cache.lookup(List.of("A", "B", "E"), WINDOWS, AS_OF);
+
+		// A-B 는 두 블록에 있으므로 최근 블록(C, D, A, B) 값, B-E 는 어느 블록에도 없음
+		assertThat(cached.get("A", "B", "1Y")).isEqualTo(value(2, 3, 0.5));
+		assertThat(cached.get("A", "E", "1Y")).isEqualTo(value(0, 1, 0.0));
+		assertThat(cached.getMissingTickers()).containsExactly("B", "E");
+	}
+
+	@Test
+	void keepsNaNForPairsThatCouldNotBeComputed() {
+		SharedCorrelationCache cache = new SharedCorrelationCache(0, 10);
+		ReturnCorrelationMatrix matrix = matrix(List.of("A", "B"), 0.0);
+		matrix.getWindows().values().forEach(values -> {
+			values[1] = Double.NaN;
+			values[2] = Double.NaN;
+		});
+		cache.putAll(matrix, AS_OF);
+
+		SharedCorrelationCache.CachedCorrelations cached = cache.lookup(List.of("A", "B"), WINDOWS, AS_OF);
+
+		assertThat(cached.getMissingTickers()).isEmpty();
+		assertThat(cached.get("A", "B", "3M")).isNaN();
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedBlocksBeyondTheLimit() {
+		// 한도 = 2 x 2² x 3 = 24 값, 2종목 블록 하나 = 12 값
+		SharedCorrelationCache cache = new SharedCorrelationCache(0, 2);
+		cache.putAll(matrix(List.of("A", "B"), 0.0), AS_OF);
+		cache.putAll(matrix(List.of("C", "D"), 0.0), AS_OF);
+		cache.lookup(List.of("A", "B"), WINDOWS, AS_OF);
+		cache.putAll(matrix(List.of("E", "F"), 0.0), AS_OF);
+
+		assertThat(cache.size()).isEqualTo(24);
+		assertThat(cache.lookup(List.of("A", "B"), WINDOWS, AS_OF).getMissingTickers()).isEmpty();
+		assertThat(cache.lookup(List.of("C", "D"), WINDOWS, AS_OF).getMissingTickers()).containsExactly("C", "D");
+
+		// 한도보다 큰 블록도 방금 넣은 것은 남김
+		cache.putAll(matrix(tickers("G", 5), 0.0), AS_OF);
+		assertThat(cache.size()).isEqualTo(75);
+	}
+
+	@Test
+	void clearsWhenThePriceDateChanges() {
+		SharedCorrelationCache cache = new SharedCorrelationCache(0, 10);
+		cache.syncPriceDate(AS_OF);
+		cache.putAll(matrix(List.of("A", "B"), 0.0), AS_OF);
+
+		cache.syncPriceDate(AS_OF);
+		assertThat(cache.size()).isEqualTo(12);
+		cache.syncPriceDate(AS_OF.plusDays(1));
+		assertThat(cache.size()).isZero();
+	}
+
+	private static List<String> tickers(String prefix, int n) {
+		List<String> tickers = new ArrayList<>();
+		for (int i = 0; i < n; i++) tickers.add(prefix + i);
+		return tickers;
+	}
+
+	/**
+	 * 대칭 n x n 매트릭스 (값은 위치와 offset 으로 구분 가능)
+	 */
+	private static ReturnCorrelationMatrix matrix(List<String> tickers, double offset) {
+		int n = tickers.size();
+		Map<String, double[]> windows = new LinkedHashMap<>();
+		for (AnalysisPeriod window : WINDOWS) {
+			double[] values = new double[n * n];
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < n; j++) {
+					values[i * n + j] = i == j ? 1.0 : value(Math.min(i, j), Math.max(i, j), offset);
+				}
+			}
+			windows.put(window.getCode(), values);
+		}
+		return new ReturnCorrelationMatrix(tickers, windows);
+	}
+
+	private static double value(int i, int j, double offset) {
+		return offset + (i * 1000 + j) / 1e7;
+	}
+
+}
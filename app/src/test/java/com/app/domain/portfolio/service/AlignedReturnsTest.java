@@ -0,0 +1,80 @@
+package com.app.domain.portfolio.service;
+
+import com.app.domain.portfolio.mapper.PortfolioMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AlignedReturnsTest {
+
+	private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+	@Test
+	void eachBasketKeepsItsOwnCompleteCaseDays() {
+		// A, B 는 30일 모두, C 는 짝수일만 관측
+		List<PortfolioMapper.DailyReturnRow> rows = new ArrayList<>();
+		for (int t = 0; t < 30; t++) {
+			rows.add(row("A", t, 0.001 * t));
+			rows.add(row("B", t, -0.001 * t));
+			if (t % 2 == 0) rows.add(row("C", t, 0.002));
+		}
+		AlignedReturns aligned = AlignedReturns.of(List.of("A", "B", "C"), rows);
+
+		CompleteCaseReturns withoutC = aligned.completeCase(List.of("B", "A"), 10);
+		CompleteCaseReturns withC = aligned.completeCase(List.of("A", "C"), 10);
+
+		assertThat(withoutC.getTickers()).containsExactly("B", "A");
+		assertThat(withoutC.length()).isEqualTo(30);
+		assertThat(withoutC.values()[30 + 29]).isEqualTo(0.029);
+		assertThat(withC.length()).isEqualTo(15);
+		assertThat(withC.getDate(1)).isEqualTo(START.plusDays(2));
+	}
+
+	@Test
+	void excludesTickersWithTooFewOrNoObservations() {
+		List<PortfolioMapper.DailyReturnRow> rows = new ArrayList<>();
+		for (int t = 0; t < 10; t++) {
+			rows.add(row("A", t, 0.01));
+			rows.add(row("B", t, 0.02));
+			if (t < 3) rows.add(row("C", t, 0.03));
+		}
+		AlignedReturns aligned = AlignedReturns.of(List.of("A", "B", "C"), rows);
+
+		CompleteCaseReturns panel = aligned.completeCase(List.of("A", "B", "C", "Z"), 5);
+
+		assertThat(panel.getTickers()).containsExactly("A", "B");
+		assertThat(panel.getExcludedTickers()).containsExactly("C", "Z");
+		assertThat(panel.length()).isEqualTo(10);
+	}
+
+	@Test
+	void matchesLoadingTheBasketOnItsOwn() {
+		List<PortfolioMapper.DailyReturnRow> rows = new ArrayList<>();
+		for (int t = 0; t < 40; t++) {
+			rows.add(row("A", t, Math.sin(t)));
+			if (t % 3 != 0) rows.add(row("B", t, Math.cos(t)));
+			if (t % 5 != 0) rows.add(row("C", t, Math.sin(2 * t)));
+		}
+
+		CompleteCaseReturns shared = AlignedReturns.of(List.of("A", "B", "C"), rows)
+				.completeCase(List.of("A", "C"), 20);
+		CompleteCaseReturns alone = CompleteCaseReturns.of(List.of("A", "C"), rows, 20);
+
+		assertThat(shared.length()).isEqualTo(32);
+		assertThat(shared.values()).containsExactly(alone.values());
+		assertThat(shared.getStartDate()).isEqualTo(alone.getStartDate());
+	}
+
+	private static PortfolioMapper.DailyReturnRow row(String ticker, int day, double value) {
+		PortfolioMapper.DailyReturnRow row = new PortfolioMapper.DailyReturnRow();
+		row.setTicker(ticker);
+		row.setPriceDate(START.plusDays(day));
+		row.setDailyReturn(value);
+		return row;
+	}
+
+}
@@ -0,0 +1,181 @@
+package com.app.domain.portfolio.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CovarianceEstimatorsTest {
+
+	@Test
+	void sampleCovarianceMatchesTwoPassDefinition() {
+		Random random = new Random(43);
+		int n = 6, length = 40;
+		double[] values = randomReturns(random, n, length);
+
+		double[] mean = CovarianceEstimators.means(values, n, length);
+		double[] covariance = CovarianceEstimators.sample(CovarianceEstimators.center(values, n, length, mean), n, length);
+
+		for (int a = 0; a < n; a++) {
+			for (int b = 0; b < n; b++) {
+				double sum = 0.0;
+				for (int t = 0; t < length; t++) {
+					sum += (values[a * length + t] - mean[a]) * (values[b * length + t] - mean[b]);
+				}
+				assertThat(covariance[a * n + b]).isCloseTo(sum / (length - 1), within(1e-15));
+			}
+		}
+	}
+
+	@Test
+	void ledoitWolfIntensityMatchesDirectFormula() {
+		Random random = new Random(47);
+		for (int trial = 0; trial < 20; trial++) {
+			int n = 2 + random.nextInt(15);
+			int length = 5 + random.nextInt(60);
+			double[] values = randomReturns(random, n, length);
+			double[] centered = CovarianceEstimators.center(values, n, length,
+					CovarianceEstimators.means(values, n, length));
+			double[] sample = CovarianceEstimators.sample(centered, n, length);
+
+			double intensity = CovarianceEstimators.ledoitWolfIntensity(centered, sample, n, length);
+
+			assertThat(intensity).isBetween(0.0, 1.0);
+			assertThat(intensity).isCloseTo(directIntensity(centered, n, length), within(1e-10));
+		}
+	}
+
+	@Test
+	void shrinkageKeepsTraceAndMakesSingularSamplesPositiveDefinite() {
+		Random random = new Random(53);
+		// 종목 수 > 관측치 수 이면 표본 공분산은 특이 행렬
+		int n = 30, length = 12;
+		double[] values = randomReturns(random, n, length);
+		double[] centered = CovarianceEstimators.center(values, n, length,
+				CovarianceEstimators.means(values, n, length));
+		double[] sample = CovarianceEstimators.sample(centered, n, length);
+		double[] shrunk = sample.clone();
+
+		double intensity = CovarianceEstimators.ledoitWolfIntensity(centered, sample, n, length);
+		CovarianceEstimators.shrinkToScaledIdentity(shrunk, n, intensity);
+
+		assertThat(isPositiveDefinite(sample, n)).isFalse();
+		assertThat(intensity).isGreaterThan(0.0);
+		assertThat(isPositiveDefinite(shrunk, n)).isTrue();
+		assertThat(trace(shrunk, n)).isCloseTo(trace(sample, n), within(1e-15));
+		assertThat(shrunk[1]).isCloseTo((1.0 - intensity) * sample[1], within(1e-18));
+	}
+
+	@Test
+	void industryFactorKeepsSampleVariancesAndIsPositiveSemidefinite() {
+		Random random = new Random(59);
+		int n = 12, length = 80, groups = 3;
+		int[] group = new int[n];
+		double[] values = new double[n * length];
+		double[] market = new double[groups * length];
+		for (int k = 0; k < market.length; k++) market[k] = random.nextGaussian() * 0.01;
+		for (int i = 0; i < n; i++) {
+			group[i] = i % groups;
+			double beta = 0.5 + random.nextDouble();
+			for (int t = 0; t < length; t++) {
+				values[i * length + t] = beta * market[group[i] * length + t] + random.nextGaussian() * 0.005;
+			}
+		}
+		double[] centered = CovarianceEstimators.center(values, n, length,
+				CovarianceEstimators.means(values, n, length));
+
+		double[] model = CovarianceEstimators.industryFactor(centered, n, length, group, groups);
+		double[] sample = CovarianceEstimators.sample(centered, n, length);
+
+		for (int i = 0; i < n; i++) {
+			// 잔차 분산이 음수가 아니면 대각은 표본 분산과 같음
+			assertThat(model[i * n + i]).isCloseTo(sample[i * n + i], within(1e-15));
+		}
+		for (int a = 0; a < n; a++) {
+			for (int b = 0; b < n; b++) {
+				assertThat(model[a * n + b]).isEqualTo(model[b * n + a]);
+			}
+		}
+		assertThat(isPositiveDefinite(model, n)).isTrue();
+
+		// 같은 업종 종목끼리는 업종 팩터를 통한 높은 상관, 독립 팩터 업종끼리는 낮은 상관
+		double same = model[3] / Math.sqrt(model[0] * model[3 * n + 3]);
+		double cross = model[1] / Math.sqrt(model[0] * model[n + 1]);
+		assertThat(same).isGreaterThan(0.5);
+		assertThat(Math.abs(cross)).isLessThan(0.3);
+	}
+
+	private static double[] randomReturns(Random random, int n, int length) {
+		double[] values = new double[n * length];
+		for (int t = 0; t < length; t++) {
+			double common = random.nextGaussian() * 0.01;
+			for (int i = 0; i < n; i++) values[i * length + t] = common * (i % 3) + random.nextGaussian() * 0.02;
+		}
+		return values;
+	}
+
+	/**
+	 * Ledoit-Wolf(2004) 정의대로 Σ_t ‖x_t x_tᵀ - S_T‖² 를 직접 더하는 O(n²·T) 기준 구현
+	 */
+	private static double directIntensity(double[] centered, int n, int length) {
+		double[] s = new double[n * n];
+		for (int a = 0; a < n; a++) {
+			for (int b = 0; b < n; b++) {
+				double sum = 0.0;
+				for (int t = 0; t < length; t++) sum += centered[a * length + t] * centered[b * length + t];
+				s[a * n + b] = sum / length;
+			}
+		}
+		double mu = trace(s, n) / n;
+
+		double d2 = 0.0;
+		for (int a = 0; a < n; a++) {
+			for (int b = 0; b < n; b++) {
+				double diff = s[a * n + b] - (a == b ? mu : 0.0);
+				d2 += diff * diff;
+			}
+		}
+		d2 /= n;
+
+		double b2 = 0.0;
+		for (int t = 0; t < length; t++) {
+			for (int a = 0; a < n; a++) {
+				for (int b = 0; b < n; b++) {
+					double diff = centered[a * length + t] * centered[b * length + t] - s[a * n + b];
+					b2 += diff * diff;
+				}
+			}
+		}
+		b2 /= (double) length * length * n;
+		return Math.min(b2, d2) / d2;
+	}
+
+	private static double trace(double[] matrix, int n) {
+		double trace = 0.0;
+		for (int i = 0; i < n; i++) trace += matrix[i * n + i];
+		return trace;
+	}
+
+	/**
+	 * 콜레스키 분해 성공 여부 (상대 허용 오차 내 양의 피벗)
+	 */
+	static boolean isPositiveDefinite(double[] matrix, int n) {
+		double[] l = new double[n * n];
+		double scale = trace(matrix, n) / n;
+		for (int j = 0; j < n; j++) {
+			double diagonal = matrix[j * n + j];
+			for (int k = 0; k < j; k++) diagonal -= l[j * n + k] * l[j * n + k];
+			if (diagonal <= 1e-12 * scale) return false;
+			l[j * n + j] = Math.sqrt(diagonal);
+			for (int i = j + 1; i < n; i++) {
+				double value = matrix[i * n + j];
+				for (int k = 0; k < j; k++) value -= l[i * n + k] * l[j * n + k];
+				l[i * n + j] = value / l[j * n + j];
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,189 @@
+package com.app.domain.portfolio.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class QuadraticProgramSolverTest {
+
+	@Test
+	void minVarianceSatisfiesKktConditions() {
+		Random random = new Random(7);
+		for (int trial = 0; trial < 50; trial++) {
+			int n = 2 + random.nextInt(30);
+			double[] q = sampleCovariance(random, n, n * 3);
+			double[] ones = new double[n];
+			Arrays.fill(ones, 1.0);
+
+			QuadraticProgramSolver solver = new QuadraticProgramSolver(n);
+			double[] x = solver.solve(q, null, ones, null);
+
+			assertThat(solver.getStatus()).isEqualTo(QuadraticProgramSolver.Status.CONVERGED);
+			assertKkt(q, null, ones, x, 1e-8);
+		}
+	}
+
+	@Test
+	void frontierPointWithLinearTermSatisfiesKktConditions() {
+		Random random = new Random(11);
+		for (int trial = 0; trial < 50; trial++) {
+			int n = 2 + random.nextInt(20);
+			double[] q = sampleCovariance(random, n, n * 4);
+			double[] c = new double[n];
+			for (int i = 0; i < n; i++) c[i] = -random.nextDouble() * 0.01;
+			double[] ones = new double[n];
+			Arrays.fill(ones, 1.0);
+
+			QuadraticProgramSolver solver = new QuadraticProgramSolver(n);
+			double[] x = solver.solve(q, c, ones, null);
+
+			assertThat(solver.getStatus().isOptimal()).isTrue();
+			assertKkt(q, c, ones, x, 1e-8);
+		}
+	}
+
+	@Test
+	void singularFreeBlockIsRegularizedInsteadOfStoppingEarly() {
+		// 완전 상관 두 종목 - 두 번째 종목을 해제하면 Q_FF 가 특이해짐 (최적해는 두 번째 종목 100%)
+		double[] q = {1.0, 1.0, 1.0, 1.0};
+		double[] c = {0.0, -0.5};
+		double[] b = {1.0, 1.0};
+		QuadraticProgramSolver solver = new QuadraticProgramSolver(2);
+
+		double[] x = solver.solve(q, c, b, null);
+
+		assertThat(solver.getStatus()).isEqualTo(QuadraticProgramSolver.Status.REGULARIZED);
+		assertThat(x[0]).isCloseTo(0.0, within(1e-9));
+		assertThat(x[1]).isCloseTo(1.0, within(1e-9));
+	}
+
+	@Test
+	void rankDeficientSampleCovarianceReachesOptimum() {
+		// 관측치(10)보다 종목(60)이 많은 표본 공분산 - 자유 변수 블록이 특이해짐
+		Random random = new Random(3);
+		int n = 60;
+		double[] q = sampleCovariance(random, n, 10);
+		double[] ones = new double[n];
+		Arrays.fill(ones, 1.0);
+
+		QuadraticProgramSolver solver = new QuadraticProgramSolver(n);
+		double[] x = solver.solve(q, null, ones, null);
+
+		assertThat(solver.getStatus().isOptimal()).isTrue();
+		assertFeasible(ones, x);
+
+		// 단일 종목 시작점보다 분산이 충분히 작아야 함 (중간에 멈추지 않음)
+		double minDiagonal = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < n; i++) minDiagonal = Math.min(minDiagonal, q[i * n + i]);
+		assertThat(quadratic(q, x)).isLessThan(minDiagonal * 0.1);
+	}
+
+	@Test
+	void reportsSingularWhenFreeBlockCannotBeFactorized() {
+		double[] q = {1.0, 0.0, 0.0, -1.0};
+		QuadraticProgramSolver solver = new QuadraticProgramSolver(2);
+
+		double[] x = solver.solve(q, null, new double[]{1.0, 1.0}, null);
+
+		assertThat(solver.getStatus()).isEqualTo(QuadraticProgramSolver.Status.SINGULAR);
+		assertThat(solver.getStatus().isOptimal()).isFalse();
+		assertFeasible(new double[]{1.0, 1.0}, x);
+	}
+
+	@Test
+	void warmStartReachesSameSolution() {
+		Random random = new Random(5);
+		int n = 25;
+		double[] q = sampleCovariance(random, n, 100);
+		double[] ones = new double[n];
+		Arrays.fill(ones, 1.0);
+
+		double[] cold = new QuadraticProgramSolver(n).solve(q, null, ones, null);
+		double[] start = new double[n];
+		Arrays.fill(start, 1.0 / n);
+		double[] warm = new QuadraticProgramSolver(n).solve(q, null, ones, start);
+
+		for (int i = 0; i < n; i++) {
+			assertThat(warm[i]).isCloseTo(cold[i], within(1e-8));
+		}
+	}
+
+	static double[] sampleCovariance(Random random, int n, int observations) {
+		double[][] returns = new double[n][observations];
+		double[] market = new double[observations];
+		for (int t = 0; t < observations; t++) market[t] = random.nextGaussian() * 0.01;
+		for (int i = 0; i < n; i++) {
+			double beta = 0.5 + random.nextDouble();
+			double vol = 0.005 + random.nextDouble() * 0.02;
+			for (int t = 0; t < observations; t++) {
+				returns[i][t] = beta * market[t] + vol * random.nextGaussian();
+			}
+		}
+
+		double[] q = new double[n * n];
+		for (int i = 0; i < n; i++) {
+			double meanI = Arrays.stream(returns[i]).average().orElse(0.0);
+			for (int j = i; j < n; j++) {
+				double meanJ = Arrays.stream(returns[j]).average().orElse(0.0);
+				double sum = 0.0;
+				for (int t = 0; t < observations; t++) {
+					sum += (returns[i][t] - meanI) * (returns[j][t] - meanJ);
+				}
+				q[i * n + j] = q[j * n + i] = sum / (observations - 1);
+			}
+		}
+		return q;
+	}
+
+	private static void assertKkt(double[] q, double[] c, double[] b, double[] x, double tolerance) {
+		int n = b.length;
+		assertFeasible(b, x);
+
+		double[] gradient = new double[n];
+		for (int i = 0; i < n; i++) {
+			double sum = c != null ? c[i] : 0.0;
+			for (int j = 0; j < n; j++) sum += q[i * n + j] * x[j];
+			gradient[i] = sum;
+		}
+
+		// 자유 변수: ∇_i = ν b_i, 고정 변수: ∇_i ≥ ν b_i
+		double nu = Double.NaN;
+		for (int i = 0; i < n; i++) {
+			if (x[i] > 1e-9) {
+				nu = gradient[i] / b[i];
+				break;
+			}
+		}
+		double scale = Arrays.stream(gradient).map(Math::abs).max().orElse(1.0) + 1e-12;
+		for (int i = 0; i < n; i++) {
+			if (x[i] > 1e-9) {
+				assertThat(gradient[i] / scale).isCloseTo(nu * b[i] / scale, within(tolerance * 100));
+			} else {
+				assertThat((gradient[i] - nu * b[i]) / scale).isGreaterThan(-tolerance * 100);
+			}
+		}
+	}
+
+	private static void assertFeasible(double[] b, double[] x) {
+		double sum = 0.0;
+		for (int i = 0; i < x.length; i++) {
+			assertThat(x[i]).isGreaterThanOrEqualTo(0.0);
+			sum += b[i] * x[i];
+		}
+		assertThat(sum).isCloseTo(1.0, within(1e-9));
+	}
+
+	private static double quadratic(double[] q, double[] x) {
+		int n = x.length;
+		double sum = 0.0;
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) sum += x[i] * q[i * n + j] * x[j];
+		}
+		return sum;
+	}
+
+}
@@ -0,0 +1,102 @@
+package com.app.domain.portfolio.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RiskMeasuresTest {
+
+	@Test
+	void selectMatchesSortedOrderWithDuplicates() {
+		Random random = new Random(31);
+		for (int trial = 0; trial < 500; trial++) {
+			int count = 1 + random.nextInt(300);
+			double[] values = new double[count];
+			for (int i = 0; i < count; i++) {
+				values[i] = random.nextInt(4) == 0 ? random.nextInt(5) * 0.01 : random.nextGaussian() * 0.02;
+			}
+			double[] sorted = values.clone();
+			Arrays.sort(sorted);
+
+			int k = random.nextInt(count);
+			double[] work = values.clone();
+			double selected = RiskMeasures.select(work, count, k);
+
+			assertThat(selected).isEqualTo(sorted[k]);
+			for (int i = 0; i < k; i++) assertThat(work[i]).isLessThanOrEqualTo(selected);
+			for (int i = k + 1; i < count; i++) assertThat(work[i]).isGreaterThanOrEqualTo(selected);
+		}
+	}
+
+	@Test
+	void selectHandlesSortedAndConstantInput() {
+		double[] ascending = {1, 2, 3, 4, 5, 6, 7, 8};
+		double[] descending = {8, 7, 6, 5, 4, 3, 2, 1};
+		double[] constant = {2, 2, 2, 2, 2};
+
+		for (int k = 0; k < 8; k++) {
+			assertThat(RiskMeasures.select(ascending.clone(), 8, k)).isEqualTo(k + 1.0);
+			assertThat(RiskMeasures.select(descending.clone(), 8, k)).isEqualTo(k + 1.0);
+		}
+		assertThat(RiskMeasures.select(constant, 5, 3)).isEqualTo(2.0);
+	}
+
+	@Test
+	void historicalTakesTheCeilTailOfTheWindow() {
+		// -0.10, -0.09, ..., -0.01, 0.00, ... : 95% 에서 T=100 이면 꼬리 5개
+		double[] returns = new double[100];
+		for (int t = 0; t < returns.length; t++) returns[t] = (t - 10) * 0.01;
+		shuffle(returns, new Random(37));
+
+		double[] measures = RiskMeasures.historical(returns, 0, 100, 0.95, new double[100]);
+
+		assertThat(measures[0]).isCloseTo(0.06, within(1e-12));
+		assertThat(measures[1]).isCloseTo(0.08, within(1e-12));
+	}
+
+	@Test
+	void historicalMatchesSortedReference() {
+		Random random = new Random(41);
+		double[] confidences = {0.9, 0.95, 0.975, 0.99};
+		for (int trial = 0; trial < 300; trial++) {
+			int length = 20 + random.nextInt(400);
+			double[] returns = new double[length];
+			for (int t = 0; t < length; t++) returns[t] = random.nextGaussian() * 0.015;
+			int from = random.nextInt(length / 2);
+			int to = from + 1 + random.nextInt(length - from);
+			double confidence = confidences[random.nextInt(confidences.length)];
+			double[] original = returns.clone();
+
+			double[] measures = RiskMeasures.historical(returns, from, to, confidence, new double[length]);
+
+			double[] window = Arrays.copyOfRange(original, from, to);
+			Arrays.sort(window);
+			int tail = BigDecimal.ONE.subtract(BigDecimal.valueOf(confidence))
+					.multiply(BigDecimal.valueOf(window.length))
+					.setScale(0, RoundingMode.CEILING).intValueExact();
+			tail = Math.min(Math.max(tail, 1), window.length);
+			double sum = 0.0;
+			for (int t = 0; t < tail; t++) sum += window[t];
+
+			assertThat(measures[0]).isEqualTo(-window[tail - 1]);
+			assertThat(measures[1]).isCloseTo(-sum / tail, within(1e-12));
+			assertThat(returns).as("입력 수익률은 바뀌지 않음").containsExactly(original);
+		}
+	}
+
+	private static void shuffle(double[] values, Random random) {
+		for (int i = values.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			double tmp = values[i];
+			values[i] = values[j];
+			values[j] = tmp;
+		}
+	}
+
+}
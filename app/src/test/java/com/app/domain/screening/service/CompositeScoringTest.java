@@ -0,0 +1,145 @@
+package com.app.domain.screening.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompositeScoringTest {
+
+	@Test
+	void toMicrosMatchesBigDecimalAtHalfBoundaries() {
+		double[] boundaries = {0.0000005, 0.0000015, 1.2345675, 2.9999995, 0.1234565, 0.5000005,
+				-0.0000005, -1.2345675, -2.9999995, 0.0, -0.0, 3.0, -3.0};
+		for (double score : boundaries) {
+			assertThat(CompositeScoring.toMicros(score)).as("score %s", score).isEqualTo(reference(score));
+		}
+
+		Random random = new Random(3);
+		for (int i = 0; i < 200_000; i++) {
+			// 소수점 7자리가 5인 경계값과 그 주변
+			long micros = random.nextInt(3_000_000);
+			double score = (micros + 0.5) / 1e6;
+			double nudged = Math.nextAfter(score, random.nextBoolean() ? 0.0 : 4.0);
+			for (double value : new double[]{score, -score, nudged, -nudged}) {
+				assertThat(CompositeScoring.toMicros(value)).as("score %s", value).isEqualTo(reference(value));
+			}
+		}
+	}
+
+	@Test
+	void toMicrosMatchesBigDecimalForRankAndZScoreRanges() {
+		Random random = new Random(5);
+		for (int i = 0; i < 200_000; i++) {
+			double rank = (double) random.nextInt(500) / (1 + random.nextInt(500));
+			double z = random.nextGaussian() * 1.5;
+			assertThat(CompositeScoring.toMicros(rank)).as("score %s", rank).isEqualTo(reference(rank));
+			assertThat(CompositeScoring.toMicros(z)).as("score %s", z).isEqualTo(reference(z));
+		}
+	}
+
+	@Test
+	void compositeMatchesBigDecimalPipeline() {
+		Random random = new Random(9);
+		for (int trial = 0; trial < 500; trial++) {
+			int n = 1 + random.nextInt(60);
+			int factors = 1 + random.nextInt(4);
+			long[][] columns = new long[factors][n];
+			BigDecimal[] weights = new BigDecimal[factors];
+			for (int f = 0; f < factors; f++) {
+				// 소수 1~4자리, 가중치 합 ≤ 1
+				int scale = 1 + random.nextInt(4);
+				weights[f] = BigDecimal.valueOf(random.nextInt((int) Math.pow(10, scale) / factors + 1), scale);
+				for (int i = 0; i < n; i++) {
+					columns[f][i] = CompositeScoring.toMicros(random.nextInt(4) == 0
+							? random.nextInt(3) / 2.0 : random.nextGaussian());
+				}
+			}
+
+			long[] composite = CompositeScoring.composite(columns, weights);
+
+			for (int i = 0; i < n; i++) {
+				assertThat(composite[i]).isEqualTo(referenceComposite(columns, weights, i));
+			}
+		}
+	}
+
+	@Test
+	void compositeRoundsHalfUpAwayFromZero() {
+		long[][] columns = {{1L, -1L, 3L, -3L}};
+		BigDecimal[] weights = {new BigDecimal("0.5")};
+
+		long[] composite = CompositeScoring.composite(columns, weights);
+
+		assertThat(composite).containsExactly(1L, -1L, 2L, -2L);
+		for (int i = 0; i < composite.length; i++) {
+			assertThat(composite[i]).isEqualTo(referenceComposite(columns, weights, i));
+		}
+	}
+
+	@Test
+	void compositeFallsBackToDoubleForLongWeightScales() {
+		Random random = new Random(13);
+		long[][] columns = new long[3][100];
+		for (long[] column : columns) {
+			for (int i = 0; i < column.length; i++) column[i] = CompositeScoring.toMicros(random.nextGaussian());
+		}
+		BigDecimal third = new BigDecimal("0.3333333333");
+		BigDecimal[] weights = {third, third, third};
+
+		long[] composite = CompositeScoring.composite(columns, weights);
+
+		for (int i = 0; i < composite.length; i++) {
+			assertThat(Math.abs(composite[i] - referenceComposite(columns, weights, i))).isLessThanOrEqualTo(1L);
+		}
+	}
+
+	@Test
+	void rankMatchesStableDescendingSortWithTies() {
+		Random random = new Random(17);
+		for (int trial = 0; trial < 500; trial++) {
+			int n = random.nextInt(80);
+			long[] composite = new long[n];
+			for (int i = 0; i < n; i++) composite[i] = random.nextInt(8) - 4;
+
+			// 기존 BigDecimal 경로: 복합 점수 내림차순 안정 정렬 (동점은 입력 순서)
+			List<Integer> expected = new ArrayList<>();
+			for (int i = 0; i < n; i++) expected.add(i);
+			expected.sort(Comparator.comparing((Integer i) -> CompositeScoring.toDecimal(composite[i])).reversed());
+
+			int k = n == 0 ? 0 : random.nextInt(n + 1);
+			int[] ranked = CompositeScoring.rank(composite, k);
+
+			assertThat(ranked).hasSize(k);
+			for (int r = 0; r < k; r++) {
+				assertThat(ranked[r]).as("rank %d of %d", r, k).isEqualTo(expected.get(r));
+			}
+		}
+	}
+
+	@Test
+	void toDecimalKeepsSixDecimalScale() {
+		assertThat(CompositeScoring.toDecimal(1_234_568L)).isEqualTo(new BigDecimal("1.234568"));
+		assertThat(CompositeScoring.toDecimal(-1L)).isEqualTo(new BigDecimal("-0.000001"));
+		assertThat(CompositeScoring.toDecimal(0L).scale()).isEqualTo(CompositeScoring.SCALE);
+	}
+
+	private static long reference(double score) {
+		return BigDecimal.valueOf(score).setScale(6, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+	}
+
+	private static long referenceComposite(long[][] columns, BigDecimal[] weights, int i) {
+		BigDecimal sum = BigDecimal.ZERO;
+		for (int f = 0; f < columns.length; f++) {
+			sum = sum.add(CompositeScoring.toDecimal(columns[f][i]).multiply(weights[f]));
+		}
+		return sum.setScale(6, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+	}
+
+}
@@ -0,0 +1,169 @@
+package com.app.domain.screening.service;
+
+import com.app.domain.screening.dto.ScreeningRequest.ScoringMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class FactorRankingTest {
+
+	@Test
+	void rankGivesTiesTheBestSharedRank() {
+		double[] scores = FactorRanking.score(new double[]{3.0, 1.0, 3.0, 2.0}, true, ScoringMode.RANK);
+
+		assertThat(scores).containsExactly(1.0, 0.0, 1.0, 1.0 / 3.0);
+	}
+
+	@Test
+	void percentileUsesMidRankForTies() {
+		double[] scores = FactorRanking.score(new double[]{3.0, 1.0, 3.0, 2.0}, true, ScoringMode.PERCENTILE);
+
+		assertThat(scores).containsExactly(0.75, 0.125, 0.75, 0.375);
+	}
+
+	@Test
+	void missingValuesRankLastInEitherDirection() {
+		double[] values = {Double.NaN, 1.0, 2.0, Double.NaN};
+
+		assertThat(FactorRanking.score(values, false, ScoringMode.RANK))
+				.containsExactly(1.0 / 3.0, 1.0, 2.0 / 3.0, 1.0 / 3.0);
+		assertThat(FactorRanking.score(values, true, ScoringMode.RANK))
+				.containsExactly(1.0 / 3.0, 2.0 / 3.0, 1.0, 1.0 / 3.0);
+	}
+
+	@Test
+	void singleStockScoresOne() {
+		assertThat(FactorRanking.score(new double[]{5.0}, true, ScoringMode.RANK)).containsExactly(1.0);
+		assertThat(FactorRanking.score(new double[]{5.0}, true, ScoringMode.PERCENTILE)).containsExactly(1.0);
+	}
+
+	@Test
+	void zScoreIsClippedAndFlippedForLowerIsBetter() {
+		double[] values = new double[21];
+		values[20] = 100.0;
+
+		double[] higher = FactorRanking.score(values, true, ScoringMode.ZSCORE);
+		double[] lower = FactorRanking.score(values, false, ScoringMode.ZSCORE);
+
+		assertThat(higher[20]).isEqualTo(FactorRanking.Z_SCORE_LIMIT);
+		assertThat(lower[20]).isEqualTo(-FactorRanking.Z_SCORE_LIMIT);
+		assertThat(higher[0]).isCloseTo(-lower[0], within(1e-12));
+		assertThat(FactorRanking.score(new double[]{1.0, Double.NaN, 3.0}, true, ScoringMode.ZSCORE))
+				.containsExactly(new double[]{-Math.sqrt(0.5), -FactorRanking.Z_SCORE_LIMIT, Math.sqrt(0.5)},
+						within(1e-12));
+	}
+
+	@Test
+	void scoresMatchPairwiseCountingWithTiesAndMissingValues() {
+		Random random = new Random(21);
+		for (int trial = 0; trial < 300; trial++) {
+			double[] values = randomValues(random, 1 + random.nextInt(120));
+			boolean higherIsBetter = random.nextBoolean();
+
+			for (ScoringMode mode : new ScoringMode[]{ScoringMode.RANK, ScoringMode.PERCENTILE}) {
+				double[] scores = FactorRanking.score(values, higherIsBetter, mode);
+				double[] expected = referenceScores(values, higherIsBetter, mode);
+				for (int i = 0; i < values.length; i++) {
+					assertThat(scores[i]).as("%s stock %d", mode, i).isCloseTo(expected[i], within(1e-12));
+				}
+			}
+		}
+	}
+
+	@Test
+	void sortIndicesIsStableAndPutsMissingValuesLast() {
+		Random random = new Random(23);
+		for (int trial = 0; trial < 300; trial++) {
+			double[] values = randomValues(random, random.nextInt(200));
+			boolean descending = random.nextBoolean();
+
+			List<Integer> expected = new ArrayList<>();
+			for (int i = 0; i < values.length; i++) expected.add(i);
+			expected.sort(Comparator.comparingInt((Integer i) -> Double.isNaN(values[i]) ? 1 : 0)
+					.thenComparingDouble(i -> descending ? -values[i] : values[i]));
+
+			int[] order = FactorRanking.sortIndices(values, descending);
+
+			assertThat(order).containsExactly(expected.stream().mapToInt(Integer::intValue).toArray());
+		}
+	}
+
+	@Test
+	void scoreSortedOnSubsetMatchesScoringTheSubsetAlone() {
+		Random random = new Random(29);
+		for (int trial = 0; trial < 200; trial++) {
+			double[] values = randomValues(random, 1 + random.nextInt(100));
+			boolean higherIsBetter = random.nextBoolean();
+			int[] order = FactorRanking.sortIndices(values, higherIsBetter);
+
+			boolean[] included = new boolean[values.length];
+			List<Integer> subset = new ArrayList<>();
+			for (int i = 0; i < values.length; i++) {
+				included[i] = random.nextInt(3) > 0;
+				if (included[i]) subset.add(i);
+			}
+			double[] subsetValues = subset.stream().mapToDouble(i -> values[i]).toArray();
+
+			for (ScoringMode mode : ScoringMode.values()) {
+				double[] scores = FactorRanking.scoreSorted(values, order, included, subset.size(), higherIsBetter, mode);
+				double[] expected = FactorRanking.score(subsetValues, higherIsBetter, mode);
+				for (int k = 0; k < subset.size(); k++) {
+					assertThat(scores[subset.get(k)]).as("%s stock %d", mode, subset.get(k))
+							.isCloseTo(expected[k], within(1e-12));
+				}
+				for (int i = 0; i < values.length; i++) {
+					if (!included[i]) assertThat(scores[i]).isZero();
+				}
+			}
+		}
+	}
+
+	private static double[] randomValues(Random random, int n) {
+		double[] values = new double[n];
+		for (int i = 0; i < n; i++) {
+			// 동점과 결측이 자주 나오도록 작은 정수 범위
+			values[i] = random.nextInt(10) == 0 ? Double.NaN : random.nextInt(12) - 4;
+		}
+		return values;
+	}
+
+	/**
+	 * 종목마다 더 좋은 종목과 동점 종목을 세어 점수 계산 (O(n²) 기준 구현)
+	 */
+	private static double[] referenceScores(double[] values, boolean higherIsBetter, ScoringMode mode) {
+		int n = values.length;
+		double[] scores = new double[n];
+		for (int i = 0; i < n; i++) {
+			int better = 0, ties = 0;
+			for (int j = 0; j < n; j++) {
+				int compare = compare(values[j], values[i], higherIsBetter);
+				if (compare < 0) better++;
+				else if (compare == 0) ties++;
+			}
+			if (n == 1) {
+				scores[i] = 1.0;
+			} else if (mode == ScoringMode.PERCENTILE) {
+				scores[i] = ((n - better - ties) + 0.5 * ties) / n;
+			} else {
+				scores[i] = (double) (n - 1 - better) / (n - 1);
+			}
+		}
+		return scores;
+	}
+
+	/**
+	 * a 가 b 보다 좋으면 음수 (결측은 항상 가장 나쁨)
+	 */
+	private static int compare(double a, double b, boolean higherIsBetter) {
+		boolean aNaN = Double.isNaN(a), bNaN = Double.isNaN(b);
+		if (aNaN || bNaN) return aNaN == bNaN ? 0 : (aNaN ? 1 : -1);
+		return higherIsBetter ? Double.compare(b, a) : Double.compare(a, b);
+	}
+
+}